@@ -7,6 +7,8 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
+import ec.puce.motoshop.repository.support.RepositorioBase;
+
 /**
  * Aplicación principal que unifica las APIs de MotoShop y la integración con
  * Amazon Core.
@@ -29,7 +31,7 @@ import org.springframework.web.servlet.config.annotation.EnableWebMvc;
         "ec.puce.motoshop.integration.config"
 })
 @EntityScan("ec.puce.motoshop.domain")
-@EnableJpaRepositories("ec.puce.motoshop.repository")
+@EnableJpaRepositories(basePackages = "ec.puce.motoshop.repository", repositoryBaseClass = RepositorioBase.class)
 public class MotoShopUnifiedApplication {
     public static void main(String[] args) {
         SpringApplication.run(MotoShopUnifiedApplication.class, args);
@@ -0,0 +1,117 @@
+package ec.puce.motoshop.config;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Exportador de spans a un archivo local, para analizar las trazas sin un
+ * colector. Escribe un objeto JSON por línea con la traza, el span, su padre,
+ * el nombre, los tiempos en microsegundos desde la época, el estado y los
+ * atributos; los spans llegan en lotes desde el BatchSpanProcessor, así que
+ * el orden del archivo es el de finalización.
+ */
+@Slf4j
+public class ArchivoSpanExporter implements SpanExporter {
+
+    private final Path archivo;
+    private final ObjectMapper json;
+    private final BufferedWriter escritor;
+
+    /**
+     * Abre el archivo para añadir al final y crea sus directorios si faltan.
+     *
+     * @param archivo Archivo de destino.
+     * @param json    ObjectMapper para serializar cada span.
+     * @throws IOException Si no se puede abrir el archivo.
+     */
+    public ArchivoSpanExporter(Path archivo, ObjectMapper json) throws IOException {
+        this.archivo = archivo;
+        this.json = json;
+        if (archivo.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(archivo.toAbsolutePath().getParent());
+        }
+        this.escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        log.info("Las trazas se escriben en {}", archivo.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            for (SpanData span : spans) {
+                escritor.write(json.writeValueAsString(aMapa(span)));
+                escritor.newLine();
+            }
+            escritor.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("No se pudieron escribir {} span(s) en {}: {}", spans.size(), archivo, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            escritor.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            escritor.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private static Map<String, Object> aMapa(SpanData span) {
+        Map<String, Object> linea = new LinkedHashMap<>();
+        linea.put("traceId", span.getTraceId());
+        linea.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            linea.put("parentSpanId", span.getParentSpanId());
+        }
+        linea.put("nombre", span.getName());
+        linea.put("tipo", span.getKind().name());
+        linea.put("inicioMicros", span.getStartEpochNanos() / 1_000);
+        linea.put("duracionMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        linea.put("estado", span.getStatus().getStatusCode().name());
+        Map<String, Object> atributos = new LinkedHashMap<>();
+        span.getAttributes().forEach((clave, valor) -> atributos.put(clave.getKey(), valor));
+        linea.put("atributos", atributos);
+        span.getEvents().stream()
+                .filter(evento -> "exception".equals(evento.getName()))
+                .findFirst()
+                .ifPresent(evento -> {
+                    Map<String, Object> error = new LinkedHashMap<>();
+                    // Sin la pila completa, que haría ilegible el archivo
+                    evento.getAttributes().forEach((clave, valor) -> {
+                        if (!clave.getKey().equals("exception.stacktrace")) {
+                            error.put(clave.getKey(), valor);
+                        }
+                    });
+                    linea.put("error", error);
+                });
+        return linea;
+    }
+}
@@ -0,0 +1,64 @@
+package ec.puce.motoshop.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ec.puce.motoshop.service.IProductoService;
+
+/**
+ * Configuración de la caché en memoria del catálogo de productos.
+ * Cada caché tiene un tamaño máximo y un tiempo de expiración, y registra
+ * estadísticas de aciertos, fallos y desalojos que se publican en
+ * /actuator/metrics (cache.gets, cache.evictions).
+ * Se puede desactivar por perfil con motoshop.cache.enabled=false.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Value("${motoshop.cache.productos.maximo:1000}")
+    private long maximoProductos;
+
+    @Value("${motoshop.cache.productos.ttl:10m}")
+    private Duration ttlProductos;
+
+    @Value("${motoshop.cache.catalogo.ttl:1m}")
+    private Duration ttlCatalogo;
+
+    @Bean
+    @ConditionalOnProperty(name = "motoshop.cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(IProductoService.CACHE_PRODUCTOS, Caffeine.newBuilder()
+                .maximumSize(maximoProductos)
+                .expireAfterWrite(ttlProductos)
+                .recordStats()
+                .build());
+        // La lista completa es una sola entrada, por eso su tamaño es 1
+        cacheManager.registerCustomCache(IProductoService.CACHE_CATALOGO, Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttlCatalogo)
+                .recordStats()
+                .build());
+        // Las escrituras e invalidaciones se aplican solo después del commit,
+        // así una transacción revertida no deja datos que nunca existieron
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "motoshop.cache.enabled", havingValue = "false")
+    public CacheManager noOpCacheManager() {
+        return new NoOpCacheManager();
+    }
+}
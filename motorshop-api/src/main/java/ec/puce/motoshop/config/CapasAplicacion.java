@@ -0,0 +1,35 @@
+package ec.puce.motoshop.config;
+
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Puntos de corte de las capas que se instrumentan con métricas
+ * (MetricasAspect) y trazas (TrazasAspect).
+ */
+public class CapasAplicacion {
+
+    /**
+     * Métodos públicos de los servicios de MotoShop y de la integración.
+     */
+    @Pointcut("execution(public * ec.puce.motoshop.service..*(..))"
+            + " || execution(public * ec.puce.motoshop.integration.service..*(..))")
+    public void servicios() {
+    }
+
+    /**
+     * Llamadas a los repositorios de Spring Data. Los métodos heredados de
+     * JpaRepository están declarados fuera de ec.puce.motoshop.repository, por
+     * eso se seleccionan por el tipo del repositorio y no por el paquete del
+     * método.
+     */
+    @Pointcut("target(org.springframework.data.repository.Repository)")
+    public void repositorios() {
+    }
+
+    /**
+     * Métodos públicos del cliente de Amazon Core.
+     */
+    @Pointcut("execution(public * ec.puce.motoshop.integration.client.AmazonCoreClient.*(..))")
+    public void amazonCore() {
+    }
+}
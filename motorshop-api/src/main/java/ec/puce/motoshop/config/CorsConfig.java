@@ -19,6 +19,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins("*") // Durante desarrollo/testing, puede ser restringido más adelante
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("Location", "X-Resultado-Parcial")
                 .maxAge(3600);
     }
 }
@@ -0,0 +1,54 @@
+package ec.puce.motoshop.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import ec.puce.motoshop.dto.DiferenciaSaldoDTO;
+import ec.puce.motoshop.dto.ResultadoConciliacionDTO;
+import ec.puce.motoshop.service.ISaldoCuentaService;
+import lombok.extern.slf4j.Slf4j;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+
+/**
+ * Proceso en segundo plano que registra los cortes de saldo de las cuentas y
+ * a continuación los concilia con el libro de transacciones. Cada descuadre se
+ * registra como error para su revisión.
+ * Con varias instancias, el bloqueo de TareasProgramadasConfig garantiza que
+ * en cada intervalo lo ejecute una sola. Se puede desactivar con
+ * motoshop.saldos.corte.habilitado=false.
+ */
+@Component
+@ConditionalOnProperty(name = "motoshop.saldos.corte.habilitado", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CorteSaldoScheduler {
+
+    private final ISaldoCuentaService saldoCuentaService;
+
+    public CorteSaldoScheduler(ISaldoCuentaService saldoCuentaService) {
+        this.saldoCuentaService = saldoCuentaService;
+    }
+
+    /**
+     * Genera los cortes pendientes y concilia todas las cuentas. El bloqueo se
+     * mantiene al menos un intervalo completo, así las demás instancias no
+     * repiten la ejecución al terminar esta.
+     */
+    @Scheduled(fixedDelayString = "${motoshop.saldos.corte.intervalo:300000}")
+    @SchedulerLock(name = "corteSaldo", lockAtLeastFor = "${motoshop.saldos.corte.intervalo:300000}")
+    public void ejecutar() {
+        try {
+            int cortes = saldoCuentaService.generarCortes();
+            ResultadoConciliacionDTO resultado = saldoCuentaService.conciliar();
+            for (DiferenciaSaldoDTO diferencia : resultado.getDiferencias()) {
+                log.error("Saldo descuadrado en la cuenta {} ({}): registrado {}, según el libro {}",
+                        diferencia.getCuentaId(), diferencia.getOrigen(), diferencia.getSaldoRegistrado(),
+                        diferencia.getSaldoLibro());
+            }
+            log.info("Cortes de saldo: {} creado(s), {} cuenta(s) conciliada(s), {} diferencia(s)", cortes,
+                    resultado.getCuentasRevisadas(), resultado.getDiferencias().size());
+        } catch (Exception e) {
+            log.error("Error al generar o conciliar los cortes de saldo: {}", e.getMessage(), e);
+        }
+    }
+}
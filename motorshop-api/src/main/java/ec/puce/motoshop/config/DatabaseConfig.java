@@ -39,6 +39,10 @@ public class DatabaseConfig {
         dataSource.setMaximumPoolSize(10);
         dataSource.setMinimumIdle(5);
         dataSource.setConnectionTimeout(20000);
+        // Pool name used as the pool tag of the hikaricp.* metrics
+        dataSource.setPoolName("motoshop");
+        // Rewrite JDBC insert batches into multi-row INSERT statements
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true");
         return dataSource;
     }
 }
@@ -0,0 +1,142 @@
+package ec.puce.motoshop.config;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mide cada llamada a los servicios, a los repositorios y a Amazon Core.
+ * Publica el temporizador motoshop.llamadas (número de llamadas y duración)
+ * con las etiquetas capa, clase, metodo, resultado (exito o error) y
+ * excepcion, y el contador motoshop.llamadas.errores con las llamadas que
+ * terminaron en excepción. Los percentiles e histogramas se configuran con
+ * management.metrics.distribution.*.motoshop.llamadas.
+ * Las llamadas internas de una clase a sus propios métodos no pasan por el
+ * proxy y no se miden por separado. La medida incluye la transacción y la
+ * caché del método.
+ * Se puede desactivar con motoshop.metricas.habilitado=false.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = "motoshop.metricas.habilitado", havingValue = "true", matchIfMissing = true)
+public class MetricasAspect {
+
+    public static final String METRICA_LLAMADAS = "motoshop.llamadas";
+    public static final String METRICA_ERRORES = "motoshop.llamadas.errores";
+
+    static final String CAPA_SERVICIO = "servicio";
+    static final String CAPA_REPOSITORIO = "repositorio";
+    static final String CAPA_AMAZON_CORE = "amazon-core";
+
+    private static final String SIN_EXCEPCION = "none";
+
+    private final MeterRegistry registry;
+
+    // Temporizador de las llamadas correctas de cada método, para no buscarlo
+    // en el registro en cada llamada
+    private final Map<ClaveMetodo, Timer> temporizadores = new ConcurrentHashMap<>();
+
+    public MetricasAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("ec.puce.motoshop.config.CapasAplicacion.servicios()")
+    public Object medirServicio(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(joinPoint, CAPA_SERVICIO);
+    }
+
+    @Around("ec.puce.motoshop.config.CapasAplicacion.repositorios()")
+    public Object medirRepositorio(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(joinPoint, CAPA_REPOSITORIO);
+    }
+
+    @Around("ec.puce.motoshop.config.CapasAplicacion.amazonCore()")
+    public Object medirAmazonCore(ProceedingJoinPoint joinPoint) throws Throwable {
+        return medir(joinPoint, CAPA_AMAZON_CORE);
+    }
+
+    private Object medir(ProceedingJoinPoint joinPoint, String capa) throws Throwable {
+        long inicio = registry.config().clock().monotonicTime();
+        try {
+            Object resultado = joinPoint.proceed();
+            temporizador(joinPoint, capa).record(registry.config().clock().monotonicTime() - inicio,
+                    TimeUnit.NANOSECONDS);
+            return resultado;
+        } catch (Throwable e) {
+            registrarError(joinPoint, capa, e, registry.config().clock().monotonicTime() - inicio);
+            throw e;
+        }
+    }
+
+    private Timer temporizador(ProceedingJoinPoint joinPoint, String capa) {
+        ClaveMetodo clave = new ClaveMetodo(joinPoint.getTarget().getClass(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod());
+        return temporizadores.computeIfAbsent(clave, c -> Timer.builder(METRICA_LLAMADAS)
+                .tags(etiquetas(joinPoint, capa))
+                .tag("resultado", "exito")
+                .tag("excepcion", SIN_EXCEPCION)
+                .register(registry));
+    }
+
+    /**
+     * Los errores son poco frecuentes y la excepción varía, así que sus
+     * medidores se buscan en el registro en cada llamada fallida.
+     */
+    private void registrarError(ProceedingJoinPoint joinPoint, String capa, Throwable e, long nanos) {
+        Tags etiquetas = etiquetas(joinPoint, capa);
+        String excepcion = e.getClass().getSimpleName();
+        Timer.builder(METRICA_LLAMADAS)
+                .tags(etiquetas)
+                .tag("resultado", "error")
+                .tag("excepcion", excepcion)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        Counter.builder(METRICA_ERRORES)
+                .tags(etiquetas)
+                .tag("excepcion", excepcion)
+                .register(registry)
+                .increment();
+    }
+
+    private static Tags etiquetas(ProceedingJoinPoint joinPoint, String capa) {
+        return Tags.of("capa", capa,
+                "clase", nombreClase(joinPoint.getTarget()),
+                "metodo", joinPoint.getSignature().getName());
+    }
+
+    /**
+     * Nombre de la clase medida. Los repositorios de Spring Data son proxies
+     * JDK, así que se usa su interfaz (por ejemplo ProductoRepository).
+     */
+    static String nombreClase(Object destino) {
+        if (Proxy.isProxyClass(destino.getClass())) {
+            Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(destino);
+            if (interfaces.length > 0) {
+                return interfaces[0].getSimpleName();
+            }
+        }
+        return ClassUtils.getUserClass(destino).getSimpleName();
+    }
+
+    private record ClaveMetodo(Class<?> tipo, Method metodo) {
+    }
+}
@@ -0,0 +1,34 @@
+package ec.puce.motoshop.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import net.javacrumbs.shedlock.core.LockProvider;
+import net.javacrumbs.shedlock.provider.jdbctemplate.JdbcTemplateLockProvider;
+import net.javacrumbs.shedlock.spring.annotation.EnableSchedulerLock;
+
+/**
+ * Bloqueo de las tareas programadas entre instancias (ShedLock). Un método
+ * anotado con @SchedulerLock solo se ejecuta si la instancia consigue la fila
+ * de su tarea en la tabla shedlock (V10); las demás omiten esa ejecución.
+ * Si una instancia cae con el bloqueo tomado, se libera a los 30 minutos.
+ */
+@Configuration
+@EnableSchedulerLock(defaultLockAtMostFor = "PT30M")
+public class TareasProgramadasConfig {
+
+    /**
+     * Proveedor de bloqueos sobre la tabla shedlock. Las fechas se toman del
+     * reloj de la base para que no dependan del de cada instancia.
+     */
+    @Bean
+    public LockProvider lockProvider(DataSource dataSource) {
+        return new JdbcTemplateLockProvider(JdbcTemplateLockProvider.Configuration.builder()
+                .withJdbcTemplate(new JdbcTemplate(dataSource))
+                .usingDbTime()
+                .build());
+    }
+}
@@ -0,0 +1,60 @@
+package ec.puce.motoshop.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Abre un span por cada llamada a un servicio o al cliente de Amazon Core,
+ * con el nombre Clase.metodo, como hijo del span de la petición HTTP. Las
+ * sentencias SQL y las peticiones salientes del RestTemplate tienen sus
+ * propios spans, así que los repositorios no se trazan aquí.
+ * Va antes que las transacciones y la caché para que el span incluya el
+ * commit y los aciertos de caché.
+ * Se puede desactivar con motoshop.trazas.habilitado=false.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "motoshop.trazas.habilitado", havingValue = "true", matchIfMissing = true)
+public class TrazasAspect {
+
+    private final Tracer tracer;
+
+    public TrazasAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("ec.puce.motoshop.config.CapasAplicacion.servicios()")
+    public Object trazarServicio(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trazar(joinPoint, MetricasAspect.CAPA_SERVICIO);
+    }
+
+    @Around("ec.puce.motoshop.config.CapasAplicacion.amazonCore()")
+    public Object trazarAmazonCore(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trazar(joinPoint, MetricasAspect.CAPA_AMAZON_CORE);
+    }
+
+    private Object trazar(ProceedingJoinPoint joinPoint, String capa) throws Throwable {
+        String clase = MetricasAspect.nombreClase(joinPoint.getTarget());
+        Span span = tracer.nextSpan()
+                .name(clase + "." + joinPoint.getSignature().getName())
+                .tag("capa", capa)
+                .start();
+        try (Tracer.SpanInScope ignorado = tracer.withSpan(span)) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
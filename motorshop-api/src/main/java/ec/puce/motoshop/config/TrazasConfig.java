@@ -0,0 +1,35 @@
+package ec.puce.motoshop.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+/**
+ * Configuración del exportador de trazas para análisis local. Con
+ * motoshop.trazas.exportador=archivo los spans se escriben en
+ * motoshop.trazas.archivo (un JSON por línea); con ninguno solo se propagan
+ * los identificadores de traza y aparecen en el log.
+ * Spring Boot registra cada SpanExporter en el BatchSpanProcessor de
+ * OpenTelemetry.
+ */
+@Configuration
+public class TrazasConfig {
+
+    @Value("${motoshop.trazas.archivo:trazas/spans.jsonl}")
+    private Path archivo;
+
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(name = "motoshop.trazas.exportador", havingValue = "archivo")
+    public SpanExporter archivoSpanExporter() throws IOException {
+        // El BatchSpanProcessor cierra el exportador al detenerse
+        return new ArchivoSpanExporter(archivo, new ObjectMapper());
+    }
+}
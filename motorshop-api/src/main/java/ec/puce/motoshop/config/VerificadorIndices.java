@@ -0,0 +1,186 @@
+package ec.puce.motoshop.config;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verifica al arrancar que las consultas derivadas de los repositorios
+ * (findBy..., existsBy..., countBy...) filtren por columnas indexadas.
+ * Cada propiedad del nombre del método se traduce a su tabla y columna, y se
+ * comprueba con los metadatos JDBC que la columna encabece algún índice. Solo
+ * registra advertencias: no impide el arranque.
+ * Se puede desactivar con motoshop.indices.verificar=false.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "motoshop.indices.verificar", havingValue = "true", matchIfMissing = true)
+public class VerificadorIndices {
+
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final Map<Class<?>, String> tablas = new HashMap<>();
+
+    public VerificadorIndices(ApplicationContext applicationContext, DataSource dataSource) {
+        this.applicationContext = applicationContext;
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificar() {
+        // Columna filtrada -> método que la usa, agrupado por tabla
+        Map<String, Map<String, String>> filtros = new LinkedHashMap<>();
+        Repositories repositories = new Repositories(applicationContext);
+        for (Class<?> dominio : repositories) {
+            repositories.getRepositoryInformationFor(dominio)
+                    .ifPresent(info -> recolectarFiltros(info, filtros));
+        }
+
+        try (Connection conexion = dataSource.getConnection()) {
+            DatabaseMetaData metadatos = conexion.getMetaData();
+            int sinIndice = 0;
+            for (Map.Entry<String, Map<String, String>> tabla : filtros.entrySet()) {
+                Set<String> indexadas = columnasIndexadas(metadatos, conexion.getSchema(), tabla.getKey());
+                for (Map.Entry<String, String> filtro : tabla.getValue().entrySet()) {
+                    if (!indexadas.contains(filtro.getKey())) {
+                        sinIndice++;
+                        log.warn("{} filtra por {}.{}, que no tiene índice", filtro.getValue(), tabla.getKey(),
+                                filtro.getKey());
+                    }
+                }
+            }
+            log.info("Verificación de índices: {} tablas revisadas, {} columnas sin índice",
+                    filtros.size(), sinIndice);
+        } catch (SQLException e) {
+            log.warn("No se pudo verificar los índices de las consultas derivadas: {}", e.getMessage());
+        }
+    }
+
+    private void recolectarFiltros(RepositoryInformation info, Map<String, Map<String, String>> filtros) {
+        Class<?> dominio = info.getDomainType();
+        for (Method metodo : info.getQueryMethods()) {
+            // Las consultas escritas a mano no se derivan del nombre del método
+            if (metodo.isAnnotationPresent(Query.class)) {
+                continue;
+            }
+            PartTree arbol;
+            try {
+                arbol = new PartTree(metodo.getName(), dominio);
+            } catch (RuntimeException e) {
+                continue;
+            }
+            String nombre = info.getRepositoryInterface().getSimpleName() + "." + metodo.getName();
+            for (Part parte : arbol.getParts()) {
+                recolectarColumnas(dominio, parte.getProperty().toDotPath().split("\\."), nombre, filtros);
+            }
+        }
+    }
+
+    /**
+     * Recorre la ruta de propiedades y registra la columna filtrada de cada
+     * tabla. Una asociación seguida del ID de la entidad destino se resuelve en
+     * la columna de clave foránea, sin pasar a la otra tabla.
+     */
+    private void recolectarColumnas(Class<?> entidad, String[] ruta, String metodo,
+            Map<String, Map<String, String>> filtros) {
+        Class<?> actual = entidad;
+        for (int i = 0; i < ruta.length; i++) {
+            Field campo = ReflectionUtils.findField(actual, ruta[i]);
+            if (campo == null) {
+                return;
+            }
+            filtros.computeIfAbsent(tabla(actual), t -> new LinkedHashMap<>())
+                    .putIfAbsent(columna(campo), metodo);
+
+            boolean asociacion = campo.isAnnotationPresent(ManyToOne.class)
+                    || campo.isAnnotationPresent(OneToOne.class);
+            if (!asociacion || i == ruta.length - 1 || esId(campo.getType(), ruta[i + 1])) {
+                return;
+            }
+            // Se filtra por otra columna de la entidad asociada: la unión usa
+            // la clave foránea y el filtro sigue en la tabla destino
+            actual = campo.getType();
+        }
+    }
+
+    private Set<String> columnasIndexadas(DatabaseMetaData metadatos, String esquema, String tabla)
+            throws SQLException {
+        Set<String> columnas = new HashSet<>();
+        try (ResultSet indices = metadatos.getIndexInfo(null, esquema, tabla, false, true)) {
+            while (indices.next()) {
+                // Solo sirve la primera columna del índice para filtrar por ella
+                String columna = indices.getString("COLUMN_NAME");
+                if (columna != null && indices.getShort("ORDINAL_POSITION") == 1) {
+                    columnas.add(columna.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return columnas;
+    }
+
+    private boolean esId(Class<?> entidad, String propiedad) {
+        Field campo = ReflectionUtils.findField(entidad, propiedad);
+        return campo != null && campo.isAnnotationPresent(Id.class);
+    }
+
+    private String tabla(Class<?> entidad) {
+        return tablas.computeIfAbsent(entidad, e -> {
+            Table tabla = e.getAnnotation(Table.class);
+            return tabla != null && StringUtils.hasText(tabla.name())
+                    ? tabla.name()
+                    : aGuionBajo(e.getSimpleName());
+        });
+    }
+
+    private String columna(Field campo) {
+        JoinColumn joinColumn = campo.getAnnotation(JoinColumn.class);
+        if (joinColumn != null && StringUtils.hasText(joinColumn.name())) {
+            return joinColumn.name();
+        }
+        Column column = campo.getAnnotation(Column.class);
+        if (column != null && StringUtils.hasText(column.name())) {
+            return column.name();
+        }
+        return aGuionBajo(campo.getName());
+    }
+
+    /**
+     * Misma conversión que la estrategia de nombres por defecto de Spring Boot
+     * (CamelCaseToUnderscoresNamingStrategy).
+     */
+    private String aGuionBajo(String nombre) {
+        return nombre.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+}
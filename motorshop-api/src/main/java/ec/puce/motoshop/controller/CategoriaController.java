@@ -217,7 +217,7 @@ public class CategoriaController {
             }
 
             // Verificar si existen productos asociados a la categoría
-            boolean existenProductosAsociados = productoRepository.existsProductosByCategoria(id);
+            boolean existenProductosAsociados = productoRepository.existsByCategoriaId(id);
             if (existenProductosAsociados) {
                 return ResponseEntity
                         .status(HttpStatus.CONFLICT)
@@ -2,6 +2,7 @@ package ec.puce.motoshop.controller;
 
 import ec.puce.motoshop.domain.Cliente;
 import ec.puce.motoshop.service.IClienteService;
+import ec.puce.motoshop.repository.projection.ClienteResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -54,11 +55,11 @@ public class ClienteController {
      * @return ResponseEntity con la lista de clientes y estado HTTP 200 OK.
      */
     @Operation(summary = "Lista todos los clientes", description = "Devuelve la lista completa de clientes registrados")
-    @ApiResponse(responseCode = "200", description = "Lista de clientes obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Cliente.class)))
+    @ApiResponse(responseCode = "200", description = "Lista de clientes obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ClienteResumen.class)))
     @GetMapping
-    public ResponseEntity<List<Cliente>> listarTodos() {
+    public ResponseEntity<List<ClienteResumen>> listarTodos() {
         try {
-            List<Cliente> clientes = clienteService.findAll();
+            List<ClienteResumen> clientes = clienteService.listarResumen();
             return ResponseEntity.ok(clientes);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -74,15 +75,15 @@ public class ClienteController {
     @Operation(summary = "Obtiene un cliente por su ID", description = "Busca y devuelve un cliente según su identificador")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cliente encontrado", content = {
-                    @Content(mediaType = "application/json", schema = @Schema(implementation = Cliente.class)) }),
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ClienteResumen.class)) }),
             @ApiResponse(responseCode = "404", description = "Cliente no encontrado", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Cliente> obtenerPorId(
+    public ResponseEntity<ClienteResumen> obtenerPorId(
             @Parameter(description = "ID del cliente a buscar", required = true, example = "1") @PathVariable(name = "id", required = true) Long id) {
         try {
-            Optional<Cliente> clienteOpt = clienteService.findById(id);
+            Optional<ClienteResumen> clienteOpt = clienteService.obtenerResumenPorId(id);
 
             if (clienteOpt.isPresent()) {
                 return ResponseEntity.ok(clienteOpt.get());
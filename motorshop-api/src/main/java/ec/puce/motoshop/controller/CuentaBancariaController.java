@@ -1,8 +1,13 @@
 package ec.puce.motoshop.controller;
 
 import ec.puce.motoshop.domain.CuentaBancaria;
+import ec.puce.motoshop.dto.SaldoCuentaDTO;
+import ec.puce.motoshop.repository.projection.CuentaBancariaResumen;
 import ec.puce.motoshop.service.ICuentaBancariaService;
+import ec.puce.motoshop.service.ISaldoCuentaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,6 +17,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -25,6 +31,8 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -38,15 +46,19 @@ import java.util.Optional;
 public class CuentaBancariaController {
 
     private final ICuentaBancariaService cuentaBancariaService;
+    private final ISaldoCuentaService saldoCuentaService;
 
     /**
      * Constructor con inyección de dependencias.
      * 
      * @param cuentaBancariaService Servicio para operaciones de cuentas bancarias.
+     * @param saldoCuentaService    Servicio para el cálculo de saldos.
      */
     @Autowired
-    public CuentaBancariaController(ICuentaBancariaService cuentaBancariaService) {
+    public CuentaBancariaController(ICuentaBancariaService cuentaBancariaService,
+            ISaldoCuentaService saldoCuentaService) {
         this.cuentaBancariaService = cuentaBancariaService;
+        this.saldoCuentaService = saldoCuentaService;
     }
 
     /**
@@ -56,11 +68,11 @@ public class CuentaBancariaController {
      *         OK.
      */
     @Operation(summary = "Lista todas las cuentas bancarias", description = "Devuelve la lista completa de cuentas bancarias registradas")
-    @ApiResponse(responseCode = "200", description = "Lista de cuentas bancarias obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CuentaBancaria.class)))
+    @ApiResponse(responseCode = "200", description = "Lista de cuentas bancarias obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CuentaBancariaResumen.class)))
     @GetMapping
     public ResponseEntity<?> listarTodas() {
         try {
-            List<CuentaBancaria> cuentas = cuentaBancariaService.listarTodas();
+            List<CuentaBancariaResumen> cuentas = cuentaBancariaService.listarResumen();
             return ResponseEntity.ok(cuentas);
         } catch (Exception e) {
             return ResponseEntity
@@ -79,7 +91,7 @@ public class CuentaBancariaController {
     @Operation(summary = "Obtiene una cuenta bancaria por su ID", description = "Busca y devuelve una cuenta bancaria según su identificador")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cuenta bancaria encontrada", content = {
-                    @Content(mediaType = "application/json", schema = @Schema(implementation = CuentaBancaria.class)) }),
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = CuentaBancariaResumen.class)) }),
             @ApiResponse(responseCode = "404", description = "Cuenta bancaria no encontrada", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
@@ -93,10 +105,12 @@ public class CuentaBancariaController {
                         .body("El ID de la cuenta bancaria no puede ser nulo");
             }
 
-            Optional<CuentaBancaria> cuenta = cuentaBancariaService.obtenerPorId(id);
+            Optional<CuentaBancariaResumen> cuenta = cuentaBancariaService.obtenerResumenPorId(id);
 
             if (cuenta.isPresent()) {
-                return ResponseEntity.ok(cuenta.get());
+                return ResponseEntity.ok()
+                        .eTag(VersionEtag.etag(cuenta.get().version()))
+                        .body(cuenta.get());
             } else {
                 return ResponseEntity
                         .status(HttpStatus.NOT_FOUND)
@@ -109,6 +123,36 @@ public class CuentaBancariaController {
         }
     }
 
+    /**
+     * Obtiene el saldo actual de una cuenta bancaria. Si los saldos se llevan en
+     * el libro de transacciones, se calcula con el último corte más los
+     * movimientos posteriores.
+     * 
+     * @param id Identificador de la cuenta bancaria.
+     * @return ResponseEntity con el saldo, o estado HTTP 404 Not Found.
+     */
+    @Operation(summary = "Obtiene el saldo de una cuenta bancaria", description = "Devuelve el saldo actual de la cuenta, calculado desde el libro de transacciones cuando está activo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Saldo obtenido", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = SaldoCuentaDTO.class)) }),
+            @ApiResponse(responseCode = "404", description = "Cuenta bancaria no encontrada", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+    })
+    @GetMapping("/{id}/saldo")
+    public ResponseEntity<?> obtenerSaldo(
+            @Parameter(description = "ID de la cuenta bancaria", required = true, example = "1") @PathVariable(name = "id", required = true) Integer id) {
+        try {
+            return ResponseEntity.ok(new SaldoCuentaDTO(id, saldoCuentaService.obtenerSaldo(id),
+                    saldoCuentaService.isLibroActivo()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error al obtener el saldo de la cuenta bancaria: " + e.getMessage());
+        }
+    }
+
     /**
      * Guarda una nueva cuenta bancaria.
      * 
@@ -200,22 +244,30 @@ public class CuentaBancariaController {
     /**
      * Actualiza una cuenta bancaria existente.
      * 
-     * @param id     Identificador de la cuenta bancaria a actualizar.
-     * @param cuenta Datos actualizados de la cuenta bancaria.
-     * @return ResponseEntity con la cuenta bancaria actualizada o estado HTTP 404
-     *         Not Found.
+     * Si se envía la cabecera If-Match (o la versión en el cuerpo), la
+     * actualización solo se aplica si la cuenta no cambió desde que el cliente
+     * la leyó.
+     * 
+     * @param id      Identificador de la cuenta bancaria a actualizar.
+     * @param ifMatch ETag de la cuenta leída por el cliente (opcional).
+     * @param cuenta  Datos actualizados de la cuenta bancaria.
+     * @return ResponseEntity con la cuenta bancaria actualizada, estado HTTP 404
+     *         Not Found, o estado HTTP 412 Precondition Failed si la cuenta fue
+     *         modificada por otra petición.
      */
-    @Operation(summary = "Actualiza una cuenta bancaria existente", description = "Actualiza los datos de una cuenta bancaria existente según su ID")
+    @Operation(summary = "Actualiza una cuenta bancaria existente", description = "Actualiza los datos de una cuenta bancaria existente según su ID. Con la cabecera If-Match la actualización falla con 412 si la cuenta cambió desde que se leyó")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cuenta bancaria actualizada correctamente", content = {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = CuentaBancaria.class)) }),
             @ApiResponse(responseCode = "400", description = "Datos de cuenta bancaria inválidos", content = @Content),
             @ApiResponse(responseCode = "404", description = "Cuenta bancaria no encontrada", content = @Content),
+            @ApiResponse(responseCode = "412", description = "La cuenta bancaria fue modificada por otra petición", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<?> actualizar(
             @Parameter(description = "ID de la cuenta bancaria a actualizar", required = true, example = "1") @PathVariable(name = "id", required = true) Integer id,
+            @Parameter(description = "ETag de la cuenta bancaria leída") @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Datos actualizados de la cuenta bancaria", required = true) @RequestBody CuentaBancaria cuenta) {
         try {
             // Validación de datos
@@ -293,12 +345,33 @@ public class CuentaBancariaController {
                 }
             }
 
+            // Verificamos que la cuenta no haya cambiado desde que el cliente la leyó
+            Long versionActual = cuentaExistenteOpt.get().getVersion();
+            Long versionEsperada;
+            try {
+                versionEsperada = VersionEtag.versionEsperada(ifMatch, cuenta.getVersion(), versionActual);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+            if (!Objects.equals(versionEsperada, versionActual)) {
+                return ResponseEntity
+                        .status(HttpStatus.PRECONDITION_FAILED)
+                        .body("La cuenta bancaria fue modificada por otra petición");
+            }
+
             // Asignamos el ID correcto a la cuenta que vamos a actualizar
             cuenta.setId(id);
+            cuenta.setVersion(versionEsperada);
 
             // Guardamos la cuenta actualizada
             CuentaBancaria cuentaActualizada = cuentaBancariaService.guardar(cuenta);
-            return ResponseEntity.ok(cuentaActualizada);
+            return ResponseEntity.ok()
+                    .eTag(VersionEtag.etag(cuentaActualizada.getVersion()))
+                    .body(cuentaActualizada);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity
+                    .status(HttpStatus.PRECONDITION_FAILED)
+                    .body("La cuenta bancaria fue modificada por otra petición");
         } catch (Exception e) {
             e.printStackTrace(); // Log the full stack trace for debugging
             return ResponseEntity
@@ -1,6 +1,7 @@
 package ec.puce.motoshop.controller;
 
 import ec.puce.motoshop.domain.DetallePedido;
+import ec.puce.motoshop.repository.projection.DetallePedidoResumen;
 import ec.puce.motoshop.service.IDetallePedidoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -55,11 +56,11 @@ public class DetallePedidoController {
      * @return ResponseEntity con la lista de detalles y estado HTTP 200 OK.
      */
     @Operation(summary = "Lista todos los detalles de pedido", description = "Devuelve la lista completa de detalles de pedido registrados")
-    @ApiResponse(responseCode = "200", description = "Lista de detalles de pedido obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = DetallePedido.class)))
+    @ApiResponse(responseCode = "200", description = "Lista de detalles de pedido obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = DetallePedidoResumen.class)))
     @GetMapping
     public ResponseEntity<?> listarTodos() {
         try {
-            List<DetallePedido> detalles = detallePedidoService.listarTodos();
+            List<DetallePedidoResumen> detalles = detallePedidoService.listarResumen();
             return ResponseEntity.ok(detalles);
         } catch (Exception e) {
             e.printStackTrace(); // Log para debugging
@@ -78,7 +79,7 @@ public class DetallePedidoController {
     @Operation(summary = "Obtiene un detalle de pedido por su ID", description = "Busca y devuelve un detalle de pedido según su identificador")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Detalle de pedido encontrado", content = {
-                    @Content(mediaType = "application/json", schema = @Schema(implementation = DetallePedido.class)) }),
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = DetallePedidoResumen.class)) }),
             @ApiResponse(responseCode = "404", description = "Detalle de pedido no encontrado", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
@@ -92,7 +93,7 @@ public class DetallePedidoController {
                         .body("El ID del detalle de pedido no puede ser nulo");
             }
 
-            Optional<DetallePedido> detalle = detallePedidoService.obtenerPorId(id);
+            Optional<DetallePedidoResumen> detalle = detallePedidoService.obtenerResumenPorId(id);
 
             if (detalle.isPresent()) {
                 return ResponseEntity.ok(detalle.get());
@@ -1,6 +1,7 @@
 package ec.puce.motoshop.controller;
 
 import ec.puce.motoshop.domain.Direccion;
+import ec.puce.motoshop.repository.projection.DireccionResumen;
 import ec.puce.motoshop.service.IDireccionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -54,11 +55,11 @@ public class DireccionController {
      * @return ResponseEntity con la lista de direcciones y estado HTTP 200 OK.
      */
     @Operation(summary = "Lista todas las direcciones", description = "Devuelve la lista completa de direcciones registradas")
-    @ApiResponse(responseCode = "200", description = "Lista de direcciones obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Direccion.class)))
+    @ApiResponse(responseCode = "200", description = "Lista de direcciones obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = DireccionResumen.class)))
     @GetMapping
     public ResponseEntity<?> listarTodas() {
         try {
-            List<Direccion> direcciones = direccionService.listarTodas();
+            List<DireccionResumen> direcciones = direccionService.listarResumen();
             return ResponseEntity.ok(direcciones);
         } catch (Exception e) {
             return ResponseEntity
@@ -77,7 +78,7 @@ public class DireccionController {
     @Operation(summary = "Obtiene una dirección por su ID", description = "Busca y devuelve una dirección según su identificador")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Dirección encontrada", content = {
-                    @Content(mediaType = "application/json", schema = @Schema(implementation = Direccion.class)) }),
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = DireccionResumen.class)) }),
             @ApiResponse(responseCode = "404", description = "Dirección no encontrada", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
@@ -91,7 +92,7 @@ public class DireccionController {
                         .body("El ID de la dirección no puede ser nulo");
             }
 
-            Optional<Direccion> direccion = direccionService.obtenerPorId(id);
+            Optional<DireccionResumen> direccion = direccionService.obtenerResumenPorId(id);
 
             if (direccion.isPresent()) {
                 return ResponseEntity.ok(direccion.get());
@@ -1,9 +1,15 @@
 package ec.puce.motoshop.controller;
 
 import ec.puce.motoshop.domain.Factura;
+import ec.puce.motoshop.repository.projection.FacturaResumen;
+import ec.puce.motoshop.dto.FormatoExportacion;
+import ec.puce.motoshop.service.IExportacionService;
 import ec.puce.motoshop.service.IFacturaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,7 +19,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,15 +47,18 @@ import java.util.Optional;
 public class FacturaController {
 
     private final IFacturaService facturaService;
+    private final IExportacionService exportacionService;
 
     /**
      * Constructor con inyección de dependencias.
      * 
      * @param facturaService Servicio para operaciones de facturas.
+     * @param exportacionService Servicio para la exportación de facturas.
      */
     @Autowired
-    public FacturaController(IFacturaService facturaService) {
+    public FacturaController(IFacturaService facturaService, IExportacionService exportacionService) {
         this.facturaService = facturaService;
+        this.exportacionService = exportacionService;
     }
 
     /**
@@ -56,11 +67,11 @@ public class FacturaController {
      * @return ResponseEntity con la lista de facturas y estado HTTP 200 OK.
      */
     @Operation(summary = "Lista todas las facturas", description = "Devuelve la lista completa de facturas registradas")
-    @ApiResponse(responseCode = "200", description = "Lista de facturas obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Factura.class)))
+    @ApiResponse(responseCode = "200", description = "Lista de facturas obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = FacturaResumen.class)))
     @GetMapping
     public ResponseEntity<?> listarTodas() {
         try {
-            List<Factura> facturas = facturaService.listarTodas();
+            List<FacturaResumen> facturas = facturaService.listarResumen();
             return ResponseEntity.ok(facturas);
         } catch (Exception e) {
             e.printStackTrace(); // Log para debugging
@@ -70,6 +81,39 @@ public class FacturaController {
         }
     }
 
+    /**
+     * Exporta todas las facturas en formato NDJSON o CSV.
+     * Las filas se escriben en la respuesta a medida que se leen de la base de
+     * datos, por lo que la tabla completa nunca se carga en memoria.
+     * 
+     * @param formato Formato de la exportación: "ndjson" o "csv".
+     * @return ResponseEntity con el archivo exportado, o estado HTTP 400 Bad
+     *         Request si el formato no es válido.
+     */
+    @Operation(summary = "Exporta todas las facturas", description = "Descarga todas las facturas como NDJSON (un objeto JSON por línea) o CSV, escritos a medida que se leen de la base de datos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación generada", content = {
+                    @Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv") }),
+            @ApiResponse(responseCode = "400", description = "Formato de exportación inválido", content = @Content)
+    })
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "Formato de la exportación (ndjson o csv)", example = "ndjson") @RequestParam(name = "formato", defaultValue = "ndjson") String formato) {
+        FormatoExportacion formatoExportacion;
+        try {
+            formatoExportacion = FormatoExportacion.desde(formato);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody cuerpo = salida -> exportacionService.exportarFacturas(salida, formatoExportacion);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacion.getTipoContenido()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("facturas." + formatoExportacion.getExtension()).build().toString())
+                .body(cuerpo);
+    }
+
     /**
      * Obtiene una factura por su identificador.
      * 
@@ -79,7 +123,7 @@ public class FacturaController {
     @Operation(summary = "Obtiene una factura por su ID", description = "Busca y devuelve una factura según su identificador")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Factura encontrada", content = {
-                    @Content(mediaType = "application/json", schema = @Schema(implementation = Factura.class)) }),
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = FacturaResumen.class)) }),
             @ApiResponse(responseCode = "404", description = "Factura no encontrada", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
@@ -93,7 +137,7 @@ public class FacturaController {
                         .body("El ID de la factura no puede ser nulo");
             }
 
-            Optional<Factura> factura = facturaService.obtenerPorId(id);
+            Optional<FacturaResumen> factura = facturaService.obtenerResumenPorId(id);
 
             if (factura.isPresent()) {
                 return ResponseEntity.ok(factura.get());
@@ -1,6 +1,7 @@
 package ec.puce.motoshop.controller;
 
 import ec.puce.motoshop.domain.ImagenProducto;
+import ec.puce.motoshop.repository.projection.ImagenProductoResumen;
 import ec.puce.motoshop.service.IImagenProductoService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -56,11 +57,11 @@ public class ImagenProductoController {
      * @return ResponseEntity con la lista de imágenes y estado HTTP 200 OK.
      */
     @Operation(summary = "Lista todas las imágenes de productos", description = "Devuelve la lista completa de imágenes adicionales de productos registradas")
-    @ApiResponse(responseCode = "200", description = "Lista de imágenes obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImagenProducto.class)))
+    @ApiResponse(responseCode = "200", description = "Lista de imágenes obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImagenProductoResumen.class)))
     @GetMapping
     public ResponseEntity<?> listarTodas() {
         try {
-            List<ImagenProducto> imagenes = imagenProductoService.listarTodas();
+            List<ImagenProductoResumen> imagenes = imagenProductoService.listarResumen();
             return ResponseEntity.ok(imagenes);
         } catch (Exception e) {
             e.printStackTrace(); // Log para debugging
@@ -81,7 +82,7 @@ public class ImagenProductoController {
     @Operation(summary = "Lista imágenes por producto", description = "Devuelve todas las imágenes asociadas a un producto específico")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Imágenes encontradas con éxito", content = {
-                    @Content(mediaType = "application/json", schema = @Schema(implementation = ImagenProducto.class)) }),
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ImagenProductoResumen.class)) }),
             @ApiResponse(responseCode = "404", description = "No se encontraron imágenes para ese producto", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
@@ -95,7 +96,7 @@ public class ImagenProductoController {
                         .body("El ID del producto no puede ser nulo");
             }
 
-            List<ImagenProducto> imagenes = imagenProductoService.obtenerPorProductoId(productoId);
+            List<ImagenProductoResumen> imagenes = imagenProductoService.obtenerResumenPorProductoId(productoId);
 
             if (imagenes.isEmpty()) {
                 return ResponseEntity
@@ -122,7 +123,7 @@ public class ImagenProductoController {
     @Operation(summary = "Obtiene una imagen por su ID", description = "Busca y devuelve una imagen de producto según su identificador")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Imagen encontrada", content = {
-                    @Content(mediaType = "application/json", schema = @Schema(implementation = ImagenProducto.class)) }),
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ImagenProductoResumen.class)) }),
             @ApiResponse(responseCode = "404", description = "Imagen no encontrada", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
@@ -136,7 +137,7 @@ public class ImagenProductoController {
                         .body("El ID de la imagen no puede ser nulo");
             }
 
-            Optional<ImagenProducto> imagen = imagenProductoService.obtenerPorId(id);
+            Optional<ImagenProductoResumen> imagen = imagenProductoService.obtenerResumenPorId(id);
 
             if (imagen.isPresent()) {
                 return ResponseEntity.ok(imagen.get());
@@ -1,9 +1,17 @@
 package ec.puce.motoshop.controller;
 
 import ec.puce.motoshop.domain.Pedido;
+import ec.puce.motoshop.dto.FormatoExportacion;
+import ec.puce.motoshop.dto.PedidoCompletoDTO;
+import ec.puce.motoshop.service.IExportacionService;
 import ec.puce.motoshop.service.IPedidoService;
+import ec.puce.motoshop.repository.projection.PedidoResumen;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,8 +20,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -25,6 +36,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -38,15 +50,18 @@ import java.util.Optional;
 public class PedidoController {
 
     private final IPedidoService pedidoService;
+    private final IExportacionService exportacionService;
 
     /**
      * Constructor con inyección de dependencias.
      * 
      * @param pedidoService Servicio para operaciones de pedidos.
+     * @param exportacionService Servicio para la exportación de pedidos.
      */
     @Autowired
-    public PedidoController(IPedidoService pedidoService) {
+    public PedidoController(IPedidoService pedidoService, IExportacionService exportacionService) {
         this.pedidoService = pedidoService;
+        this.exportacionService = exportacionService;
     }
 
     /**
@@ -55,11 +70,11 @@ public class PedidoController {
      * @return ResponseEntity con la lista de pedidos y estado HTTP 200 OK.
      */
     @Operation(summary = "Lista todos los pedidos", description = "Devuelve la lista completa de pedidos registrados")
-    @ApiResponse(responseCode = "200", description = "Lista de pedidos obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Pedido.class)))
+    @ApiResponse(responseCode = "200", description = "Lista de pedidos obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PedidoResumen.class)))
     @GetMapping
     public ResponseEntity<?> listarTodos() {
         try {
-            List<Pedido> pedidos = pedidoService.listarTodos();
+            List<PedidoResumen> pedidos = pedidoService.listarResumen();
             return ResponseEntity.ok(pedidos);
         } catch (Exception e) {
             e.printStackTrace(); // Log para debugging
@@ -69,6 +84,39 @@ public class PedidoController {
         }
     }
 
+    /**
+     * Exporta todos los pedidos en formato NDJSON o CSV.
+     * Las filas se escriben en la respuesta a medida que se leen de la base de
+     * datos, por lo que la tabla completa nunca se carga en memoria.
+     * 
+     * @param formato Formato de la exportación: "ndjson" o "csv".
+     * @return ResponseEntity con el archivo exportado, o estado HTTP 400 Bad
+     *         Request si el formato no es válido.
+     */
+    @Operation(summary = "Exporta todos los pedidos", description = "Descarga todos los pedidos como NDJSON (un objeto JSON por línea) o CSV, escritos a medida que se leen de la base de datos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación generada", content = {
+                    @Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv") }),
+            @ApiResponse(responseCode = "400", description = "Formato de exportación inválido", content = @Content)
+    })
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "Formato de la exportación (ndjson o csv)", example = "ndjson") @RequestParam(name = "formato", defaultValue = "ndjson") String formato) {
+        FormatoExportacion formatoExportacion;
+        try {
+            formatoExportacion = FormatoExportacion.desde(formato);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody cuerpo = salida -> exportacionService.exportarPedidos(salida, formatoExportacion);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacion.getTipoContenido()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("pedidos." + formatoExportacion.getExtension()).build().toString())
+                .body(cuerpo);
+    }
+
     /**
      * Obtiene un pedido por su identificador.
      * 
@@ -78,7 +126,7 @@ public class PedidoController {
     @Operation(summary = "Obtiene un pedido por su ID", description = "Busca y devuelve un pedido según su identificador")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Pedido encontrado", content = {
-                    @Content(mediaType = "application/json", schema = @Schema(implementation = Pedido.class)) }),
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = PedidoResumen.class)) }),
             @ApiResponse(responseCode = "404", description = "Pedido no encontrado", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
@@ -92,10 +140,12 @@ public class PedidoController {
                         .body("El ID del pedido no puede ser nulo");
             }
 
-            Optional<Pedido> pedido = pedidoService.obtenerPorId(id);
+            Optional<PedidoResumen> pedido = pedidoService.obtenerResumenPorId(id);
 
             if (pedido.isPresent()) {
-                return ResponseEntity.ok(pedido.get());
+                return ResponseEntity.ok()
+                        .eTag(VersionEtag.etag(pedido.get().version()))
+                        .body(pedido.get());
             } else {
                 return ResponseEntity
                         .status(HttpStatus.NOT_FOUND)
@@ -109,6 +159,41 @@ public class PedidoController {
         }
     }
 
+    /**
+     * Obtiene un pedido con su cliente, dirección de entrega y líneas con sus
+     * productos, resuelto con una sola consulta a la base de datos.
+     * 
+     * @param id Identificador del pedido.
+     * @return ResponseEntity con la vista completa del pedido si existe, o
+     *         estado HTTP 404 Not Found.
+     */
+    @Operation(summary = "Obtiene un pedido con sus líneas", description = "Devuelve el pedido junto con su cliente, dirección de entrega y líneas con los datos de cada producto")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pedido encontrado", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = PedidoCompletoDTO.class)) }),
+            @ApiResponse(responseCode = "404", description = "Pedido no encontrado", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+    })
+    @GetMapping("/{id}/completo")
+    public ResponseEntity<?> obtenerCompleto(
+            @Parameter(description = "ID del pedido a buscar", required = true, example = "1") @PathVariable(name = "id", required = true) Integer id) {
+        try {
+            Optional<PedidoCompletoDTO> pedido = pedidoService.obtenerCompleto(id);
+
+            if (pedido.isPresent()) {
+                return ResponseEntity.ok(pedido.get());
+            } else {
+                return ResponseEntity
+                        .status(HttpStatus.NOT_FOUND)
+                        .body("No se encontró un pedido con ID: " + id);
+            }
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error al buscar el pedido: " + e.getMessage());
+        }
+    }
+
     /**
      * Guarda un nuevo pedido.
      * 
@@ -204,21 +289,30 @@ public class PedidoController {
     /**
      * Actualiza un pedido existente.
      * 
-     * @param id     Identificador del pedido a actualizar.
-     * @param pedido Datos actualizados del pedido.
-     * @return ResponseEntity con el pedido actualizado o estado HTTP 404 Not Found.
+     * Si se envía la cabecera If-Match (o la versión en el cuerpo), la
+     * actualización solo se aplica si el pedido no cambió desde que el cliente
+     * lo leyó.
+     * 
+     * @param id      Identificador del pedido a actualizar.
+     * @param ifMatch ETag del pedido leído por el cliente (opcional).
+     * @param pedido  Datos actualizados del pedido.
+     * @return ResponseEntity con el pedido actualizado, estado HTTP 404 Not
+     *         Found, o estado HTTP 412 Precondition Failed si el pedido fue
+     *         modificado por otra petición.
      */
-    @Operation(summary = "Actualiza un pedido existente", description = "Actualiza los datos de un pedido existente según su ID")
+    @Operation(summary = "Actualiza un pedido existente", description = "Actualiza los datos de un pedido existente según su ID. Con la cabecera If-Match la actualización falla con 412 si el pedido cambió desde que se leyó")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Pedido actualizado correctamente", content = {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = Pedido.class)) }),
             @ApiResponse(responseCode = "400", description = "Datos de pedido inválidos", content = @Content),
             @ApiResponse(responseCode = "404", description = "Pedido no encontrado", content = @Content),
+            @ApiResponse(responseCode = "412", description = "El pedido fue modificado por otra petición", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<?> actualizar(
             @Parameter(description = "ID del pedido a actualizar", required = true, example = "1") @PathVariable(name = "id", required = true) Integer id,
+            @Parameter(description = "ETag del pedido leído") @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Datos actualizados del pedido", required = true) @RequestBody Pedido pedido) {
         try {
             // Validación de datos
@@ -297,12 +391,33 @@ public class PedidoController {
                         .body("El estado del pedido es obligatorio");
             }
 
+            // Verificamos que el pedido no haya cambiado desde que el cliente lo leyó
+            Long versionActual = pedidoExistenteOpt.get().getVersion();
+            Long versionEsperada;
+            try {
+                versionEsperada = VersionEtag.versionEsperada(ifMatch, pedido.getVersion(), versionActual);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
+            if (!Objects.equals(versionEsperada, versionActual)) {
+                return ResponseEntity
+                        .status(HttpStatus.PRECONDITION_FAILED)
+                        .body("El pedido fue modificado por otra petición");
+            }
+
             // Asignamos el ID correcto a la cuenta que vamos a actualizar
             pedido.setId(id);
+            pedido.setVersion(versionEsperada);
 
             // Guardamos la cuenta actualizada
             Pedido pedidoActualizado = pedidoService.guardar(pedido);
-            return ResponseEntity.ok(pedidoActualizado);
+            return ResponseEntity.ok()
+                    .eTag(VersionEtag.etag(pedidoActualizado.getVersion()))
+                    .body(pedidoActualizado);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity
+                    .status(HttpStatus.PRECONDITION_FAILED)
+                    .body("El pedido fue modificado por otra petición");
         } catch (Exception e) {
             e.printStackTrace(); // Log para debugging
             return ResponseEntity
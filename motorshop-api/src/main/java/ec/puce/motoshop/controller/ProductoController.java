@@ -1,8 +1,15 @@
 package ec.puce.motoshop.controller;
 
 import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.dto.FiltroProductoDTO;
+import ec.puce.motoshop.dto.PaginaProductoDTO;
+import ec.puce.motoshop.dto.ResultadoBusquedaDTO;
+import ec.puce.motoshop.repository.projection.ProductoNombre;
+import ec.puce.motoshop.service.IBusquedaProductoService;
 import ec.puce.motoshop.service.IProductoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,7 +19,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,7 +32,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -37,15 +48,19 @@ import java.util.Optional;
 public class ProductoController {
 
     private final IProductoService productoService;
+    private final IBusquedaProductoService busquedaProductoService;
 
     /**
      * Constructor con inyección de dependencias.
      * 
-     * @param productoService Servicio para operaciones de productos.
+     * @param productoService         Servicio para operaciones de productos.
+     * @param busquedaProductoService Servicio de búsqueda y autocompletado.
      */
     @Autowired
-    public ProductoController(IProductoService productoService) {
+    public ProductoController(IProductoService productoService,
+            IBusquedaProductoService busquedaProductoService) {
         this.productoService = productoService;
+        this.busquedaProductoService = busquedaProductoService;
     }
 
     /**
@@ -61,6 +76,124 @@ public class ProductoController {
         return ResponseEntity.ok(productos);
     }
 
+    /**
+     * Obtiene una página del catálogo de productos con filtros opcionales.
+     * La paginación es por cursor: la respuesta incluye siguienteCursor, que se
+     * debe reenviar para obtener la página siguiente.
+     * 
+     * @param categoriaId     ID de la categoría a filtrar (opcional).
+     * @param precioMin       Precio mínimo (opcional).
+     * @param precioMax       Precio máximo (opcional).
+     * @param soloDisponibles Si es true, solo devuelve productos con stock.
+     * @param orden           Orden de la paginación: "id" o "precio".
+     * @param cursor          Cursor devuelto por la página anterior (opcional).
+     * @param tamanio         Número de productos por página.
+     * @return ResponseEntity con la página de productos, o estado HTTP 400 Bad
+     *         Request si los parámetros son inválidos.
+     */
+    @Operation(summary = "Lista el catálogo paginado", description = "Devuelve una página del catálogo filtrada por categoría, rango de precio y disponibilidad, usando paginación por cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de productos obtenida con éxito", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = PaginaProductoDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Parámetros de paginación o filtros inválidos", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+    })
+    @GetMapping("/pagina")
+    public ResponseEntity<?> listarPagina(
+            @Parameter(description = "ID de la categoría", example = "1") @RequestParam(name = "categoriaId", required = false) Integer categoriaId,
+            @Parameter(description = "Precio mínimo", example = "10.00") @RequestParam(name = "precioMin", required = false) BigDecimal precioMin,
+            @Parameter(description = "Precio máximo", example = "500.00") @RequestParam(name = "precioMax", required = false) BigDecimal precioMax,
+            @Parameter(description = "Solo productos con stock") @RequestParam(name = "soloDisponibles", defaultValue = "false") boolean soloDisponibles,
+            @Parameter(description = "Orden de la paginación (id o precio)", example = "id") @RequestParam(name = "orden", defaultValue = "id") String orden,
+            @Parameter(description = "Cursor de la página siguiente") @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Número de productos por página", example = "20") @RequestParam(name = "tamanio", defaultValue = "20") int tamanio) {
+        FiltroProductoDTO.Orden ordenPaginacion;
+        try {
+            ordenPaginacion = FiltroProductoDTO.Orden.valueOf(orden.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("El orden debe ser 'id' o 'precio'");
+        }
+
+        try {
+            FiltroProductoDTO filtro = new FiltroProductoDTO();
+            filtro.setCategoriaId(categoriaId);
+            filtro.setPrecioMin(precioMin);
+            filtro.setPrecioMax(precioMax);
+            filtro.setSoloDisponibles(soloDisponibles);
+            filtro.setOrden(ordenPaginacion);
+            filtro.setCursor(cursor);
+            filtro.setTamanio(tamanio);
+
+            return ResponseEntity.ok(productoService.listarPagina(filtro));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Busca productos por nombre y descripción.
+     * Los resultados se ordenan por relevancia; si no hay coincidencias de
+     * texto completo se buscan nombres parecidos y la respuesta se marca como
+     * aproximada.
+     * 
+     * @param q       Texto a buscar.
+     * @param pagina  Número de página, empezando en 0.
+     * @param tamanio Número de productos por página.
+     * @return ResponseEntity con la página de resultados, o estado HTTP 400 Bad
+     *         Request si los parámetros son inválidos.
+     */
+    @Operation(summary = "Busca productos por texto", description = "Busca en el nombre y la descripción de los productos, ordenando por relevancia. Si no hay coincidencias exactas devuelve productos con nombres parecidos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Búsqueda realizada con éxito", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ResultadoBusquedaDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Texto de búsqueda o paginación inválidos", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+    })
+    @GetMapping("/buscar")
+    public ResponseEntity<?> buscar(
+            @Parameter(description = "Texto a buscar", required = true, example = "casco integral") @RequestParam(name = "q") String q,
+            @Parameter(description = "Número de página, empezando en 0", example = "0") @RequestParam(name = "pagina", defaultValue = "0") int pagina,
+            @Parameter(description = "Número de productos por página", example = "20") @RequestParam(name = "tamanio", defaultValue = "20") int tamanio) {
+        try {
+            return ResponseEntity.ok(busquedaProductoService.buscar(q, pagina, tamanio));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Sugiere productos a partir de lo que el usuario lleva escrito.
+     * 
+     * @param prefijo Texto escrito por el usuario.
+     * @param limite  Número máximo de sugerencias.
+     * @return ResponseEntity con las sugerencias, o estado HTTP 400 Bad Request
+     *         si los parámetros son inválidos.
+     */
+    @Operation(summary = "Autocompleta nombres de productos", description = "Devuelve los productos cuyo nombre, o alguna de sus palabras, empieza con el prefijo indicado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugerencias obtenidas con éxito", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ProductoNombre.class)) }),
+            @ApiResponse(responseCode = "400", description = "Prefijo o límite inválidos", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+    })
+    @GetMapping("/autocompletar")
+    public ResponseEntity<?> autocompletar(
+            @Parameter(description = "Texto escrito por el usuario", required = true, example = "cas") @RequestParam(name = "prefijo") String prefijo,
+            @Parameter(description = "Número máximo de sugerencias", example = "10") @RequestParam(name = "limite", defaultValue = "10") int limite) {
+        try {
+            List<ProductoNombre> sugerencias = busquedaProductoService.autocompletar(prefijo, limite);
+            return ResponseEntity.ok(sugerencias);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Obtiene un producto por su identificador.
      * 
@@ -79,10 +212,23 @@ public class ProductoController {
     public ResponseEntity<Producto> obtenerPorId(
             @Parameter(description = "ID del producto a buscar", required = true, example = "1") @PathVariable(name = "id", required = true) Integer id) {
         try {
+            // El ETag sale de la versión en la base de datos: la caché es local
+            // a cada instancia y puede tener una copia anterior a una
+            // actualización hecha en otra
+            Optional<Long> version = productoService.obtenerVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+
             Optional<Producto> productoOpt = productoService.obtenerPorId(id);
+            if (productoOpt.isPresent() && !version.get().equals(productoOpt.get().getVersion())) {
+                productoOpt = productoService.recargar(id);
+            }
 
             if (productoOpt.isPresent()) {
-                return ResponseEntity.ok(productoOpt.get());
+                return ResponseEntity.ok()
+                        .eTag(VersionEtag.etag(productoOpt.get().getVersion()))
+                        .body(productoOpt.get());
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -117,34 +263,58 @@ public class ProductoController {
 
     /**
      * Actualiza un producto existente.
+     * Si se envía la cabecera If-Match (o la versión en el cuerpo), la
+     * actualización solo se aplica si el producto no cambió desde que el
+     * cliente lo leyó.
      * 
      * @param id       Identificador del producto a actualizar.
+     * @param ifMatch  ETag del producto leído por el cliente (opcional).
      * @param producto Datos actualizados del producto.
-     * @return ResponseEntity con el producto actualizado o estado HTTP 404 Not
-     *         Found.
+     * @return ResponseEntity con el producto actualizado y su nuevo ETag, estado
+     *         HTTP 404 Not Found, o estado HTTP 412 Precondition Failed si el
+     *         producto fue modificado por otra petición.
      */
-    @Operation(summary = "Actualiza un producto existente", description = "Actualiza los datos de un producto según su ID")
+    @Operation(summary = "Actualiza un producto existente", description = "Actualiza los datos de un producto según su ID. Con la cabecera If-Match la actualización falla con 412 si el producto cambió desde que se leyó")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Producto actualizado correctamente", content = {
                     @Content(mediaType = "application/json", schema = @Schema(implementation = Producto.class)) }),
             @ApiResponse(responseCode = "404", description = "Producto no encontrado", content = @Content),
             @ApiResponse(responseCode = "400", description = "Datos de actualización inválidos", content = @Content),
+            @ApiResponse(responseCode = "412", description = "El producto fue modificado por otra petición", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Producto> actualizar(
+    public ResponseEntity<?> actualizar(
             @Parameter(description = "ID del producto a actualizar", required = true, example = "1") @PathVariable(name = "id", required = true) Integer id,
+            @Parameter(description = "ETag del producto leído") @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Datos actualizados del producto", required = true) @RequestBody Producto producto) {
         try {
-            Optional<Producto> productoExistente = productoService.obtenerPorId(id);
+            // La versión se lee de la base de datos: la de la caché puede ser
+            // anterior a la última actualización de otra instancia
+            Optional<Long> versionExistente = productoService.obtenerVersion(id);
+
+            if (versionExistente.isPresent()) {
+                Long versionActual = versionExistente.get();
+                Long versionEsperada = VersionEtag.versionEsperada(ifMatch, producto.getVersion(), versionActual);
+                if (!Objects.equals(versionEsperada, versionActual)) {
+                    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                            .body("El producto fue modificado por otra petición");
+                }
 
-            if (productoExistente.isPresent()) {
                 producto.setId(id); // Asegurar que el ID sea el correcto
+                producto.setVersion(versionEsperada);
                 Producto productoActualizado = productoService.guardar(producto);
-                return ResponseEntity.ok(productoActualizado);
+                return ResponseEntity.ok()
+                        .eTag(VersionEtag.etag(productoActualizado.getVersion()))
+                        .body(productoActualizado);
             } else {
                 return ResponseEntity.notFound().build();
             }
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .body("El producto fue modificado por otra petición");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -1,9 +1,20 @@
 package ec.puce.motoshop.controller;
 
 import ec.puce.motoshop.domain.Transaccion;
+import ec.puce.motoshop.repository.projection.TransaccionResumen;
+import ec.puce.motoshop.dto.FormatoExportacion;
+import ec.puce.motoshop.dto.ResultadoTransferenciaDTO;
+import ec.puce.motoshop.dto.SolicitudTransferenciaDTO;
+import ec.puce.motoshop.exception.SaldoInsuficienteException;
+import ec.puce.motoshop.service.IExportacionService;
 import ec.puce.motoshop.service.ITransaccionService;
+import ec.puce.motoshop.service.ITransferenciaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -12,8 +23,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -26,6 +40,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 /**
@@ -39,15 +54,22 @@ import java.util.Optional;
 public class TransaccionController {
 
     private final ITransaccionService transaccionService;
+    private final IExportacionService exportacionService;
+    private final ITransferenciaService transferenciaService;
 
     /**
      * Constructor con inyección de dependencias.
      * 
-     * @param transaccionService Servicio para operaciones de transacciones.
+     * @param transaccionService   Servicio para operaciones de transacciones.
+     * @param exportacionService   Servicio para la exportación de transacciones.
+     * @param transferenciaService Servicio para las transferencias entre cuentas.
      */
     @Autowired
-    public TransaccionController(ITransaccionService transaccionService) {
+    public TransaccionController(ITransaccionService transaccionService, IExportacionService exportacionService,
+            ITransferenciaService transferenciaService) {
         this.transaccionService = transaccionService;
+        this.exportacionService = exportacionService;
+        this.transferenciaService = transferenciaService;
     }
 
     /**
@@ -56,11 +78,11 @@ public class TransaccionController {
      * @return ResponseEntity con la lista de transacciones y estado HTTP 200 OK.
      */
     @Operation(summary = "Lista todas las transacciones", description = "Devuelve la lista completa de transacciones registradas")
-    @ApiResponse(responseCode = "200", description = "Lista de transacciones obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Transaccion.class)))
+    @ApiResponse(responseCode = "200", description = "Lista de transacciones obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TransaccionResumen.class)))
     @GetMapping
     public ResponseEntity<?> listarTodas() {
         try {
-            List<Transaccion> transacciones = transaccionService.listarTodas();
+            List<TransaccionResumen> transacciones = transaccionService.listarResumen();
             return ResponseEntity.ok(transacciones);
         } catch (Exception e) {
             e.printStackTrace(); // Log para debugging
@@ -70,6 +92,39 @@ public class TransaccionController {
         }
     }
 
+    /**
+     * Exporta todas las transacciones en formato NDJSON o CSV.
+     * Las filas se escriben en la respuesta a medida que se leen de la base de
+     * datos, por lo que la tabla completa nunca se carga en memoria.
+     * 
+     * @param formato Formato de la exportación: "ndjson" o "csv".
+     * @return ResponseEntity con el archivo exportado, o estado HTTP 400 Bad
+     *         Request si el formato no es válido.
+     */
+    @Operation(summary = "Exporta todas las transacciones", description = "Descarga todas las transacciones como NDJSON (un objeto JSON por línea) o CSV, escritos a medida que se leen de la base de datos")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportación generada", content = {
+                    @Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv") }),
+            @ApiResponse(responseCode = "400", description = "Formato de exportación inválido", content = @Content)
+    })
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @Parameter(description = "Formato de la exportación (ndjson o csv)", example = "ndjson") @RequestParam(name = "formato", defaultValue = "ndjson") String formato) {
+        FormatoExportacion formatoExportacion;
+        try {
+            formatoExportacion = FormatoExportacion.desde(formato);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody cuerpo = salida -> exportacionService.exportarTransacciones(salida, formatoExportacion);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formatoExportacion.getTipoContenido()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transacciones." + formatoExportacion.getExtension()).build().toString())
+                .body(cuerpo);
+    }
+
     /**
      * Obtiene una transacción por su identificador.
      * 
@@ -80,7 +135,7 @@ public class TransaccionController {
     @Operation(summary = "Obtiene una transacción por su ID", description = "Busca y devuelve una transacción según su identificador")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Transacción encontrada", content = {
-                    @Content(mediaType = "application/json", schema = @Schema(implementation = Transaccion.class)) }),
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TransaccionResumen.class)) }),
             @ApiResponse(responseCode = "404", description = "Transacción no encontrada", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
@@ -94,7 +149,7 @@ public class TransaccionController {
                         .body("El ID de la transacción no puede ser nulo");
             }
 
-            Optional<Transaccion> transaccion = transaccionService.obtenerPorId(id);
+            Optional<TransaccionResumen> transaccion = transaccionService.obtenerResumenPorId(id);
 
             if (transaccion.isPresent()) {
                 return ResponseEntity.ok(transaccion.get());
@@ -213,6 +268,59 @@ public class TransaccionController {
         }
     }
 
+    /**
+     * Transfiere dinero entre dos cuentas bancarias, debitando la cuenta de
+     * origen, acreditando la de destino y registrando la transacción en una
+     * sola operación.
+     * 
+     * @param claveIdempotencia Clave única de la operación para poder
+     *                          reintentarla sin duplicarla.
+     * @param solicitud         Cuentas, monto y descripción de la transferencia.
+     * @return ResponseEntity con el resultado y estado HTTP 201 Created, o 200 OK
+     *         si la clave ya se había usado para la misma transferencia.
+     */
+    @Operation(summary = "Transfiere dinero entre cuentas", description = "Debita la cuenta de origen, acredita la de destino y registra la transacción de forma atómica. Con la cabecera Idempotency-Key, un reintento devuelve la transferencia original en lugar de repetirla")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Transferencia realizada", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ResultadoTransferenciaDTO.class)) }),
+            @ApiResponse(responseCode = "200", description = "Transferencia ya realizada con la misma clave", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = ResultadoTransferenciaDTO.class)) }),
+            @ApiResponse(responseCode = "400", description = "Datos de transferencia inválidos", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Cuenta bancaria no encontrada", content = @Content),
+            @ApiResponse(responseCode = "409", description = "La clave de idempotencia ya se usó con otra transferencia", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Saldo insuficiente en la cuenta de origen", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
+    })
+    @PostMapping("/transferencias")
+    public ResponseEntity<?> transferir(
+            @Parameter(description = "Clave única de la operación", example = "3f1c9a0e-5b7d-4e2a-9c61-7d2b8f0a4e15") @RequestHeader(name = "Idempotency-Key", required = false) String claveIdempotencia,
+            @Parameter(description = "Datos de la transferencia", required = true) @RequestBody SolicitudTransferenciaDTO solicitud) {
+        try {
+            ResultadoTransferenciaDTO resultado = transferenciaService.transferir(solicitud, claveIdempotencia);
+            return ResponseEntity
+                    .status(resultado.isRepetida() ? HttpStatus.OK : HttpStatus.CREATED)
+                    .body(resultado);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (SaldoInsuficienteException e) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            // Otra petición con la misma clave y distintas cuentas se confirmó primero
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body("La clave de idempotencia ya se usó con otra transferencia");
+        } catch (Exception e) {
+            e.printStackTrace(); // Log para debugging
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error al realizar la transferencia: " + e.getMessage());
+        }
+    }
+
     /**
      * Actualiza una transacción existente.
      * 
@@ -2,6 +2,7 @@ package ec.puce.motoshop.controller;
 
 import ec.puce.motoshop.domain.Usuario;
 import ec.puce.motoshop.service.IUsuarioService;
+import ec.puce.motoshop.repository.projection.UsuarioResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -53,11 +54,11 @@ public class UsuarioController {
      * @return ResponseEntity con la lista de usuarios y estado HTTP 200 OK.
      */
     @Operation(summary = "Lista todos los usuarios", description = "Devuelve la lista completa de usuarios registrados")
-    @ApiResponse(responseCode = "200", description = "Lista de usuarios obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Usuario.class)))
+    @ApiResponse(responseCode = "200", description = "Lista de usuarios obtenida con éxito", content = @Content(mediaType = "application/json", schema = @Schema(implementation = UsuarioResumen.class)))
     @GetMapping
     public ResponseEntity<?> listarTodos() {
         try {
-            List<Usuario> usuarios = usuarioService.findAll();
+            List<UsuarioResumen> usuarios = usuarioService.listarResumen();
             return ResponseEntity.ok(usuarios);
         } catch (Exception e) {
             return ResponseEntity
@@ -75,7 +76,7 @@ public class UsuarioController {
     @Operation(summary = "Obtiene un usuario por su cédula", description = "Busca y devuelve un usuario según su número de cédula")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Usuario encontrado", content = {
-                    @Content(mediaType = "application/json", schema = @Schema(implementation = Usuario.class)) }),
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = UsuarioResumen.class)) }),
             @ApiResponse(responseCode = "404", description = "Usuario no encontrado", content = @Content),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor", content = @Content)
     })
@@ -83,7 +84,7 @@ public class UsuarioController {
     public ResponseEntity<?> obtenerPorId(
             @Parameter(description = "Cédula del usuario a buscar", required = true, example = "1722334455") @PathVariable(name = "cedula", required = true) String cedula) {
         try {
-            Optional<Usuario> usuarioOpt = usuarioService.findById(cedula);
+            Optional<UsuarioResumen> usuarioOpt = usuarioService.obtenerResumenPorId(cedula);
 
             if (usuarioOpt.isPresent()) {
                 return ResponseEntity.ok(usuarioOpt.get());
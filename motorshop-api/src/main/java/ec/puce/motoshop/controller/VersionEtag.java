@@ -0,0 +1,54 @@
+package ec.puce.motoshop.controller;
+
+/**
+ * Conversión entre la versión de una entidad (@Version) y las cabeceras HTTP
+ * ETag e If-Match de las actualizaciones condicionales.
+ * El ETag de una entidad es su número de versión: el cliente lo recibe en el
+ * GET y lo reenvía en If-Match al hacer PUT; si otra petición modificó la
+ * entidad entretanto, el PUT responde 412 Precondition Failed.
+ */
+final class VersionEtag {
+
+    private VersionEtag() {
+    }
+
+    /**
+     * Genera el ETag de una versión. ResponseEntity agrega las comillas.
+     *
+     * @param version Versión de la entidad.
+     * @return Valor del ETag.
+     */
+    static String etag(Long version) {
+        return String.valueOf(version);
+    }
+
+    /**
+     * Determina la versión sobre la que el cliente hizo sus cambios: la de la
+     * cabecera If-Match si se envió, si no la del cuerpo, y si tampoco viene
+     * en el cuerpo la versión actual (sin control de concurrencia, como antes
+     * de existir la versión).
+     *
+     * @param ifMatch       Valor de la cabecera If-Match, o null.
+     * @param versionCuerpo Versión recibida en el cuerpo de la petición, o null.
+     * @param versionActual Versión actual de la entidad.
+     * @return La versión esperada.
+     * @throws IllegalArgumentException si If-Match no contiene una versión.
+     */
+    static Long versionEsperada(String ifMatch, Long versionCuerpo, Long versionActual) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return versionCuerpo != null ? versionCuerpo : versionActual;
+        }
+        String valor = ifMatch.trim();
+        if ("*".equals(valor)) {
+            return versionActual;
+        }
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        try {
+            return Long.valueOf(valor.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("La cabecera If-Match debe contener el ETag devuelto por el servidor");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- ============================================================
+-- MotoShop – Bloqueo de tareas programadas entre instancias
+-- ============================================================
+-- Tabla de ShedLock: cada tarea programada registra aquí hasta cuándo la
+-- ejecuta una instancia, y las demás omiten esa ejecución. La usa el proceso
+-- de cortes y conciliación de saldos (CorteSaldoScheduler).
+-- Aplicada por Flyway al arrancar. Idempotente.
+
+CREATE TABLE IF NOT EXISTS shedlock (
+    name        VARCHAR(64) NOT NULL,
+    lock_until  TIMESTAMP NOT NULL,
+    locked_at   TIMESTAMP NOT NULL,
+    locked_by   VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_shedlock PRIMARY KEY (name)
+);
@@ -0,0 +1,139 @@
+-- ============================================================
+-- MotoShop – Esquema base
+-- ============================================================
+-- Tablas, claves primarias y claves foráneas de las entidades tal como las
+-- crea Hibernate (ddl-auto) a partir del mapeo JPA, antes de las migraciones
+-- posteriores: las secuencias de IDs (V2), la tabla outbox (V3), los índices
+-- (V4 en adelante) y las columnas añadidas después (version,
+-- clave_idempotencia, posicion) no forman parte de esta versión.
+-- Solo se aplica sobre una base vacía. Una base existente creada por
+-- Hibernate con estas mismas tablas se registra como versión 1
+-- (spring.flyway.baseline-on-migrate) y empieza en V2.
+-- Los ID de pedido, detalle_pedido, factura y transaccion no tienen valor por
+-- defecto: Hibernate los toma de las secuencias de V2.
+
+CREATE TABLE usuario (
+    cedula          VARCHAR(10) NOT NULL,
+    nombre_usuario  VARCHAR(50),
+    email           VARCHAR(100),
+    password_hash   VARCHAR(255),
+    rol             VARCHAR(20),
+    fecha_creacion  TIMESTAMP(6),
+    CONSTRAINT pk_usuario PRIMARY KEY (cedula)
+);
+
+CREATE TABLE administrador (
+    id_administrador  BIGSERIAL NOT NULL,
+    id                BIGINT NOT NULL,
+    cedula            VARCHAR(255) NOT NULL,
+    id_usuario        VARCHAR(255) NOT NULL,
+    nombre_completo   VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_administrador PRIMARY KEY (id_administrador)
+);
+
+CREATE TABLE cliente (
+    id          BIGSERIAL NOT NULL,
+    id_usuario  VARCHAR(10) NOT NULL,
+    nombre      VARCHAR(100) NOT NULL,
+    telefono    VARCHAR(20) NOT NULL,
+    CONSTRAINT pk_cliente PRIMARY KEY (id),
+    CONSTRAINT uk_cliente_usuario UNIQUE (id_usuario),
+    CONSTRAINT fk_cliente_usuario FOREIGN KEY (id_usuario) REFERENCES usuario (cedula)
+);
+
+CREATE TABLE direccion (
+    id             SERIAL NOT NULL,
+    id_cliente     BIGINT NOT NULL,
+    calle          VARCHAR(200) NOT NULL,
+    ciudad         VARCHAR(100) NOT NULL,
+    provincia      VARCHAR(100) NOT NULL,
+    codigo_postal  VARCHAR(20) NOT NULL,
+    CONSTRAINT pk_direccion PRIMARY KEY (id),
+    CONSTRAINT fk_direccion_cliente FOREIGN KEY (id_cliente) REFERENCES cliente (id)
+);
+
+CREATE TABLE cuenta_bancaria (
+    id                  SERIAL NOT NULL,
+    id_cliente          BIGINT NOT NULL,
+    numero_cuenta       VARCHAR(20) NOT NULL,
+    tipo_cuenta         VARCHAR(20) NOT NULL,
+    entidad_financiera  VARCHAR(100) NOT NULL,
+    saldo               NUMERIC(38,2) NOT NULL,
+    CONSTRAINT pk_cuenta_bancaria PRIMARY KEY (id),
+    CONSTRAINT fk_cuenta_bancaria_cliente FOREIGN KEY (id_cliente) REFERENCES cliente (id)
+);
+
+CREATE TABLE transaccion (
+    id                 INTEGER NOT NULL,
+    id_cuenta_origen   INTEGER NOT NULL,
+    id_cuenta_destino  INTEGER NOT NULL,
+    monto              NUMERIC(38,2) NOT NULL,
+    fecha_transaccion  TIMESTAMP(6) NOT NULL,
+    tipo               VARCHAR(50) NOT NULL,
+    descripcion        VARCHAR(255),
+    CONSTRAINT pk_transaccion PRIMARY KEY (id),
+    CONSTRAINT fk_transaccion_cuenta_origen FOREIGN KEY (id_cuenta_origen) REFERENCES cuenta_bancaria (id),
+    CONSTRAINT fk_transaccion_cuenta_destino FOREIGN KEY (id_cuenta_destino) REFERENCES cuenta_bancaria (id)
+);
+
+CREATE TABLE categoria (
+    id                SERIAL NOT NULL,
+    nombre_categoria  VARCHAR(50) NOT NULL,
+    CONSTRAINT pk_categoria PRIMARY KEY (id)
+);
+
+CREATE TABLE producto (
+    id                SERIAL NOT NULL,
+    id_categoria      INTEGER NOT NULL,
+    nombre            VARCHAR(100) NOT NULL,
+    descripcion       VARCHAR(500) NOT NULL,
+    imagen_principal  VARCHAR(500) NOT NULL,
+    precio            NUMERIC(38,2) NOT NULL,
+    stock             INTEGER NOT NULL,
+    CONSTRAINT pk_producto PRIMARY KEY (id),
+    CONSTRAINT fk_producto_categoria FOREIGN KEY (id_categoria) REFERENCES categoria (id)
+);
+
+CREATE TABLE imagen_producto (
+    id           SERIAL NOT NULL,
+    id_producto  INTEGER NOT NULL,
+    url_imagen   VARCHAR(500) NOT NULL,
+    CONSTRAINT pk_imagen_producto PRIMARY KEY (id),
+    CONSTRAINT fk_imagen_producto_producto FOREIGN KEY (id_producto) REFERENCES producto (id)
+);
+
+CREATE TABLE pedido (
+    id              INTEGER NOT NULL,
+    id_cliente      BIGINT NOT NULL,
+    id_direccion    INTEGER NOT NULL,
+    id_transaccion  INTEGER,
+    fecha_pedido    TIMESTAMP(6) NOT NULL,
+    estado          VARCHAR(50) NOT NULL,
+    total           NUMERIC(38,2) NOT NULL,
+    CONSTRAINT pk_pedido PRIMARY KEY (id),
+    CONSTRAINT fk_pedido_cliente FOREIGN KEY (id_cliente) REFERENCES cliente (id),
+    CONSTRAINT fk_pedido_direccion FOREIGN KEY (id_direccion) REFERENCES direccion (id)
+);
+
+CREATE TABLE detalle_pedido (
+    id               INTEGER NOT NULL,
+    id_pedido        INTEGER NOT NULL,
+    id_producto      INTEGER NOT NULL,
+    cantidad         INTEGER NOT NULL,
+    precio_unitario  NUMERIC(38,2) NOT NULL,
+    CONSTRAINT pk_detalle_pedido PRIMARY KEY (id),
+    CONSTRAINT fk_detalle_pedido_pedido FOREIGN KEY (id_pedido) REFERENCES pedido (id),
+    CONSTRAINT fk_detalle_pedido_producto FOREIGN KEY (id_producto) REFERENCES producto (id)
+);
+
+CREATE TABLE factura (
+    id             INTEGER NOT NULL,
+    id_pedido      INTEGER NOT NULL,
+    fecha_emision  TIMESTAMP(6) NOT NULL,
+    total_factura  NUMERIC(38,2) NOT NULL,
+    estado         VARCHAR(50) NOT NULL,
+    metodo_pago    VARCHAR(50) NOT NULL,
+    CONSTRAINT pk_factura PRIMARY KEY (id),
+    CONSTRAINT uk_factura_pedido UNIQUE (id_pedido),
+    CONSTRAINT fk_factura_pedido FOREIGN KEY (id_pedido) REFERENCES pedido (id)
+);
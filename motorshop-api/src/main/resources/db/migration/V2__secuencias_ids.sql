@@ -0,0 +1,21 @@
+-- ============================================================
+-- MotoShop – Secuencias para IDs de pedidos, detalles, facturas
+-- y transacciones
+-- ============================================================
+-- Las entidades Pedido, DetallePedido, Factura y Transaccion generan su ID
+-- con secuencias de incremento 50 (allocationSize = 50), lo que permite a
+-- Hibernate agrupar los INSERT en lotes JDBC.
+--
+-- Flyway la aplica al arrancar, antes de que Hibernate valide el esquema. El
+-- setval deja cada secuencia por encima del ID máximo actual de su tabla para
+-- que los nuevos IDs no choquen con los existentes. El script es idempotente.
+
+CREATE SEQUENCE IF NOT EXISTS pedido_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS detalle_pedido_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS factura_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transaccion_seq INCREMENT BY 50;
+
+SELECT setval('pedido_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM pedido) + 50, (SELECT last_value FROM pedido_seq)));
+SELECT setval('detalle_pedido_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM detalle_pedido) + 50, (SELECT last_value FROM detalle_pedido_seq)));
+SELECT setval('factura_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM factura) + 50, (SELECT last_value FROM factura_seq)));
+SELECT setval('transaccion_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM transaccion) + 50, (SELECT last_value FROM transaccion_seq)));
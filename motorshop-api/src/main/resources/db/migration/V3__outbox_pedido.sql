@@ -0,0 +1,21 @@
+-- ============================================================
+-- MotoShop – Tabla outbox de pedidos pendientes de envío a Amazon Core
+-- ============================================================
+-- Requerida por el perfil prod (ddl-auto=validate). Idempotente.
+-- Aplicada por Flyway al arrancar.
+
+CREATE TABLE IF NOT EXISTS outbox_pedido (
+    id                   BIGSERIAL PRIMARY KEY,
+    payload              TEXT NOT NULL,
+    estado               VARCHAR(20) NOT NULL,
+    intentos             INTEGER NOT NULL DEFAULT 0,
+    proximo_intento      TIMESTAMP NOT NULL,
+    bloqueado_hasta      TIMESTAMP,
+    id_pedido_remoto     BIGINT,
+    ultimo_error         VARCHAR(500),
+    fecha_creacion       TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    fecha_actualizacion  TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_pedido_estado_proximo
+    ON outbox_pedido (estado, proximo_intento);
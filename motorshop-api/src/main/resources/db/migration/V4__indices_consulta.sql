@@ -0,0 +1,44 @@
+-- ============================================================
+-- MotoShop – Índices de consulta
+-- ============================================================
+-- El esquema base (V1) declara claves primarias, foráneas y únicas, pero
+-- PostgreSQL no indexa las claves foráneas por su cuenta. Estos índices cubren las columnas por las
+-- que filtran los repositorios y las consultas de lectura.
+-- Los mismos índices están declarados con @Index en las entidades.
+-- Aplicada por Flyway al arrancar. Idempotente.
+
+-- Lectura de un pedido con sus líneas (GET /api/pedidos/{id}/completo)
+CREATE INDEX IF NOT EXISTS idx_detalle_pedido_pedido
+    ON detalle_pedido (id_pedido);
+
+-- Productos de una categoría (catálogo paginado, eliminación de categorías)
+CREATE INDEX IF NOT EXISTS idx_producto_categoria
+    ON producto (id_categoria);
+
+-- ImagenProductoRepository.findByProductoId
+CREATE INDEX IF NOT EXISTS idx_imagen_producto_producto
+    ON imagen_producto (id_producto);
+
+-- Pedidos de un cliente
+CREATE INDEX IF NOT EXISTS idx_pedido_cliente
+    ON pedido (id_cliente);
+
+-- Direcciones y cuentas bancarias de un cliente
+CREATE INDEX IF NOT EXISTS idx_direccion_cliente
+    ON direccion (id_cliente);
+CREATE INDEX IF NOT EXISTS idx_cuenta_bancaria_cliente
+    ON cuenta_bancaria (id_cliente);
+
+-- Movimientos de una cuenta, como origen o como destino
+CREATE INDEX IF NOT EXISTS idx_transaccion_cuenta_origen
+    ON transaccion (id_cuenta_origen);
+CREATE INDEX IF NOT EXISTS idx_transaccion_cuenta_destino
+    ON transaccion (id_cuenta_destino);
+
+-- CategoriaRepository.findByNombre
+CREATE INDEX IF NOT EXISTS idx_categoria_nombre
+    ON categoria (nombre_categoria);
+
+-- ClienteRepository.findByUsuarioCedula
+CREATE INDEX IF NOT EXISTS idx_cliente_usuario
+    ON cliente (id_usuario);
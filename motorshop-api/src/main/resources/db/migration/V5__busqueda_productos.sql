@@ -0,0 +1,24 @@
+-- ============================================================
+-- MotoShop – Búsqueda de productos por texto
+-- ============================================================
+-- GET /api/productos/buscar usa primero la búsqueda de texto completo sobre
+-- la columna generada busqueda (nombre con peso A, descripción con peso B,
+-- configuración spanish). Si no hay resultados, recurre a la similitud por
+-- trigramas del nombre (pg_trgm), que tolera errores de escritura y códigos
+-- de repuesto escritos de otra forma.
+-- La columna no está mapeada en la entidad Producto: la mantiene PostgreSQL.
+-- Aplicada por Flyway al arrancar. Idempotente.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE producto ADD COLUMN IF NOT EXISTS busqueda tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('spanish', coalesce(nombre, '')), 'A')
+        || setweight(to_tsvector('spanish', coalesce(descripcion, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_producto_busqueda
+    ON producto USING GIN (busqueda);
+
+CREATE INDEX IF NOT EXISTS idx_producto_nombre_trgm
+    ON producto USING GIN (nombre gin_trgm_ops);
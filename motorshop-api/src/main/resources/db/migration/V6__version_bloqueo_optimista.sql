@@ -0,0 +1,12 @@
+-- ============================================================
+-- MotoShop – Columna de versión para el bloqueo optimista
+-- ============================================================
+-- Producto, Pedido y CuentaBancaria tienen un campo @Version: cada UPDATE
+-- incluye "WHERE version = ?" y la incrementa, de modo que una escritura
+-- basada en datos desactualizados falla en lugar de sobrescribir otra.
+-- Las filas existentes empiezan en la versión 0.
+-- Aplicada por Flyway al arrancar. Idempotente.
+
+ALTER TABLE producto ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE pedido ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE cuenta_bancaria ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
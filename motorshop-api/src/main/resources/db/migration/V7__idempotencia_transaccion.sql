@@ -0,0 +1,12 @@
+-- ============================================================
+-- MotoShop – Clave de idempotencia de las transferencias
+-- ============================================================
+-- Una transferencia puede llevar la cabecera Idempotency-Key. La clave se
+-- guarda con la transacción y el índice único garantiza que dos reintentos
+-- concurrentes con la misma clave no registren el movimiento dos veces.
+-- Las transacciones existentes quedan sin clave (NULL no choca en el índice).
+-- Aplicada por Flyway al arrancar. Idempotente.
+
+ALTER TABLE transaccion ADD COLUMN IF NOT EXISTS clave_idempotencia VARCHAR(100);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_transaccion_clave_idempotencia ON transaccion (clave_idempotencia);
@@ -0,0 +1,35 @@
+-- ============================================================
+-- MotoShop – Cortes de saldo sobre el libro de transacciones
+-- ============================================================
+-- Un corte guarda el saldo de una cuenta hasta una posición del libro (el ID
+-- de la última transacción incluida). El saldo actual se obtiene sumando al
+-- último corte los movimientos posteriores, que los índices (cuenta, id)
+-- permiten leer sin recorrer todo el historial de la cuenta.
+-- Las cuentas existentes reciben su corte inicial con el saldo actual en la
+-- posición más alta del libro.
+-- Aplicada por Flyway al arrancar. Idempotente.
+
+CREATE TABLE IF NOT EXISTS corte_saldo (
+    id                     BIGSERIAL PRIMARY KEY,
+    id_cuenta              INTEGER NOT NULL REFERENCES cuenta_bancaria (id) ON DELETE CASCADE,
+    id_ultima_transaccion  INTEGER NOT NULL,
+    saldo                  NUMERIC(19,2) NOT NULL,
+    fecha_corte            TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_corte_saldo_cuenta_posicion
+    ON corte_saldo (id_cuenta, id_ultima_transaccion);
+
+-- Los índices de movimientos incluyen el ID para leer solo los posteriores
+-- a un corte
+CREATE INDEX IF NOT EXISTS idx_transaccion_cuenta_origen_id
+    ON transaccion (id_cuenta_origen, id);
+CREATE INDEX IF NOT EXISTS idx_transaccion_cuenta_destino_id
+    ON transaccion (id_cuenta_destino, id);
+DROP INDEX IF EXISTS idx_transaccion_cuenta_origen;
+DROP INDEX IF EXISTS idx_transaccion_cuenta_destino;
+
+INSERT INTO corte_saldo (id_cuenta, id_ultima_transaccion, saldo, fecha_corte)
+SELECT c.id, COALESCE((SELECT MAX(t.id) FROM transaccion t), 0), c.saldo, CURRENT_TIMESTAMP
+FROM cuenta_bancaria c
+WHERE NOT EXISTS (SELECT 1 FROM corte_saldo cs WHERE cs.id_cuenta = c.id);
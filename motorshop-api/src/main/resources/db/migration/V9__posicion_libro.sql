@@ -0,0 +1,45 @@
+-- ============================================================
+-- MotoShop – Posición de las transacciones en el libro de saldos
+-- ============================================================
+-- Los cortes de saldo se guardaban por ID de transacción, pero cada instancia
+-- reserva los ID en bloques de 50 (transaccion_seq), así que una transacción
+-- con un ID menor puede registrarse después de un corte y quedar fuera de
+-- todos los cortes siguientes. La nueva columna posicion se llena al insertar
+-- desde una secuencia de identidad de incremento 1, común a todas las
+-- instancias, que sigue el orden de registro.
+-- Las transacciones existentes toman su ID como posición, que es la que ya
+-- usan los cortes registrados; la columna id_ultima_transaccion de los cortes
+-- pasa a llamarse posicion.
+-- Aplicada por Flyway al arrancar. Idempotente.
+
+ALTER TABLE transaccion ADD COLUMN IF NOT EXISTS posicion BIGINT;
+UPDATE transaccion SET posicion = id WHERE posicion IS NULL;
+ALTER TABLE transaccion ALTER COLUMN posicion SET NOT NULL;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = 'transaccion' AND column_name = 'posicion' AND is_identity = 'YES') THEN
+        ALTER TABLE transaccion ALTER COLUMN posicion ADD GENERATED BY DEFAULT AS IDENTITY;
+    END IF;
+END $$;
+
+-- Las nuevas posiciones empiezan después de la más alta asignada
+SELECT setval(pg_get_serial_sequence('transaccion', 'posicion'),
+              (SELECT COALESCE(MAX(posicion), 0) + 1 FROM transaccion), false);
+
+CREATE INDEX IF NOT EXISTS idx_transaccion_cuenta_origen_posicion
+    ON transaccion (id_cuenta_origen, posicion);
+CREATE INDEX IF NOT EXISTS idx_transaccion_cuenta_destino_posicion
+    ON transaccion (id_cuenta_destino, posicion);
+DROP INDEX IF EXISTS idx_transaccion_cuenta_origen_id;
+DROP INDEX IF EXISTS idx_transaccion_cuenta_destino_id;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'corte_saldo' AND column_name = 'id_ultima_transaccion') THEN
+        ALTER TABLE corte_saldo RENAME COLUMN id_ultima_transaccion TO posicion;
+    END IF;
+END $$;
+ALTER TABLE corte_saldo ALTER COLUMN posicion TYPE BIGINT;
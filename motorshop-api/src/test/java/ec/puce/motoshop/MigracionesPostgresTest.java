@@ -0,0 +1,203 @@
+package ec.puce.motoshop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Objects;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.util.ClassUtils;
+
+import jakarta.persistence.Entity;
+
+/**
+ * Aplica las migraciones de db/migration sobre PostgreSQL y valida el esquema
+ * resultante contra el mapeo de las entidades, como hace el perfil prod
+ * (ddl-auto=validate).
+ * Necesita una base PostgreSQL desechable en MOTOSHOP_PRUEBAS_POSTGRES_URL
+ * (usuario y clave en MOTOSHOP_PRUEBAS_POSTGRES_USUARIO y
+ * MOTOSHOP_PRUEBAS_POSTGRES_CLAVE): cada prueba borra el esquema public.
+ * Sin esa variable las pruebas se omiten.
+ */
+@EnabledIfEnvironmentVariable(named = "MOTOSHOP_PRUEBAS_POSTGRES_URL", matches = ".+")
+public class MigracionesPostgresTest {
+
+    private static final String URL = System.getenv("MOTOSHOP_PRUEBAS_POSTGRES_URL");
+    private static final String USUARIO = Objects.requireNonNullElse(
+            System.getenv("MOTOSHOP_PRUEBAS_POSTGRES_USUARIO"), "postgres");
+    private static final String CLAVE = Objects.requireNonNullElse(
+            System.getenv("MOTOSHOP_PRUEBAS_POSTGRES_CLAVE"), "");
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        try (Connection conexion = conectar(); Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("DROP SCHEMA public CASCADE");
+            sentencia.execute("CREATE SCHEMA public");
+        }
+    }
+
+    @Test
+    public void testBaseVaciaRecibeTodasLasMigraciones() {
+        MigrateResult resultado = flyway().migrate();
+
+        assertEquals(null, resultado.initialSchemaVersion);
+        assertEquals(ultimaVersion(), resultado.targetSchemaVersion);
+        validarEsquema();
+    }
+
+    @Test
+    public void testBaseExistenteSeRegistraComoVersionUno() throws SQLException {
+        // Base creada por Hibernate antes de Flyway, con datos
+        try (Connection conexion = conectar(); Statement sentencia = conexion.createStatement()) {
+            ScriptUtils.executeSqlScript(conexion, new ClassPathResource("db/migration/V1__esquema_base.sql"));
+            sentencia.execute("INSERT INTO usuario (cedula) VALUES ('1700000001')");
+            sentencia.execute("INSERT INTO cliente (id_usuario, nombre, telefono) "
+                    + "VALUES ('1700000001', 'Cliente', '0990000001')");
+            sentencia.execute("INSERT INTO cuenta_bancaria (id_cliente, numero_cuenta, tipo_cuenta, "
+                    + "entidad_financiera, saldo) SELECT id, '001', 'AHORROS', 'Banco', 100 FROM cliente");
+            sentencia.execute("INSERT INTO transaccion (id, id_cuenta_origen, id_cuenta_destino, monto, "
+                    + "fecha_transaccion, tipo) SELECT 7, id, id, 10, CURRENT_TIMESTAMP, 'PRUEBA' "
+                    + "FROM cuenta_bancaria");
+        }
+
+        MigrateResult resultado = flyway().migrate();
+
+        assertEquals("1", resultado.initialSchemaVersion);
+        assertEquals(ultimaVersion(), resultado.targetSchemaVersion);
+        validarEsquema();
+        try (Connection conexion = conectar(); Statement sentencia = conexion.createStatement()) {
+            // La transacción existente conserva su ID como posición, que es la
+            // del corte inicial de su cuenta, y las nuevas van después
+            assertEquals(7L, consultarLong(sentencia, "SELECT posicion FROM transaccion WHERE id = 7"));
+            assertEquals(7L, consultarLong(sentencia, "SELECT posicion FROM corte_saldo"));
+            assertEquals(0, new BigDecimal("100.00").compareTo(consultarDecimal(sentencia,
+                    "SELECT saldo FROM corte_saldo")));
+            sentencia.execute("INSERT INTO transaccion (id, id_cuenta_origen, id_cuenta_destino, monto, "
+                    + "fecha_transaccion, tipo) SELECT 1, id, id, 10, CURRENT_TIMESTAMP, 'PRUEBA' "
+                    + "FROM cuenta_bancaria");
+            assertEquals(8L, consultarLong(sentencia, "SELECT posicion FROM transaccion WHERE id = 1"));
+        }
+    }
+
+    @Test
+    public void testBloqueoDelLibroEsperaLasInsercionesEnCurso() throws SQLException {
+        flyway().migrate();
+        try (Connection transferencia = conectar(); Connection corte = conectar();
+                Statement insercion = transferencia.createStatement(); Statement cierre = corte.createStatement()) {
+            insercion.execute("INSERT INTO usuario (cedula) VALUES ('1700000001')");
+            insercion.execute("INSERT INTO cliente (id_usuario, nombre, telefono) "
+                    + "VALUES ('1700000001', 'Cliente', '0990000001')");
+            insercion.execute("INSERT INTO cuenta_bancaria (id_cliente, numero_cuenta, tipo_cuenta, "
+                    + "entidad_financiera, saldo) SELECT id, '001', 'AHORROS', 'Banco', 100 FROM cliente");
+
+            // Transferencia sin confirmar, con la posición ya asignada
+            transferencia.setAutoCommit(false);
+            insercion.execute("INSERT INTO transaccion (id, id_cuenta_origen, id_cuenta_destino, monto, "
+                    + "fecha_transaccion, tipo) SELECT 1, id, id, 10, CURRENT_TIMESTAMP, 'PRUEBA' "
+                    + "FROM cuenta_bancaria");
+
+            // El cierre del libro (TransaccionRepository.bloquearLibro) espera
+            // a que la transferencia termine
+            corte.setAutoCommit(false);
+            cierre.execute("SET LOCAL lock_timeout = '200ms'");
+            SQLException espera = assertThrows(SQLException.class,
+                    () -> cierre.execute("LOCK TABLE transaccion IN SHARE MODE"));
+            assertEquals("55P03", espera.getSQLState());
+            corte.rollback();
+
+            transferencia.commit();
+            cierre.execute("LOCK TABLE transaccion IN SHARE MODE");
+            assertEquals(1L, consultarLong(cierre, "SELECT MAX(posicion) FROM transaccion"));
+            corte.commit();
+        }
+    }
+
+    /**
+     * Flyway configurado como en application.properties.
+     */
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(URL, USUARIO, CLAVE)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+    }
+
+    private String ultimaVersion() {
+        MigrationInfo[] migraciones = flyway().info().all();
+        return migraciones[migraciones.length - 1].getVersion().getVersion();
+    }
+
+    /**
+     * Valida las tablas contra las entidades con las estrategias de nombres de
+     * Spring Boot. Lanza SchemaManagementException si falta una tabla o una
+     * columna, o si su tipo no coincide.
+     */
+    private void validarEsquema() {
+        StandardServiceRegistry registro = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, URL)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, USUARIO)
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, CLAVE)
+                .applySetting(AvailableSettings.PHYSICAL_NAMING_STRATEGY,
+                        CamelCaseToUnderscoresNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.IMPLICIT_NAMING_STRATEGY,
+                        SpringImplicitNamingStrategy.class.getName())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "validate")
+                .build();
+        try {
+            MetadataSources fuentes = new MetadataSources(registro);
+            ClassPathScanningCandidateComponentProvider escaner = new ClassPathScanningCandidateComponentProvider(
+                    false);
+            escaner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+            for (BeanDefinition entidad : escaner.findCandidateComponents("ec.puce.motoshop.domain")) {
+                fuentes.addAnnotatedClass(ClassUtils.resolveClassName(entidad.getBeanClassName(), null));
+            }
+            // Con hbm2ddl.auto=validate la SessionFactory no se crea si el
+            // esquema no coincide
+            fuentes.buildMetadata().buildSessionFactory().close();
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registro);
+        }
+    }
+
+    private static Connection conectar() throws SQLException {
+        return DriverManager.getConnection(URL, USUARIO, CLAVE);
+    }
+
+    private static long consultarLong(Statement sentencia, String sql) throws SQLException {
+        try (ResultSet filas = sentencia.executeQuery(sql)) {
+            filas.next();
+            return filas.getLong(1);
+        }
+    }
+
+    private static BigDecimal consultarDecimal(Statement sentencia, String sql) throws SQLException {
+        try (ResultSet filas = sentencia.executeQuery(sql)) {
+            filas.next();
+            return filas.getBigDecimal(1);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ec.puce.motoshop.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+
+/**
+ * Pruebas del formato del archivo de trazas con spans reales del SDK de
+ * OpenTelemetry.
+ */
+public class ArchivoSpanExporterTest {
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @TempDir
+    private Path directorio;
+
+    @Test
+    public void testCadaSpanEsUnaLineaJsonConSuPadre() throws Exception {
+        Path archivo = directorio.resolve("trazas/spans.jsonl");
+        String trazaId;
+        String peticionId;
+        String servicioId;
+        try (SdkTracerProvider proveedor = proveedor(archivo)) {
+            Tracer tracer = proveedor.get("motoshop");
+            Span peticion = tracer.spanBuilder("GET /api/productos").startSpan();
+            try (Scope ignorado = peticion.makeCurrent()) {
+                Span servicio = tracer.spanBuilder("ProductoServiceImpl.listarPagina")
+                        .setAttribute("capa", "servicio")
+                        .startSpan();
+                servicioId = servicio.getSpanContext().getSpanId();
+                servicio.end();
+            } finally {
+                peticion.end();
+            }
+            trazaId = peticion.getSpanContext().getTraceId();
+            peticionId = peticion.getSpanContext().getSpanId();
+        }
+
+        // Orden de finalización: primero el hijo
+        List<JsonNode> lineas = leer(archivo);
+        assertEquals(2, lineas.size());
+        JsonNode servicio = lineas.get(0);
+        JsonNode peticion = lineas.get(1);
+        assertEquals(servicioId, servicio.get("spanId").asText());
+        assertEquals(peticionId, servicio.get("parentSpanId").asText());
+        assertEquals(trazaId, servicio.get("traceId").asText());
+        assertEquals("ProductoServiceImpl.listarPagina", servicio.get("nombre").asText());
+        assertEquals("servicio", servicio.get("atributos").get("capa").asText());
+        assertEquals("UNSET", servicio.get("estado").asText());
+        assertTrue(servicio.get("duracionMicros").isIntegralNumber());
+        assertFalse(servicio.has("error"));
+        // La raíz no tiene padre
+        assertFalse(peticion.has("parentSpanId"));
+        assertEquals(trazaId, peticion.get("traceId").asText());
+    }
+
+    @Test
+    public void testErrorSeEscribeSinLaPila() throws Exception {
+        Path archivo = directorio.resolve("spans.jsonl");
+        try (SdkTracerProvider proveedor = proveedor(archivo)) {
+            Span span = proveedor.get("motoshop").spanBuilder("AmazonCoreClient.enviarCompra").startSpan();
+            span.recordException(new IllegalStateException("Amazon Core no responde"));
+            span.setStatus(StatusCode.ERROR);
+            span.end();
+        }
+
+        List<JsonNode> lineas = leer(archivo);
+        assertEquals(1, lineas.size());
+        JsonNode linea = lineas.get(0);
+        assertEquals("ERROR", linea.get("estado").asText());
+        JsonNode error = linea.get("error");
+        assertEquals(IllegalStateException.class.getName(), error.get("exception.type").asText());
+        assertEquals("Amazon Core no responde", error.get("exception.message").asText());
+        assertFalse(error.has("exception.stacktrace"));
+        // La pila tampoco parte la línea
+        assertEquals(1, Files.readAllLines(archivo, StandardCharsets.UTF_8).size());
+    }
+
+    private SdkTracerProvider proveedor(Path archivo) throws Exception {
+        return SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new ArchivoSpanExporter(archivo, json)))
+                .build();
+    }
+
+    private List<JsonNode> leer(Path archivo) throws Exception {
+        List<JsonNode> lineas = new ArrayList<>();
+        for (String linea : Files.readAllLines(archivo, StandardCharsets.UTF_8)) {
+            lineas.add(json.readTree(linea));
+        }
+        return lineas;
+    }
+}
@@ -0,0 +1,141 @@
+package ec.puce.motoshop.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ec.puce.motoshop.dto.FormatoExportacion;
+import ec.puce.motoshop.repository.CategoriaRepository;
+import ec.puce.motoshop.repository.FacturaRepository;
+import ec.puce.motoshop.repository.PedidoRepository;
+import ec.puce.motoshop.repository.TransaccionRepository;
+import ec.puce.motoshop.service.ExportacionServiceImpl;
+import ec.puce.motoshop.service.IExportacionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Pruebas del aspecto de métricas aplicado con un proxy de AspectJ sobre un
+ * servicio y sobre un repositorio, con un registro en memoria y un reloj
+ * simulado.
+ */
+public class MetricasAspectTest {
+
+    private final MockClock reloj = new MockClock();
+
+    private SimpleMeterRegistry registry;
+    private TransaccionRepository transaccionRepository;
+    private IExportacionService exportacionService;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, reloj);
+        transaccionRepository = mock(TransaccionRepository.class);
+        ExportacionServiceImpl servicio = new ExportacionServiceImpl(mock(PedidoRepository.class),
+                transaccionRepository, mock(FacturaRepository.class));
+        ReflectionTestUtils.setField(servicio, "entityManager", mock(EntityManager.class));
+        exportacionService = conMetricas(servicio);
+    }
+
+    @Test
+    public void testLlamadaCorrectaSeMideConSusEtiquetas() throws Exception {
+        when(transaccionRepository.recorrerTodas()).thenAnswer(invocacion -> {
+            reloj.add(Duration.ofMillis(15));
+            return Stream.empty();
+        });
+
+        exportacionService.exportarTransacciones(new ByteArrayOutputStream(), FormatoExportacion.CSV);
+        exportacionService.exportarTransacciones(new ByteArrayOutputStream(), FormatoExportacion.CSV);
+
+        Timer temporizador = registry.get(MetricasAspect.METRICA_LLAMADAS)
+                .tag("capa", "servicio")
+                .tag("clase", "ExportacionServiceImpl")
+                .tag("metodo", "exportarTransacciones")
+                .tag("resultado", "exito")
+                .tag("excepcion", "none")
+                .timer();
+        assertEquals(2, temporizador.count());
+        assertEquals(30, temporizador.totalTime(TimeUnit.MILLISECONDS));
+        assertNull(registry.find(MetricasAspect.METRICA_ERRORES).counter());
+    }
+
+    @Test
+    public void testLlamadaFallidaCuentaElErrorConSuExcepcion() {
+        OutputStream salidaCerrada = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Conexión cerrada por el cliente");
+            }
+        };
+        when(transaccionRepository.recorrerTodas()).thenReturn(Stream.empty());
+
+        assertThrows(IOException.class,
+                () -> exportacionService.exportarTransacciones(salidaCerrada, FormatoExportacion.CSV));
+
+        Timer temporizador = registry.get(MetricasAspect.METRICA_LLAMADAS)
+                .tag("clase", "ExportacionServiceImpl")
+                .tag("resultado", "error")
+                .tag("excepcion", "IOException")
+                .timer();
+        assertEquals(1, temporizador.count());
+        Counter errores = registry.get(MetricasAspect.METRICA_ERRORES)
+                .tag("capa", "servicio")
+                .tag("clase", "ExportacionServiceImpl")
+                .tag("metodo", "exportarTransacciones")
+                .tag("excepcion", "IOException")
+                .counter();
+        assertEquals(1, errores.count());
+        // El fallo no se registra como llamada correcta
+        assertTrue(registry.find(MetricasAspect.METRICA_LLAMADAS).tag("resultado", "exito").timers().isEmpty());
+    }
+
+    @Test
+    public void testRepositorioDeSpringDataSeEtiquetaConSuInterfaz() {
+        // Spring Data crea los repositorios como proxies JDK de su interfaz
+        ProxyFactory fabrica = new ProxyFactory();
+        fabrica.setInterfaces(CategoriaRepository.class, Repository.class);
+        fabrica.addAdvice((MethodInterceptor) invocacion -> 3L);
+        CategoriaRepository repositorioSpringData = (CategoriaRepository) fabrica.getProxy();
+        assertTrue(Proxy.isProxyClass(repositorioSpringData.getClass()));
+
+        CategoriaRepository repositorio = conMetricas(repositorioSpringData);
+        assertEquals(3L, repositorio.count());
+
+        assertEquals("CategoriaRepository", MetricasAspect.nombreClase(repositorioSpringData));
+        Timer temporizador = registry.get(MetricasAspect.METRICA_LLAMADAS)
+                .tag("capa", "repositorio")
+                .tag("clase", "CategoriaRepository")
+                .tag("metodo", "count")
+                .timer();
+        assertEquals(1, temporizador.count());
+    }
+
+    private <T> T conMetricas(T destino) {
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(destino);
+        fabrica.addAspect(new MetricasAspect(registry));
+        return fabrica.getProxy();
+    }
+}
@@ -0,0 +1,155 @@
+package ec.puce.motoshop.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ec.puce.motoshop.dto.FormatoExportacion;
+import ec.puce.motoshop.repository.FacturaRepository;
+import ec.puce.motoshop.repository.PedidoRepository;
+import ec.puce.motoshop.repository.TransaccionRepository;
+import ec.puce.motoshop.service.ExportacionServiceImpl;
+import ec.puce.motoshop.service.IExportacionService;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.EventData;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Pruebas del aspecto de trazas con el SDK de OpenTelemetry y un exportador
+ * en memoria que recibe cada span al terminar.
+ */
+public class TrazasAspectTest {
+
+    private final EnMemoriaSpanExporter exportador = new EnMemoriaSpanExporter();
+
+    private SdkTracerProvider proveedor;
+    private Tracer tracer;
+    private TransaccionRepository transaccionRepository;
+    private IExportacionService exportacionService;
+
+    @BeforeEach
+    public void setUp() {
+        proveedor = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exportador))
+                .build();
+        tracer = new OtelTracer(proveedor.get("motoshop"), new OtelCurrentTraceContext(), evento -> {
+        });
+        transaccionRepository = mock(TransaccionRepository.class);
+        ExportacionServiceImpl servicio = new ExportacionServiceImpl(mock(PedidoRepository.class),
+                transaccionRepository, mock(FacturaRepository.class));
+        ReflectionTestUtils.setField(servicio, "entityManager", mock(EntityManager.class));
+        AspectJProxyFactory fabrica = new AspectJProxyFactory(servicio);
+        fabrica.addAspect(new TrazasAspect(tracer));
+        exportacionService = fabrica.getProxy();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        proveedor.close();
+    }
+
+    @Test
+    public void testSpanDelServicioEsHijoDeLaPeticionYPadreDeSusLlamadas() throws Exception {
+        // Span activo durante la consulta al repositorio, del que colgarían
+        // los spans de las sentencias SQL
+        AtomicReference<String> spanEnLaConsulta = new AtomicReference<>();
+        when(transaccionRepository.recorrerTodas()).thenAnswer(invocacion -> {
+            spanEnLaConsulta.set(tracer.currentSpan().context().spanId());
+            return Stream.empty();
+        });
+
+        Span peticion = tracer.nextSpan().name("GET /api/exportaciones/transacciones").start();
+        try (Tracer.SpanInScope ignorado = tracer.withSpan(peticion)) {
+            exportacionService.exportarTransacciones(new ByteArrayOutputStream(), FormatoExportacion.CSV);
+            // Al salir del servicio vuelve a estar activo el span de la petición
+            assertEquals(peticion.context().spanId(), tracer.currentSpan().context().spanId());
+        } finally {
+            peticion.end();
+        }
+
+        assertEquals(2, exportador.spans.size());
+        SpanData servicio = exportador.spans.get(0);
+        SpanData raiz = exportador.spans.get(1);
+        assertEquals("ExportacionServiceImpl.exportarTransacciones", servicio.getName());
+        assertEquals("servicio", servicio.getAttributes().get(AttributeKey.stringKey("capa")));
+        assertEquals(raiz.getTraceId(), servicio.getTraceId());
+        assertEquals(raiz.getSpanId(), servicio.getParentSpanId());
+        assertEquals(servicio.getSpanId(), spanEnLaConsulta.get());
+        assertEquals(StatusCode.UNSET, servicio.getStatus().getStatusCode());
+    }
+
+    @Test
+    public void testExcepcionMarcaElSpanComoError() {
+        OutputStream salidaCerrada = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Conexión cerrada por el cliente");
+            }
+        };
+        when(transaccionRepository.recorrerTodas()).thenReturn(Stream.empty());
+
+        assertThrows(IOException.class,
+                () -> exportacionService.exportarTransacciones(salidaCerrada, FormatoExportacion.CSV));
+
+        assertEquals(1, exportador.spans.size());
+        SpanData servicio = exportador.spans.get(0);
+        // Sin petición en curso el span del servicio inicia su propia traza
+        assertFalse(servicio.getParentSpanContext().isValid());
+        assertEquals(StatusCode.ERROR, servicio.getStatus().getStatusCode());
+        EventData excepcion = servicio.getEvents().get(0);
+        assertEquals("exception", excepcion.getName());
+        assertEquals(IOException.class.getName(),
+                excepcion.getAttributes().get(AttributeKey.stringKey("exception.type")));
+    }
+
+    /**
+     * Exportador que guarda los spans en el orden en que terminan.
+     */
+    static class EnMemoriaSpanExporter implements SpanExporter {
+
+        final List<SpanData> spans = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> lote) {
+            spans.addAll(lote);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
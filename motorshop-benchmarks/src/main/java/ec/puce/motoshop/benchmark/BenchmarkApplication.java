@@ -0,0 +1,28 @@
+package ec.puce.motoshop.benchmark;
+
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import ec.puce.motoshop.repository.support.RepositorioBase;
+import ec.puce.motoshop.service.BusquedaProductoServiceImpl;
+import ec.puce.motoshop.service.PedidoServiceImpl;
+import ec.puce.motoshop.service.ProductoServiceImpl;
+import ec.puce.motoshop.service.SaldoCuentaServiceImpl;
+import ec.puce.motoshop.service.TransferenciaServiceImpl;
+
+/**
+ * Contexto de Spring para los benchmarks de servicios: los repositorios y
+ * solo los servicios medidos, sin servidor web ni integración con Amazon Core.
+ * La caché no se habilita, para que cada llamada llegue a la base de datos.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@EntityScan("ec.puce.motoshop.domain")
+@EnableJpaRepositories(basePackages = "ec.puce.motoshop.repository", repositoryBaseClass = RepositorioBase.class)
+@Import({ ProductoServiceImpl.class, BusquedaProductoServiceImpl.class, PedidoServiceImpl.class,
+        TransferenciaServiceImpl.class, SaldoCuentaServiceImpl.class })
+public class BenchmarkApplication {
+}
@@ -0,0 +1,113 @@
+package ec.puce.motoshop.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compara los resultados JSON de una ejecución de JMH con los de la base y
+ * termina con código 1 si algún benchmark empeoró más del umbral.
+ * En los modos de tiempo (avgt, sample, ss) empeorar es tardar más; en el
+ * modo thrpt, hacer menos operaciones. Un empeoramiento solo cuenta si además
+ * supera la suma de los márgenes de error de ambas mediciones, para no fallar
+ * por el ruido de la máquina. Los benchmarks sin base se informan pero no
+ * fallan.
+ *
+ * Uso: ComparadorResultados base.json actual.json [umbral-porcentaje]
+ */
+public final class ComparadorResultados {
+
+    private ComparadorResultados() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: ComparadorResultados base.json actual.json [umbral-porcentaje]");
+            System.exit(2);
+        }
+        double umbral = args.length > 2 ? Double.parseDouble(args[2]) : 15.0;
+
+        Map<String, JsonNode> base = leer(new File(args[0]));
+        Map<String, JsonNode> actual = leer(new File(args[1]));
+
+        List<String> regresiones = new ArrayList<>();
+        System.out.printf(Locale.ROOT, "%-90s %14s %14s %9s%n", "Benchmark", "Base", "Actual", "Cambio");
+        for (Map.Entry<String, JsonNode> entrada : actual.entrySet()) {
+            JsonNode medidaActual = entrada.getValue().get("primaryMetric");
+            JsonNode resultadoBase = base.get(entrada.getKey());
+            if (resultadoBase == null) {
+                System.out.printf(Locale.ROOT, "%-90s %14s %14.3f %9s%n", entrada.getKey(), "-",
+                        medidaActual.get("score").asDouble(), "nuevo");
+                continue;
+            }
+
+            JsonNode medidaBase = resultadoBase.get("primaryMetric");
+            double puntuacionBase = medidaBase.get("score").asDouble();
+            double puntuacionActual = medidaActual.get("score").asDouble();
+            double error = error(medidaBase) + error(medidaActual);
+            boolean mayorEsMejor = "thrpt".equals(entrada.getValue().get("mode").asText());
+            // Porcentaje de empeoramiento: positivo si el resultado es peor
+            double empeoramiento = (mayorEsMejor ? puntuacionBase - puntuacionActual
+                    : puntuacionActual - puntuacionBase) / puntuacionBase * 100;
+
+            boolean regresion = empeoramiento > umbral
+                    && Math.abs(puntuacionActual - puntuacionBase) > error;
+
+            String marca = regresion ? "  << REGRESIÓN" : "";
+            System.out.printf(Locale.ROOT, "%-90s %14.3f %14.3f %+8.1f%%%s%n", entrada.getKey(), puntuacionBase,
+                    puntuacionActual, -empeoramiento, marca);
+            if (regresion) {
+                regresiones.add(entrada.getKey());
+            }
+        }
+
+        if (!regresiones.isEmpty()) {
+            System.err.printf(Locale.ROOT, "%d benchmark(s) empeoraron más de un %.0f%%: %s%n",
+                    regresiones.size(), umbral, regresiones);
+            System.exit(1);
+        }
+        System.out.printf(Locale.ROOT, "Sin regresiones mayores al %.0f%%%n", umbral);
+    }
+
+    /**
+     * Lee un archivo de resultados de JMH y los indexa por nombre del
+     * benchmark, modo y parámetros.
+     */
+    private static Map<String, JsonNode> leer(File archivo) throws IOException {
+        Map<String, JsonNode> resultados = new LinkedHashMap<>();
+        for (JsonNode resultado : new ObjectMapper().readTree(archivo)) {
+            resultados.put(clave(resultado), resultado);
+        }
+        return resultados;
+    }
+
+    /**
+     * Margen de error de una medición; JMH escribe NaN si hubo una sola
+     * iteración.
+     */
+    private static double error(JsonNode medida) {
+        double error = medida.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String clave(JsonNode resultado) {
+        StringBuilder clave = new StringBuilder(resultado.get("benchmark").asText()
+                .replace("ec.puce.motoshop.benchmark.", ""));
+        clave.append(" [").append(resultado.get("mode").asText()).append(']');
+        JsonNode parametros = resultado.get("params");
+        if (parametros != null) {
+            Map<String, String> ordenados = new TreeMap<>();
+            parametros.fields().forEachRemaining(p -> ordenados.put(p.getKey(), p.getValue().asText()));
+            ordenados.forEach((nombre, valor) -> clave.append(' ').append(nombre).append('=').append(valor));
+        }
+        return clave.toString();
+    }
+}
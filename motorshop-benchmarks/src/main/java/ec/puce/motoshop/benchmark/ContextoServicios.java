@@ -0,0 +1,184 @@
+package ec.puce.motoshop.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import ec.puce.motoshop.domain.Categoria;
+import ec.puce.motoshop.domain.Cliente;
+import ec.puce.motoshop.domain.CuentaBancaria;
+import ec.puce.motoshop.domain.DetallePedido;
+import ec.puce.motoshop.domain.Direccion;
+import ec.puce.motoshop.domain.Pedido;
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.domain.Usuario;
+import ec.puce.motoshop.repository.CategoriaRepository;
+import ec.puce.motoshop.repository.ClienteRepository;
+import ec.puce.motoshop.repository.CuentaBancariaRepository;
+import ec.puce.motoshop.repository.DetallePedidoRepository;
+import ec.puce.motoshop.repository.DireccionRepository;
+import ec.puce.motoshop.repository.PedidoRepository;
+import ec.puce.motoshop.repository.ProductoRepository;
+import ec.puce.motoshop.repository.UsuarioRepository;
+import ec.puce.motoshop.service.IPedidoService;
+import ec.puce.motoshop.service.IProductoService;
+import ec.puce.motoshop.service.ITransferenciaService;
+
+/**
+ * Arranca los servicios sobre una base H2 en memoria en modo PostgreSQL y la
+ * llena con un catálogo, pedidos y cuentas. Se crea una vez por benchmark y la
+ * comparten todos los hilos.
+ */
+@State(Scope.Benchmark)
+public class ContextoServicios {
+
+    static final int CATEGORIAS = 10;
+    static final int PRODUCTOS = 5000;
+    static final int CLIENTES = 100;
+    static final int PEDIDOS = 1000;
+    static final int LINEAS_POR_PEDIDO = 5;
+    static final int CUENTAS = 64;
+
+    // Argumentos de línea de comandos: tienen prioridad sobre el
+    // application.properties del módulo de integración, que apunta a PostgreSQL
+    private static final String[] PROPIEDADES = {
+            "--spring.datasource.url=jdbc:h2:mem:benchmarks;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                    + "DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.open-in-view=false",
+            "--spring.sql.init.mode=never",
+            "--logging.level.root=WARN"
+    };
+
+    ConfigurableApplicationContext contexto;
+    IProductoService productoService;
+    IPedidoService pedidoService;
+    ITransferenciaService transferenciaService;
+    Integer categoriaId;
+    List<Integer> pedidos;
+    List<Integer> cuentas;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(PROPIEDADES);
+        productoService = contexto.getBean(IProductoService.class);
+        pedidoService = contexto.getBean(IPedidoService.class);
+        transferenciaService = contexto.getBean(ITransferenciaService.class);
+        poblar();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    private void poblar() {
+        List<Categoria> categorias = new ArrayList<>();
+        for (int i = 0; i < CATEGORIAS; i++) {
+            Categoria categoria = new Categoria();
+            categoria.setNombre("Categoría " + i);
+            categorias.add(categoria);
+        }
+        categorias = contexto.getBean(CategoriaRepository.class).saveAll(categorias);
+        categoriaId = categorias.get(0).getId();
+
+        List<Producto> productos = new ArrayList<>();
+        for (int i = 0; i < PRODUCTOS; i++) {
+            Producto producto = DatosPrueba.producto(0, categorias.get(i % CATEGORIAS));
+            producto.setId(null);
+            producto.setVersion(null);
+            producto.setNombre("Producto " + i);
+            producto.setPrecio(new BigDecimal("5.00").add(BigDecimal.valueOf(i % 500)));
+            productos.add(producto);
+        }
+        productos = contexto.getBean(ProductoRepository.class).saveAll(productos);
+
+        List<Cliente> clientes = new ArrayList<>();
+        List<Direccion> direcciones = new ArrayList<>();
+        for (int i = 0; i < CLIENTES; i++) {
+            Usuario usuario = new Usuario();
+            usuario.setCedula(String.format("%010d", i));
+            usuario.setNombreUsuario("usuario" + i);
+            usuario.setEmail("usuario" + i + "@example.com");
+            usuario.setRol("CLIENTE");
+            usuario.setFechaCreacion(LocalDateTime.now());
+            contexto.getBean(UsuarioRepository.class).save(usuario);
+
+            Cliente cliente = new Cliente();
+            cliente.setNombre("Cliente " + i);
+            cliente.setTelefono("0990000000");
+            cliente.setUsuario(usuario);
+            clientes.add(contexto.getBean(ClienteRepository.class).save(cliente));
+
+            Direccion direccion = new Direccion();
+            direccion.setCalle("Calle " + i);
+            direccion.setCiudad("Quito");
+            direccion.setProvincia("Pichincha");
+            direccion.setCodigoPostal("170517");
+            direccion.setCliente(cliente);
+            direcciones.add(contexto.getBean(DireccionRepository.class).save(direccion));
+        }
+
+        List<Pedido> nuevosPedidos = new ArrayList<>();
+        for (int i = 0; i < PEDIDOS; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setCliente(clientes.get(i % CLIENTES));
+            pedido.setDireccion(direcciones.get(i % CLIENTES));
+            pedido.setFechaPedido(LocalDateTime.now());
+            pedido.setEstado("PENDIENTE");
+            pedido.setTotal(new BigDecimal("100.00"));
+            nuevosPedidos.add(pedido);
+        }
+        nuevosPedidos = contexto.getBean(PedidoRepository.class).saveAll(nuevosPedidos);
+
+        List<DetallePedido> detalles = new ArrayList<>();
+        pedidos = new ArrayList<>();
+        for (Pedido pedido : nuevosPedidos) {
+            pedidos.add(pedido.getId());
+            for (int j = 0; j < LINEAS_POR_PEDIDO; j++) {
+                DetallePedido detalle = new DetallePedido();
+                detalle.setPedido(pedido);
+                detalle.setProducto(productos.get((pedido.getId() * LINEAS_POR_PEDIDO + j) % PRODUCTOS));
+                detalle.setCantidad(1 + j);
+                detalle.setPrecioUnitario(new BigDecimal("20.00"));
+                detalles.add(detalle);
+            }
+        }
+        contexto.getBean(DetallePedidoRepository.class).saveAll(detalles);
+
+        List<CuentaBancaria> nuevasCuentas = new ArrayList<>();
+        for (int i = 0; i < CUENTAS; i++) {
+            CuentaBancaria cuenta = new CuentaBancaria();
+            cuenta.setNumeroCuenta(String.format("22%08d", i));
+            cuenta.setTipoCuenta("AHORROS");
+            cuenta.setEntidadFinanciera("Banco Pichincha");
+            cuenta.setSaldo(new BigDecimal("1000000.00"));
+            cuenta.setCliente(clientes.get(i % CLIENTES));
+            nuevasCuentas.add(cuenta);
+        }
+        cuentas = new ArrayList<>();
+        for (CuentaBancaria cuenta : contexto.getBean(CuentaBancariaRepository.class).saveAll(nuevasCuentas)) {
+            cuentas.add(cuenta.getId());
+        }
+    }
+}
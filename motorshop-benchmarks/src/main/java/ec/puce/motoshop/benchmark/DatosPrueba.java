@@ -0,0 +1,102 @@
+package ec.puce.motoshop.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import ec.puce.motoshop.domain.Categoria;
+import ec.puce.motoshop.domain.Cliente;
+import ec.puce.motoshop.domain.DetallePedido;
+import ec.puce.motoshop.domain.Direccion;
+import ec.puce.motoshop.domain.Pedido;
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.domain.Usuario;
+import ec.puce.motoshop.integration.dto.CarritoDTO;
+import ec.puce.motoshop.integration.dto.ClienteDTO;
+import ec.puce.motoshop.integration.dto.PedidoDTO;
+import ec.puce.motoshop.integration.dto.ProductoCantidadDTO;
+
+/**
+ * Datos de ejemplo compartidos por los benchmarks. Los valores son fijos para
+ * que dos ejecuciones midan exactamente el mismo trabajo.
+ */
+final class DatosPrueba {
+
+    private DatosPrueba() {
+    }
+
+    /**
+     * Crea un catálogo de productos con IDs consecutivos desde 1.
+     */
+    static List<Producto> catalogo(int tamanio) {
+        Categoria categoria = new Categoria();
+        categoria.setId(1);
+        categoria.setNombre("Cascos");
+
+        List<Producto> productos = new ArrayList<>(tamanio);
+        for (int i = 1; i <= tamanio; i++) {
+            productos.add(producto(i, categoria));
+        }
+        return productos;
+    }
+
+    static Producto producto(int id, Categoria categoria) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setNombre("Casco integral modelo " + id);
+        producto.setDescripcion("Casco integral con visor antiempañante y ventilación regulable, talla " + (id % 5));
+        producto.setPrecio(new BigDecimal("89.90").add(BigDecimal.valueOf(id % 100)));
+        producto.setStock(25);
+        producto.setImagenPrincipal("casco-" + id + ".jpg");
+        producto.setCategoria(categoria);
+        producto.setVersion(0L);
+        return producto;
+    }
+
+    /**
+     * Crea un pedido de Amazon Core con tantas líneas como se indique, cuyos
+     * productos se reparten por todo el catálogo.
+     */
+    static PedidoDTO pedidoDTO(int lineas, int tamanioCatalogo) {
+        List<ProductoCantidadDTO> items = new ArrayList<>(lineas);
+        for (int i = 0; i < lineas; i++) {
+            long idProducto = 1 + (long) i * tamanioCatalogo / lineas;
+            items.add(new ProductoCantidadDTO(idProducto, 1 + i % 3));
+        }
+        ClienteDTO cliente = new ClienteDTO("1712345678", "María Andrade", "0991234567", "maria@example.com",
+                "Av. Amazonas N34-120");
+        return new PedidoDTO(1001L, cliente, new CarritoDTO(items), LocalDateTime.of(2025, 3, 14, 10, 30),
+                "PENDIENTE");
+    }
+
+    /**
+     * Crea un pedido de MotoShop con su cliente, dirección y líneas.
+     */
+    static Pedido pedido(List<DetallePedido> detalles) {
+        Usuario usuario = new Usuario();
+        usuario.setCedula("1712345678");
+        usuario.setEmail("maria@example.com");
+
+        Cliente cliente = new Cliente();
+        cliente.setNombre("María Andrade");
+        cliente.setTelefono("0991234567");
+        cliente.setUsuario(usuario);
+
+        Direccion direccion = new Direccion();
+        direccion.setCalle("Av. Amazonas N34-120");
+        direccion.setCiudad("Quito");
+        direccion.setCliente(cliente);
+
+        Pedido pedido = new Pedido();
+        pedido.setId(1001);
+        pedido.setCliente(cliente);
+        pedido.setDireccion(direccion);
+        pedido.setFechaPedido(LocalDateTime.of(2025, 3, 14, 10, 30));
+        pedido.setEstado("PENDIENTE");
+        pedido.setTotal(detalles.stream()
+                .map(d -> d.getPrecioUnitario().multiply(BigDecimal.valueOf(d.getCantidad())))
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        return pedido;
+    }
+}
@@ -0,0 +1,77 @@
+package ec.puce.motoshop.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ec.puce.motoshop.domain.DetallePedido;
+import ec.puce.motoshop.domain.Pedido;
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.integration.dto.PedidoDTO;
+import ec.puce.motoshop.integration.mapper.IntegrationMapper;
+import ec.puce.motoshop.integration.mapper.PedidoMapeado;
+
+/**
+ * Conversión entre los pedidos de Amazon Core y las entidades de MotoShop.
+ * Las búsquedas de productos del mapper dependen del tamaño del carrito y del
+ * catálogo, por eso ambos son parámetros.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeoIntegracionBenchmark {
+
+    @Param({ "1", "10", "100", "1000" })
+    private int lineas;
+
+    @Param({ "1000" })
+    private int tamanioCatalogo;
+
+    private final IntegrationMapper mapper = new IntegrationMapper();
+    private List<Producto> catalogo;
+    private PedidoDTO pedidoDTO;
+    private Pedido pedido;
+    private List<DetallePedido> detalles;
+
+    @Setup
+    public void preparar() {
+        catalogo = DatosPrueba.catalogo(tamanioCatalogo);
+        pedidoDTO = DatosPrueba.pedidoDTO(lineas, tamanioCatalogo);
+        detalles = mapper.createDetallesPedido(new Pedido(), pedidoDTO.getCarrito(), catalogo);
+        pedido = DatosPrueba.pedido(detalles);
+    }
+
+    @Benchmark
+    public Pedido toPedidoEntity() {
+        return mapper.toPedidoEntity(pedidoDTO, catalogo);
+    }
+
+    @Benchmark
+    public List<DetallePedido> createDetallesPedido() {
+        return mapper.createDetallesPedido(pedido, pedidoDTO.getCarrito(), catalogo);
+    }
+
+    @Benchmark
+    public PedidoMapeado toPedidoConDetalles() {
+        return mapper.toPedidoConDetalles(pedidoDTO, catalogo);
+    }
+
+    @Benchmark
+    public PedidoDTO toPedidoDTO() {
+        return mapper.toPedidoDTO(pedido, detalles);
+    }
+}
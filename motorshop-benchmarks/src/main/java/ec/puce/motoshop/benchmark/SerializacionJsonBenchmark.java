@@ -0,0 +1,87 @@
+package ec.puce.motoshop.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.integration.dto.PedidoDTO;
+
+/**
+ * Serialización JSON de las respuestas de productos y de los pedidos enviados
+ * a Amazon Core, con un ObjectMapper configurado como el de Spring Boot.
+ * Los lectores y escritores se crean una sola vez, como hace Spring MVC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacionJsonBenchmark {
+
+    private static final int PRODUCTOS_POR_PAGINA = 20;
+
+    private ObjectWriter escritorProductos;
+    private ObjectReader lectorProductos;
+    private ObjectWriter escritorPedido;
+    private ObjectReader lectorPedido;
+    private List<Producto> productos;
+    private PedidoDTO pedido;
+    private String productosJson;
+    private String pedidoJson;
+
+    @Setup
+    public void preparar() throws JsonProcessingException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        escritorProductos = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, Producto.class));
+        lectorProductos = objectMapper.readerForListOf(Producto.class);
+        escritorPedido = objectMapper.writerFor(PedidoDTO.class);
+        lectorPedido = objectMapper.readerFor(PedidoDTO.class);
+
+        productos = DatosPrueba.catalogo(PRODUCTOS_POR_PAGINA);
+        pedido = DatosPrueba.pedidoDTO(10, 1000);
+        productosJson = escritorProductos.writeValueAsString(productos);
+        pedidoJson = escritorPedido.writeValueAsString(pedido);
+    }
+
+    @Benchmark
+    public String serializarPaginaProductos() throws JsonProcessingException {
+        return escritorProductos.writeValueAsString(productos);
+    }
+
+    @Benchmark
+    public List<Producto> deserializarPaginaProductos() throws JsonProcessingException {
+        return lectorProductos.readValue(productosJson);
+    }
+
+    @Benchmark
+    public String serializarPedido() throws JsonProcessingException {
+        return escritorPedido.writeValueAsString(pedido);
+    }
+
+    @Benchmark
+    public PedidoDTO deserializarPedido() throws JsonProcessingException {
+        return lectorPedido.readValue(pedidoJson);
+    }
+}
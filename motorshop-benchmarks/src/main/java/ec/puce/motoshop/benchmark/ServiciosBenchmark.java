@@ -0,0 +1,117 @@
+package ec.puce.motoshop.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ec.puce.motoshop.dto.FiltroProductoDTO;
+import ec.puce.motoshop.dto.PaginaProductoDTO;
+import ec.puce.motoshop.dto.PedidoCompletoDTO;
+import ec.puce.motoshop.dto.ResultadoTransferenciaDTO;
+import ec.puce.motoshop.dto.SolicitudTransferenciaDTO;
+import ec.puce.motoshop.repository.projection.PedidoResumen;
+
+/**
+ * Métodos de servicio sobre la base H2 en memoria de ContextoServicios.
+ * H2 no reproduce los tiempos absolutos de PostgreSQL; los resultados sirven
+ * para comparar versiones del código entre sí, no para dimensionar producción.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiciosBenchmark {
+
+    /**
+     * Estado de cada hilo: el siguiente pedido a leer y, para las
+     * transferencias, un par de cuentas propio del hilo.
+     */
+    @State(Scope.Thread)
+    public static class EstadoHilo {
+
+        private static final AtomicInteger HILOS = new AtomicInteger();
+
+        int siguientePedido;
+        SolicitudTransferenciaDTO ida;
+        SolicitudTransferenciaDTO vuelta;
+        boolean deIda;
+
+        @Setup
+        public void preparar(ContextoServicios contexto) {
+            int hilo = HILOS.getAndIncrement() % (ContextoServicios.CUENTAS / 2);
+            Integer a = contexto.cuentas.get(2 * hilo);
+            Integer b = contexto.cuentas.get(2 * hilo + 1);
+            ida = new SolicitudTransferenciaDTO(a, b, new BigDecimal("10.00"), "Benchmark");
+            vuelta = new SolicitudTransferenciaDTO(b, a, new BigDecimal("10.00"), "Benchmark");
+            siguientePedido = hilo;
+        }
+    }
+
+    @Benchmark
+    public PaginaProductoDTO listarPaginaProductosPorPrecio(ContextoServicios contexto) {
+        FiltroProductoDTO filtro = new FiltroProductoDTO();
+        filtro.setCategoriaId(contexto.categoriaId);
+        filtro.setOrden(FiltroProductoDTO.Orden.PRECIO);
+        filtro.setTamanio(20);
+        return contexto.productoService.listarPagina(filtro);
+    }
+
+    @Benchmark
+    public Optional<PedidoCompletoDTO> obtenerPedidoCompleto(ContextoServicios contexto, EstadoHilo estado) {
+        Integer id = contexto.pedidos.get(estado.siguientePedido++ % contexto.pedidos.size());
+        return contexto.pedidoService.obtenerCompleto(id);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<PedidoResumen> listarResumenPedidos(ContextoServicios contexto) {
+        return contexto.pedidoService.listarResumen();
+    }
+
+    /**
+     * Transferencias concurrentes, cada hilo sobre su propio par de cuentas:
+     * el rendimiento total debería crecer con el número de hilos frente a
+     * transferirEntreCuentasDisjuntasUnHilo.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(4)
+    public ResultadoTransferenciaDTO transferirEntreCuentasDisjuntas(ContextoServicios contexto,
+            EstadoHilo estado) {
+        return transferir(contexto, estado);
+    }
+
+    /**
+     * Las mismas transferencias con un solo hilo, como referencia para medir
+     * cuánto escala transferirEntreCuentasDisjuntas.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(1)
+    public ResultadoTransferenciaDTO transferirEntreCuentasDisjuntasUnHilo(ContextoServicios contexto,
+            EstadoHilo estado) {
+        return transferir(contexto, estado);
+    }
+
+    private static ResultadoTransferenciaDTO transferir(ContextoServicios contexto, EstadoHilo estado) {
+        estado.deIda = !estado.deIda;
+        return contexto.transferenciaService.transferir(estado.deIda ? estado.ida : estado.vuelta, null);
+    }
+}
@@ -5,10 +5,13 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "categoria")
+@Table(name = "categoria", indexes = {
+        @Index(name = "idx_categoria_nombre", columnList = "nombre_categoria")
+})
 public class Categoria {
 
     @Id
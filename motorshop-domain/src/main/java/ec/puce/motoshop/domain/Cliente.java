@@ -2,9 +2,11 @@ package ec.puce.motoshop.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -14,7 +16,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.util.List;
 
 @Entity
-@Table(name = "cliente")
+@Table(name = "cliente", indexes = {
+        @Index(name = "idx_cliente_usuario", columnList = "id_usuario")
+})
 public class Cliente {
 
     @Id
@@ -27,8 +31,9 @@ public class Cliente {
     @Column(length = 20, nullable = false)
     private String telefono;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_usuario", nullable = false)
+    @JsonIgnoreProperties(value = { "hibernateLazyInitializer", "handler" })
     private Usuario usuario;
 
     @OneToMany(mappedBy = "cliente", cascade = CascadeType.ALL)
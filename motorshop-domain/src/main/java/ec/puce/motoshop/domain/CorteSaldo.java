@@ -0,0 +1,98 @@
+package ec.puce.motoshop.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de una cuenta bancaria en una posición del libro de transacciones:
+ * incluye todas las transacciones de la cuenta con posición menor o igual a
+ * la del corte. Los cortes solo se insertan; una corrección se registra como
+ * un corte nuevo en la misma posición.
+ */
+@Entity
+@Table(name = "corte_saldo", indexes = {
+        @Index(name = "idx_corte_saldo_cuenta_posicion", columnList = "id_cuenta, posicion")
+})
+public class CorteSaldo {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "id_cuenta", nullable = false)
+    @JsonIgnoreProperties(value = { "hibernateLazyInitializer", "handler" })
+    private CuentaBancaria cuenta;
+
+    @Column(name = "posicion", nullable = false)
+    private Long posicion;
+
+    @Column(nullable = false)
+    private BigDecimal saldo;
+
+    @Column(name = "fecha_corte", nullable = false)
+    private LocalDateTime fechaCorte;
+
+    // Constructor por defecto
+    public CorteSaldo() {
+    }
+
+    public CorteSaldo(CuentaBancaria cuenta, Long posicion, BigDecimal saldo) {
+        this.cuenta = cuenta;
+        this.posicion = posicion;
+        this.saldo = saldo;
+        this.fechaCorte = LocalDateTime.now();
+    }
+
+    // Getters y setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public CuentaBancaria getCuenta() {
+        return cuenta;
+    }
+
+    public void setCuenta(CuentaBancaria cuenta) {
+        this.cuenta = cuenta;
+    }
+
+    public Long getPosicion() {
+        return posicion;
+    }
+
+    public void setPosicion(Long posicion) {
+        this.posicion = posicion;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public void setSaldo(BigDecimal saldo) {
+        this.saldo = saldo;
+    }
+
+    public LocalDateTime getFechaCorte() {
+        return fechaCorte;
+    }
+
+    public void setFechaCorte(LocalDateTime fechaCorte) {
+        this.fechaCorte = fechaCorte;
+    }
+}
@@ -2,16 +2,22 @@ package ec.puce.motoshop.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "cuenta_bancaria")
+@Table(name = "cuenta_bancaria", indexes = {
+        @Index(name = "idx_cuenta_bancaria_cliente", columnList = "id_cliente")
+})
 public class CuentaBancaria {
 
     @Id
@@ -30,10 +36,15 @@ public class CuentaBancaria {
     @Column(nullable = false)
     private BigDecimal saldo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_cliente", nullable = false)
+    @JsonIgnoreProperties(value = { "hibernateLazyInitializer", "handler" })
     private Cliente cliente;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Constructor por defecto
     public CuentaBancaria() {
     }
@@ -86,4 +97,12 @@ public class CuentaBancaria {
     public void setCliente(Cliente cliente) {
         this.cliente = cliente;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -2,28 +2,39 @@ package ec.puce.motoshop.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "detalle_pedido")
+@Table(name = "detalle_pedido", indexes = {
+        @Index(name = "idx_detalle_pedido_pedido", columnList = "id_pedido")
+})
 public class DetallePedido {
 
+    // Secuencia con incremento 50: Hibernate reserva bloques de IDs y puede
+    // agrupar los INSERT en lotes JDBC (IDENTITY lo impide)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "detalle_pedido_seq")
+    @SequenceGenerator(name = "detalle_pedido_seq", sequenceName = "detalle_pedido_seq", allocationSize = 50)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_pedido", nullable = false)
+    @JsonIgnoreProperties(value = { "hibernateLazyInitializer", "handler" })
     private Pedido pedido;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_producto", nullable = false)
+    @JsonIgnoreProperties(value = { "hibernateLazyInitializer", "handler" })
     private Producto producto;
 
     @Column(nullable = false)
@@ -2,16 +2,20 @@ package ec.puce.motoshop.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @Entity
-@Table(name = "direccion")
+@Table(name = "direccion", indexes = {
+        @Index(name = "idx_direccion_cliente", columnList = "id_cliente")
+})
 public class Direccion {
 
     @Id
@@ -30,7 +34,7 @@ public class Direccion {
     @Column(name = "codigo_postal", length = 20, nullable = false)
     private String codigoPostal;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_cliente", nullable = false)
     @JsonIgnoreProperties(value = { "direcciones", "hibernateLazyInitializer", "handler" })
     private Cliente cliente;
@@ -5,12 +5,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "imagen_producto")
+@Table(name = "imagen_producto", indexes = {
+        @Index(name = "idx_imagen_producto_producto", columnList = "id_producto")
+})
 public class ImagenProducto {
 
     @Id
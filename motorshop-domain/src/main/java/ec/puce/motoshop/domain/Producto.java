@@ -5,13 +5,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "producto")
+@Table(name = "producto", indexes = {
+        @Index(name = "idx_producto_categoria", columnList = "id_categoria")
+})
 public class Producto {
 
     @Id
@@ -37,6 +41,12 @@ public class Producto {
     @JoinColumn(name = "id_categoria", nullable = false)
     private Categoria categoria;
 
+    // Versión para el bloqueo optimista: Hibernate la incrementa en cada
+    // UPDATE y rechaza la escritura si otra transacción la cambió antes
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     // Constructor por defecto
     public Producto() {
     }
@@ -97,4 +107,12 @@ public class Producto {
     public void setCategoria(Categoria categoria) {
         this.categoria = categoria;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
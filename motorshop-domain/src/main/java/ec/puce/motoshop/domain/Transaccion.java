@@ -2,29 +2,42 @@ package ec.puce.motoshop.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transaccion")
+@Table(name = "transaccion", indexes = {
+        @Index(name = "idx_transaccion_cuenta_origen_posicion", columnList = "id_cuenta_origen, posicion"),
+        @Index(name = "idx_transaccion_cuenta_destino_posicion", columnList = "id_cuenta_destino, posicion"),
+        @Index(name = "uk_transaccion_clave_idempotencia", columnList = "clave_idempotencia", unique = true)
+})
 public class Transaccion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaccion_seq")
+    @SequenceGenerator(name = "transaccion_seq", sequenceName = "transaccion_seq", allocationSize = 50)
     private Integer id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_cuenta_origen", nullable = false)
+    @JsonIgnoreProperties(value = { "hibernateLazyInitializer", "handler" })
     private CuentaBancaria cuentaOrigen;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_cuenta_destino", nullable = false)
+    @JsonIgnoreProperties(value = { "hibernateLazyInitializer", "handler" })
     private CuentaBancaria cuentaDestino;
 
     @Column(nullable = false)
@@ -39,6 +52,20 @@ public class Transaccion {
     @Column(length = 255)
     private String descripcion;
 
+    // Clave enviada por el cliente en la cabecera Idempotency-Key: un reintento
+    // con la misma clave devuelve esta transacción en lugar de crear otra
+    @Column(name = "clave_idempotencia", length = 100)
+    private String claveIdempotencia;
+
+    // Posición en el libro de saldos. La asigna la base de datos al insertar,
+    // con una secuencia de incremento 1 compartida por todas las instancias:
+    // a diferencia del ID, que cada instancia reserva en bloques de 50, sigue
+    // el orden en que se registran las transacciones
+    @Generated(event = EventType.INSERT)
+    @Column(name = "posicion", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "bigint generated by default as identity")
+    private Long posicion;
+
     // Constructor por defecto
     public Transaccion() {
     }
@@ -99,4 +126,16 @@ public class Transaccion {
     public void setDescripcion(String descripcion) {
         this.descripcion = descripcion;
     }
+
+    public String getClaveIdempotencia() {
+        return claveIdempotencia;
+    }
+
+    public void setClaveIdempotencia(String claveIdempotencia) {
+        this.claveIdempotencia = claveIdempotencia;
+    }
+
+    public Long getPosicion() {
+        return posicion;
+    }
 }
@@ -5,6 +5,7 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 @Entity
 @Table(name = "usuario")
@@ -20,7 +21,9 @@ public class Usuario {
     @Column(length = 100)
     private String email;
 
+    // Se acepta al crear o actualizar, pero nunca se incluye en las respuestas
     @Column(name = "password_hash", length = 255)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String passwordHash;
 
     @Column(length = 20)
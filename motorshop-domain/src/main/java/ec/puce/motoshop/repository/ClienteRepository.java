@@ -1,8 +1,13 @@
 package ec.puce.motoshop.repository;
 
 import ec.puce.motoshop.domain.Cliente;
+import ec.puce.motoshop.repository.projection.ClienteResumen;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,6 +17,16 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
+
+    /**
+     * Obtiene todos los clientes con su usuario en una sola consulta.
+     * 
+     * @return Lista de clientes con su usuario cargado.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "usuario" })
+    List<Cliente> findAll();
+
     /**
      * Busca un cliente por el ID del usuario asociado.
      * 
@@ -19,4 +34,26 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      * @return Optional con el cliente si se encuentra.
      */
     Optional<Cliente> findByUsuarioCedula(String usuarioId);
+
+    /**
+     * Lista los clientes con la cédula y el email de su usuario, leyendo solo
+     * las columnas necesarias.
+     * 
+     * @return Clientes ordenados por ID.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.ClienteResumen("
+            + "c.id, c.nombre, c.telefono, u.cedula, u.email) "
+            + "FROM Cliente c JOIN c.usuario u ORDER BY c.id")
+    List<ClienteResumen> listarResumen();
+
+    /**
+     * Busca un cliente por su ID con la cédula y el email de su usuario.
+     * 
+     * @param id ID del cliente.
+     * @return Optional con el cliente si se encuentra.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.ClienteResumen("
+            + "c.id, c.nombre, c.telefono, u.cedula, u.email) "
+            + "FROM Cliente c JOIN c.usuario u WHERE c.id = :id")
+    Optional<ClienteResumen> buscarResumenPorId(@Param("id") Long id);
 }
@@ -0,0 +1,34 @@
+package ec.puce.motoshop.repository;
+
+import ec.puce.motoshop.domain.CorteSaldo;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para los cortes de saldo de las cuentas bancarias.
+ * Cada corte fija el saldo de una cuenta en una posición del libro de
+ * transacciones; el saldo actual es el último corte más los movimientos
+ * posteriores.
+ */
+@Repository
+public interface CorteSaldoRepository extends JpaRepository<CorteSaldo, Long> {
+
+    /**
+     * Obtiene el corte más reciente de una cuenta. Si hay una corrección en la
+     * misma posición, prevalece la última registrada.
+     * 
+     * @param cuentaId ID de la cuenta bancaria.
+     * @return Optional con el corte si la cuenta tiene alguno.
+     */
+    Optional<CorteSaldo> findFirstByCuentaIdOrderByPosicionDescIdDesc(Integer cuentaId);
+
+    /**
+     * Obtiene el primer corte de una cuenta, que contiene su saldo de apertura
+     * y sirve de punto de partida para la conciliación.
+     * 
+     * @param cuentaId ID de la cuenta bancaria.
+     * @return Optional con el corte si la cuenta tiene alguno.
+     */
+    Optional<CorteSaldo> findFirstByCuentaIdOrderByPosicionAscIdAsc(Integer cuentaId);
+}
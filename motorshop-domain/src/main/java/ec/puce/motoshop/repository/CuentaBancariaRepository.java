@@ -1,7 +1,16 @@
 package ec.puce.motoshop.repository;
 
 import ec.puce.motoshop.domain.CuentaBancaria;
+import ec.puce.motoshop.repository.projection.CuentaBancariaResumen;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,7 +21,69 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface CuentaBancariaRepository extends JpaRepository<CuentaBancaria, Integer> {
-    // No se necesitan métodos personalizados por ahora
     // JpaRepository proporciona métodos estándar para:
-    // findAll(), findById(), save(), deleteById(), etc.
+    // save(), deleteById(), etc.
+
+    /**
+     * Obtiene todas las cuentas bancarias con sus relaciones en una sola consulta.
+     * 
+     * @return Lista de cuentas bancarias con su cliente cargado.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "cliente", "cliente.usuario" })
+    List<CuentaBancaria> findAll();
+
+    /**
+     * Busca por ID cargando las mismas relaciones que findAll().
+     * 
+     * @param id ID a buscar.
+     * @return Optional con el registro si se encuentra.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "cliente", "cliente.usuario" })
+    Optional<CuentaBancaria> findById(Integer id);
+
+    /**
+     * Obtiene las cuentas indicadas bloqueándolas para escritura
+     * (SELECT ... FOR UPDATE) hasta el final de la transacción.
+     * Los bloqueos se adquieren en orden de ID, así dos transferencias en
+     * sentidos opuestos entre las mismas cuentas esperan una a la otra en vez
+     * de producir un interbloqueo.
+     * 
+     * @param ids IDs de las cuentas a bloquear.
+     * @return Lista de cuentas encontradas, ordenada por ID.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CuentaBancaria c WHERE c.id IN :ids ORDER BY c.id")
+    List<CuentaBancaria> bloquearPorIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Obtiene los IDs de todas las cuentas, sin cargar las entidades.
+     * 
+     * @return Lista de IDs ordenada.
+     */
+    @Query("SELECT c.id FROM CuentaBancaria c ORDER BY c.id")
+    List<Integer> listarIds();
+
+    /**
+     * Lista las cuentas bancarias con el nombre de su cliente, leyendo solo las
+     * columnas necesarias.
+     * 
+     * @return Cuentas bancarias ordenadas por ID.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.CuentaBancariaResumen("
+            + "b.id, b.numeroCuenta, b.tipoCuenta, b.entidadFinanciera, b.saldo, b.version, c.id, c.nombre) "
+            + "FROM CuentaBancaria b JOIN b.cliente c ORDER BY b.id")
+    List<CuentaBancariaResumen> listarResumen();
+
+    /**
+     * Busca una cuenta bancaria por su ID con el nombre de su cliente.
+     * 
+     * @param id ID de la cuenta bancaria.
+     * @return Optional con la cuenta si se encuentra.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.CuentaBancariaResumen("
+            + "b.id, b.numeroCuenta, b.tipoCuenta, b.entidadFinanciera, b.saldo, b.version, c.id, c.nombre) "
+            + "FROM CuentaBancaria b JOIN b.cliente c WHERE b.id = :id")
+    Optional<CuentaBancariaResumen> buscarResumenPorId(@Param("id") Integer id);
 }
@@ -1,7 +1,13 @@
 package ec.puce.motoshop.repository;
 
 import ec.puce.motoshop.domain.DetallePedido;
+import ec.puce.motoshop.repository.projection.DetallePedidoResumen;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -14,7 +20,59 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface DetallePedidoRepository extends JpaRepository<DetallePedido, Integer> {
-    // No se necesitan métodos personalizados por ahora
     // JpaRepository proporciona métodos estándar para:
-    // findAll(), findById(), save(), deleteById(), etc.
+    // save(), deleteById(), etc.
+
+    /**
+     * Obtiene todos los detalles de pedido con sus relaciones en una sola consulta.
+     * 
+     * @return Lista de detalles con su pedido y producto cargados.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "pedido", "pedido.cliente", "pedido.cliente.usuario",
+            "pedido.direccion", "producto" })
+    List<DetallePedido> findAll();
+
+    /**
+     * Busca por ID cargando las mismas relaciones que findAll().
+     * 
+     * @param id ID a buscar.
+     * @return Optional con el registro si se encuentra.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "pedido", "pedido.cliente", "pedido.cliente.usuario",
+            "pedido.direccion", "producto" })
+    Optional<DetallePedido> findById(Integer id);
+
+    /**
+     * Obtiene los detalles de un pedido con sus productos en una sola
+     * consulta.
+     * 
+     * @param pedidoId ID del pedido.
+     * @return Detalles del pedido.
+     */
+    @EntityGraph(attributePaths = { "producto" })
+    List<DetallePedido> findByPedidoId(Integer pedidoId);
+
+    /**
+     * Lista los detalles de pedido con el nombre de su producto, leyendo solo
+     * las columnas necesarias.
+     * 
+     * @return Detalles de pedido ordenados por ID.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.DetallePedidoResumen("
+            + "d.id, d.pedido.id, p.id, p.nombre, d.cantidad, d.precioUnitario) "
+            + "FROM DetallePedido d JOIN d.producto p ORDER BY d.id")
+    List<DetallePedidoResumen> listarResumen();
+
+    /**
+     * Busca un detalle de pedido por su ID con el nombre de su producto.
+     * 
+     * @param id ID del detalle de pedido.
+     * @return Optional con el detalle si se encuentra.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.DetallePedidoResumen("
+            + "d.id, d.pedido.id, p.id, p.nombre, d.cantidad, d.precioUnitario) "
+            + "FROM DetallePedido d JOIN d.producto p WHERE d.id = :id")
+    Optional<DetallePedidoResumen> buscarResumenPorId(@Param("id") Integer id);
 }
@@ -1,7 +1,13 @@
 package ec.puce.motoshop.repository;
 
 import ec.puce.motoshop.domain.Direccion;
+import ec.puce.motoshop.repository.projection.DireccionResumen;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,7 +17,47 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface DireccionRepository extends JpaRepository<Direccion, Integer> {
-    // No se necesitan métodos personalizados por ahora
     // JpaRepository proporciona métodos estándar para:
-    // findAll(), findById(), save(), deleteById(), etc.
+    // save(), deleteById(), etc.
+
+    /**
+     * Obtiene todas las direcciones con sus relaciones en una sola consulta.
+     * 
+     * @return Lista de direcciones con su cliente cargado.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "cliente", "cliente.usuario" })
+    List<Direccion> findAll();
+
+    /**
+     * Busca por ID cargando las mismas relaciones que findAll().
+     * 
+     * @param id ID a buscar.
+     * @return Optional con el registro si se encuentra.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "cliente", "cliente.usuario" })
+    Optional<Direccion> findById(Integer id);
+
+    /**
+     * Lista las direcciones con el nombre de su cliente, leyendo solo las
+     * columnas necesarias.
+     * 
+     * @return Direcciones ordenadas por ID.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.DireccionResumen("
+            + "d.id, d.calle, d.ciudad, d.provincia, d.codigoPostal, c.id, c.nombre) "
+            + "FROM Direccion d JOIN d.cliente c ORDER BY d.id")
+    List<DireccionResumen> listarResumen();
+
+    /**
+     * Busca una dirección por su ID con el nombre de su cliente.
+     * 
+     * @param id ID de la dirección.
+     * @return Optional con la dirección si se encuentra.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.DireccionResumen("
+            + "d.id, d.calle, d.ciudad, d.provincia, d.codigoPostal, c.id, c.nombre) "
+            + "FROM Direccion d JOIN d.cliente c WHERE d.id = :id")
+    Optional<DireccionResumen> buscarResumenPorId(@Param("id") Integer id);
 }
@@ -1,7 +1,17 @@
 package ec.puce.motoshop.repository;
 
 import ec.puce.motoshop.domain.Factura;
+import ec.puce.motoshop.repository.projection.FacturaResumen;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -13,7 +23,61 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface FacturaRepository extends JpaRepository<Factura, Integer> {
-    // No se necesitan métodos personalizados por ahora
     // JpaRepository proporciona métodos estándar para:
-    // findAll(), findById(), save(), deleteById(), etc.
+    // save(), deleteById(), etc.
+
+    /**
+     * Obtiene todas las facturas con sus relaciones en una sola consulta.
+     * 
+     * @return Lista de facturas con su pedido cargado.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "pedido", "pedido.cliente", "pedido.cliente.usuario", "pedido.direccion" })
+    List<Factura> findAll();
+
+    /**
+     * Busca por ID cargando las mismas relaciones que findAll().
+     * 
+     * @param id ID a buscar.
+     * @return Optional con el registro si se encuentra.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "pedido", "pedido.cliente", "pedido.cliente.usuario", "pedido.direccion" })
+    Optional<Factura> findById(Integer id);
+
+    /**
+     * Recorre todas las facturas como un Stream, leyendo del cursor en bloques
+     * de 500. El pedido no se carga: solo se usa su ID, que está en la propia
+     * fila. Debe consumirse dentro de una transacción de solo lectura.
+     * 
+     * @return Stream de facturas ordenadas por ID.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM Factura f ORDER BY f.id")
+    Stream<Factura> recorrerTodas();
+
+    /**
+     * Lista las facturas con su pedido y el nombre del cliente, leyendo solo
+     * las columnas necesarias.
+     * 
+     * @return Facturas ordenadas por ID.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.FacturaResumen("
+            + "f.id, f.fechaEmision, f.totalFactura, f.estado, f.metodoPago, p.id, c.id, c.nombre) "
+            + "FROM Factura f JOIN f.pedido p JOIN p.cliente c ORDER BY f.id")
+    List<FacturaResumen> listarResumen();
+
+    /**
+     * Busca una factura por su ID con su pedido y el nombre del cliente.
+     * 
+     * @param id ID de la factura.
+     * @return Optional con la factura si se encuentra.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.FacturaResumen("
+            + "f.id, f.fechaEmision, f.totalFactura, f.estado, f.metodoPago, p.id, c.id, c.nombre) "
+            + "FROM Factura f JOIN f.pedido p JOIN p.cliente c WHERE f.id = :id")
+    Optional<FacturaResumen> buscarResumenPorId(@Param("id") Integer id);
 }
@@ -1,10 +1,14 @@
 package ec.puce.motoshop.repository;
 
 import ec.puce.motoshop.domain.ImagenProducto;
+import ec.puce.motoshop.repository.projection.ImagenProductoResumen;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para operaciones CRUD básicas sobre la entidad ImagenProducto.
@@ -20,4 +24,37 @@ public interface ImagenProductoRepository extends JpaRepository<ImagenProducto,
      * @return Lista de imágenes asociadas al producto
      */
     List<ImagenProducto> findByProductoId(Integer productoId);
+
+    /**
+     * Lista las imágenes de productos sin cargar los productos: el ID del
+     * producto está en la propia fila.
+     * 
+     * @return Imágenes ordenadas por ID.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.ImagenProductoResumen("
+            + "i.id, i.urlImagen, i.producto.id) "
+            + "FROM ImagenProducto i ORDER BY i.id")
+    List<ImagenProductoResumen> listarResumen();
+
+    /**
+     * Lista las imágenes de un producto sin cargar el producto.
+     * 
+     * @param productoId ID del producto.
+     * @return Imágenes del producto ordenadas por ID.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.ImagenProductoResumen("
+            + "i.id, i.urlImagen, i.producto.id) "
+            + "FROM ImagenProducto i WHERE i.producto.id = :productoId ORDER BY i.id")
+    List<ImagenProductoResumen> listarResumenPorProducto(@Param("productoId") Integer productoId);
+
+    /**
+     * Busca una imagen por su ID sin cargar el producto.
+     * 
+     * @param id ID de la imagen.
+     * @return Optional con la imagen si se encuentra.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.ImagenProductoResumen("
+            + "i.id, i.urlImagen, i.producto.id) "
+            + "FROM ImagenProducto i WHERE i.id = :id")
+    Optional<ImagenProductoResumen> buscarResumenPorId(@Param("id") Integer id);
 }
@@ -0,0 +1,43 @@
+package ec.puce.motoshop.repository;
+
+import ec.puce.motoshop.domain.OutboxPedido;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para operaciones CRUD básicas sobre la entidad OutboxPedido.
+ * La interfaz extiende JpaRepository con la entidad OutboxPedido y su clave
+ * primaria Long (id).
+ */
+@Repository
+public interface OutboxPedidoRepository extends JpaRepository<OutboxPedido, Long> {
+
+    /**
+     * Obtiene un lote de pedidos listos para enviarse, bloqueándolos para
+     * escritura. Las filas que otra instancia ya tiene bloqueadas se omiten
+     * (FOR UPDATE SKIP LOCKED), de modo que varias instancias pueden despachar
+     * en paralelo sin tomar el mismo pedido.
+     * 
+     * @param estado   Estado de los pedidos a despachar.
+     * @param ahora    Fecha y hora actual.
+     * @param pageable Tamaño máximo del lote.
+     * @return Pedidos cuyo próximo intento ya venció y que no están reservados
+     *         por otro despachador.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxPedido o WHERE o.estado = :estado AND o.proximoIntento <= :ahora "
+            + "AND (o.bloqueadoHasta IS NULL OR o.bloqueadoHasta < :ahora) ORDER BY o.proximoIntento")
+    List<OutboxPedido> reclamarPendientes(@Param("estado") String estado,
+            @Param("ahora") LocalDateTime ahora,
+            Pageable pageable);
+}
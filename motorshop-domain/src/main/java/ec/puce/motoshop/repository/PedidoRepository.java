@@ -1,7 +1,18 @@
 package ec.puce.motoshop.repository;
 
 import ec.puce.motoshop.domain.Pedido;
+import ec.puce.motoshop.repository.projection.PedidoCompletoFila;
+import ec.puce.motoshop.repository.projection.PedidoResumen;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,7 +22,88 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Integer> {
-    // No se necesitan métodos personalizados por ahora
     // JpaRepository proporciona métodos estándar para:
-    // findAll(), findById(), save(), deleteById(), etc.
+    // save(), deleteById(), etc.
+
+    /**
+     * Obtiene todos los pedidos con sus relaciones en una sola consulta.
+     * Cliente, usuario y dirección son LAZY; sin el grafo de entidad, cada
+     * pedido dispararía consultas adicionales al serializarlo (problema N+1).
+     * 
+     * @return Lista de pedidos con cliente, usuario y dirección cargados.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "cliente", "cliente.usuario", "direccion" })
+    List<Pedido> findAll();
+
+    /**
+     * Busca por ID cargando las mismas relaciones que findAll().
+     * 
+     * @param id ID a buscar.
+     * @return Optional con el registro si se encuentra.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "cliente", "cliente.usuario", "direccion" })
+    Optional<Pedido> findById(Integer id);
+
+    /**
+     * Obtiene un pedido con su cliente, dirección, líneas y productos en una
+     * sola consulta, proyectada en filas planas (una por línea) sin cargar
+     * entidades.
+     * 
+     * @param id ID del pedido.
+     * @return Filas del pedido ordenadas por línea, o una lista vacía si el
+     *         pedido no existe.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.PedidoCompletoFila("
+            + "p.id, p.fechaPedido, p.estado, p.total, p.transaccionId, "
+            + "c.id, c.nombre, c.telefono, "
+            + "d.id, d.calle, d.ciudad, d.provincia, d.codigoPostal, "
+            + "dp.id, pr.id, pr.nombre, pr.imagenPrincipal, dp.cantidad, dp.precioUnitario) "
+            + "FROM Pedido p JOIN p.cliente c JOIN p.direccion d "
+            + "LEFT JOIN DetallePedido dp ON dp.pedido = p "
+            + "LEFT JOIN dp.producto pr "
+            + "WHERE p.id = :id "
+            + "ORDER BY dp.id")
+    List<PedidoCompletoFila> buscarCompletoPorId(@Param("id") Integer id);
+
+    /**
+     * Recorre todos los pedidos con su cliente y dirección como un Stream, para
+     * exportarlos sin cargar la tabla completa en memoria. Las filas se leen
+     * del cursor de la base de datos en bloques de 500; el Stream debe
+     * consumirse y cerrarse dentro de una transacción de solo lectura.
+     * 
+     * @return Stream de pedidos ordenados por ID.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Pedido p JOIN FETCH p.cliente JOIN FETCH p.direccion ORDER BY p.id")
+    Stream<Pedido> recorrerTodos();
+
+    /**
+     * Lista los pedidos con el nombre del cliente y la dirección de entrega,
+     * leyendo solo las columnas necesarias y sin cargar entidades.
+     * 
+     * @return Pedidos ordenados por ID.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.PedidoResumen("
+            + "p.id, p.fechaPedido, p.estado, p.total, p.transaccionId, "
+            + "c.id, c.nombre, d.id, d.calle, d.ciudad, p.version) "
+            + "FROM Pedido p JOIN p.cliente c JOIN p.direccion d ORDER BY p.id")
+    List<PedidoResumen> listarResumen();
+
+    /**
+     * Busca un pedido por su ID con el nombre del cliente y la dirección de
+     * entrega.
+     * 
+     * @param id ID del pedido.
+     * @return Optional con el pedido si se encuentra.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.PedidoResumen("
+            + "p.id, p.fechaPedido, p.estado, p.total, p.transaccionId, "
+            + "c.id, c.nombre, d.id, d.calle, d.ciudad, p.version) "
+            + "FROM Pedido p JOIN p.cliente c JOIN p.direccion d WHERE p.id = :id")
+    Optional<PedidoResumen> buscarResumenPorId(@Param("id") Integer id);
 }
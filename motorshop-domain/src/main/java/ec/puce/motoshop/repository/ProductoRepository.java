@@ -1,6 +1,11 @@
 package ec.puce.motoshop.repository;
 
 import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.repository.projection.ProductoNombre;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,16 +19,127 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface ProductoRepository extends JpaRepository<Producto, Integer> {
-    // No se necesitan métodos personalizados por ahora
     // JpaRepository proporciona métodos estándar para:
     // findAll(), findById(), save(), deleteById(), etc.
 
     /**
      * Verifica si existen productos asociados a una categoría específica.
+     * La consulta derivada se detiene en el primer producto encontrado
+     * (índice idx_producto_categoria), sin contar todos los de la categoría.
      * 
      * @param categoriaId ID de la categoría a verificar.
      * @return true si existen productos con la categoría, false en caso contrario.
      */
-    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Producto p WHERE p.categoria.id = :categoriaId")
-    boolean existsProductosByCategoria(@Param("categoriaId") Integer categoriaId);
+    boolean existsByCategoriaId(Integer categoriaId);
+
+    /**
+     * Obtiene una página del catálogo ordenada por ID usando paginación por
+     * cursor (keyset): en lugar de un OFFSET se filtra por los productos con
+     * ID mayor al último entregado, por lo que el costo de cada página no
+     * depende del tamaño del catálogo.
+     * 
+     * @param categoriaId     ID de la categoría a filtrar, o null para todas.
+     * @param precioMin       Precio mínimo (inclusive), o null.
+     * @param precioMax       Precio máximo (inclusive), o null.
+     * @param soloDisponibles true para devolver solo productos con stock.
+     * @param ultimoId        ID del último producto de la página anterior, o
+     *                        null para la primera página.
+     * @param pageable        Límite de filas a devolver (la página siempre es
+     *                        la 0).
+     * @return Productos de la página, ordenados por ID ascendente.
+     */
+    @Query("SELECT p FROM Producto p JOIN FETCH p.categoria c "
+            + "WHERE (:categoriaId IS NULL OR c.id = :categoriaId) "
+            + "AND (:precioMin IS NULL OR p.precio >= :precioMin) "
+            + "AND (:precioMax IS NULL OR p.precio <= :precioMax) "
+            + "AND (:soloDisponibles = false OR p.stock > 0) "
+            + "AND (:ultimoId IS NULL OR p.id > :ultimoId) "
+            + "ORDER BY p.id ASC")
+    List<Producto> buscarPaginaPorId(@Param("categoriaId") Integer categoriaId,
+            @Param("precioMin") BigDecimal precioMin,
+            @Param("precioMax") BigDecimal precioMax,
+            @Param("soloDisponibles") boolean soloDisponibles,
+            @Param("ultimoId") Integer ultimoId,
+            Pageable pageable);
+
+    /**
+     * Obtiene una página del catálogo ordenada por precio y luego por ID usando
+     * paginación por cursor (keyset) sobre el par (precio, id).
+     * 
+     * @param categoriaId     ID de la categoría a filtrar, o null para todas.
+     * @param precioMin       Precio mínimo (inclusive), o null.
+     * @param precioMax       Precio máximo (inclusive), o null.
+     * @param soloDisponibles true para devolver solo productos con stock.
+     * @param ultimoPrecio    Precio del último producto de la página anterior,
+     *                        o null para la primera página.
+     * @param ultimoId        ID del último producto de la página anterior, o
+     *                        null para la primera página.
+     * @param pageable        Límite de filas a devolver (la página siempre es
+     *                        la 0).
+     * @return Productos de la página, ordenados por precio e ID ascendentes.
+     */
+    @Query("SELECT p FROM Producto p JOIN FETCH p.categoria c "
+            + "WHERE (:categoriaId IS NULL OR c.id = :categoriaId) "
+            + "AND (:precioMin IS NULL OR p.precio >= :precioMin) "
+            + "AND (:precioMax IS NULL OR p.precio <= :precioMax) "
+            + "AND (:soloDisponibles = false OR p.stock > 0) "
+            + "AND (:ultimoPrecio IS NULL OR p.precio > :ultimoPrecio "
+            + "     OR (p.precio = :ultimoPrecio AND p.id > :ultimoId)) "
+            + "ORDER BY p.precio ASC, p.id ASC")
+    List<Producto> buscarPaginaPorPrecio(@Param("categoriaId") Integer categoriaId,
+            @Param("precioMin") BigDecimal precioMin,
+            @Param("precioMax") BigDecimal precioMax,
+            @Param("soloDisponibles") boolean soloDisponibles,
+            @Param("ultimoPrecio") BigDecimal ultimoPrecio,
+            @Param("ultimoId") Integer ultimoId,
+            Pageable pageable);
+
+    /**
+     * Busca productos por texto completo sobre la columna generada busqueda
+     * (índice GIN idx_producto_busqueda, configuración spanish). Los
+     * resultados se ordenan por relevancia; las coincidencias en el nombre
+     * pesan más que las de la descripción.
+     * Solo funciona sobre PostgreSQL (migración V5__busqueda_productos).
+     * 
+     * @param texto    Texto a buscar, con la sintaxis de websearch_to_tsquery
+     *                 (palabras, "frases" y -exclusiones).
+     * @param pageable Página y tamaño de los resultados.
+     * @return Productos encontrados, del más al menos relevante.
+     */
+    @Query(value = "SELECT p.* FROM producto p, websearch_to_tsquery('spanish', :texto) consulta "
+            + "WHERE p.busqueda @@ consulta "
+            + "ORDER BY ts_rank_cd(p.busqueda, consulta) DESC, p.id", nativeQuery = true)
+    List<Producto> buscarPorTexto(@Param("texto") String texto, Pageable pageable);
+
+    /**
+     * Busca productos cuyo nombre se parece al texto según la similitud por
+     * trigramas (pg_trgm, índice idx_producto_nombre_trgm). Tolera errores de
+     * escritura y códigos de repuesto escritos con otros separadores.
+     * Solo funciona sobre PostgreSQL (migración V5__busqueda_productos).
+     * 
+     * @param texto    Texto a buscar.
+     * @param pageable Página y tamaño de los resultados.
+     * @return Productos encontrados, del más al menos parecido.
+     */
+    @Query(value = "SELECT p.* FROM producto p "
+            + "WHERE :texto <% p.nombre "
+            + "ORDER BY word_similarity(:texto, p.nombre) DESC, p.id", nativeQuery = true)
+    List<Producto> buscarPorSimilitud(@Param("texto") String texto, Pageable pageable);
+
+    /**
+     * Obtiene el ID y el nombre de todos los productos.
+     * 
+     * @return Lista de nombres de productos.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.ProductoNombre(p.id, p.nombre) FROM Producto p")
+    List<ProductoNombre> listarNombres();
+
+    /**
+     * Obtiene la versión actual de un producto sin cargar la entidad.
+     * 
+     * @param id Identificador del producto.
+     * @return Versión del producto, o vacío si no existe.
+     */
+    @Query("SELECT p.version FROM Producto p WHERE p.id = :id")
+    Optional<Long> buscarVersion(@Param("id") Integer id);
 }
@@ -1,7 +1,19 @@
 package ec.puce.motoshop.repository;
 
 import ec.puce.motoshop.domain.Transaccion;
+import ec.puce.motoshop.repository.projection.TransaccionResumen;
+import jakarta.persistence.QueryHint;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -13,7 +25,109 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface TransaccionRepository extends JpaRepository<Transaccion, Integer> {
-    // No se necesitan métodos personalizados por ahora
     // JpaRepository proporciona métodos estándar para:
-    // findAll(), findById(), save(), deleteById(), etc.
+    // save(), deleteById(), etc.
+
+    /**
+     * Obtiene todas las transacciones con sus relaciones en una sola consulta.
+     * 
+     * @return Lista de transacciones con sus cuentas de origen y destino cargadas.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "cuentaOrigen", "cuentaOrigen.cliente", "cuentaOrigen.cliente.usuario",
+            "cuentaDestino", "cuentaDestino.cliente", "cuentaDestino.cliente.usuario" })
+    List<Transaccion> findAll();
+
+    /**
+     * Busca por ID cargando las mismas relaciones que findAll().
+     * 
+     * @param id ID a buscar.
+     * @return Optional con el registro si se encuentra.
+     */
+    @Override
+    @EntityGraph(attributePaths = { "cuentaOrigen", "cuentaOrigen.cliente", "cuentaOrigen.cliente.usuario",
+            "cuentaDestino", "cuentaDestino.cliente", "cuentaDestino.cliente.usuario" })
+    Optional<Transaccion> findById(Integer id);
+
+    /**
+     * Recorre todas las transacciones con sus cuentas como un Stream, leyendo
+     * del cursor en bloques de 500. Debe consumirse dentro de una transacción
+     * de solo lectura.
+     * 
+     * @return Stream de transacciones ordenadas por ID.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaccion t JOIN FETCH t.cuentaOrigen JOIN FETCH t.cuentaDestino ORDER BY t.id")
+    Stream<Transaccion> recorrerTodas();
+
+    /**
+     * Busca la transacción registrada con una clave de idempotencia.
+     * 
+     * @param claveIdempotencia Clave enviada por el cliente.
+     * @return Optional con la transacción si la clave ya se usó.
+     */
+    Optional<Transaccion> findByClaveIdempotencia(String claveIdempotencia);
+
+    /**
+     * Suma los movimientos de una cuenta entre dos posiciones del libro: los
+     * créditos suman y los débitos restan. Usa los índices (cuenta, posicion),
+     * por lo que solo lee las transacciones del intervalo.
+     * 
+     * @param cuentaId ID de la cuenta bancaria.
+     * @param desde    Posición excluida (la última ya contada).
+     * @param hasta    Posición incluida.
+     * @return Variación del saldo en el intervalo, cero si no hay movimientos.
+     */
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.cuentaDestino.id = :cuentaId THEN t.monto ELSE -t.monto END), 0) "
+            + "FROM Transaccion t "
+            + "WHERE (t.cuentaOrigen.id = :cuentaId OR t.cuentaDestino.id = :cuentaId) "
+            + "AND t.posicion > :desde AND t.posicion <= :hasta")
+    BigDecimal sumarMovimientos(@Param("cuentaId") Integer cuentaId, @Param("desde") Long desde,
+            @Param("hasta") Long hasta);
+
+    /**
+     * Bloquea la tabla de transacciones en modo compartido hasta el final de la
+     * transacción actual. El bloqueo espera a que terminen las inserciones en
+     * curso y no deja empezar otras, así que una posición leída mientras se
+     * mantiene ya no puede recibir transacciones anteriores sin confirmar.
+     * Las lecturas no se bloquean. Solo funciona sobre PostgreSQL.
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE transaccion IN SHARE MODE", nativeQuery = true)
+    void bloquearLibro();
+
+    /**
+     * Obtiene la posición más alta del libro.
+     * 
+     * @return Posición de la última transacción, o null si no hay ninguna.
+     */
+    @Query("SELECT MAX(t.posicion) FROM Transaccion t")
+    Long buscarUltimaPosicion();
+
+    /**
+     * Lista las transacciones con el número de sus cuentas, leyendo solo las
+     * columnas necesarias.
+     * 
+     * @return Transacciones ordenadas por ID.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.TransaccionResumen("
+            + "t.id, t.monto, t.fechaTransaccion, t.tipo, t.descripcion, "
+            + "o.id, o.numeroCuenta, d.id, d.numeroCuenta) "
+            + "FROM Transaccion t JOIN t.cuentaOrigen o JOIN t.cuentaDestino d ORDER BY t.id")
+    List<TransaccionResumen> listarResumen();
+
+    /**
+     * Busca una transacción por su ID con el número de sus cuentas.
+     * 
+     * @param id ID de la transacción.
+     * @return Optional con la transacción si se encuentra.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.TransaccionResumen("
+            + "t.id, t.monto, t.fechaTransaccion, t.tipo, t.descripcion, "
+            + "o.id, o.numeroCuenta, d.id, d.numeroCuenta) "
+            + "FROM Transaccion t JOIN t.cuentaOrigen o JOIN t.cuentaDestino d WHERE t.id = :id")
+    Optional<TransaccionResumen> buscarResumenPorId(@Param("id") Integer id);
 }
@@ -1,7 +1,12 @@
 package ec.puce.motoshop.repository;
 
 import ec.puce.motoshop.domain.Usuario;
+import ec.puce.motoshop.repository.projection.UsuarioResumen;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -11,7 +16,28 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, String> {
-    // No se necesitan métodos personalizados por ahora
     // JpaRepository proporciona métodos estándar para:
     // findAll(), findById(), save(), deleteById(), etc.
+
+    /**
+     * Lista los usuarios sin el hash de la contraseña, leyendo solo las
+     * columnas necesarias.
+     * 
+     * @return Usuarios ordenados por cédula.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.UsuarioResumen("
+            + "u.cedula, u.nombreUsuario, u.email, u.rol, u.fechaCreacion) "
+            + "FROM Usuario u ORDER BY u.cedula")
+    List<UsuarioResumen> listarResumen();
+
+    /**
+     * Busca un usuario por su cédula sin el hash de la contraseña.
+     * 
+     * @param cedula Cédula del usuario.
+     * @return Optional con el usuario si se encuentra.
+     */
+    @Query("SELECT new ec.puce.motoshop.repository.projection.UsuarioResumen("
+            + "u.cedula, u.nombreUsuario, u.email, u.rol, u.fechaCreacion) "
+            + "FROM Usuario u WHERE u.cedula = :cedula")
+    Optional<UsuarioResumen> buscarResumenPorId(@Param("cedula") String cedula);
 }
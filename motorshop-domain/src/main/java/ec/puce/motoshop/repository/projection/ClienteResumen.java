@@ -0,0 +1,12 @@
+package ec.puce.motoshop.repository.projection;
+
+/**
+ * Datos de un cliente y de su usuario para las consultas de lectura.
+ */
+public record ClienteResumen(
+        Long id,
+        String nombre,
+        String telefono,
+        String cedula,
+        String email) {
+}
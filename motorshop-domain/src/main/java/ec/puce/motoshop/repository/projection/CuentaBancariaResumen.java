@@ -0,0 +1,19 @@
+package ec.puce.motoshop.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Datos de una cuenta bancaria, con el nombre de su cliente, para las
+ * consultas de lectura. La versión se devuelve como ETag para las
+ * actualizaciones condicionales.
+ */
+public record CuentaBancariaResumen(
+        Integer id,
+        String numeroCuenta,
+        String tipoCuenta,
+        String entidadFinanciera,
+        BigDecimal saldo,
+        Long version,
+        Long clienteId,
+        String clienteNombre) {
+}
@@ -0,0 +1,16 @@
+package ec.puce.motoshop.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Datos de un detalle de pedido, con el nombre del producto, para las
+ * consultas de lectura.
+ */
+public record DetallePedidoResumen(
+        Integer id,
+        Integer pedidoId,
+        Integer productoId,
+        String productoNombre,
+        Integer cantidad,
+        BigDecimal precioUnitario) {
+}
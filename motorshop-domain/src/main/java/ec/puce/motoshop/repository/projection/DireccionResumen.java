@@ -0,0 +1,15 @@
+package ec.puce.motoshop.repository.projection;
+
+/**
+ * Datos de una dirección, con el nombre de su cliente, para las consultas de
+ * lectura.
+ */
+public record DireccionResumen(
+        Integer id,
+        String calle,
+        String ciudad,
+        String provincia,
+        String codigoPostal,
+        Long clienteId,
+        String clienteNombre) {
+}
@@ -0,0 +1,19 @@
+package ec.puce.motoshop.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Datos de una factura, con el pedido y el cliente al que pertenece, para las
+ * consultas de lectura.
+ */
+public record FacturaResumen(
+        Integer id,
+        LocalDateTime fechaEmision,
+        BigDecimal totalFactura,
+        String estado,
+        String metodoPago,
+        Integer pedidoId,
+        Long clienteId,
+        String clienteNombre) {
+}
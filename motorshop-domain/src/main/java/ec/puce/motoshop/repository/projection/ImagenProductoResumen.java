@@ -0,0 +1,11 @@
+package ec.puce.motoshop.repository.projection;
+
+/**
+ * Datos de una imagen de producto para las consultas de lectura, con el ID
+ * del producto en lugar de la entidad.
+ */
+public record ImagenProductoResumen(
+        Integer id,
+        String urlImagen,
+        Integer productoId) {
+}
@@ -0,0 +1,31 @@
+package ec.puce.motoshop.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila plana de la consulta de un pedido con sus líneas: los datos del pedido,
+ * el cliente y la dirección se repiten en cada línea. Si el pedido no tiene
+ * líneas se devuelve una sola fila con los campos de la línea en null.
+ */
+public record PedidoCompletoFila(
+        Integer pedidoId,
+        LocalDateTime fechaPedido,
+        String estado,
+        BigDecimal total,
+        Integer transaccionId,
+        Long clienteId,
+        String clienteNombre,
+        String clienteTelefono,
+        Integer direccionId,
+        String calle,
+        String ciudad,
+        String provincia,
+        String codigoPostal,
+        Integer detalleId,
+        Integer productoId,
+        String productoNombre,
+        String imagenPrincipal,
+        Integer cantidad,
+        BigDecimal precioUnitario) {
+}
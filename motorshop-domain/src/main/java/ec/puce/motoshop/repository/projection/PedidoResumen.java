@@ -0,0 +1,23 @@
+package ec.puce.motoshop.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Datos de un pedido, con el nombre del cliente y la dirección de entrega,
+ * para los listados de pedidos. La versión se devuelve como ETag para las
+ * actualizaciones condicionales.
+ */
+public record PedidoResumen(
+        Integer id,
+        LocalDateTime fechaPedido,
+        String estado,
+        BigDecimal total,
+        Integer transaccionId,
+        Long clienteId,
+        String clienteNombre,
+        Integer direccionId,
+        String calle,
+        String ciudad,
+        Long version) {
+}
@@ -0,0 +1,10 @@
+package ec.puce.motoshop.repository.projection;
+
+/**
+ * ID y nombre de un producto, usados para construir las sugerencias de
+ * autocompletado sin cargar las entidades completas.
+ */
+public record ProductoNombre(
+        Integer id,
+        String nombre) {
+}
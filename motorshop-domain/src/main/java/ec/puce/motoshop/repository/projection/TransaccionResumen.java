@@ -0,0 +1,20 @@
+package ec.puce.motoshop.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Datos de una transacción, con el número de sus cuentas de origen y destino,
+ * para las consultas de lectura.
+ */
+public record TransaccionResumen(
+        Integer id,
+        BigDecimal monto,
+        LocalDateTime fechaTransaccion,
+        String tipo,
+        String descripcion,
+        Integer cuentaOrigenId,
+        String cuentaOrigenNumero,
+        Integer cuentaDestinoId,
+        String cuentaDestinoNumero) {
+}
@@ -0,0 +1,15 @@
+package ec.puce.motoshop.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Datos públicos de un usuario para las consultas de lectura. No incluye el
+ * hash de la contraseña.
+ */
+public record UsuarioResumen(
+        String cedula,
+        String nombreUsuario,
+        String email,
+        String rol,
+        LocalDateTime fechaCreacion) {
+}
@@ -0,0 +1,97 @@
+package ec.puce.motoshop.repository.support;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pageable con desplazamiento y límite explícitos, para consultas que piden
+ * una fila más que el tamaño de página. Con PageRequest el desplazamiento
+ * sería pagina * tamanio del propio Pageable, es decir, con la fila extra
+ * incluida, y cada página saltaría un resultado.
+ * No tiene orden propio: las consultas que lo reciben ordenan en su SQL.
+ */
+public final class LimiteDesplazamiento implements Pageable {
+
+    private final long desplazamiento;
+    private final int limite;
+
+    private LimiteDesplazamiento(long desplazamiento, int limite) {
+        if (desplazamiento < 0) {
+            throw new IllegalArgumentException("El desplazamiento no puede ser negativo");
+        }
+        if (limite < 1) {
+            throw new IllegalArgumentException("El límite debe ser mayor que cero");
+        }
+        this.desplazamiento = desplazamiento;
+        this.limite = limite;
+    }
+
+    /**
+     * @param desplazamiento Filas que se saltan antes de la primera devuelta.
+     * @param limite         Número máximo de filas devueltas.
+     * @return Pageable que lee las filas [desplazamiento, desplazamiento + limite).
+     */
+    public static LimiteDesplazamiento de(long desplazamiento, int limite) {
+        return new LimiteDesplazamiento(desplazamiento, limite);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (desplazamiento / limite);
+    }
+
+    @Override
+    public int getPageSize() {
+        return limite;
+    }
+
+    @Override
+    public long getOffset() {
+        return desplazamiento;
+    }
+
+    @Override
+    public Sort getSort() {
+        return Sort.unsorted();
+    }
+
+    @Override
+    public Pageable next() {
+        return new LimiteDesplazamiento(desplazamiento + limite, limite);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new LimiteDesplazamiento(Math.max(0, desplazamiento - limite), limite) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new LimiteDesplazamiento(0, limite);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new LimiteDesplazamiento((long) pageNumber * limite, limite);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return desplazamiento > 0;
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        return otro instanceof LimiteDesplazamiento o && o.desplazamiento == desplazamiento && o.limite == limite;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(desplazamiento) * 31 + limite;
+    }
+
+    @Override
+    public String toString() {
+        return "LimiteDesplazamiento[desplazamiento=" + desplazamiento + ", limite=" + limite + "]";
+    }
+}
@@ -0,0 +1,49 @@
+package ec.puce.motoshop.repository.support;
+
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.util.Assert;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Implementación base de todos los repositorios JPA.
+ * Cambia existsById para que la base de datos se detenga en la primera fila
+ * encontrada (SELECT 1 ... FETCH FIRST 1 ROWS) en lugar de contar filas, igual
+ * que las consultas derivadas existsBy... de Spring Data.
+ * Se registra con repositoryBaseClass en @EnableJpaRepositories.
+ *
+ * @param <T>  Tipo de la entidad
+ * @param <ID> Tipo de la clave primaria
+ */
+public class RepositorioBase<T, ID> extends SimpleJpaRepository<T, ID> {
+
+    private final EntityManager entityManager;
+    private final String consultaExiste;
+
+    public RepositorioBase(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+        this.entityManager = entityManager;
+        this.consultaExiste = entityInformation.hasCompositeId()
+                ? null
+                : String.format("SELECT 1 FROM %s e WHERE e.%s = :id", entityInformation.getEntityName(),
+                        entityInformation.getIdAttribute().getName());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean existsById(ID id) {
+        // Las claves compuestas siguen el camino por defecto de Spring Data
+        if (consultaExiste == null) {
+            return super.existsById(id);
+        }
+        Assert.notNull(id, "El ID no puede ser null");
+        return !entityManager.createQuery(consultaExiste)
+                .setParameter("id", id)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+}
@@ -0,0 +1,15 @@
+package ec.puce.motoshop;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import ec.puce.motoshop.repository.support.RepositorioBase;
+
+/**
+ * Configuración mínima para las pruebas de repositorios del módulo de dominio,
+ * que no tiene una clase de aplicación propia.
+ */
+@SpringBootApplication
+@EnableJpaRepositories(basePackages = "ec.puce.motoshop.repository", repositoryBaseClass = RepositorioBase.class)
+public class RepositoryTestApplication {
+}
@@ -0,0 +1,87 @@
+package ec.puce.motoshop.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class OutboxPedidoTest {
+
+    private OutboxPedido outbox;
+
+    @BeforeEach
+    public void setUp() {
+        // Crear un registro de outbox para las pruebas
+        outbox = new OutboxPedido();
+    }
+
+    @Test
+    public void testOutboxPedidoGettersSetters() {
+        // Asignar valores válidos
+        Long id = 1L;
+        String payload = "{\"cliente\":{\"nombre\":\"Juan Pérez\"}}";
+        LocalDateTime proximoIntento = LocalDateTime.of(2025, 5, 10, 15, 30);
+        LocalDateTime bloqueadoHasta = LocalDateTime.of(2025, 5, 10, 15, 32);
+        LocalDateTime fechaCreacion = LocalDateTime.of(2025, 5, 10, 15, 29);
+
+        // Usar setters
+        outbox.setId(id);
+        outbox.setPayload(payload);
+        outbox.setEstado(OutboxPedido.ESTADO_PENDIENTE);
+        outbox.setIntentos(2);
+        outbox.setProximoIntento(proximoIntento);
+        outbox.setBloqueadoHasta(bloqueadoHasta);
+        outbox.setUltimoError("Error de conexión");
+        outbox.setFechaCreacion(fechaCreacion);
+
+        // Verificar con getters
+        assertEquals(id, outbox.getId(), "El ID debe coincidir");
+        assertEquals(payload, outbox.getPayload(), "El payload debe coincidir");
+        assertEquals("PENDIENTE_SYNC", outbox.getEstado(), "El estado debe coincidir");
+        assertEquals(2, outbox.getIntentos(), "Los intentos deben coincidir");
+        assertEquals(proximoIntento, outbox.getProximoIntento(), "El próximo intento debe coincidir");
+        assertEquals(bloqueadoHasta, outbox.getBloqueadoHasta(), "El bloqueo debe coincidir");
+        assertEquals("Error de conexión", outbox.getUltimoError(), "El último error debe coincidir");
+        assertEquals(fechaCreacion, outbox.getFechaCreacion(), "La fecha de creación debe coincidir");
+    }
+
+    @Test
+    public void testOutboxPedidoPorDefecto() {
+        // Verificar que al crear un registro sin asignar valores, estos son null
+        assertNull(outbox.getId(), "El ID debe ser null por defecto");
+        assertNull(outbox.getPayload(), "El payload debe ser null por defecto");
+        assertNull(outbox.getEstado(), "El estado debe ser null por defecto");
+        assertEquals(0, outbox.getIntentos(), "Los intentos deben ser 0 por defecto");
+        assertNull(outbox.getProximoIntento(), "El próximo intento debe ser null por defecto");
+        assertNull(outbox.getBloqueadoHasta(), "El bloqueo debe ser null por defecto");
+        assertNull(outbox.getIdPedidoRemoto(), "El ID remoto debe ser null por defecto");
+        assertNull(outbox.getUltimoError(), "El último error debe ser null por defecto");
+    }
+
+    @Test
+    public void testMarcarSincronizado() {
+        // Asignar valores iniciales de un pedido pendiente
+        outbox.setEstado(OutboxPedido.ESTADO_PENDIENTE);
+        outbox.setIntentos(3);
+        outbox.setBloqueadoHasta(LocalDateTime.of(2025, 5, 10, 15, 32));
+        outbox.setUltimoError("Error del servidor");
+
+        // Modificar valores como lo hace el despachador al recibir el ID remoto
+        LocalDateTime fechaActualizacion = LocalDateTime.of(2025, 5, 10, 15, 31);
+        outbox.setEstado(OutboxPedido.ESTADO_SINCRONIZADO);
+        outbox.setIdPedidoRemoto(987L);
+        outbox.setBloqueadoHasta(null);
+        outbox.setUltimoError(null);
+        outbox.setFechaActualizacion(fechaActualizacion);
+
+        // Verificar que los cambios se aplicaron correctamente
+        assertEquals("SINCRONIZADO", outbox.getEstado(), "El estado actualizado debe coincidir");
+        assertEquals(987L, outbox.getIdPedidoRemoto(), "El ID remoto debe coincidir");
+        assertEquals(3, outbox.getIntentos(), "Los intentos no deben cambiar");
+        assertNull(outbox.getBloqueadoHasta(), "El bloqueo debe liberarse");
+        assertNull(outbox.getUltimoError(), "El último error debe limpiarse");
+        assertEquals(fechaActualizacion, outbox.getFechaActualizacion(), "La fecha de actualización debe coincidir");
+    }
+}
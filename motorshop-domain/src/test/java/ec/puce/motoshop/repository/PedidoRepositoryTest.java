@@ -0,0 +1,269 @@
+package ec.puce.motoshop.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import ec.puce.motoshop.domain.Categoria;
+import ec.puce.motoshop.domain.Cliente;
+import ec.puce.motoshop.domain.DetallePedido;
+import ec.puce.motoshop.domain.Direccion;
+import ec.puce.motoshop.domain.Factura;
+import ec.puce.motoshop.domain.Pedido;
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.domain.Usuario;
+import ec.puce.motoshop.repository.projection.DetallePedidoResumen;
+import ec.puce.motoshop.repository.projection.FacturaResumen;
+import ec.puce.motoshop.repository.projection.PedidoCompletoFila;
+import ec.puce.motoshop.repository.projection.PedidoResumen;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+public class PedidoRepositoryTest {
+
+    private static final int CLIENTES = 50;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private FacturaRepository facturaRepository;
+
+    @Autowired
+    private DetallePedidoRepository detallePedidoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics estadisticas;
+    private List<Cliente> clientes;
+    private List<Direccion> direcciones;
+
+    @BeforeEach
+    public void setUp() {
+        estadisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        clientes = new ArrayList<>();
+        direcciones = new ArrayList<>();
+        for (int i = 0; i < CLIENTES; i++) {
+            Usuario usuario = new Usuario();
+            usuario.setCedula(String.format("%010d", i));
+            usuario.setNombreUsuario("usuario" + i);
+            usuario.setEmail("usuario" + i + "@example.com");
+            usuario.setRol("CLIENTE");
+            usuario.setFechaCreacion(LocalDateTime.now());
+            entityManager.persist(usuario);
+
+            Cliente cliente = new Cliente();
+            cliente.setNombre("Cliente " + i);
+            cliente.setTelefono("099000000" + i);
+            cliente.setUsuario(usuario);
+            entityManager.persist(cliente);
+            clientes.add(cliente);
+
+            Direccion direccion = new Direccion();
+            direccion.setCalle("Calle " + i);
+            direccion.setCiudad("Quito");
+            direccion.setProvincia("Pichincha");
+            direccion.setCodigoPostal("170517");
+            direccion.setCliente(cliente);
+            entityManager.persist(direccion);
+            direcciones.add(direccion);
+        }
+    }
+
+    @Test
+    public void testFindAllUsaUnaConsultaSinImportarElNumeroDePedidos() {
+        crearPedidos(10);
+        long consultasCon10 = contarConsultasAlListar(10);
+
+        crearPedidos(990);
+        long consultasCon1000 = contarConsultasAlListar(1000);
+
+        assertEquals(1, consultasCon10, "Listar 10 pedidos debe ejecutar una sola consulta");
+        assertEquals(consultasCon10, consultasCon1000,
+                "El número de consultas no debe crecer con el número de pedidos");
+    }
+
+    @Test
+    public void testFindByIdCargaRelacionesEnUnaConsulta() {
+        Integer id = crearPedidos(1).get(0).getId();
+        entityManager.flush();
+        entityManager.clear();
+        estadisticas.clear();
+
+        Optional<Pedido> pedido = pedidoRepository.findById(id);
+
+        assertTrue(pedido.isPresent(), "El pedido debe existir");
+        recorrerRelaciones(pedido.get());
+        assertEquals(1, estadisticas.getPrepareStatementCount(),
+                "Buscar un pedido debe cargar cliente, usuario y dirección en la misma consulta");
+    }
+
+    @Test
+    public void testBuscarCompletoPorIdDevuelveUnaFilaPorLinea() {
+        Pedido pedido = crearPedidos(1).get(0);
+        Categoria categoria = new Categoria();
+        categoria.setNombre("Cascos");
+        entityManager.persist(categoria);
+        for (int i = 1; i <= 3; i++) {
+            Producto producto = new Producto();
+            producto.setNombre("Producto " + i);
+            producto.setDescripcion("Descripción " + i);
+            producto.setPrecio(new BigDecimal("10.00"));
+            producto.setStock(5);
+            producto.setImagenPrincipal("imagen" + i + ".jpg");
+            producto.setCategoria(categoria);
+            entityManager.persist(producto);
+
+            DetallePedido detalle = new DetallePedido();
+            detalle.setPedido(pedido);
+            detalle.setProducto(producto);
+            detalle.setCantidad(i);
+            detalle.setPrecioUnitario(new BigDecimal("10.00"));
+            entityManager.persist(detalle);
+        }
+        Integer idSinLineas = crearPedidos(1).get(0).getId();
+        entityManager.flush();
+        entityManager.clear();
+        estadisticas.clear();
+
+        List<PedidoCompletoFila> filas = pedidoRepository.buscarCompletoPorId(pedido.getId());
+        List<PedidoCompletoFila> filasSinLineas = pedidoRepository.buscarCompletoPorId(idSinLineas);
+
+        assertEquals(2, estadisticas.getPrepareStatementCount(), "Cada pedido debe leerse con una sola consulta");
+        assertEquals(3, filas.size(), "Debe haber una fila por línea del pedido");
+        assertEquals("Producto 2", filas.get(1).productoNombre(), "Las filas deben estar ordenadas por línea");
+        assertEquals(1, filasSinLineas.size(), "Un pedido sin líneas debe devolver una sola fila");
+        assertNull(filasSinLineas.get(0).detalleId(), "La fila de un pedido sin líneas no tiene detalle");
+        assertTrue(pedidoRepository.buscarCompletoPorId(-1).isEmpty(), "Un pedido inexistente no devuelve filas");
+    }
+
+    @Test
+    public void testRecorrerTodosDevuelvePedidosOrdenadosPorId() {
+        crearPedidos(120);
+        entityManager.flush();
+        entityManager.clear();
+
+        try (Stream<Pedido> pedidos = pedidoRepository.recorrerTodos()) {
+            List<Integer> ids = pedidos.map(Pedido::getId).toList();
+
+            assertEquals(120, ids.size(), "Deben recorrerse todos los pedidos");
+            assertEquals(ids.stream().sorted().toList(), ids, "Los pedidos deben estar ordenados por ID");
+        }
+    }
+
+    @Test
+    public void testListarResumenNoCargaEntidades() {
+        crearPedidos(100);
+        entityManager.flush();
+        entityManager.clear();
+        estadisticas.clear();
+
+        List<PedidoResumen> pedidos = pedidoRepository.listarResumen();
+
+        assertEquals(100, pedidos.size(), "Deben listarse todos los pedidos");
+        assertEquals("Cliente 1", pedidos.get(1).clienteNombre(), "El resumen debe incluir el nombre del cliente");
+        assertEquals(1, estadisticas.getPrepareStatementCount(), "El listado debe ejecutar una sola consulta");
+        assertEquals(0, estadisticas.getEntityLoadCount(), "La proyección no debe cargar entidades");
+    }
+
+    @Test
+    public void testResumenesDeFacturaYDetalleNoCarganEntidades() {
+        Pedido pedido = crearPedidos(1).get(0);
+        Categoria categoria = new Categoria();
+        categoria.setNombre("Cascos");
+        entityManager.persist(categoria);
+        Producto producto = new Producto();
+        producto.setNombre("Casco integral");
+        producto.setDescripcion("Descripción");
+        producto.setPrecio(new BigDecimal("10.00"));
+        producto.setStock(5);
+        producto.setImagenPrincipal("imagen.jpg");
+        producto.setCategoria(categoria);
+        entityManager.persist(producto);
+        DetallePedido detalle = new DetallePedido();
+        detalle.setPedido(pedido);
+        detalle.setProducto(producto);
+        detalle.setCantidad(2);
+        detalle.setPrecioUnitario(new BigDecimal("10.00"));
+        entityManager.persist(detalle);
+        Factura factura = new Factura();
+        factura.setPedido(pedido);
+        factura.setFechaEmision(LocalDateTime.now());
+        factura.setTotalFactura(new BigDecimal("20.00"));
+        factura.setEstado("EMITIDA");
+        factura.setMetodoPago("TARJETA");
+        entityManager.persist(factura);
+        entityManager.flush();
+        entityManager.clear();
+        estadisticas.clear();
+
+        Optional<FacturaResumen> facturaResumen = facturaRepository.buscarResumenPorId(factura.getId());
+        List<DetallePedidoResumen> detalles = detallePedidoRepository.listarResumen();
+
+        assertTrue(facturaResumen.isPresent(), "La factura debe existir");
+        assertEquals(pedido.getId(), facturaResumen.get().pedidoId(), "El resumen debe incluir el ID del pedido");
+        assertEquals("Cliente 0", facturaResumen.get().clienteNombre(), "El resumen debe incluir el nombre del cliente");
+        assertEquals(1, detalles.size(), "Debe listarse el detalle del pedido");
+        assertEquals("Casco integral", detalles.get(0).productoNombre(), "El resumen debe incluir el nombre del producto");
+        assertEquals(2, estadisticas.getPrepareStatementCount(), "Cada resumen debe leerse con una sola consulta");
+        assertEquals(0, estadisticas.getEntityLoadCount(), "Las proyecciones no deben cargar entidades");
+    }
+
+    private List<Pedido> crearPedidos(int cantidad) {
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 0; i < cantidad; i++) {
+            Pedido pedido = new Pedido();
+            pedido.setCliente(clientes.get(i % CLIENTES));
+            pedido.setDireccion(direcciones.get(i % CLIENTES));
+            pedido.setFechaPedido(LocalDateTime.now());
+            pedido.setTotal(new BigDecimal("25.00"));
+            pedido.setEstado("PENDIENTE");
+            entityManager.persist(pedido);
+            pedidos.add(pedido);
+        }
+        return pedidos;
+    }
+
+    private long contarConsultasAlListar(int pedidosEsperados) {
+        entityManager.flush();
+        entityManager.clear();
+        estadisticas.clear();
+
+        List<Pedido> pedidos = pedidoRepository.findAll();
+
+        assertEquals(pedidosEsperados, pedidos.size(), "Deben listarse todos los pedidos");
+        pedidos.forEach(this::recorrerRelaciones);
+        return estadisticas.getPrepareStatementCount();
+    }
+
+    /**
+     * Accede a las relaciones que se serializan en la respuesta del listado;
+     * si alguna no se cargó con el pedido, esto dispara consultas adicionales.
+     */
+    private void recorrerRelaciones(Pedido pedido) {
+        pedido.getCliente().getNombre();
+        pedido.getCliente().getUsuario().getEmail();
+        pedido.getDireccion().getCiudad();
+    }
+}
@@ -0,0 +1,146 @@
+package ec.puce.motoshop.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.AopTestUtils;
+
+import ec.puce.motoshop.domain.Categoria;
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.repository.projection.ProductoNombre;
+import ec.puce.motoshop.repository.support.RepositorioBase;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "ec.puce.motoshop.repository.ProductoRepositoryTest$ConsultasSql",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+public class ProductoRepositoryTest {
+
+    /**
+     * Guarda el SQL de cada sentencia preparada.
+     */
+    public static class ConsultasSql implements StatementInspector {
+
+        static final List<String> SENTENCIAS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SENTENCIAS.add(sql.toLowerCase(Locale.ROOT));
+            return sql;
+        }
+    }
+
+    @Autowired
+    private ProductoRepository productoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Categoria conProductos;
+    private Categoria sinProductos;
+
+    @BeforeEach
+    public void setUp() {
+        conProductos = new Categoria();
+        conProductos.setNombre("Cascos");
+        entityManager.persist(conProductos);
+
+        sinProductos = new Categoria();
+        sinProductos.setNombre("Guantes");
+        entityManager.persist(sinProductos);
+
+        for (int i = 0; i < 3; i++) {
+            Producto producto = new Producto();
+            producto.setNombre("Casco " + i);
+            producto.setDescripcion("Descripción " + i);
+            producto.setPrecio(new BigDecimal("10.00"));
+            producto.setStock(5);
+            producto.setImagenPrincipal("casco" + i + ".jpg");
+            producto.setCategoria(conProductos);
+            entityManager.persist(producto);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testExistsByCategoriaId() {
+        assertTrue(productoRepository.existsByCategoriaId(conProductos.getId()));
+        assertFalse(productoRepository.existsByCategoriaId(sinProductos.getId()));
+    }
+
+    @Test
+    public void testExistsByIdDesdeRepositorioBase() {
+        assertTrue(AopTestUtils.getUltimateTargetObject(categoriaRepository) instanceof RepositorioBase);
+        Statistics estadisticas = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+        ConsultasSql.SENTENCIAS.clear();
+
+        assertTrue(categoriaRepository.existsById(sinProductos.getId()));
+        assertFalse(categoriaRepository.existsById(sinProductos.getId() + 100));
+
+        // Una sola sentencia por llamada, que se detiene en la primera fila y
+        // no carga la entidad
+        assertEquals(2, estadisticas.getPrepareStatementCount());
+        assertEquals(0, estadisticas.getEntityLoadCount());
+        assertEquals(2, ConsultasSql.SENTENCIAS.size());
+        for (String sql : ConsultasSql.SENTENCIAS) {
+            assertTrue(sql.startsWith("select 1 from categoria"), sql);
+            assertTrue(sql.contains("fetch first"), sql);
+            assertFalse(sql.contains("count("), sql);
+        }
+    }
+
+    @Test
+    public void testListarNombres() {
+        List<ProductoNombre> nombres = productoRepository.listarNombres();
+
+        assertEquals(3, nombres.size());
+        assertTrue(nombres.stream().allMatch(n -> n.id() != null && n.nombre().startsWith("Casco ")));
+    }
+
+    @Test
+    public void testActualizacionConVersionDesactualizada() {
+        Integer id = productoRepository.findAll().get(0).getId();
+
+        Producto leidoAntes = productoRepository.findById(id).orElseThrow();
+        entityManager.detach(leidoAntes);
+
+        Producto actual = productoRepository.findById(id).orElseThrow();
+        actual.setStock(actual.getStock() - 1);
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(leidoAntes.getVersion() + 1, productoRepository.findById(id).orElseThrow().getVersion());
+        entityManager.clear();
+
+        // La copia leída antes del cambio ya no puede sobrescribirlo
+        leidoAntes.setStock(100);
+        assertThrows(OptimisticLockingFailureException.class, () -> {
+            productoRepository.save(leidoAntes);
+            entityManager.flush();
+        });
+    }
+}
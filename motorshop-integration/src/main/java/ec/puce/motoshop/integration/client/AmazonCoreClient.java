@@ -1,13 +1,19 @@
 package ec.puce.motoshop.integration.client;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import ec.puce.motoshop.integration.config.AmazonCoreProperties;
@@ -16,34 +22,120 @@ import ec.puce.motoshop.integration.dto.ProductoDTO;
 import ec.puce.motoshop.integration.dto.StockResponseDTO;
 import ec.puce.motoshop.integration.exception.AmazonCoreIntegrationException;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Cliente para la comunicación con el servicio Amazon Core.
  * Maneja las llamadas HTTP y el procesamiento de respuestas.
+ * Las consultas de productos y stock se guardan en una caché en memoria con
+ * refresco en segundo plano; el envío de pedidos nunca se guarda en caché.
  */
 @Component
 @Slf4j
 public class AmazonCoreClient {
 
+    /**
+     * Cabecera con la clave de idempotencia de un envío de pedido.
+     */
+    public static final String HEADER_IDEMPOTENCIA = "Idempotency-Key";
+
+    /**
+     * Circuit breaker compartido por todas las llamadas a Amazon Core.
+     */
+    public static final String CIRCUIT_BREAKER = "amazonCore";
+
+    /**
+     * Bulkheads (límite de llamadas concurrentes) de cada operación.
+     */
+    public static final String BULKHEAD_PRODUCTOS = "amazonCoreProductos";
+    public static final String BULKHEAD_PRODUCTO = "amazonCoreProducto";
+    public static final String BULKHEAD_STOCK = "amazonCoreStock";
+    public static final String BULKHEAD_COMPRA = "amazonCoreCompra";
+
     private final RestTemplate restTemplate;
     private final RetryTemplate retryTemplate;
     private final AmazonCoreProperties properties;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final Executor refreshExecutor;
+    private final Ticker ticker;
+
+    private static final String CLAVE_PRODUCTOS = "todos";
+
+    private final LoadingCache<String, List<ProductoDTO>> cacheProductos;
+    private final LoadingCache<Long, Optional<ProductoDTO>> cacheProducto;
+    private final LoadingCache<ClaveStock, Boolean> cacheStock;
 
     /**
      * Constructor con inyección de dependencias.
      *
-     * @param restTemplate  RestTemplate configurado para las llamadas HTTP
-     * @param retryTemplate RetryTemplate para reintentos automáticos
-     * @param properties    Propiedades de configuración de Amazon Core
+     * @param restTemplate           RestTemplate configurado para las llamadas
+     *                               HTTP
+     * @param retryTemplate          RetryTemplate para reintentos automáticos
+     * @param properties             Propiedades de configuración de Amazon Core
+     * @param circuitBreakerRegistry Registro de circuit breakers de Resilience4j
+     * @param bulkheadRegistry       Registro de bulkheads de Resilience4j
+     * @param refreshExecutor        Ejecutor para refrescar la caché en segundo
+     *                               plano
      */
-    public AmazonCoreClient(RestTemplate restTemplate, RetryTemplate retryTemplate, AmazonCoreProperties properties) {
+    @Autowired
+    public AmazonCoreClient(RestTemplate restTemplate, RetryTemplate retryTemplate, AmazonCoreProperties properties,
+            CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+            @Qualifier("amazonCoreExecutor") Executor refreshExecutor) {
+        this(restTemplate, retryTemplate, properties, circuitBreakerRegistry, bulkheadRegistry, refreshExecutor,
+                Ticker.systemTicker());
+    }
+
+    /**
+     * Constructor con el reloj de las cachés, para las pruebas de refresco y
+     * expiración.
+     */
+    AmazonCoreClient(RestTemplate restTemplate, RetryTemplate retryTemplate, AmazonCoreProperties properties,
+            CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+            Executor refreshExecutor, Ticker ticker) {
         this.restTemplate = restTemplate;
         this.retryTemplate = retryTemplate;
         this.properties = properties;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.refreshExecutor = refreshExecutor;
+        this.ticker = ticker;
+
+        AmazonCoreProperties.CacheRespuestas cache = properties.getCache();
+        if (cache.isHabilitado()) {
+            this.cacheProductos = crearCache(cache.getProductosRefresco(), cache.getProductosExpiracion(),
+                    clave -> consultarProductos());
+            this.cacheProducto = crearCacheProducto();
+            this.cacheStock = crearCache(cache.getStockRefresco(), cache.getStockExpiracion(),
+                    this::consultarStock);
+        } else {
+            this.cacheProductos = null;
+            this.cacheProducto = null;
+            this.cacheStock = null;
+        }
     }
 
     /**
@@ -58,19 +150,48 @@ public class AmazonCoreClient {
 
     /**
      * Método genérico para ejecutar una llamada HTTP con reintentos.
+     * El orden es bulkhead → reintentos → circuit breaker: el bulkhead limita
+     * las llamadas concurrentes de la operación (incluidas sus esperas entre
+     * reintentos) y cada intento se registra en el circuit breaker. Con el
+     * circuito abierto la llamada falla de inmediato con
+     * CallNotPermittedException, que no se reintenta.
      *
      * @param <T>      Tipo de retorno esperado
+     * @param bulkhead Nombre del bulkhead de la operación
      * @param httpCall Función que realiza la llamada HTTP
      * @return El resultado de la llamada HTTP
+     * @throws CallNotPermittedException si el circuito está abierto
+     * @throws BulkheadFullException     si la operación alcanzó su límite de
+     *                                   llamadas concurrentes
      */
-    protected <T> T executeWithRetry(RetryCallback<T> httpCall) {
-        return retryTemplate.execute(context -> {
+    protected <T> T executeWithRetry(String bulkhead, RetryCallback<T> httpCall) {
+        Supplier<T> intento = CircuitBreaker.decorateSupplier(
+                circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER), httpCall::execute);
+
+        Supplier<T> conReintentos = () -> retryTemplate.execute(context -> {
             int retryCount = context.getRetryCount();
             if (retryCount > 0) {
                 log.warn("Reintento #{} para la llamada a Amazon Core", retryCount);
             }
-            return httpCall.execute();
+            return intento.get();
         });
+
+        return Bulkhead.decorateSupplier(bulkheadRegistry.bulkhead(bulkhead), conReintentos).get();
+    }
+
+    /**
+     * Ejecuta una llamada HTTP en un solo intento, protegida por el bulkhead
+     * de la operación y el circuit breaker.
+     *
+     * @param <T>      Tipo de retorno esperado
+     * @param bulkhead Nombre del bulkhead de la operación
+     * @param httpCall Función que realiza la llamada HTTP
+     * @return El resultado de la llamada HTTP
+     */
+    protected <T> T executeOnce(String bulkhead, RetryCallback<T> httpCall) {
+        Supplier<T> intento = CircuitBreaker.decorateSupplier(
+                circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER), httpCall::execute);
+        return Bulkhead.decorateSupplier(bulkheadRegistry.bulkhead(bulkhead), intento).get();
     }
 
     /**
@@ -85,30 +206,14 @@ public class AmazonCoreClient {
 
     /**
      * Obtiene la lista de todos los productos disponibles en Amazon Core.
+     * Si Amazon Core falla devuelve una lista vacía; para distinguir ese caso
+     * de un catálogo vacío se usa obtenerProductos.
      *
      * @return Lista de ProductoDTO con la información de los productos
      */
     public List<ProductoDTO> getProductos() {
-        log.info("Obteniendo lista de productos desde Amazon Core");
-
         try {
-            return executeWithRetry(() -> {
-                String url = createUrl("/productos");
-                log.debug("Realizando petición GET a: {}", url);
-
-                ResponseEntity<List<ProductoDTO>> response = restTemplate.exchange(
-                        url,
-                        HttpMethod.GET,
-                        null,
-                        new ParameterizedTypeReference<List<ProductoDTO>>() {
-                        });
-
-                List<ProductoDTO> productos = response.getBody();
-                log.info("Se obtuvieron {} productos de Amazon Core",
-                        productos != null ? productos.size() : 0);
-
-                return productos != null ? productos : Collections.emptyList();
-            });
+            return obtenerProductos();
         } catch (ResourceAccessException ex) {
             log.warn("Error de conexión con Amazon Core: {}. Continuando con productos locales.", ex.getMessage());
             return Collections.emptyList();
@@ -120,12 +225,29 @@ public class AmazonCoreClient {
             log.warn("Error del servidor HTTP (5xx) al obtener productos: {}. Continuando con productos locales.",
                     ex.getMessage());
             return Collections.emptyList();
+        } catch (CallNotPermittedException | BulkheadFullException ex) {
+            log.warn("Amazon Core no disponible ({}). Continuando con productos locales.", ex.getMessage());
+            return Collections.emptyList();
         } catch (Exception ex) {
             log.warn("Error desconocido al obtener productos: {}. Continuando con productos locales.", ex.getMessage());
             return Collections.emptyList();
         }
     }
 
+    /**
+     * Obtiene la lista de productos de Amazon Core sin ocultar los errores.
+     *
+     * @return Lista de ProductoDTO con la información de los productos
+     * @throws RestClientException       Si falla la conexión o Amazon Core
+     *                                   responde con un error
+     * @throws CallNotPermittedException Si el circuito está abierto
+     * @throws BulkheadFullException     Si la operación alcanzó su límite de
+     *                                   llamadas concurrentes
+     */
+    public List<ProductoDTO> obtenerProductos() {
+        return obtener(cacheProductos, CLAVE_PRODUCTOS, clave -> consultarProductos());
+    }
+
     /**
      * Obtiene los detalles de un producto específico de Amazon Core.
      *
@@ -140,28 +262,8 @@ public class AmazonCoreClient {
             throw new IllegalArgumentException("El ID del producto no puede ser nulo");
         }
 
-        log.info("Obteniendo producto con ID {} desde Amazon Core", idProducto);
-
         try {
-            return executeWithRetry(() -> {
-                String url = createUrl("/productos/" + idProducto);
-                log.debug("Realizando petición GET a: {}", url);
-
-                ResponseEntity<ProductoDTO> response = restTemplate.getForEntity(url, ProductoDTO.class);
-
-                ProductoDTO producto = response.getBody();
-                if (producto != null) {
-                    log.info("Se obtuvo el producto con ID {} desde Amazon Core", idProducto);
-                } else {
-                    log.warn("No se encontró el producto con ID {} en Amazon Core", idProducto);
-                }
-
-                return producto;
-            });
-        } catch (HttpClientErrorException.NotFound ex) {
-            log.warn("No se encontró el producto con ID {} en Amazon Core. Continuando con producto local si existe.",
-                    idProducto);
-            return null;
+            return obtener(cacheProducto, idProducto, this::consultarProducto).orElse(null);
         } catch (ResourceAccessException ex) {
             log.warn(
                     "Error de conexión con Amazon Core al obtener el producto {}: {}. Continuando con producto local si existe.",
@@ -177,6 +279,10 @@ public class AmazonCoreClient {
                     "Error del servidor HTTP (5xx) al obtener el producto {}: {}. Continuando con producto local si existe.",
                     idProducto, ex.getMessage());
             return null;
+        } catch (CallNotPermittedException | BulkheadFullException ex) {
+            log.warn("Amazon Core no disponible al obtener el producto {} ({}). Continuando con producto local si existe.",
+                    idProducto, ex.getMessage());
+            return null;
         } catch (Exception ex) {
             log.warn("Error desconocido al obtener el producto {}: {}. Continuando con producto local si existe.",
                     idProducto, ex.getMessage());
@@ -186,6 +292,8 @@ public class AmazonCoreClient {
 
     /**
      * Verifica si hay stock disponible de un producto específico.
+     * Si Amazon Core falla devuelve false; para distinguir ese caso de un
+     * producto sin stock se usa consultarDisponibilidad.
      *
      * @param idProducto ID del producto a verificar
      * @param cantidad   Cantidad de productos solicitada
@@ -194,35 +302,10 @@ public class AmazonCoreClient {
      *                                        comunicación
      */
     public boolean verificarStock(Long idProducto, Integer cantidad) {
-        if (idProducto == null) {
-            throw new IllegalArgumentException("El ID del producto no puede ser nulo");
-        }
-
-        if (cantidad == null || cantidad <= 0) {
-            throw new IllegalArgumentException("La cantidad debe ser un valor positivo");
-        }
-
-        log.info("Verificando stock para producto ID {} con cantidad {}", idProducto, cantidad);
+        validarConsultaStock(idProducto, cantidad);
 
         try {
-            return executeWithRetry(() -> {
-                String url = createUrl("/stock?idProducto=" + idProducto + "&cantidad=" + cantidad);
-                log.debug("Realizando petición GET a: {}", url);
-
-                ResponseEntity<StockResponseDTO> response = restTemplate.getForEntity(
-                        url,
-                        StockResponseDTO.class);
-
-                StockResponseDTO stockResponse = response.getBody();
-                if (stockResponse != null) {
-                    log.info("Respuesta de stock para producto ID {}: disponible={}, mensaje={}",
-                            idProducto, stockResponse.isDisponible(), stockResponse.getMensaje());
-                    return stockResponse.isDisponible();
-                } else {
-                    log.warn("Respuesta de stock vacía para producto ID {}", idProducto);
-                    return false;
-                }
-            });
+            return consultarDisponibilidad(idProducto, cantidad);
         } catch (ResourceAccessException ex) {
             log.warn(
                     "Error de conexión con Amazon Core al verificar stock del producto {}: {}. Asumiendo sin stock disponible.",
@@ -241,6 +324,10 @@ public class AmazonCoreClient {
                     idProducto,
                     ex.getMessage());
             return false;
+        } catch (CallNotPermittedException | BulkheadFullException ex) {
+            log.warn("Amazon Core no disponible al verificar stock del producto {} ({}). Asumiendo sin stock disponible.",
+                    idProducto, ex.getMessage());
+            return false;
         } catch (Exception ex) {
             log.warn("Error desconocido al verificar stock del producto {}: {}. Asumiendo sin stock disponible.",
                     idProducto, ex.getMessage());
@@ -248,6 +335,208 @@ public class AmazonCoreClient {
         }
     }
 
+    /**
+     * Verifica el stock de un producto sin ocultar los errores: un fallo de
+     * Amazon Core significa que no se sabe si hay stock, no que no lo haya.
+     *
+     * @param idProducto ID del producto a verificar
+     * @param cantidad   Cantidad de productos solicitada
+     * @return true si hay stock disponible, false si Amazon Core respondió que
+     *         no lo hay
+     * @throws RestClientException       Si falla la conexión o Amazon Core
+     *                                   responde con un error
+     * @throws CallNotPermittedException Si el circuito está abierto
+     * @throws BulkheadFullException     Si la operación alcanzó su límite de
+     *                                   llamadas concurrentes
+     */
+    public boolean consultarDisponibilidad(Long idProducto, Integer cantidad) {
+        validarConsultaStock(idProducto, cantidad);
+        return obtener(cacheStock, new ClaveStock(idProducto, cantidad), this::consultarStock);
+    }
+
+    private static void validarConsultaStock(Long idProducto, Integer cantidad) {
+        if (idProducto == null) {
+            throw new IllegalArgumentException("El ID del producto no puede ser nulo");
+        }
+
+        if (cantidad == null || cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad debe ser un valor positivo");
+        }
+    }
+
+    /**
+     * Consulta la lista de productos en Amazon Core, sin caché.
+     *
+     * @return Lista inmutable de productos
+     */
+    private List<ProductoDTO> consultarProductos() {
+        log.info("Obteniendo lista de productos desde Amazon Core");
+        return executeWithRetry(BULKHEAD_PRODUCTOS, () -> {
+            String url = createUrl("/productos");
+            log.debug("Realizando petición GET a: {}", url);
+
+            ResponseEntity<List<ProductoDTO>> response = restTemplate.exchange(
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<List<ProductoDTO>>() {
+                    });
+
+            List<ProductoDTO> productos = response.getBody();
+            log.info("Se obtuvieron {} productos de Amazon Core",
+                    productos != null ? productos.size() : 0);
+
+            return productos != null ? Collections.unmodifiableList(productos) : Collections.emptyList();
+        });
+    }
+
+    /**
+     * Consulta un producto en Amazon Core, sin caché.
+     * Un 404 se devuelve como Optional vacío para poder guardarlo en caché
+     * (caché negativa) y no volver a consultar un ID inexistente en cada
+     * petición.
+     *
+     * @param idProducto ID del producto a consultar
+     * @return El producto, o vacío si no existe en Amazon Core
+     */
+    private Optional<ProductoDTO> consultarProducto(Long idProducto) {
+        log.info("Obteniendo producto con ID {} desde Amazon Core", idProducto);
+        try {
+            return executeWithRetry(BULKHEAD_PRODUCTO, () -> {
+                String url = createUrl("/productos/" + idProducto);
+                log.debug("Realizando petición GET a: {}", url);
+
+                ResponseEntity<ProductoDTO> response = restTemplate.getForEntity(url, ProductoDTO.class);
+
+                ProductoDTO producto = response.getBody();
+                if (producto != null) {
+                    log.info("Se obtuvo el producto con ID {} desde Amazon Core", idProducto);
+                } else {
+                    log.warn("No se encontró el producto con ID {} en Amazon Core", idProducto);
+                }
+
+                return Optional.ofNullable(producto);
+            });
+        } catch (HttpClientErrorException.NotFound ex) {
+            log.warn("No se encontró el producto con ID {} en Amazon Core. Continuando con producto local si existe.",
+                    idProducto);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Consulta la disponibilidad de stock en Amazon Core, sin caché.
+     *
+     * @param clave Producto y cantidad a verificar
+     * @return true si hay stock disponible
+     */
+    private Boolean consultarStock(ClaveStock clave) {
+        log.info("Verificando stock para producto ID {} con cantidad {}", clave.idProducto(), clave.cantidad());
+        return executeWithRetry(BULKHEAD_STOCK, () -> {
+            String url = createUrl("/stock?idProducto=" + clave.idProducto() + "&cantidad=" + clave.cantidad());
+            log.debug("Realizando petición GET a: {}", url);
+
+            ResponseEntity<StockResponseDTO> response = restTemplate.getForEntity(
+                    url,
+                    StockResponseDTO.class);
+
+            StockResponseDTO stockResponse = response.getBody();
+            if (stockResponse != null) {
+                log.info("Respuesta de stock para producto ID {}: disponible={}, mensaje={}",
+                        clave.idProducto(), stockResponse.isDisponible(), stockResponse.getMensaje());
+                return stockResponse.isDisponible();
+            } else {
+                log.warn("Respuesta de stock vacía para producto ID {}", clave.idProducto());
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Obtiene un valor de la caché, o directamente de Amazon Core si la caché
+     * está deshabilitada.
+     * Las llamadas concurrentes por la misma clave esperan una sola consulta.
+     * Los errores no se guardan en caché: se propagan para que cada método
+     * aplique su valor por defecto.
+     */
+    private <K, V> V obtener(LoadingCache<K, V> cache, K clave, Function<K, V> consulta) {
+        return cache != null ? cache.get(clave) : consulta.apply(clave);
+    }
+
+    /**
+     * Crea la caché de respuestas de Amazon Core: al vencer el tiempo de
+     * refresco se sigue entregando el valor guardado mientras se actualiza en
+     * segundo plano (stale-while-revalidate); si la actualización falla se
+     * conserva el valor anterior hasta que expire.
+     */
+    private <K, V> LoadingCache<K, V> crearCache(long refresco, long expiracion, CacheLoader<K, V> loader) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getCache().getMaximoEntradas())
+                .refreshAfterWrite(Duration.ofMillis(refresco))
+                .expireAfterWrite(Duration.ofMillis(expiracion))
+                .executor(refreshExecutor)
+                .ticker(ticker)
+                .recordStats()
+                .build(loader);
+    }
+
+    /**
+     * Crea la caché de productos por ID. Los productos inexistentes (404) se
+     * guardan con una expiración más corta que los encontrados.
+     */
+    private LoadingCache<Long, Optional<ProductoDTO>> crearCacheProducto() {
+        AmazonCoreProperties.CacheRespuestas config = properties.getCache();
+        long expiracion = TimeUnit.MILLISECONDS.toNanos(config.getProductoExpiracion());
+        long expiracionNoEncontrado = TimeUnit.MILLISECONDS.toNanos(config.getProductoNoEncontradoExpiracion());
+
+        return Caffeine.newBuilder()
+                .maximumSize(config.getMaximoEntradas())
+                .refreshAfterWrite(Duration.ofMillis(config.getProductoRefresco()))
+                .expireAfter(new Expiry<Long, Optional<ProductoDTO>>() {
+                    @Override
+                    public long expireAfterCreate(Long id, Optional<ProductoDTO> producto, long ahora) {
+                        return producto.isPresent() ? expiracion : expiracionNoEncontrado;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long id, Optional<ProductoDTO> producto, long ahora,
+                            long restante) {
+                        return producto.isPresent() ? expiracion : expiracionNoEncontrado;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long id, Optional<ProductoDTO> producto, long ahora,
+                            long restante) {
+                        return restante;
+                    }
+                })
+                .executor(refreshExecutor)
+                .ticker(ticker)
+                .recordStats()
+                .build(this::consultarProducto);
+    }
+
+    /**
+     * Obtiene las cachés de respuestas por nombre, para publicar sus métricas.
+     *
+     * @return Cachés de respuestas, vacío si la caché está deshabilitada
+     */
+    public Map<String, Cache<?, ?>> getCaches() {
+        if (cacheProductos == null) {
+            return Map.of();
+        }
+        return Map.of(
+                "amazonCore.productos", cacheProductos,
+                "amazonCore.producto", cacheProducto,
+                "amazonCore.stock", cacheStock);
+    }
+
+    /**
+     * Clave de la caché de stock: la disponibilidad depende de la cantidad.
+     */
+    private record ClaveStock(Long idProducto, Integer cantidad) {
+    }
+
     /**
      * Envía un pedido a Amazon Core.
      *
@@ -258,6 +547,25 @@ public class AmazonCoreClient {
      *                                        comunicación
      */
     public PedidoDTO enviarCompra(PedidoDTO pedido) {
+        return enviarCompra(pedido, null);
+    }
+
+    /**
+     * Envía un pedido a Amazon Core en un solo intento.
+     * Los reintentos no se hacen aquí sino en el despachador de pedidos
+     * pendientes, que los programa con backoff exponencial sin bloquear la
+     * petición del cliente.
+     *
+     * @param pedido            El pedido a enviar
+     * @param claveIdempotencia Clave que identifica el envío para que un
+     *                          reintento no duplique el pedido en Amazon Core
+     *                          (opcional)
+     * @return El PedidoDTO con la información actualizada del pedido (incluyendo ID
+     *         asignado)
+     * @throws AmazonCoreIntegrationException Si el envío falla; isReintentable()
+     *                                        indica si el error es temporal
+     */
+    public PedidoDTO enviarCompra(PedidoDTO pedido, String claveIdempotencia) {
         if (pedido == null) {
             throw new IllegalArgumentException("El pedido no puede ser nulo");
         }
@@ -269,50 +577,44 @@ public class AmazonCoreClient {
         log.info("Enviando pedido a Amazon Core");
 
         try {
-            return executeWithRetry(() -> {
-                String url = createUrl("/compra");
-                log.debug("Realizando petición POST a: {}", url);
-
-                ResponseEntity<PedidoDTO> response = restTemplate.postForEntity(
-                        url,
-                        pedido,
-                        PedidoDTO.class);
-
-                PedidoDTO pedidoRespuesta = response.getBody();
-                if (pedidoRespuesta != null && pedidoRespuesta.getIdPedido() != null) {
-                    log.info("Pedido enviado exitosamente a Amazon Core. ID asignado: {}",
-                            pedidoRespuesta.getIdPedido());
-                } else {
-                    log.warn("Respuesta vacía o sin ID al enviar pedido a Amazon Core");
-                }
+            String url = createUrl("/compra");
+            log.debug("Realizando petición POST a: {}", url);
 
-                return pedidoRespuesta;
-            });
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            if (claveIdempotencia != null) {
+                headers.set(HEADER_IDEMPOTENCIA, claveIdempotencia);
+            }
+
+            ResponseEntity<PedidoDTO> response = executeOnce(BULKHEAD_COMPRA, () -> restTemplate.postForEntity(
+                    url,
+                    new HttpEntity<>(pedido, headers),
+                    PedidoDTO.class));
+
+            PedidoDTO pedidoRespuesta = response.getBody();
+            if (pedidoRespuesta == null || pedidoRespuesta.getIdPedido() == null) {
+                // Sin ID no se puede confirmar el pedido; con la clave de
+                // idempotencia el reintento no lo duplica
+                throw new AmazonCoreIntegrationException(
+                        "Respuesta vacía o sin ID al enviar pedido a Amazon Core", null, true);
+            }
+
+            log.info("Pedido enviado exitosamente a Amazon Core. ID asignado: {}", pedidoRespuesta.getIdPedido());
+            return pedidoRespuesta;
+        } catch (CallNotPermittedException | BulkheadFullException ex) {
+            throw new AmazonCoreIntegrationException(
+                    "Amazon Core no disponible al enviar pedido: " + ex.getMessage(), ex, true);
         } catch (ResourceAccessException ex) {
-            log.warn("Error de conexión con Amazon Core al enviar pedido: {}. El pedido se procesará solo localmente.",
-                    ex.getMessage());
-            // Crear un pedido con ID ficticio para que la aplicación pueda continuar
-            pedido.setIdPedido(-1L); // ID negativo indica que no se pudo procesar en Amazon Core
-            pedido.setEstado("PENDIENTE_SYNC");
-            return pedido;
-        } catch (HttpClientErrorException ex) {
-            log.warn("Error del cliente HTTP (4xx) al enviar pedido: {}. El pedido se procesará solo localmente.",
-                    ex.getMessage());
-            pedido.setIdPedido(-1L);
-            pedido.setEstado("PENDIENTE_SYNC");
-            return pedido;
+            throw new AmazonCoreIntegrationException(
+                    "Error de conexión con Amazon Core al enviar pedido: " + ex.getMessage(), ex, true);
         } catch (HttpServerErrorException ex) {
-            log.warn("Error del servidor HTTP (5xx) al enviar pedido: {}. El pedido se procesará solo localmente.",
-                    ex.getMessage());
-            pedido.setIdPedido(-1L);
-            pedido.setEstado("PENDIENTE_SYNC");
-            return pedido;
-        } catch (Exception ex) {
-            log.warn("Error desconocido al enviar pedido: {}. El pedido se procesará solo localmente.",
-                    ex.getMessage());
-            pedido.setIdPedido(-1L);
-            pedido.setEstado("PENDIENTE_SYNC");
-            return pedido;
+            throw new AmazonCoreIntegrationException(
+                    "Error del servidor HTTP (5xx) al enviar pedido: " + ex.getMessage(), ex, true);
+        } catch (HttpClientErrorException ex) {
+            // 408 y 429 son temporales; el resto de 4xx indica un pedido inválido
+            boolean reintentable = ex.getStatusCode().value() == 408 || ex.getStatusCode().value() == 429;
+            throw new AmazonCoreIntegrationException(
+                    "Error del cliente HTTP (4xx) al enviar pedido: " + ex.getMessage(), ex, reintentable);
         }
     }
 }
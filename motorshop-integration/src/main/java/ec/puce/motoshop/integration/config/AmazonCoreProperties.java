@@ -5,6 +5,8 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
@@ -42,4 +44,256 @@ public class AmazonCoreProperties {
      */
     @Positive
     private int maxRetries = 3;
+
+    /**
+     * Configuración del cliente HTTP y su pool de conexiones.
+     */
+    @Valid
+    private Http http = new Http();
+
+    /**
+     * Configuración del envío asíncrono de pedidos (outbox).
+     */
+    @Valid
+    private Outbox outbox = new Outbox();
+
+    /**
+     * Configuración de las llamadas concurrentes a Amazon Core.
+     */
+    @Valid
+    private Concurrencia concurrencia = new Concurrencia();
+
+    /**
+     * Configuración de la caché de respuestas de Amazon Core.
+     */
+    @Valid
+    private CacheRespuestas cache = new CacheRespuestas();
+
+    /**
+     * Tiempo máximo que puede tardar un envío a Amazon Core, en milisegundos:
+     * la espera de una conexión libre del pool, la conexión y la respuesta.
+     * 
+     * @return Peor caso de un envío
+     */
+    public long calcularPeorTiempoEnvio() {
+        return http.getEsperaConexion() + connectTimeout + readTimeout;
+    }
+
+    /**
+     * Indica si el arrendamiento del outbox cubre el envío de un lote completo
+     * en el peor caso. Si no lo cubre, la aplicación no arranca: la reserva
+     * vencería con pedidos del lote aún sin enviar.
+     * 
+     * @return true si el arrendamiento es suficiente
+     */
+    @AssertTrue(message = "amazon-core.outbox.arrendamiento debe cubrir tamanio-lote por el peor tiempo de envío "
+            + "(http.espera-conexion + connect-timeout + read-timeout)")
+    public boolean isArrendamientoSuficiente() {
+        return outbox.getArrendamiento() >= outbox.getTamanioLote() * calcularPeorTiempoEnvio();
+    }
+
+    /**
+     * Implementación del cliente HTTP usada para llamar a Amazon Core.
+     */
+    public enum ClienteHttp {
+        /**
+         * Apache HttpClient 5 con pool de conexiones configurable.
+         */
+        APACHE,
+        /**
+         * java.net.http.HttpClient del JDK (HTTP/2, pool interno).
+         */
+        JDK,
+        /**
+         * HttpURLConnection sin pool; solo para pruebas o depuración.
+         */
+        SIMPLE
+    }
+
+    /**
+     * Propiedades del cliente HTTP hacia Amazon Core.
+     */
+    @Data
+    public static class Http {
+
+        /**
+         * Implementación del cliente HTTP.
+         */
+        private ClienteHttp cliente = ClienteHttp.APACHE;
+
+        /**
+         * Número máximo de conexiones abiertas en total (solo APACHE).
+         */
+        @Positive
+        private int maxConexiones = 50;
+
+        /**
+         * Número máximo de conexiones abiertas por host (solo APACHE).
+         */
+        @Positive
+        private int maxConexionesPorRuta = 20;
+
+        /**
+         * Tiempo máximo que una conexión inactiva se mantiene abierta para
+         * reutilizarse, en milisegundos (solo APACHE).
+         */
+        @Positive
+        private long keepAlive = 30000;
+
+        /**
+         * Tiempo de vida máximo de una conexión, en milisegundos; al vencer se
+         * cierra aunque siga en uso, para repartir carga tras cambios de DNS
+         * (solo APACHE).
+         */
+        @Positive
+        private long ttlConexion = 300000;
+
+        /**
+         * Inactividad tras la cual una conexión se valida antes de reutilizarse,
+         * en milisegundos (solo APACHE).
+         */
+        @Positive
+        private long validarTrasInactividad = 2000;
+
+        /**
+         * Tiempo máximo de espera por una conexión libre del pool, en
+         * milisegundos (solo APACHE).
+         */
+        @Positive
+        private long esperaConexion = 2000;
+    }
+
+    /**
+     * Propiedades del ejecutor usado para consultar Amazon Core en paralelo
+     * con el inventario local.
+     */
+    @Data
+    public static class Concurrencia {
+
+        /**
+         * Número máximo de hilos que llaman a Amazon Core al mismo tiempo.
+         */
+        @Positive
+        private int hilos = 16;
+
+        /**
+         * Número máximo de llamadas en espera de un hilo libre; las que no caben
+         * se rechazan y se responde solo con los datos locales.
+         */
+        @Positive
+        private int cola = 100;
+
+        /**
+         * Plazo total para armar el catálogo combinado, en milisegundos. Si
+         * Amazon Core no responde a tiempo se devuelven solo los productos
+         * locales, marcando la respuesta como parcial.
+         */
+        @Positive
+        private long plazoCatalogo = 2000;
+
+        /**
+         * Plazo total para verificar en Amazon Core el stock de las líneas de un
+         * carrito que no se pueden atender localmente, en milisegundos. Las
+         * líneas sin respuesta a tiempo se informan como no disponibles.
+         */
+        @Positive
+        private long plazoStock = 2000;
+    }
+
+    /**
+     * Propiedades de la caché de respuestas de Amazon Core. Los tiempos están
+     * en milisegundos: al pasar el tiempo de refresco la respuesta se sigue
+     * usando mientras se actualiza en segundo plano, y al pasar el de
+     * expiración se descarta.
+     */
+    @Data
+    public static class CacheRespuestas {
+
+        /**
+         * Habilita la caché de respuestas.
+         */
+        private boolean habilitado = true;
+
+        /**
+         * Número máximo de entradas por caché.
+         */
+        @Positive
+        private long maximoEntradas = 10000;
+
+        @Positive
+        private long productosRefresco = 30000;
+
+        @Positive
+        private long productosExpiracion = 300000;
+
+        @Positive
+        private long productoRefresco = 60000;
+
+        @Positive
+        private long productoExpiracion = 600000;
+
+        /**
+         * Expiración de los productos que Amazon Core informó como inexistentes
+         * (404).
+         */
+        @Positive
+        private long productoNoEncontradoExpiracion = 30000;
+
+        @Positive
+        private long stockRefresco = 5000;
+
+        @Positive
+        private long stockExpiracion = 15000;
+    }
+
+    /**
+     * Propiedades del despachador de pedidos pendientes de sincronización.
+     */
+    @Data
+    public static class Outbox {
+
+        /**
+         * Habilita el despachador en esta instancia.
+         */
+        private boolean habilitado = true;
+
+        /**
+         * Tiempo de espera entre ejecuciones del despachador en milisegundos.
+         */
+        @Positive
+        private long intervalo = 5000;
+
+        /**
+         * Número máximo de pedidos que se envían en cada ejecución.
+         */
+        @Positive
+        private int tamanioLote = 20;
+
+        /**
+         * Número máximo de intentos antes de marcar el pedido como fallido.
+         */
+        @Positive
+        private int maxIntentos = 10;
+
+        /**
+         * Espera antes del primer reintento en milisegundos; se duplica en cada
+         * intento.
+         */
+        @Positive
+        private long backoffInicial = 2000;
+
+        /**
+         * Espera máxima entre reintentos en milisegundos.
+         */
+        @Positive
+        private long backoffMaximo = 300000;
+
+        /**
+         * Tiempo durante el cual un lote queda reservado para la instancia que
+         * lo tomó, en milisegundos. Debe cubrir el envío del lote completo en
+         * el peor caso (ver isArrendamientoSuficiente).
+         */
+        @Positive
+        private long arrendamiento = 300000;
+    }
 }
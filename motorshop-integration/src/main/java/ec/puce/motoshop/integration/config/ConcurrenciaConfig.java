@@ -0,0 +1,41 @@
+package ec.puce.motoshop.integration.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuración del ejecutor para las llamadas a Amazon Core que se hacen en
+ * paralelo con las consultas locales.
+ */
+@Configuration
+public class ConcurrenciaConfig {
+
+    private final AmazonCoreProperties properties;
+
+    public ConcurrenciaConfig(AmazonCoreProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Ejecutor acotado: un Amazon Core lento no puede ocupar más de
+     * amazon-core.concurrencia.hilos hilos, y lo que no cabe en la cola se
+     * rechaza en lugar de acumularse.
+     * Las tareas heredan el contexto del hilo que las envía (la traza en
+     * curso), así las llamadas en paralelo quedan dentro de la misma traza.
+     */
+    @Bean(name = "amazonCoreExecutor")
+    public ThreadPoolTaskExecutor amazonCoreExecutor() {
+        AmazonCoreProperties.Concurrencia concurrencia = properties.getConcurrencia();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrencia.getHilos());
+        executor.setMaxPoolSize(concurrencia.getHilos());
+        executor.setQueueCapacity(concurrencia.getCola());
+        executor.setThreadNamePrefix("amazon-core-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -4,6 +4,7 @@ import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Configuración principal para el módulo de integración con Amazon Core.
@@ -13,6 +14,7 @@ import org.springframework.retry.annotation.EnableRetry;
 @Configuration
 @EnableConfigurationProperties(AmazonCoreProperties.class)
 @EnableRetry
+@EnableScheduling
 @ComponentScan(basePackages = {
         "ec.puce.motoshop.integration"
 })
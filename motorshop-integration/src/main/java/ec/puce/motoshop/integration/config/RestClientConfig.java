@@ -1,15 +1,35 @@
 package ec.puce.motoshop.integration.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.retry.backoff.FixedBackOffPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.web.client.RestTemplate;
 
+import ec.puce.motoshop.integration.client.AmazonCoreClient;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.net.http.HttpClient;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
@@ -27,25 +47,104 @@ public class RestClientConfig {
     }
 
     /**
-     * Configura un RestTemplate con los timeouts especificados en las propiedades.
+     * Pool de conexiones HTTP hacia Amazon Core. Reutiliza las conexiones
+     * (keep-alive) para no pagar el establecimiento TCP/TLS en cada llamada.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "amazon-core.http", name = "cliente", havingValue = "apache", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager amazonCoreConnectionManager() {
+        AmazonCoreProperties.Http http = properties.getHttp();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.getMaxConexiones())
+                .setMaxConnPerRoute(http.getMaxConexionesPorRuta())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(properties.getConnectTimeout()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(properties.getReadTimeout()))
+                        .setTimeToLive(TimeValue.ofMilliseconds(http.getTtlConexion()))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(http.getValidarTrasInactividad()))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Publica las métricas del pool (conexiones disponibles, en uso y
+     * peticiones en espera) en /actuator/metrics con el nombre de pool
+     * amazon-core.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "amazon-core.http", name = "cliente", havingValue = "apache", matchIfMissing = true)
+    public MeterBinder amazonCoreConnectionPoolMetrics(PoolingHttpClientConnectionManager amazonCoreConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(amazonCoreConnectionManager, "amazon-core");
+    }
+
+    /**
+     * Publica las métricas de la caché de respuestas de Amazon Core (aciertos,
+     * fallos, cargas y desalojos) en /actuator/metrics bajo cache.gets,
+     * cache.puts y cache.evictions.
+     */
+    @Bean
+    public MeterBinder amazonCoreCacheMetrics(AmazonCoreClient amazonCoreClient) {
+        return registry -> amazonCoreClient.getCaches()
+                .forEach((nombre, cache) -> CaffeineCacheMetrics.monitor(registry, cache, nombre));
+    }
+
+    /**
+     * Configura un RestTemplate con el cliente HTTP indicado en
+     * amazon-core.http.cliente.
+     * Los timeouts se configuran en el factory, ya que no todas las
+     * implementaciones admiten que el builder los asigne.
+     * Con el registro de observaciones cada petición abre un span de cliente
+     * y envía la cabecera traceparent (W3C trace-context) a Amazon Core.
      */
     @Bean
-    public RestTemplate amazonCoreRestTemplate() {
-        return new RestTemplateBuilder()
-                .setConnectTimeout(Duration.ofMillis(properties.getConnectTimeout()))
-                .setReadTimeout(Duration.ofMillis(properties.getReadTimeout()))
-                .requestFactory(this::clientHttpRequestFactory)
+    public RestTemplate amazonCoreRestTemplate(
+            ObjectProvider<PoolingHttpClientConnectionManager> amazonCoreConnectionManager,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        RestTemplate restTemplate = new RestTemplateBuilder()
+                .requestFactory(() -> clientHttpRequestFactory(amazonCoreConnectionManager.getIfAvailable()))
                 .build();
+        observationRegistry.ifAvailable(restTemplate::setObservationRegistry);
+        return restTemplate;
     }
 
     /**
      * Configuración del factory para las peticiones HTTP.
      */
-    private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(properties.getConnectTimeout());
-        factory.setReadTimeout(properties.getReadTimeout());
-        return factory;
+    private ClientHttpRequestFactory clientHttpRequestFactory(PoolingHttpClientConnectionManager connectionManager) {
+        AmazonCoreProperties.Http http = properties.getHttp();
+        switch (http.getCliente()) {
+            case JDK:
+                HttpClient httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(Duration.ofMillis(properties.getConnectTimeout()))
+                        .build();
+                JdkClientHttpRequestFactory jdkFactory = new JdkClientHttpRequestFactory(httpClient);
+                jdkFactory.setReadTimeout(properties.getReadTimeout());
+                return jdkFactory;
+            case SIMPLE:
+                SimpleClientHttpRequestFactory simpleFactory = new SimpleClientHttpRequestFactory();
+                simpleFactory.setConnectTimeout(properties.getConnectTimeout());
+                simpleFactory.setReadTimeout(properties.getReadTimeout());
+                return simpleFactory;
+            case APACHE:
+            default:
+                TimeValue keepAliveMaximo = TimeValue.ofMilliseconds(http.getKeepAlive());
+                CloseableHttpClient apacheClient = HttpClients.custom()
+                        .setConnectionManager(connectionManager)
+                        // Respetar el Keep-Alive del servidor, sin superar el máximo configurado
+                        .setKeepAliveStrategy((response, context) -> {
+                            TimeValue keepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                                    .getKeepAliveDuration(response, context);
+                            return keepAlive.compareTo(keepAliveMaximo) > 0 ? keepAliveMaximo : keepAlive;
+                        })
+                        .evictExpiredConnections()
+                        .evictIdleConnections(keepAliveMaximo)
+                        .build();
+                HttpComponentsClientHttpRequestFactory apacheFactory = new HttpComponentsClientHttpRequestFactory(
+                        apacheClient);
+                apacheFactory.setConnectionRequestTimeout((int) http.getEsperaConexion());
+                return apacheFactory;
+        }
     }
 
     /**
@@ -1,7 +1,9 @@
 package ec.puce.motoshop.integration.controller;
 
+import java.net.URI;
 import java.util.List;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,12 +22,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import ec.puce.motoshop.dto.LineaReservaDTO;
+import ec.puce.motoshop.exception.StockInsuficienteException;
 import ec.puce.motoshop.integration.client.AmazonCoreClient;
+import ec.puce.motoshop.integration.dto.CarritoDTO;
+import ec.puce.motoshop.integration.dto.CatalogoDTO;
+import ec.puce.motoshop.integration.dto.EstadoSincronizacionDTO;
 import ec.puce.motoshop.integration.dto.PedidoDTO;
 import ec.puce.motoshop.integration.dto.ProductoDTO;
-import ec.puce.motoshop.integration.dto.ProductoCantidadDTO;
+import ec.puce.motoshop.integration.dto.StockCarritoDTO;
 import ec.puce.motoshop.integration.dto.StockResponseDTO;
+import ec.puce.motoshop.integration.service.CatalogoIntegradoService;
 import ec.puce.motoshop.integration.service.IntegracionService;
+import ec.puce.motoshop.integration.service.OutboxPedidoService;
+import ec.puce.motoshop.integration.service.StockCarritoService;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -37,27 +47,49 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "Amazon Core", description = "API de integración con Amazon Core para gestión de productos y pedidos")
 public class AmazonCoreController {
 
+    /**
+     * Cabecera que indica si la respuesta omite datos de Amazon Core.
+     */
+    public static final String HEADER_RESULTADO_PARCIAL = "X-Resultado-Parcial";
+
     private final AmazonCoreClient amazonCoreClient;
     private final IntegracionService integracionService;
+    private final OutboxPedidoService outboxPedidoService;
+    private final CatalogoIntegradoService catalogoIntegradoService;
+    private final StockCarritoService stockCarritoService;
 
     /**
      * Constructor con inyección de dependencias.
      * 
-     * @param amazonCoreClient   Cliente de integración con Amazon Core
-     * @param integracionService Servicio de integración con servicios internos
+     * @param amazonCoreClient    Cliente de integración con Amazon Core
+     * @param integracionService  Servicio de integración con servicios internos
+     * @param outboxPedidoService Servicio de envío asíncrono de pedidos a Amazon
+     *                            Core
+     * @param catalogoIntegradoService Servicio del catálogo combinado local y
+     *                                 de Amazon Core
+     * @param stockCarritoService      Servicio de verificación de stock de
+     *                                 carritos completos
      */
-    public AmazonCoreController(AmazonCoreClient amazonCoreClient, IntegracionService integracionService) {
+    public AmazonCoreController(AmazonCoreClient amazonCoreClient, IntegracionService integracionService,
+            OutboxPedidoService outboxPedidoService, CatalogoIntegradoService catalogoIntegradoService,
+            StockCarritoService stockCarritoService) {
         this.amazonCoreClient = amazonCoreClient;
         this.integracionService = integracionService;
+        this.outboxPedidoService = outboxPedidoService;
+        this.catalogoIntegradoService = catalogoIntegradoService;
+        this.stockCarritoService = stockCarritoService;
     }
 
     /**
      * Obtiene la lista completa de productos tanto locales como desde Amazon Core.
+     * Ambas fuentes se consultan en paralelo; si Amazon Core no responde dentro
+     * del plazo, se devuelven solo los productos locales con la cabecera
+     * X-Resultado-Parcial en true.
      * 
      * @return Lista de productos disponibles
      */
     @GetMapping("/productos")
-    @Operation(summary = "Obtener todos los productos", description = "Recupera la lista completa de productos disponibles, tanto propios como de Amazon Core")
+    @Operation(summary = "Obtener todos los productos", description = "Recupera la lista completa de productos disponibles, tanto propios como de Amazon Core. Si Amazon Core no responde a tiempo, la cabecera X-Resultado-Parcial indica que solo se incluyeron productos locales")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de productos recuperada exitosamente", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductoDTO.class))),
             @ApiResponse(responseCode = "500", description = "Error interno al procesar la solicitud", content = @Content)
@@ -66,19 +98,10 @@ public class AmazonCoreController {
         log.info("Obteniendo todos los productos (locales y de Amazon Core)");
 
         try {
-            // Obtener productos locales
-            List<ProductoDTO> productosLocales = integracionService.obtenerTodosLosProductos();
-            log.info("Se obtuvieron {} productos locales", productosLocales.size());
-
-            // Obtener productos de Amazon Core
-            List<ProductoDTO> productosAmazon = amazonCoreClient.getProductos();
-            log.info("Se obtuvieron {} productos de Amazon Core", productosAmazon.size());
-
-            // Combinar las listas
-            List<ProductoDTO> todosLosProductos = new java.util.ArrayList<>(productosLocales);
-            todosLosProductos.addAll(productosAmazon);
-
-            return ResponseEntity.ok(todosLosProductos);
+            CatalogoDTO catalogo = catalogoIntegradoService.obtenerCatalogo();
+            return ResponseEntity.ok()
+                    .header(HEADER_RESULTADO_PARCIAL, String.valueOf(catalogo.isParcial()))
+                    .body(catalogo.getProductos());
         } catch (Exception e) {
             log.error("Error al obtener productos", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -187,23 +210,64 @@ public class AmazonCoreController {
         }
     }
 
+    /**
+     * Verifica la disponibilidad de stock de todos los productos de un carrito.
+     * El inventario local se consulta una sola vez para todo el carrito y solo
+     * los productos sin stock local se verifican en Amazon Core, en paralelo.
+     * 
+     * @param carritoDTO Carrito con los productos y cantidades a verificar
+     * @return Disponibilidad por producto; la cabecera X-Resultado-Parcial
+     *         indica si Amazon Core no respondió a tiempo para algún producto
+     */
+    @PostMapping("/stock/batch")
+    @Operation(summary = "Verificar stock de un carrito", description = "Comprueba la disponibilidad de stock de todos los productos de un carrito con una sola consulta al inventario local, verificando en Amazon Core solo los productos sin stock local")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Verificación de stock completada", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StockCarritoDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Carrito vacío o líneas inválidas", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno al procesar la solicitud", content = @Content)
+    })
+    public ResponseEntity<?> verificarStockCarrito(
+            @Parameter(description = "Carrito con los productos a verificar", required = true) @RequestBody CarritoDTO carritoDTO) {
+        if (carritoDTO == null || carritoDTO.getProductos() == null || carritoDTO.getProductos().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        try {
+            StockCarritoDTO stock = stockCarritoService.verificarCarrito(carritoDTO);
+            return ResponseEntity.ok()
+                    .header(HEADER_RESULTADO_PARCIAL, String.valueOf(stock.isParcial()))
+                    .body(stock);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error al verificar stock del carrito: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /**
      * Procesa un nuevo pedido, primero verificando stock local y luego en Amazon
-     * Core.
+     * Core. Los pedidos que no pueden atenderse localmente se aceptan de
+     * inmediato y se envían a Amazon Core en segundo plano.
      * 
      * @param pedidoDTO Datos del pedido a procesar
-     * @return El pedido procesado con ID asignado
+     * @return El pedido procesado con ID asignado; estado HTTP 202 Accepted con
+     *         estado PENDIENTE_SYNC y cabecera Location si se envía a Amazon Core;
+     *         o estado HTTP 422 con las líneas rechazadas si el stock local se
+     *         agotó durante la reserva
      */
     @PostMapping("/compra")
-    @Operation(summary = "Procesar un nuevo pedido", description = "Envía un pedido para ser procesado, verificando primero la disponibilidad local de los productos y luego en Amazon Core")
+    @Operation(summary = "Procesar un nuevo pedido", description = "Envía un pedido para ser procesado, verificando primero la disponibilidad local de los productos; si no están disponibles, el pedido se acepta y se envía a Amazon Core en segundo plano")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Pedido procesado exitosamente", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PedidoDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Pedido aceptado, pendiente de envío a Amazon Core", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PedidoDTO.class))),
             @ApiResponse(responseCode = "400", description = "Datos de pedido inválidos", content = @Content),
             @ApiResponse(responseCode = "404", description = "Producto(s) no encontrado(s)", content = @Content),
-            @ApiResponse(responseCode = "422", description = "Stock insuficiente para procesar el pedido", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Los productos del pedido se modificaron repetidamente durante la reserva", content = @Content),
+            @ApiResponse(responseCode = "422", description = "Stock insuficiente para procesar el pedido", content = @Content(mediaType = "application/json", schema = @Schema(implementation = LineaReservaDTO.class))),
             @ApiResponse(responseCode = "500", description = "Error interno al procesar la solicitud", content = @Content)
     })
-    public ResponseEntity<PedidoDTO> procesarPedido(
+    public ResponseEntity<?> procesarPedido(
             @Parameter(description = "Datos del pedido a procesar", required = true) @RequestBody PedidoDTO pedidoDTO) {
         log.info("Recibido pedido para procesar: {}", pedidoDTO);
         if (pedidoDTO == null || pedidoDTO.getCarrito() == null || pedidoDTO.getCarrito().getProductos() == null
@@ -211,34 +275,62 @@ public class AmazonCoreController {
             return ResponseEntity.badRequest().build();
         }
 
-        try { // Verificar disponibilidad de productos locales
-            boolean todosDisponiblesLocalmente = true;
-            for (ProductoCantidadDTO item : pedidoDTO.getCarrito().getProductos()) {
-                try {
-                    boolean disponible = integracionService.verificarStockProducto(item.getIdProducto(),
-                            item.getCantidad());
-                    if (!disponible) {
-                        todosDisponiblesLocalmente = false;
-                        break;
-                    }
-                } catch (Exception e) {
-                    todosDisponiblesLocalmente = false;
-                    break;
-                }
-            }
+        try { // Verificar disponibilidad de productos locales con una sola consulta
+            List<LineaReservaDTO> disponibilidad = integracionService.verificarDisponibilidadLocal(pedidoDTO);
+            boolean todosDisponiblesLocalmente = disponibilidad.stream().allMatch(LineaReservaDTO::isReservado);
 
             if (todosDisponiblesLocalmente) {
                 log.info("Todos los productos disponibles localmente, procesando pedido internamente");
                 PedidoDTO pedidoProcesado = integracionService.procesarPedido(pedidoDTO);
                 return ResponseEntity.ok(pedidoProcesado);
             } else {
-                log.info("No todos los productos están disponibles localmente, enviando pedido a Amazon Core");
-                PedidoDTO pedidoExterno = amazonCoreClient.enviarCompra(pedidoDTO);
-                return ResponseEntity.ok(pedidoExterno);
+                log.info("No todos los productos están disponibles localmente, pedido aceptado para Amazon Core");
+                EstadoSincronizacionDTO estado = outboxPedidoService.registrar(pedidoDTO);
+                pedidoDTO.setIdPedido(null);
+                pedidoDTO.setEstado(estado.getEstado());
+                return ResponseEntity.accepted()
+                        .location(URI.create("/integracion/compra/" + estado.getIdSincronizacion()))
+                        .body(pedidoDTO);
             }
+        } catch (StockInsuficienteException e) {
+            // Otro pedido consumió el stock entre la verificación y la reserva
+            log.warn("Stock insuficiente al reservar el pedido: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(e.getLineasRechazadas());
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Conflicto de stock persistente al reservar el pedido: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Los productos del pedido se están modificando, intente nuevamente");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             log.error("Error al procesar pedido: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * Consulta el estado de envío a Amazon Core de un pedido aceptado de forma
+     * asíncrona.
+     * 
+     * @param idSincronizacion ID de seguimiento devuelto en la cabecera Location
+     * @return Estado del envío, o estado HTTP 404 Not Found si no existe
+     */
+    @GetMapping("/compra/{idSincronizacion}")
+    @Operation(summary = "Consultar estado de envío de un pedido", description = "Devuelve el estado de sincronización con Amazon Core de un pedido aceptado de forma asíncrona, incluido el ID remoto cuando ya fue asignado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado del envío encontrado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstadoSincronizacionDTO.class))),
+            @ApiResponse(responseCode = "404", description = "ID de seguimiento no encontrado", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Error interno al procesar la solicitud", content = @Content)
+    })
+    public ResponseEntity<EstadoSincronizacionDTO> obtenerEstadoCompra(
+            @Parameter(description = "ID de seguimiento del pedido", required = true) @PathVariable("idSincronizacion") Long idSincronizacion) {
+        try {
+            return outboxPedidoService.obtenerEstado(idSincronizacion)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            log.error("Error al consultar estado del pedido {}: {}", idSincronizacion, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
@@ -0,0 +1,26 @@
+package ec.puce.motoshop.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el catálogo combinado de productos locales y de Amazon Core
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogoDTO {
+
+    private List<ProductoDTO> productos;
+
+    /**
+     * true si Amazon Core no respondió dentro del plazo y el catálogo contiene
+     * solo los productos locales.
+     */
+    private boolean parcial;
+}
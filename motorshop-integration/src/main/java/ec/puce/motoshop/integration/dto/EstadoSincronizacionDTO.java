@@ -0,0 +1,35 @@
+package ec.puce.motoshop.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con el estado de envío a Amazon Core de un pedido aceptado de forma
+ * asíncrona
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadoSincronizacionDTO {
+
+    private Long idSincronizacion;
+
+    private String estado;
+
+    private Long idPedidoRemoto;
+
+    private int intentos;
+
+    private LocalDateTime proximoIntento;
+
+    private String ultimoError;
+
+    private LocalDateTime fechaCreacion;
+
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,31 @@
+package ec.puce.motoshop.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con la disponibilidad de stock de todos los productos de un carrito
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockCarritoDTO {
+
+    private List<StockLineaDTO> lineas;
+
+    /**
+     * true si todas las líneas tienen stock disponible.
+     */
+    private boolean disponible;
+
+    /**
+     * true si Amazon Core no respondió a tiempo o falló para alguna línea,
+     * que se informa como no disponible con el motivo en su mensaje.
+     */
+    private boolean parcial;
+}
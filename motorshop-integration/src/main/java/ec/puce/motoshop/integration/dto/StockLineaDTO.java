@@ -0,0 +1,35 @@
+package ec.puce.motoshop.integration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con la disponibilidad de stock de un producto del carrito.
+ * Si el producto aparece varias veces en el carrito, la cantidad es la suma
+ * de todas sus líneas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLineaDTO {
+
+    /**
+     * Origen del stock que atiende la línea.
+     */
+    public enum Origen {
+        LOCAL, AMAZON_CORE, NINGUNO
+    }
+
+    private Long idProducto;
+
+    private Integer cantidad;
+
+    private boolean disponible;
+
+    private Origen origen;
+
+    private String mensaje;
+}
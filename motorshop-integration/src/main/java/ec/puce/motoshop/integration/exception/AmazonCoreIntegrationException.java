@@ -7,6 +7,8 @@ public class AmazonCoreIntegrationException extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
 
+    private final boolean reintentable;
+
     /**
      * Constructor con mensaje de error.
      *
@@ -14,6 +16,7 @@ public class AmazonCoreIntegrationException extends RuntimeException {
      */
     public AmazonCoreIntegrationException(String message) {
         super(message);
+        this.reintentable = false;
     }
 
     /**
@@ -23,6 +26,28 @@ public class AmazonCoreIntegrationException extends RuntimeException {
      * @param cause   Causa original de la excepción
      */
     public AmazonCoreIntegrationException(String message, Throwable cause) {
+        this(message, cause, false);
+    }
+
+    /**
+     * Constructor con mensaje, causa e indicación de si el error es temporal.
+     *
+     * @param message      Mensaje de error
+     * @param cause        Causa original de la excepción
+     * @param reintentable true si la operación puede reintentarse más tarde
+     *                     (errores de conexión, 5xx, 429)
+     */
+    public AmazonCoreIntegrationException(String message, Throwable cause, boolean reintentable) {
         super(message, cause);
+        this.reintentable = reintentable;
+    }
+
+    /**
+     * Indica si el error es temporal y la operación puede reintentarse.
+     *
+     * @return true si la operación puede reintentarse
+     */
+    public boolean isReintentable() {
+        return reintentable;
     }
 }
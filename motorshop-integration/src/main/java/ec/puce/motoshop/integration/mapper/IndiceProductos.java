@@ -0,0 +1,111 @@
+package ec.puce.motoshop.integration.mapper;
+
+import java.util.List;
+
+import ec.puce.motoshop.domain.Producto;
+
+/**
+ * Índice de productos por ID para las líneas de un pedido. Es una tabla hash
+ * de direccionamiento abierto con claves int primitivas y sondeo lineal: se
+ * construye una vez por pedido y cada búsqueda cuesta O(1) sin crear objetos
+ * Integer ni recorrer la lista de productos.
+ * Para carritos de pocas líneas construir la tabla cuesta más que recorrer la
+ * lista, así que en ese caso se busca directamente en ella.
+ */
+final class IndiceProductos {
+
+    /**
+     * Número de búsquedas a partir del cual compensa construir la tabla.
+     */
+    static final int MINIMO_BUSQUEDAS_TABLA = 8;
+
+    private final List<Producto> lista;
+    private final int[] claves;
+    private final Producto[] productos;
+    private final int mascara;
+
+    private IndiceProductos(List<Producto> lista, int[] claves, Producto[] productos) {
+        this.lista = lista;
+        this.claves = claves;
+        this.productos = productos;
+        this.mascara = claves != null ? claves.length - 1 : 0;
+    }
+
+    /**
+     * Construye el índice. Los productos sin ID se omiten y, si un ID se
+     * repite, se conserva el primero, como hacía la búsqueda lineal.
+     *
+     * @param lista     Productos del pedido; puede ser null.
+     * @param busquedas Número de búsquedas que se harán, normalmente las
+     *                  líneas del carrito.
+     * @return El índice.
+     */
+    static IndiceProductos de(List<Producto> lista, int busquedas) {
+        if (lista == null || lista.isEmpty()) {
+            return new IndiceProductos(List.of(), null, null);
+        }
+        if (busquedas < MINIMO_BUSQUEDAS_TABLA) {
+            return new IndiceProductos(lista, null, null);
+        }
+        // Capacidad potencia de dos con ocupación máxima del 50 %
+        int capacidad = Integer.highestOneBit(lista.size() * 2 - 1) << 1;
+        IndiceProductos indice = new IndiceProductos(null, new int[capacidad], new Producto[capacidad]);
+        for (Producto producto : lista) {
+            if (producto != null && producto.getId() != null) {
+                indice.agregar(producto.getId(), producto);
+            }
+        }
+        return indice;
+    }
+
+    private void agregar(int id, Producto producto) {
+        int i = posicion(id);
+        while (productos[i] != null) {
+            if (claves[i] == id) {
+                return;
+            }
+            i = (i + 1) & mascara;
+        }
+        claves[i] = id;
+        productos[i] = producto;
+    }
+
+    /**
+     * Busca un producto por el ID recibido de Amazon Core.
+     *
+     * @param id ID del producto; puede ser null.
+     * @return El producto, o null si no está en el índice o el ID no cabe en
+     *         un int.
+     */
+    Producto buscar(Long id) {
+        if (id == null || id != id.intValue()) {
+            return null;
+        }
+        int clave = id.intValue();
+        if (claves == null) {
+            for (Producto producto : lista) {
+                if (producto != null && producto.getId() != null && producto.getId() == clave) {
+                    return producto;
+                }
+            }
+            return null;
+        }
+        int i = posicion(clave);
+        Producto producto;
+        while ((producto = productos[i]) != null) {
+            if (claves[i] == clave) {
+                return producto;
+            }
+            i = (i + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Posición inicial de una clave: los IDs consecutivos se dispersan con la
+     * constante de Fibonacci para no formar racimos en el sondeo lineal.
+     */
+    private int posicion(int clave) {
+        return ((clave * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(mascara)) & mascara;
+    }
+}
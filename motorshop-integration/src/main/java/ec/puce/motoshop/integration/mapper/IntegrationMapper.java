@@ -65,32 +65,18 @@ public class IntegrationMapper {
             return null;
         }
 
-        Pedido pedido = new Pedido();
-        pedido.setCliente(toClienteEntity(pedidoDTO.getCliente()));
-        // Crear una dirección por defecto si no existe
-        Direccion direccion = new Direccion();
-        direccion.setCalle("Dirección de envío por defecto");
-        direccion.setCiudad("Ciudad");
-        direccion.setProvincia("Provincia");
-        direccion.setCodigoPostal("000000");
-        direccion.setCliente(pedido.getCliente());
-        pedido.setDireccion(direccion);
-
-        pedido.setFechaPedido(LocalDateTime.now());
-        pedido.setEstado("PENDIENTE");
+        Pedido pedido = crearPedido(pedidoDTO);
 
         // Calcular el total
         BigDecimal total = BigDecimal.ZERO;
 
         if (pedidoDTO.getCarrito() != null && pedidoDTO.getCarrito().getProductos() != null) {
+            IndiceProductos indice = IndiceProductos.de(productos, pedidoDTO.getCarrito().getProductos().size());
             for (ProductoCantidadDTO item : pedidoDTO.getCarrito().getProductos()) {
-                // Buscar el producto correspondiente
-                Producto producto = findProductoById(productos, item.getIdProducto());
+                Producto producto = indice.buscar(item.getIdProducto());
 
                 if (producto != null) {
-                    // Acumular al total
-                    BigDecimal subtotal = producto.getPrecio().multiply(new BigDecimal(item.getCantidad()));
-                    total = total.add(subtotal);
+                    total = total.add(subtotal(producto, item));
                 }
             }
         }
@@ -101,24 +87,72 @@ public class IntegrationMapper {
     }
 
     /**
-     * Encuentra un producto por su ID en una lista de productos
+     * Convierte un DTO de pedido de Amazon Core a un pedido de MotoShop con sus
+     * detalles, calculando el total y las líneas en un solo recorrido del
+     * carrito.
      * 
-     * @param productos Lista de productos
-     * @param id        ID del producto a buscar
-     * @return El producto encontrado o null si no existe
+     * @param pedidoDTO DTO de pedido de Amazon Core
+     * @param productos Productos del pedido para establecer referencias
+     * @return El pedido y sus detalles, o null si el DTO es null
      */
-    private Producto findProductoById(List<Producto> productos, Long id) {
-        if (productos == null || id == null) {
+    public PedidoMapeado toPedidoConDetalles(PedidoDTO pedidoDTO, List<Producto> productos) {
+        if (pedidoDTO == null) {
             return null;
         }
 
-        // Convertir Long a Integer para compatibilidad con el dominio
-        Integer productoId = id.intValue();
+        Pedido pedido = crearPedido(pedidoDTO);
+        List<DetallePedido> detalles = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+
+        CarritoDTO carrito = pedidoDTO.getCarrito();
+        if (carrito != null && carrito.getProductos() != null) {
+            IndiceProductos indice = IndiceProductos.de(productos, carrito.getProductos().size());
+            for (ProductoCantidadDTO item : carrito.getProductos()) {
+                Producto producto = indice.buscar(item.getIdProducto());
+
+                if (producto != null) {
+                    total = total.add(subtotal(producto, item));
+                    detalles.add(crearDetalle(pedido, producto, item));
+                }
+            }
+        }
+
+        pedido.setTotal(total);
+
+        return new PedidoMapeado(pedido, detalles);
+    }
+
+    /**
+     * Crea el pedido con su cliente y la dirección por defecto, sin total
+     */
+    private Pedido crearPedido(PedidoDTO pedidoDTO) {
+        Pedido pedido = new Pedido();
+        pedido.setCliente(toClienteEntity(pedidoDTO.getCliente()));
+        // Crear una dirección por defecto si no existe
+        Direccion direccion = new Direccion();
+        direccion.setCalle("Dirección de envío por defecto");
+        direccion.setCiudad("Ciudad");
+        direccion.setProvincia("Provincia");
+        direccion.setCodigoPostal("000000");
+        direccion.setCliente(pedido.getCliente());
+        pedido.setDireccion(direccion);
+
+        pedido.setFechaPedido(LocalDateTime.now());
+        pedido.setEstado("PENDIENTE");
+        return pedido;
+    }
+
+    private BigDecimal subtotal(Producto producto, ProductoCantidadDTO item) {
+        return producto.getPrecio().multiply(BigDecimal.valueOf(item.getCantidad()));
+    }
 
-        return productos.stream()
-                .filter(p -> productoId.equals(p.getId()))
-                .findFirst()
-                .orElse(null);
+    private DetallePedido crearDetalle(Pedido pedido, Producto producto, ProductoCantidadDTO item) {
+        DetallePedido detalle = new DetallePedido();
+        detalle.setPedido(pedido);
+        detalle.setProducto(producto);
+        detalle.setCantidad(item.getCantidad());
+        detalle.setPrecioUnitario(producto.getPrecio());
+        return detalle;
     }
 
     /**
@@ -239,17 +273,12 @@ public class IntegrationMapper {
         List<DetallePedido> detalles = new ArrayList<>();
 
         if (pedido != null && carritoDTO != null && carritoDTO.getProductos() != null) {
+            IndiceProductos indice = IndiceProductos.de(productos, carritoDTO.getProductos().size());
             for (ProductoCantidadDTO item : carritoDTO.getProductos()) {
-                // Buscar el producto correspondiente
-                Producto producto = findProductoById(productos, item.getIdProducto());
+                Producto producto = indice.buscar(item.getIdProducto());
 
                 if (producto != null) {
-                    DetallePedido detalle = new DetallePedido();
-                    detalle.setPedido(pedido);
-                    detalle.setProducto(producto);
-                    detalle.setCantidad(item.getCantidad());
-                    detalle.setPrecioUnitario(producto.getPrecio());
-                    detalles.add(detalle);
+                    detalles.add(crearDetalle(pedido, producto, item));
                 }
             }
         }
@@ -0,0 +1,16 @@
+package ec.puce.motoshop.integration.mapper;
+
+import java.util.List;
+
+import ec.puce.motoshop.domain.DetallePedido;
+import ec.puce.motoshop.domain.Pedido;
+
+/**
+ * Pedido convertido desde Amazon Core junto con sus líneas de detalle. Los
+ * detalles apuntan al pedido, que aún no se ha guardado.
+ *
+ * @param pedido   Pedido con el total calculado.
+ * @param detalles Detalles de las líneas cuyo producto se encontró.
+ */
+public record PedidoMapeado(Pedido pedido, List<DetallePedido> detalles) {
+}
@@ -0,0 +1,94 @@
+package ec.puce.motoshop.integration.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import ec.puce.motoshop.integration.client.AmazonCoreClient;
+import ec.puce.motoshop.integration.config.AmazonCoreProperties;
+import ec.puce.motoshop.integration.dto.CatalogoDTO;
+import ec.puce.motoshop.integration.dto.ProductoDTO;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio que arma el catálogo combinado de productos locales y de Amazon
+ * Core. Ambas fuentes se consultan al mismo tiempo, por lo que la latencia es
+ * la de la fuente más lenta y no la suma de ambas, y Amazon Core tiene un plazo
+ * máximo para responder.
+ */
+@Service
+@Slf4j
+public class CatalogoIntegradoService {
+
+    private final IntegracionService integracionService;
+    private final AmazonCoreClient amazonCoreClient;
+    private final TaskExecutor amazonCoreExecutor;
+    private final AmazonCoreProperties properties;
+
+    public CatalogoIntegradoService(IntegracionService integracionService, AmazonCoreClient amazonCoreClient,
+            @Qualifier("amazonCoreExecutor") TaskExecutor amazonCoreExecutor, AmazonCoreProperties properties) {
+        this.integracionService = integracionService;
+        this.amazonCoreClient = amazonCoreClient;
+        this.amazonCoreExecutor = amazonCoreExecutor;
+        this.properties = properties;
+    }
+
+    /**
+     * Obtiene los productos locales y los de Amazon Core.
+     * Los productos locales siempre se incluyen; los de Amazon Core solo si
+     * llegan dentro de amazon-core.concurrencia.plazo-catalogo.
+     * 
+     * @return Catálogo combinado, marcado como parcial si faltan los productos
+     *         de Amazon Core porque no respondió a tiempo, falló o tiene el
+     *         circuito abierto
+     */
+    public CatalogoDTO obtenerCatalogo() {
+        long limite = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(properties.getConcurrencia().getPlazoCatalogo());
+
+        CompletableFuture<List<ProductoDTO>> productosAmazon;
+        try {
+            // obtenerProductos propaga los errores: una lista vacía por un fallo
+            // de Amazon Core no debe pasar por un catálogo completo
+            productosAmazon = CompletableFuture.supplyAsync(amazonCoreClient::obtenerProductos, amazonCoreExecutor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Ejecutor de Amazon Core saturado, se devuelven solo productos locales");
+            productosAmazon = null;
+        }
+
+        // Los productos locales se consultan en el hilo de la petición mientras
+        // Amazon Core responde en el ejecutor
+        List<ProductoDTO> productosLocales = integracionService.obtenerTodosLosProductos();
+        log.info("Se obtuvieron {} productos locales", productosLocales.size());
+
+        List<ProductoDTO> todosLosProductos = new ArrayList<>(productosLocales);
+        if (productosAmazon == null) {
+            return new CatalogoDTO(todosLosProductos, true);
+        }
+
+        try {
+            long restante = Math.max(0, limite - System.nanoTime());
+            List<ProductoDTO> remotos = productosAmazon.get(restante, TimeUnit.NANOSECONDS);
+            log.info("Se obtuvieron {} productos de Amazon Core", remotos.size());
+            todosLosProductos.addAll(remotos);
+            return new CatalogoDTO(todosLosProductos, false);
+        } catch (TimeoutException e) {
+            log.warn("Amazon Core no respondió dentro del plazo, se devuelven solo productos locales");
+            productosAmazon.cancel(true);
+        } catch (ExecutionException e) {
+            log.warn("Error al obtener productos de Amazon Core, se devuelven solo productos locales: {}",
+                    e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new CatalogoDTO(todosLosProductos, true);
+    }
+}
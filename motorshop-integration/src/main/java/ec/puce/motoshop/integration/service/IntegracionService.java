@@ -1,28 +1,41 @@
 package ec.puce.motoshop.integration.service;
 
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import ec.puce.motoshop.domain.Producto;
 import ec.puce.motoshop.domain.Pedido;
 import ec.puce.motoshop.domain.DetallePedido;
 import ec.puce.motoshop.domain.Cliente;
 import ec.puce.motoshop.domain.Direccion;
+import ec.puce.motoshop.domain.Usuario;
 import ec.puce.motoshop.repository.ProductoRepository;
 import ec.puce.motoshop.repository.PedidoRepository;
 import ec.puce.motoshop.repository.DetallePedidoRepository;
 import ec.puce.motoshop.repository.ClienteRepository;
 import ec.puce.motoshop.repository.DireccionRepository;
+import ec.puce.motoshop.repository.UsuarioRepository;
+import ec.puce.motoshop.dto.LineaReservaDTO;
+import ec.puce.motoshop.exception.StockInsuficienteException;
+import ec.puce.motoshop.service.IProductoService;
+import ec.puce.motoshop.service.IReservaStockService;
 import ec.puce.motoshop.integration.client.AmazonCoreClient;
+import ec.puce.motoshop.integration.dto.CarritoDTO;
 import ec.puce.motoshop.integration.dto.PedidoDTO;
 import ec.puce.motoshop.integration.dto.ProductoDTO;
 import ec.puce.motoshop.integration.dto.ProductoCantidadDTO;
 import ec.puce.motoshop.integration.mapper.IntegrationMapper;
+import ec.puce.motoshop.integration.mapper.PedidoMapeado;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -38,27 +51,51 @@ public class IntegracionService { // Repositories
     private final PedidoRepository pedidoRepository;
     private final DetallePedidoRepository detallePedidoRepository;
     private final ClienteRepository clienteRepository;
+    private final UsuarioRepository usuarioRepository;
     private final DireccionRepository direccionRepository;
 
+    private final IProductoService productoService;
+    private final IReservaStockService reservaStockService;
     private final IntegrationMapper mapper;
     @SuppressWarnings("unused")
     private final AmazonCoreClient amazonCoreClient;
 
+    // Cada intento de registrar un pedido corre en su propia transacción, para
+    // poder repetirla completa si el stock cambió antes del commit
+    private final TransactionTemplate transactionTemplate;
+    private final RetryTemplate reintentosReserva;
+
     public IntegracionService(
             ProductoRepository productoRepository,
             PedidoRepository pedidoRepository,
             DetallePedidoRepository detallePedidoRepository,
             ClienteRepository clienteRepository,
+            UsuarioRepository usuarioRepository,
             DireccionRepository direccionRepository,
+            IProductoService productoService,
+            IReservaStockService reservaStockService,
             IntegrationMapper mapper,
-            AmazonCoreClient amazonCoreClient) {
+            AmazonCoreClient amazonCoreClient,
+            PlatformTransactionManager transactionManager,
+            @Value("${motoshop.checkout.max-intentos:3}") int maxIntentosReserva) {
         this.productoRepository = productoRepository;
         this.pedidoRepository = pedidoRepository;
         this.detallePedidoRepository = detallePedidoRepository;
         this.clienteRepository = clienteRepository;
+        this.usuarioRepository = usuarioRepository;
         this.direccionRepository = direccionRepository;
+        this.productoService = productoService;
+        this.reservaStockService = reservaStockService;
         this.mapper = mapper;
         this.amazonCoreClient = amazonCoreClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Espera aleatoria entre intentos para que los pedidos en conflicto no
+        // vuelvan a chocar al mismo tiempo
+        this.reintentosReserva = RetryTemplate.builder()
+                .maxAttempts(maxIntentosReserva)
+                .retryOn(OptimisticLockingFailureException.class)
+                .uniformRandomBackoff(20, 100)
+                .build();
     }
 
     /**
@@ -68,7 +105,7 @@ public class IntegracionService { // Repositories
      */
     public List<ProductoDTO> obtenerTodosLosProductos() {
         log.info("Obteniendo todos los productos para integración con Amazon Core");
-        List<Producto> productos = productoRepository.findAll();
+        List<Producto> productos = productoService.listarTodos();
 
         return productos.stream()
                 .map(this::convertirAProductoDTO)
@@ -84,8 +121,8 @@ public class IntegracionService { // Repositories
      */
     public ProductoDTO obtenerProductoPorId(Long idProducto) {
         log.info("Buscando producto con ID {} para integración", idProducto);
-        // Convertir Long a Integer para el repositorio
-        return productoRepository.findById(idProducto.intValue())
+        // Convertir Long a Integer para el servicio
+        return productoService.obtenerPorId(idProducto.intValue())
                 .map(this::convertirAProductoDTO)
                 .orElseThrow(() -> new RuntimeException("Producto no encontrado con ID: " + idProducto));
     }
@@ -106,25 +143,72 @@ public class IntegracionService { // Repositories
         return producto.getStock() >= cantidad;
     }
 
+    /**
+     * Verifica, sin reservar, la disponibilidad local de todos los productos de
+     * un pedido con una sola consulta.
+     * 
+     * @param pedidoDTO DTO con los datos del pedido
+     * @return Resultado de la verificación por producto
+     */
+    public List<LineaReservaDTO> verificarDisponibilidadLocal(PedidoDTO pedidoDTO) {
+        return verificarDisponibilidadLocal(pedidoDTO != null ? pedidoDTO.getCarrito() : null);
+    }
+
+    /**
+     * Verifica, sin reservar, la disponibilidad local de todos los productos de
+     * un carrito con una sola consulta.
+     * 
+     * @param carritoDTO DTO con los productos del carrito
+     * @return Resultado de la verificación por producto
+     */
+    public List<LineaReservaDTO> verificarDisponibilidadLocal(CarritoDTO carritoDTO) {
+        log.info("Verificando disponibilidad local de los productos del carrito");
+        return reservaStockService.verificar(agruparCantidades(carritoDTO));
+    }
+
     /**
      * Procesa un pedido proveniente de Amazon Core.
+     * El stock de todas las líneas se reserva de forma atómica antes de
+     * registrar el pedido. Si otro pedido modifica alguno de los productos
+     * antes del commit, la transacción se repite desde el principio, hasta
+     * motoshop.checkout.max-intentos veces.
      * 
      * @param pedidoDTO Datos del pedido a procesar
      * @return Pedido procesado con ID asignado
+     * @throws StockInsuficienteException        si algún producto no tiene
+     *                                           stock suficiente; el pedido no
+     *                                           se registra
+     * @throws OptimisticLockingFailureException si el conflicto persiste tras
+     *                                           todos los intentos
      */
-    @Transactional
     public PedidoDTO procesarPedido(PedidoDTO pedidoDTO) {
         log.info("Procesando pedido de integración con Amazon Core");
-
-        try {
-            // Verificar que hay suficiente stock para todos los productos
-            if (!verificarStockDisponible(pedidoDTO)) {
-                throw new RuntimeException("No hay suficiente stock para procesar este pedido");
+        return reintentosReserva.execute(contexto -> {
+            if (contexto.getRetryCount() > 0) {
+                log.info("Stock modificado por otro pedido, reintento {} de registro del pedido",
+                        contexto.getRetryCount());
             }
+            return transactionTemplate.execute(estado -> registrarPedido(pedidoDTO));
+        });
+    }
 
-            List<Producto> productos = obtenerProductosPedido(pedidoDTO);
+    /**
+     * Reserva el stock y registra el pedido dentro de la transacción actual.
+     * 
+     * @param pedidoDTO Datos del pedido a procesar
+     * @return Pedido procesado con ID asignado
+     */
+    private PedidoDTO registrarPedido(PedidoDTO pedidoDTO) {
+        try {
+            // Validar y descontar el stock de todas las líneas sin bloquearlas:
+            // la versión de cada producto se comprueba al hacer commit, y si
+            // otro pedido lo cambió procesarPedido repite la transacción
+            List<Producto> productos = reservaStockService.reservar(
+                    agruparCantidades(pedidoDTO != null ? pedidoDTO.getCarrito() : null));
 
-            Pedido pedido = mapper.toPedidoEntity(pedidoDTO, productos);
+            // Total y detalles se calculan en un solo recorrido del carrito
+            PedidoMapeado mapeado = mapper.toPedidoConDetalles(pedidoDTO, productos);
+            Pedido pedido = mapeado.pedido();
             Cliente cliente = pedido.getCliente();
             if (cliente.getId() == null) {
                 // Verificar si existe un cliente con la misma cédula
@@ -137,6 +221,12 @@ public class IntegracionService { // Repositories
                         cliente = clienteExistente.get();
                         pedido.setCliente(cliente);
                     } else {
+                        // El cliente no propaga el guardado a su usuario: se
+                        // registra antes, o se usa el existente si la cédula
+                        // ya tiene usuario sin cliente
+                        Usuario usuario = cliente.getUsuario();
+                        cliente.setUsuario(usuarioRepository.findById(cedula)
+                                .orElseGet(() -> usuarioRepository.save(usuario)));
                         // Guardar el nuevo cliente
                         cliente = clienteRepository.save(cliente);
                         pedido.setCliente(cliente);
@@ -162,20 +252,22 @@ public class IntegracionService { // Repositories
 
             pedido = pedidoRepository.save(pedido);
 
-            List<DetallePedido> detalles = mapper.createDetallesPedido(pedido, pedidoDTO.getCarrito(), productos);
-
+            List<DetallePedido> detalles = mapeado.detalles();
             for (DetallePedido detalle : detalles) {
-                detallePedidoRepository.save(detalle);
-
-                Producto producto = detalle.getProducto();
-                producto.setStock(producto.getStock() - detalle.getCantidad());
-                productoRepository.save(producto);
+                detalle.setPedido(pedido);
             }
+            detallePedidoRepository.saveAll(detalles);
 
             PedidoDTO respuesta = mapper.toPedidoDTO(pedido, detalles);
             respuesta.setEstado("PROCESADO");
 
             return respuesta;
+        } catch (StockInsuficienteException e) {
+            log.warn("Pedido rechazado: {}", e.getMessage());
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            // Se propaga sin envolver para que procesarPedido lo reintente
+            throw e;
         } catch (Exception e) {
             log.error("Error al procesar pedido: {}", e.getMessage(), e);
             throw new RuntimeException("Error al procesar el pedido: " + e.getMessage(), e);
@@ -183,43 +275,26 @@ public class IntegracionService { // Repositories
     }
 
     /**
-     * Verifica si hay suficiente stock para todos los productos en el pedido.
+     * Agrupa las líneas del carrito por producto, sumando las cantidades de
+     * los productos repetidos.
      * 
-     * @param pedidoDTO DTO con los datos del pedido
-     * @return true si hay suficiente stock, false en caso contrario
+     * @param carritoDTO DTO con los productos del carrito
+     * @return Cantidad total solicitada por ID de producto
+     * @throws IllegalArgumentException si el carrito no tiene productos
      */
-    private boolean verificarStockDisponible(PedidoDTO pedidoDTO) {
-        if (pedidoDTO == null || pedidoDTO.getCarrito() == null || pedidoDTO.getCarrito().getProductos() == null) {
-            return false;
+    private Map<Integer, Integer> agruparCantidades(CarritoDTO carritoDTO) {
+        if (carritoDTO == null || carritoDTO.getProductos() == null) {
+            throw new IllegalArgumentException("El pedido no contiene productos");
         }
 
-        for (ProductoCantidadDTO item : pedidoDTO.getCarrito().getProductos()) {
-            if (!verificarStockProducto(item.getIdProducto(), item.getCantidad())) {
-                log.warn("Stock insuficiente para el producto ID: {} (cantidad solicitada: {})",
-                        item.getIdProducto(), item.getCantidad());
-                return false;
+        Map<Integer, Integer> cantidades = new LinkedHashMap<>();
+        for (ProductoCantidadDTO item : carritoDTO.getProductos()) {
+            if (item.getIdProducto() == null || item.getCantidad() == null) {
+                throw new IllegalArgumentException("Cada línea del pedido debe indicar producto y cantidad");
             }
+            cantidades.merge(item.getIdProducto().intValue(), item.getCantidad(), Integer::sum);
         }
-
-        return true;
-    }
-
-    /**
-     * Obtiene todos los productos involucrados en un pedido.
-     * 
-     * @param pedidoDTO DTO con los datos del pedido
-     * @return Lista de productos completos
-     */
-    private List<Producto> obtenerProductosPedido(PedidoDTO pedidoDTO) {
-        if (pedidoDTO == null || pedidoDTO.getCarrito() == null || pedidoDTO.getCarrito().getProductos() == null) {
-            return new ArrayList<>();
-        }
-
-        List<Integer> productosIds = pedidoDTO.getCarrito().getProductos().stream()
-                .map(item -> item.getIdProducto().intValue())
-                .collect(Collectors.toList());
-
-        return productoRepository.findAllById(productosIds);
+        return cantidades;
     }
 
     /**
@@ -0,0 +1,95 @@
+package ec.puce.motoshop.integration.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import ec.puce.motoshop.domain.OutboxPedido;
+import ec.puce.motoshop.integration.client.AmazonCoreClient;
+import ec.puce.motoshop.integration.config.AmazonCoreProperties;
+import ec.puce.motoshop.integration.dto.PedidoDTO;
+import ec.puce.motoshop.integration.exception.AmazonCoreIntegrationException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Proceso en segundo plano que envía a Amazon Core los pedidos registrados en
+ * el outbox. En cada ejecución reserva un lote, envía cada pedido una sola vez
+ * y guarda su resultado en cuanto termina el envío; los fallos temporales se
+ * reprograman con backoff exponencial.
+ */
+@Component
+@Slf4j
+public class OutboxPedidoDispatcher {
+
+    private final OutboxPedidoService outboxPedidoService;
+    private final AmazonCoreClient amazonCoreClient;
+    private final AmazonCoreProperties properties;
+
+    public OutboxPedidoDispatcher(OutboxPedidoService outboxPedidoService, AmazonCoreClient amazonCoreClient,
+            AmazonCoreProperties properties) {
+        this.outboxPedidoService = outboxPedidoService;
+        this.amazonCoreClient = amazonCoreClient;
+        this.properties = properties;
+    }
+
+    /**
+     * Despacha los pedidos pendientes. Mientras los lotes salgan completos se
+     * sigue con el siguiente, para vaciar rápidamente una cola acumulada.
+     */
+    @Scheduled(fixedDelayString = "${amazon-core.outbox.intervalo:5000}")
+    public void despachar() {
+        if (!properties.getOutbox().isHabilitado()) {
+            return;
+        }
+
+        try {
+            List<OutboxPedido> lote;
+            do {
+                lote = outboxPedidoService.reclamarLote();
+                if (!lote.isEmpty()) {
+                    enviarLote(lote);
+                }
+            } while (lote.size() >= properties.getOutbox().getTamanioLote());
+        } catch (Exception e) {
+            log.error("Error al despachar pedidos pendientes a Amazon Core: {}", e.getMessage(), e);
+        }
+    }
+
+    private void enviarLote(List<OutboxPedido> lote) {
+        log.info("Enviando lote de {} pedido(s) pendientes a Amazon Core", lote.size());
+        int enviados = 0;
+        int fallidos = 0;
+
+        for (int i = 0; i < lote.size(); i++) {
+            OutboxPedido outbox = lote.get(i);
+            // Vencida la reserva, otra instancia puede haber tomado el resto
+            // del lote; esos pedidos se envían en un próximo ciclo
+            if (!LocalDateTime.now().isBefore(outbox.getBloqueadoHasta())) {
+                log.warn("La reserva del lote venció antes de enviar el pedido {}; {} pedido(s) quedan sin enviar",
+                        outbox.getId(), lote.size() - i);
+                break;
+            }
+
+            PedidoDTO respuesta;
+            try {
+                PedidoDTO pedido = outboxPedidoService.leerPedido(outbox);
+                respuesta = amazonCoreClient.enviarCompra(pedido, "motoshop-outbox-" + outbox.getId());
+            } catch (AmazonCoreIntegrationException e) {
+                outboxPedidoService.registrarFallo(outbox.getId(), e);
+                fallidos++;
+                continue;
+            } catch (Exception e) {
+                outboxPedidoService.registrarFallo(outbox.getId(),
+                        new AmazonCoreIntegrationException(e.getMessage(), e, false));
+                fallidos++;
+                continue;
+            }
+            outboxPedidoService.registrarEnvio(outbox.getId(), respuesta.getIdPedido());
+            enviados++;
+        }
+
+        log.info("Lote enviado: {} sincronizado(s), {} con error", enviados, fallidos);
+    }
+}
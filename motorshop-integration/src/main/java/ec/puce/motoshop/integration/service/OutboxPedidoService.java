@@ -0,0 +1,215 @@
+package ec.puce.motoshop.integration.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ec.puce.motoshop.domain.OutboxPedido;
+import ec.puce.motoshop.integration.config.AmazonCoreProperties;
+import ec.puce.motoshop.integration.dto.EstadoSincronizacionDTO;
+import ec.puce.motoshop.integration.dto.PedidoDTO;
+import ec.puce.motoshop.integration.exception.AmazonCoreIntegrationException;
+import ec.puce.motoshop.repository.OutboxPedidoRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio que administra la tabla outbox de pedidos pendientes de envío a
+ * Amazon Core: registra los pedidos aceptados, reserva lotes para el
+ * despachador y guarda el resultado de cada envío.
+ */
+@Service
+@Slf4j
+public class OutboxPedidoService {
+
+    private static final int LONGITUD_MAXIMA_ERROR = 500;
+
+    private final OutboxPedidoRepository outboxPedidoRepository;
+    private final ObjectMapper objectMapper;
+    private final AmazonCoreProperties properties;
+
+    public OutboxPedidoService(OutboxPedidoRepository outboxPedidoRepository, ObjectMapper objectMapper,
+            AmazonCoreProperties properties) {
+        this.outboxPedidoRepository = outboxPedidoRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    /**
+     * Registra un pedido para enviarlo a Amazon Core en segundo plano.
+     * 
+     * @param pedidoDTO Pedido a enviar
+     * @return Estado inicial del envío, con el ID de seguimiento asignado
+     */
+    @Transactional
+    public EstadoSincronizacionDTO registrar(PedidoDTO pedidoDTO) {
+        LocalDateTime ahora = LocalDateTime.now();
+
+        OutboxPedido outbox = new OutboxPedido();
+        outbox.setPayload(serializar(pedidoDTO));
+        outbox.setEstado(OutboxPedido.ESTADO_PENDIENTE);
+        outbox.setIntentos(0);
+        outbox.setProximoIntento(ahora);
+        outbox.setFechaCreacion(ahora);
+
+        outbox = outboxPedidoRepository.save(outbox);
+        log.info("Pedido registrado para envío asíncrono a Amazon Core con ID de seguimiento {}", outbox.getId());
+        return toEstadoDTO(outbox);
+    }
+
+    /**
+     * Obtiene el estado de envío de un pedido.
+     * 
+     * @param id ID de seguimiento del pedido
+     * @return Un Optional con el estado, vacío si el ID no existe
+     */
+    @Transactional(readOnly = true)
+    public Optional<EstadoSincronizacionDTO> obtenerEstado(Long id) {
+        return outboxPedidoRepository.findById(id).map(this::toEstadoDTO);
+    }
+
+    /**
+     * Reserva un lote de pedidos listos para enviarse.
+     * Las filas se bloquean solo durante esta transacción corta; después la
+     * reserva se mantiene mediante bloqueadoHasta, así el envío HTTP no ocurre
+     * con una transacción abierta. Si la instancia cae, el lote vuelve a estar
+     * disponible al vencer el arrendamiento.
+     * 
+     * @return Pedidos reservados para esta instancia
+     */
+    @Transactional
+    public List<OutboxPedido> reclamarLote() {
+        AmazonCoreProperties.Outbox config = properties.getOutbox();
+        LocalDateTime ahora = LocalDateTime.now();
+
+        List<OutboxPedido> lote = outboxPedidoRepository.reclamarPendientes(
+                OutboxPedido.ESTADO_PENDIENTE, ahora, PageRequest.of(0, config.getTamanioLote()));
+
+        LocalDateTime bloqueadoHasta = ahora.plusNanos(config.getArrendamiento() * 1_000_000L);
+        for (OutboxPedido outbox : lote) {
+            outbox.setBloqueadoHasta(bloqueadoHasta);
+        }
+        return lote;
+    }
+
+    /**
+     * Registra el envío correcto de un pedido: queda sincronizado con el ID
+     * asignado por Amazon Core y se libera su reserva. Se llama después de
+     * cada envío, así un pedido ya enviado no depende de que el resto del lote
+     * termine dentro del arrendamiento.
+     * 
+     * @param id             ID de seguimiento del pedido
+     * @param idPedidoRemoto ID asignado por Amazon Core
+     */
+    @Transactional
+    public void registrarEnvio(Long id, Long idPedidoRemoto) {
+        outboxPedidoRepository.findById(id).ifPresent(outbox -> {
+            outbox.setEstado(OutboxPedido.ESTADO_SINCRONIZADO);
+            outbox.setIdPedidoRemoto(idPedidoRemoto);
+            outbox.setIntentos(outbox.getIntentos() + 1);
+            outbox.setBloqueadoHasta(null);
+            outbox.setUltimoError(null);
+            outbox.setFechaActualizacion(LocalDateTime.now());
+        });
+    }
+
+    /**
+     * Registra un envío fallido y libera la reserva del pedido. Si el error es
+     * temporal y quedan intentos, el pedido se reprograma con backoff
+     * exponencial; si no, queda fallido.
+     * 
+     * @param id    ID de seguimiento del pedido
+     * @param error Error del envío
+     */
+    @Transactional
+    public void registrarFallo(Long id, AmazonCoreIntegrationException error) {
+        LocalDateTime ahora = LocalDateTime.now();
+        AmazonCoreProperties.Outbox config = properties.getOutbox();
+
+        outboxPedidoRepository.findById(id).ifPresent(outbox -> {
+            int intentos = outbox.getIntentos() + 1;
+            outbox.setIntentos(intentos);
+            outbox.setBloqueadoHasta(null);
+            outbox.setUltimoError(truncar(error.getMessage()));
+            outbox.setFechaActualizacion(ahora);
+
+            if (!error.isReintentable() || intentos >= config.getMaxIntentos()) {
+                outbox.setEstado(OutboxPedido.ESTADO_FALLIDO);
+                log.error("Pedido {} marcado como fallido tras {} intento(s): {}",
+                        outbox.getId(), intentos, error.getMessage());
+            } else {
+                long espera = calcularBackoff(intentos, config);
+                outbox.setProximoIntento(ahora.plusNanos(espera * 1_000_000L));
+                log.warn("Envío del pedido {} falló (intento {}), próximo intento en {} ms: {}",
+                        outbox.getId(), intentos, espera, error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Deserializa el pedido guardado en un registro del outbox.
+     * 
+     * @param outbox Registro del outbox
+     * @return Pedido a enviar
+     */
+    public PedidoDTO leerPedido(OutboxPedido outbox) {
+        try {
+            return objectMapper.readValue(outbox.getPayload(), PedidoDTO.class);
+        } catch (JsonProcessingException e) {
+            throw new AmazonCoreIntegrationException("El pedido guardado no es un JSON válido", e, false);
+        }
+    }
+
+    /**
+     * Calcula la espera antes del siguiente intento: backoff exponencial
+     * acotado, con jitter aleatorio entre la mitad y el total de la espera para
+     * que los pedidos que fallaron juntos no se reintenten al mismo tiempo.
+     * 
+     * @param intentos Intentos realizados
+     * @param config   Configuración del outbox
+     * @return Espera en milisegundos
+     */
+    private long calcularBackoff(int intentos, AmazonCoreProperties.Outbox config) {
+        int exponente = Math.min(intentos - 1, 30);
+        long espera = Math.min(config.getBackoffMaximo(), config.getBackoffInicial() << exponente);
+        if (espera <= 0) {
+            espera = config.getBackoffMaximo();
+        }
+        return espera / 2 + ThreadLocalRandom.current().nextLong(espera / 2 + 1);
+    }
+
+    private String serializar(PedidoDTO pedidoDTO) {
+        try {
+            return objectMapper.writeValueAsString(pedidoDTO);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("No se pudo serializar el pedido", e);
+        }
+    }
+
+    private String truncar(String mensaje) {
+        if (mensaje == null || mensaje.length() <= LONGITUD_MAXIMA_ERROR) {
+            return mensaje;
+        }
+        return mensaje.substring(0, LONGITUD_MAXIMA_ERROR);
+    }
+
+    private EstadoSincronizacionDTO toEstadoDTO(OutboxPedido outbox) {
+        return EstadoSincronizacionDTO.builder()
+                .idSincronizacion(outbox.getId())
+                .estado(outbox.getEstado())
+                .idPedidoRemoto(outbox.getIdPedidoRemoto())
+                .intentos(outbox.getIntentos())
+                .proximoIntento(outbox.getProximoIntento())
+                .ultimoError(outbox.getUltimoError())
+                .fechaCreacion(outbox.getFechaCreacion())
+                .fechaActualizacion(outbox.getFechaActualizacion())
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package ec.puce.motoshop.integration.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import ec.puce.motoshop.dto.LineaReservaDTO;
+import ec.puce.motoshop.integration.client.AmazonCoreClient;
+import ec.puce.motoshop.integration.config.AmazonCoreProperties;
+import ec.puce.motoshop.integration.dto.CarritoDTO;
+import ec.puce.motoshop.integration.dto.StockCarritoDTO;
+import ec.puce.motoshop.integration.dto.StockLineaDTO;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servicio que verifica el stock de un carrito completo.
+ * El inventario local se consulta una sola vez para todos los productos, y
+ * solo los que no se pueden atender localmente se consultan en Amazon Core, en
+ * paralelo y con un plazo máximo para todo el carrito.
+ */
+@Service
+@Slf4j
+public class StockCarritoService {
+
+    private final IntegracionService integracionService;
+    private final AmazonCoreClient amazonCoreClient;
+    private final TaskExecutor amazonCoreExecutor;
+    private final AmazonCoreProperties properties;
+
+    public StockCarritoService(IntegracionService integracionService, AmazonCoreClient amazonCoreClient,
+            @Qualifier("amazonCoreExecutor") TaskExecutor amazonCoreExecutor, AmazonCoreProperties properties) {
+        this.integracionService = integracionService;
+        this.amazonCoreClient = amazonCoreClient;
+        this.amazonCoreExecutor = amazonCoreExecutor;
+        this.properties = properties;
+    }
+
+    /**
+     * Verifica la disponibilidad de stock de todos los productos de un carrito.
+     * Los productos repetidos se verifican una sola vez por la cantidad total.
+     *
+     * @param carritoDTO Carrito con los productos y cantidades
+     * @return Disponibilidad por producto, marcada como parcial si Amazon Core
+     *         no respondió a tiempo o falló para alguna línea
+     * @throws IllegalArgumentException si el carrito no tiene productos
+     */
+    public StockCarritoDTO verificarCarrito(CarritoDTO carritoDTO) {
+        long limite = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(properties.getConcurrencia().getPlazoStock());
+
+        List<LineaReservaDTO> lineasLocales = integracionService.verificarDisponibilidadLocal(carritoDTO);
+
+        // Las líneas sin stock local se consultan en Amazon Core al mismo tiempo
+        Map<LineaReservaDTO, CompletableFuture<Boolean>> consultasAmazon = new LinkedHashMap<>();
+        boolean parcial = false;
+        for (LineaReservaDTO linea : lineasLocales) {
+            if (linea.isReservado()) {
+                continue;
+            }
+            try {
+                Long idProducto = linea.getProductoId().longValue();
+                int cantidad = linea.getCantidadSolicitada();
+                // consultarDisponibilidad propaga los errores: un fallo de Amazon
+                // Core deja la línea sin verificar, no sin stock
+                consultasAmazon.put(linea, CompletableFuture.supplyAsync(
+                        () -> amazonCoreClient.consultarDisponibilidad(idProducto, cantidad), amazonCoreExecutor));
+            } catch (RejectedExecutionException e) {
+                log.warn("Ejecutor de Amazon Core saturado, producto ID {} sin verificar", linea.getProductoId());
+                parcial = true;
+            }
+        }
+        log.info("Carrito con {} productos: {} se verifican en Amazon Core",
+                lineasLocales.size(), consultasAmazon.size());
+
+        List<StockLineaDTO> lineas = new ArrayList<>(lineasLocales.size());
+        for (LineaReservaDTO linea : lineasLocales) {
+            StockLineaDTO resultado = new StockLineaDTO();
+            resultado.setIdProducto(linea.getProductoId().longValue());
+            resultado.setCantidad(linea.getCantidadSolicitada());
+
+            if (linea.isReservado()) {
+                marcar(resultado, true, StockLineaDTO.Origen.LOCAL, "Stock disponible en inventario local");
+            } else if (!consultasAmazon.containsKey(linea)) {
+                marcar(resultado, false, StockLineaDTO.Origen.NINGUNO, "No se pudo verificar en Amazon Core");
+            } else {
+                CompletableFuture<Boolean> consulta = consultasAmazon.get(linea);
+                try {
+                    long restante = Math.max(0, limite - System.nanoTime());
+                    if (Boolean.TRUE.equals(consulta.get(restante, TimeUnit.NANOSECONDS))) {
+                        marcar(resultado, true, StockLineaDTO.Origen.AMAZON_CORE, "Stock disponible en Amazon Core");
+                    } else {
+                        marcar(resultado, false, StockLineaDTO.Origen.NINGUNO, "Stock no disponible");
+                    }
+                } catch (TimeoutException e) {
+                    log.warn("Amazon Core no respondió dentro del plazo para producto ID {}", linea.getProductoId());
+                    consulta.cancel(true);
+                    parcial = true;
+                    marcar(resultado, false, StockLineaDTO.Origen.NINGUNO,
+                            "Amazon Core no respondió dentro del plazo");
+                } catch (ExecutionException e) {
+                    log.warn("Error al verificar stock en Amazon Core para producto ID {}: {}",
+                            linea.getProductoId(), e.getCause().getMessage());
+                    parcial = true;
+                    marcar(resultado, false, StockLineaDTO.Origen.NINGUNO, "No se pudo verificar en Amazon Core");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    parcial = true;
+                    marcar(resultado, false, StockLineaDTO.Origen.NINGUNO, "No se pudo verificar en Amazon Core");
+                }
+            }
+            lineas.add(resultado);
+        }
+
+        boolean disponible = lineas.stream().allMatch(StockLineaDTO::isDisponible);
+        return new StockCarritoDTO(lineas, disponible, parcial);
+    }
+
+    private void marcar(StockLineaDTO linea, boolean disponible, StockLineaDTO.Origen origen, String mensaje) {
+        linea.setDisponible(disponible);
+        linea.setOrigen(origen);
+        linea.setMensaje(mensaje);
+    }
+}
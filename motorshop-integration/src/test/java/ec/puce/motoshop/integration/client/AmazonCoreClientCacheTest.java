@@ -0,0 +1,177 @@
+package ec.puce.motoshop.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import ec.puce.motoshop.integration.config.AmazonCoreProperties;
+import ec.puce.motoshop.integration.dto.ProductoDTO;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+/**
+ * Pruebas de la caché de respuestas con un reloj simulado y los tiempos por
+ * defecto de AmazonCoreProperties. Las tareas en segundo plano de las cachés
+ * quedan en cola hasta que la prueba las ejecuta.
+ */
+public class AmazonCoreClientCacheTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+    private final Queue<Runnable> tareas = new ConcurrentLinkedQueue<>();
+
+    private RestTemplate restTemplate;
+    private AmazonCoreProperties.CacheRespuestas cache;
+    private AmazonCoreClient client;
+
+    @BeforeEach
+    public void setUp() {
+        restTemplate = mock(RestTemplate.class);
+        AmazonCoreProperties properties = new AmazonCoreProperties();
+        properties.setBaseUrl("http://amazon-core/api");
+        cache = properties.getCache();
+        client = new AmazonCoreClient(restTemplate, RetryTemplate.builder().maxAttempts(1).build(), properties,
+                CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), tareas::add, reloj::get);
+    }
+
+    @Test
+    public void testRefrescoEnSegundoPlanoEntregaElValorAnterior() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(List.of(producto(1L))))
+                .thenReturn(ResponseEntity.ok(List.of(producto(1L), producto(2L))))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertEquals(1, client.obtenerProductos().size());
+        avanzar(cache.getProductosRefresco() - 1);
+        assertEquals(1, client.obtenerProductos().size());
+        verificarConsultasDeProductos(1);
+
+        // Vencido el refresco se entrega el valor guardado y la consulta a
+        // Amazon Core queda en segundo plano
+        avanzar(2);
+        assertEquals(1, client.obtenerProductos().size());
+        verificarConsultasDeProductos(1);
+        ejecutarTareas();
+        verificarConsultasDeProductos(2);
+        assertEquals(2, client.obtenerProductos().size());
+
+        // Si la actualización falla se conserva el valor hasta que expire
+        avanzar(cache.getProductosRefresco() + 1);
+        assertEquals(2, client.obtenerProductos().size());
+        ejecutarTareas();
+        verificarConsultasDeProductos(3);
+        assertEquals(2, client.obtenerProductos().size());
+
+        avanzar(cache.getProductosExpiracion());
+        assertThrows(ResourceAccessException.class, () -> client.obtenerProductos());
+        assertTrue(client.getProductos().isEmpty());
+    }
+
+    @Test
+    public void testConsultasConcurrentesDeUnaClaveAusenteHacenUnaSolaPeticion() throws Exception {
+        int hilosConsulta = 8;
+        CountDownLatch salida = new CountDownLatch(1);
+        when(restTemplate.getForEntity(anyString(), eq(ProductoDTO.class))).thenAnswer(invocacion -> {
+            salida.await(10, TimeUnit.SECONDS);
+            return ResponseEntity.ok(producto(7L));
+        });
+
+        ExecutorService hilos = Executors.newFixedThreadPool(hilosConsulta);
+        try {
+            List<Future<ProductoDTO>> consultas = new ArrayList<>();
+            for (int i = 0; i < hilosConsulta; i++) {
+                consultas.add(hilos.submit(() -> client.getProductoById(7L)));
+            }
+            // Da tiempo a que todos los hilos esperen la misma carga
+            Thread.sleep(200);
+            salida.countDown();
+            for (Future<ProductoDTO> consulta : consultas) {
+                assertEquals(7L, consulta.get(10, TimeUnit.SECONDS).getIdProducto());
+            }
+        } finally {
+            salida.countDown();
+            hilos.shutdownNow();
+        }
+
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(ProductoDTO.class));
+    }
+
+    @Test
+    public void testProductoNoEncontradoExpiraAntesQueUnoEncontrado() {
+        when(restTemplate.getForEntity(eq("http://amazon-core/api/productos/99"), eq(ProductoDTO.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY,
+                        null, null));
+        when(restTemplate.getForEntity(eq("http://amazon-core/api/productos/1"), eq(ProductoDTO.class)))
+                .thenReturn(ResponseEntity.ok(producto(1L)));
+
+        assertNull(client.getProductoById(99L));
+        assertEquals(1L, client.getProductoById(1L).getIdProducto());
+
+        // El 404 también se guarda, y leerlo no extiende su expiración
+        avanzar(cache.getProductoNoEncontradoExpiracion() - 1);
+        assertNull(client.getProductoById(99L));
+        verificarConsultasDeProducto(99L, 1);
+
+        avanzar(2);
+        assertNull(client.getProductoById(99L));
+        assertEquals(1L, client.getProductoById(1L).getIdProducto());
+        verificarConsultasDeProducto(99L, 2);
+        verificarConsultasDeProducto(1L, 1);
+    }
+
+    private void avanzar(long milisegundos) {
+        reloj.addAndGet(Duration.ofMillis(milisegundos).toNanos());
+    }
+
+    private void ejecutarTareas() {
+        Runnable tarea;
+        while ((tarea = tareas.poll()) != null) {
+            tarea.run();
+        }
+    }
+
+    private void verificarConsultasDeProductos(int veces) {
+        verify(restTemplate, times(veces)).exchange(anyString(), eq(HttpMethod.GET), any(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    private void verificarConsultasDeProducto(Long id, int veces) {
+        verify(restTemplate, times(veces)).getForEntity(eq("http://amazon-core/api/productos/" + id),
+                eq(ProductoDTO.class));
+    }
+
+    private static ProductoDTO producto(Long id) {
+        return ProductoDTO.builder().idProducto(id).build();
+    }
+}
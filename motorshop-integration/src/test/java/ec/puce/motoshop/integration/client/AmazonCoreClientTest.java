@@ -0,0 +1,253 @@
+package ec.puce.motoshop.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import ec.puce.motoshop.integration.config.AmazonCoreProperties;
+import ec.puce.motoshop.integration.dto.CarritoDTO;
+import ec.puce.motoshop.integration.dto.ClienteDTO;
+import ec.puce.motoshop.integration.dto.PedidoDTO;
+import ec.puce.motoshop.integration.dto.ProductoDTO;
+import ec.puce.motoshop.integration.dto.StockResponseDTO;
+import ec.puce.motoshop.integration.exception.AmazonCoreIntegrationException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+/**
+ * Pruebas del circuit breaker, los bulkheads y los valores por defecto del
+ * cliente, con el RestTemplate simulado y la caché deshabilitada. La
+ * configuración de Resilience4j sigue a application.properties con ventanas y
+ * límites más pequeños.
+ */
+public class AmazonCoreClientTest {
+
+    private static final int LIMITE_COMPRAS = 2;
+
+    private RestTemplate restTemplate;
+    private CircuitBreaker circuitBreaker;
+    private AmazonCoreClient client;
+
+    @BeforeEach
+    public void setUp() {
+        restTemplate = mock(RestTemplate.class);
+
+        AmazonCoreProperties properties = new AmazonCoreProperties();
+        properties.setBaseUrl("http://amazon-core/api");
+        properties.getCache().setHabilitado(false);
+
+        // Dos intentos sin espera para errores de conexión y 5xx, como
+        // RestClientConfig
+        RetryTemplate retryTemplate = RetryTemplate.builder()
+                .maxAttempts(2)
+                .retryOn(ResourceAccessException.class)
+                .retryOn(HttpServerErrorException.class)
+                .noBackoff()
+                .build();
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .recordExceptions(ResourceAccessException.class, HttpServerErrorException.class)
+                .build());
+        circuitBreaker = circuitBreakerRegistry.circuitBreaker(AmazonCoreClient.CIRCUIT_BREAKER);
+
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(10)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        bulkheadRegistry.bulkhead(AmazonCoreClient.BULKHEAD_COMPRA, BulkheadConfig.custom()
+                .maxConcurrentCalls(LIMITE_COMPRAS)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        client = new AmazonCoreClient(restTemplate, retryTemplate, properties, circuitBreakerRegistry,
+                bulkheadRegistry, Runnable::run);
+    }
+
+    @Test
+    public void testCircuitoSeAbreConErroresDeConexionY5xx() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenThrow(new ResourceAccessException("Read timed out"))
+                .thenThrow(new HttpServerErrorException(HttpStatus.BAD_GATEWAY));
+
+        // Cada llamada hace dos intentos y los dos cuentan como fallos
+        assertTrue(client.getProductos().isEmpty());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(client.getProductos().isEmpty());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // Con el circuito abierto no se llama a Amazon Core ni se reintenta
+        assertTrue(client.getProductos().isEmpty());
+        assertThrows(CallNotPermittedException.class, () -> client.obtenerProductos());
+        verify(restTemplate, times(4)).exchange(anyString(), eq(HttpMethod.GET), any(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    public void testErroresDelClienteNoAbrenElCircuito() {
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", HttpHeaders.EMPTY,
+                        null, null));
+
+        for (int i = 0; i < 6; i++) {
+            assertTrue(client.getProductos().isEmpty());
+        }
+
+        // Un 4xx no se reintenta y no cuenta como fallo de Amazon Core
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+        verify(restTemplate, times(6)).exchange(anyString(), eq(HttpMethod.GET), any(),
+                any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    public void testBulkheadDeCompraRechazaLlamadasConcurrentes() throws Exception {
+        CountDownLatch dentro = new CountDownLatch(LIMITE_COMPRAS);
+        CountDownLatch salida = new CountDownLatch(1);
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(PedidoDTO.class)))
+                .thenAnswer(invocacion -> {
+                    dentro.countDown();
+                    salida.await(10, TimeUnit.SECONDS);
+                    return ResponseEntity.ok(PedidoDTO.builder().idPedido(501L).build());
+                });
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok(List.of(ProductoDTO.builder().idProducto(1L).build())));
+
+        ExecutorService hilos = Executors.newFixedThreadPool(LIMITE_COMPRAS);
+        try {
+            Future<PedidoDTO> primera = hilos.submit(() -> client.enviarCompra(pedido(), "clave-1"));
+            Future<PedidoDTO> segunda = hilos.submit(() -> client.enviarCompra(pedido(), "clave-2"));
+            assertTrue(dentro.await(10, TimeUnit.SECONDS));
+
+            // Sin espera en el bulkhead: la tercera compra falla de inmediato y
+            // se puede reintentar más tarde
+            AmazonCoreIntegrationException rechazo = assertThrows(AmazonCoreIntegrationException.class,
+                    () -> client.enviarCompra(pedido(), "clave-3"));
+            assertTrue(rechazo.isReintentable());
+            assertInstanceOf(BulkheadFullException.class, rechazo.getCause());
+
+            // Las consultas de productos tienen su propio bulkhead
+            assertEquals(1, client.obtenerProductos().size());
+
+            salida.countDown();
+            assertEquals(501L, primera.get(10, TimeUnit.SECONDS).getIdPedido());
+            assertEquals(501L, segunda.get(10, TimeUnit.SECONDS).getIdPedido());
+        } finally {
+            salida.countDown();
+            hilos.shutdownNow();
+        }
+
+        verify(restTemplate, times(LIMITE_COMPRAS)).postForEntity(anyString(), any(HttpEntity.class),
+                eq(PedidoDTO.class));
+        // El rechazo del bulkhead no llega al circuit breaker: solo constan
+        // las dos compras y la consulta
+        assertEquals(LIMITE_COMPRAS + 1, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    public void testCircuitoAbiertoDevuelveLosValoresPorDefecto() {
+        circuitBreaker.transitionToOpenState();
+
+        assertTrue(client.getProductos().isEmpty());
+        assertNull(client.getProductoById(1L));
+        assertFalse(client.verificarStock(1L, 2));
+        AmazonCoreIntegrationException error = assertThrows(AmazonCoreIntegrationException.class,
+                () -> client.enviarCompra(pedido(), "clave-1"));
+        assertTrue(error.isReintentable());
+        assertInstanceOf(CallNotPermittedException.class, error.getCause());
+
+        verifyNoInteractions(restTemplate);
+    }
+
+    @Test
+    public void testErroresDeConsultaDevuelvenLosValoresPorDefecto() {
+        when(restTemplate.getForEntity(anyString(), eq(ProductoDTO.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY,
+                        null, null));
+        when(restTemplate.getForEntity(anyString(), eq(StockResponseDTO.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        assertNull(client.getProductoById(99L));
+        // consultarDisponibilidad no oculta el error: no se sabe si hay stock
+        assertThrows(ResourceAccessException.class, () -> client.consultarDisponibilidad(1L, 2));
+        assertFalse(client.verificarStock(1L, 2));
+    }
+
+    @Test
+    public void testErroresDeCompraIndicanSiSonReintentables() {
+        when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(PedidoDTO.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                        HttpHeaders.EMPTY, null, null))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request",
+                        HttpHeaders.EMPTY, null, null))
+                .thenReturn(ResponseEntity.ok(new PedidoDTO()))
+                .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+                .thenThrow(new ResourceAccessException("Read timed out"));
+
+        assertTrue(enviarConError().isReintentable());
+        assertFalse(enviarConError().isReintentable());
+        // Una respuesta sin ID no confirma el pedido
+        assertTrue(enviarConError().isReintentable());
+        assertTrue(enviarConError().isReintentable());
+        assertTrue(enviarConError().isReintentable());
+
+        // La compra se envía en un solo intento
+        verify(restTemplate, times(5)).postForEntity(anyString(), any(HttpEntity.class), eq(PedidoDTO.class));
+    }
+
+    private AmazonCoreIntegrationException enviarConError() {
+        return assertThrows(AmazonCoreIntegrationException.class, () -> client.enviarCompra(pedido(), "clave"));
+    }
+
+    private static PedidoDTO pedido() {
+        return PedidoDTO.builder()
+                .cliente(ClienteDTO.builder().cedula("1700000001").nombre("Cliente").build())
+                .carrito(new CarritoDTO())
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package ec.puce.motoshop.integration.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+public class AmazonCorePropertiesTest {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private AmazonCoreProperties properties;
+
+    @BeforeEach
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        properties = new AmazonCoreProperties();
+        properties.setBaseUrl("http://localhost:8081/api");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    public void testValoresPorDefectoSonValidos() {
+        assertTrue(validator.validate(properties).isEmpty());
+    }
+
+    @Test
+    public void testArrendamientoDebeCubrirElLoteCompleto() {
+        // 20 pedidos de hasta 2 s + 5 s + 5 s cada uno
+        properties.getOutbox().setArrendamiento(239999);
+
+        Set<ConstraintViolation<AmazonCoreProperties>> errores = validator.validate(properties);
+
+        assertEquals(1, errores.size());
+        assertEquals("arrendamientoSuficiente", errores.iterator().next().getPropertyPath().toString());
+
+        properties.getOutbox().setArrendamiento(240000);
+        assertTrue(validator.validate(properties).isEmpty());
+    }
+
+    @Test
+    public void testArrendamientoSeValidaConLosTiemposConfigurados() {
+        properties.setReadTimeout(30000);
+
+        assertEquals(1, validator.validate(properties).size());
+
+        properties.getOutbox().setTamanioLote(5);
+        assertTrue(validator.validate(properties).isEmpty());
+    }
+}
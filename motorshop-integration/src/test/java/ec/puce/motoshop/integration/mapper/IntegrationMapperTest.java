@@ -0,0 +1,135 @@
+package ec.puce.motoshop.integration.mapper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ec.puce.motoshop.domain.DetallePedido;
+import ec.puce.motoshop.domain.Pedido;
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.integration.dto.CarritoDTO;
+import ec.puce.motoshop.integration.dto.ClienteDTO;
+import ec.puce.motoshop.integration.dto.PedidoDTO;
+import ec.puce.motoshop.integration.dto.ProductoCantidadDTO;
+
+public class IntegrationMapperTest {
+
+    private IntegrationMapper mapper;
+    private List<Producto> productos;
+
+    @BeforeEach
+    public void setUp() {
+        mapper = new IntegrationMapper();
+        productos = new ArrayList<>();
+        // IDs dispersos para que varias claves compitan por la misma posición
+        for (int i = 1; i <= 200; i++) {
+            productos.add(producto(i * 64, new BigDecimal(i + ".50")));
+        }
+    }
+
+    @Test
+    public void testToPedidoConDetalles() {
+        PedidoDTO pedidoDTO = pedido(
+                new ProductoCantidadDTO(64L, 2),
+                new ProductoCantidadDTO(999L, 1),
+                new ProductoCantidadDTO(12800L, 3));
+
+        PedidoMapeado mapeado = mapper.toPedidoConDetalles(pedidoDTO, productos);
+
+        // 2 x 1.50 + 3 x 200.50; el producto 999 no existe y se omite
+        assertEquals(new BigDecimal("604.50"), mapeado.pedido().getTotal());
+        List<DetallePedido> detalles = mapeado.detalles();
+        assertEquals(2, detalles.size());
+        assertSame(productos.get(0), detalles.get(0).getProducto());
+        assertSame(productos.get(199), detalles.get(1).getProducto());
+        assertEquals(3, detalles.get(1).getCantidad());
+        assertEquals(new BigDecimal("200.50"), detalles.get(1).getPrecioUnitario());
+        assertTrue(detalles.stream().allMatch(d -> d.getPedido() == mapeado.pedido()));
+    }
+
+    @Test
+    public void testUnSoloRecorridoCoincideConLosMetodosSeparados() {
+        List<ProductoCantidadDTO> lineas = new ArrayList<>();
+        for (int i = 1; i <= 300; i++) {
+            lineas.add(new ProductoCantidadDTO((long) (i % 250) * 64, 1 + i % 4));
+        }
+        PedidoDTO pedidoDTO = pedido(lineas.toArray(ProductoCantidadDTO[]::new));
+
+        PedidoMapeado mapeado = mapper.toPedidoConDetalles(pedidoDTO, productos);
+        Pedido pedido = mapper.toPedidoEntity(pedidoDTO, productos);
+        List<DetallePedido> detalles = mapper.createDetallesPedido(pedido, pedidoDTO.getCarrito(), productos);
+
+        assertEquals(pedido.getTotal(), mapeado.pedido().getTotal());
+        assertEquals(detalles.size(), mapeado.detalles().size());
+        for (int i = 0; i < detalles.size(); i++) {
+            assertSame(detalles.get(i).getProducto(), mapeado.detalles().get(i).getProducto());
+            assertEquals(detalles.get(i).getCantidad(), mapeado.detalles().get(i).getCantidad());
+        }
+    }
+
+    @Test
+    public void testIdRepetidoConservaElPrimero() {
+        Producto repetido = producto(64, new BigDecimal("99.00"));
+        productos.add(repetido);
+
+        // Carrito corto (búsqueda en la lista) y largo (tabla hash)
+        for (int lineas : new int[] { 1, IndiceProductos.MINIMO_BUSQUEDAS_TABLA }) {
+            PedidoMapeado mapeado = mapper.toPedidoConDetalles(pedido(lineas(64L, lineas)), productos);
+
+            assertEquals(lineas, mapeado.detalles().size());
+            assertTrue(mapeado.detalles().stream().allMatch(d -> d.getProducto() == productos.get(0)));
+        }
+    }
+
+    @Test
+    public void testIdFueraDeRangoEntero() {
+        // 4294967360 se truncaría a 64 con intValue()
+        for (int lineas : new int[] { 1, IndiceProductos.MINIMO_BUSQUEDAS_TABLA }) {
+            PedidoMapeado mapeado = mapper.toPedidoConDetalles(pedido(lineas(4_294_967_360L, lineas)), productos);
+
+            assertTrue(mapeado.detalles().isEmpty());
+            assertEquals(BigDecimal.ZERO, mapeado.pedido().getTotal());
+        }
+    }
+
+    @Test
+    public void testSinProductos() {
+        PedidoMapeado mapeado = mapper.toPedidoConDetalles(pedido(new ProductoCantidadDTO(64L, 1)), null);
+
+        assertTrue(mapeado.detalles().isEmpty());
+        assertNull(mapper.toPedidoConDetalles(null, productos));
+    }
+
+    private static Producto producto(int id, BigDecimal precio) {
+        Producto producto = new Producto();
+        producto.setId(id);
+        producto.setNombre("Producto " + id);
+        producto.setPrecio(precio);
+        producto.setStock(10);
+        return producto;
+    }
+
+    private static ProductoCantidadDTO[] lineas(long idProducto, int cantidad) {
+        ProductoCantidadDTO[] lineas = new ProductoCantidadDTO[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            lineas[i] = new ProductoCantidadDTO(idProducto, 1);
+        }
+        return lineas;
+    }
+
+    private static PedidoDTO pedido(ProductoCantidadDTO... lineas) {
+        PedidoDTO pedidoDTO = new PedidoDTO();
+        pedidoDTO.setCliente(new ClienteDTO("1721234567", "Cliente Prueba", "0987654321",
+                "cliente@ejemplo.com", "Direccion de prueba"));
+        pedidoDTO.setCarrito(new CarritoDTO(List.of(lineas)));
+        return pedidoDTO;
+    }
+}
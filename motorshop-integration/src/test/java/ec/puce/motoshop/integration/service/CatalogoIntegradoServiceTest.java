@@ -0,0 +1,75 @@
+package ec.puce.motoshop.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.web.client.ResourceAccessException;
+
+import ec.puce.motoshop.integration.client.AmazonCoreClient;
+import ec.puce.motoshop.integration.config.AmazonCoreProperties;
+import ec.puce.motoshop.integration.dto.CatalogoDTO;
+import ec.puce.motoshop.integration.dto.ProductoDTO;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+
+public class CatalogoIntegradoServiceTest {
+
+    private IntegracionService integracionService;
+    private AmazonCoreClient amazonCoreClient;
+    private CatalogoIntegradoService catalogoService;
+
+    @BeforeEach
+    public void setUp() {
+        integracionService = mock(IntegracionService.class);
+        amazonCoreClient = mock(AmazonCoreClient.class);
+        catalogoService = new CatalogoIntegradoService(integracionService, amazonCoreClient,
+                new SyncTaskExecutor(), new AmazonCoreProperties());
+        when(integracionService.obtenerTodosLosProductos()).thenReturn(List.of(producto(1L)));
+    }
+
+    @Test
+    public void testCatalogoCompleto() {
+        when(amazonCoreClient.obtenerProductos()).thenReturn(List.of(producto(900001L)));
+
+        CatalogoDTO catalogo = catalogoService.obtenerCatalogo();
+
+        assertFalse(catalogo.isParcial());
+        assertEquals(2, catalogo.getProductos().size());
+    }
+
+    @Test
+    public void testFalloDeAmazonCoreEsParcial() {
+        when(amazonCoreClient.obtenerProductos()).thenThrow(new ResourceAccessException("Connection refused"));
+
+        CatalogoDTO catalogo = catalogoService.obtenerCatalogo();
+
+        assertTrue(catalogo.isParcial());
+        assertEquals(1, catalogo.getProductos().size());
+    }
+
+    @Test
+    public void testCircuitoAbiertoEsParcial() {
+        when(amazonCoreClient.obtenerProductos()).thenThrow(
+                CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("amazonCore")));
+
+        CatalogoDTO catalogo = catalogoService.obtenerCatalogo();
+
+        assertTrue(catalogo.isParcial());
+        assertEquals(1, catalogo.getProductos().size());
+    }
+
+    private static ProductoDTO producto(Long id) {
+        ProductoDTO producto = new ProductoDTO();
+        producto.setIdProducto(id);
+        producto.setNombre("Producto " + id);
+        return producto;
+    }
+}
@@ -0,0 +1,184 @@
+package ec.puce.motoshop.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import ec.puce.motoshop.domain.OutboxPedido;
+import ec.puce.motoshop.integration.client.AmazonCoreClient;
+import ec.puce.motoshop.integration.config.AmazonCoreProperties;
+import ec.puce.motoshop.integration.dto.CarritoDTO;
+import ec.puce.motoshop.integration.dto.ClienteDTO;
+import ec.puce.motoshop.integration.dto.PedidoDTO;
+import ec.puce.motoshop.integration.exception.AmazonCoreIntegrationException;
+import ec.puce.motoshop.repository.OutboxPedidoRepository;
+
+public class OutboxPedidoDispatcherTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private OutboxPedidoRepository outboxPedidoRepository;
+    private AmazonCoreClient amazonCoreClient;
+    private AmazonCoreProperties properties;
+    private OutboxPedidoDispatcher dispatcher;
+    private List<OutboxPedido> pendientes;
+
+    @BeforeEach
+    public void setUp() {
+        outboxPedidoRepository = mock(OutboxPedidoRepository.class);
+        amazonCoreClient = mock(AmazonCoreClient.class);
+        properties = new AmazonCoreProperties();
+        OutboxPedidoService outboxPedidoService = new OutboxPedidoService(outboxPedidoRepository, objectMapper,
+                properties);
+        dispatcher = new OutboxPedidoDispatcher(outboxPedidoService, amazonCoreClient, properties);
+
+        pendientes = new ArrayList<>();
+        when(outboxPedidoRepository.reclamarPendientes(eq(OutboxPedido.ESTADO_PENDIENTE), any(LocalDateTime.class),
+                any(Pageable.class))).thenAnswer(invocacion -> {
+                    List<OutboxPedido> lote = List.copyOf(pendientes);
+                    pendientes.clear();
+                    return lote;
+                });
+    }
+
+    @Test
+    public void testCadaEnvioSeRegistraAlTerminar() throws Exception {
+        OutboxPedido primero = crearPendiente(1L, 0);
+        OutboxPedido segundo = crearPendiente(2L, 0);
+        when(amazonCoreClient.enviarCompra(any(PedidoDTO.class), eq("motoshop-outbox-1")))
+                .thenReturn(PedidoDTO.builder().idPedido(501L).build());
+        when(amazonCoreClient.enviarCompra(any(PedidoDTO.class), eq("motoshop-outbox-2"))).thenAnswer(invocacion -> {
+            // El primero ya quedó registrado antes de enviar el segundo
+            assertEquals(OutboxPedido.ESTADO_SINCRONIZADO, primero.getEstado());
+            return PedidoDTO.builder().idPedido(502L).build();
+        });
+
+        dispatcher.despachar();
+
+        assertEquals(OutboxPedido.ESTADO_SINCRONIZADO, segundo.getEstado());
+        assertEquals(501L, primero.getIdPedidoRemoto());
+        assertEquals(502L, segundo.getIdPedidoRemoto());
+        assertEquals(1, primero.getIntentos());
+        assertNull(primero.getBloqueadoHasta());
+    }
+
+    @Test
+    public void testFalloTemporalSeReprogramaConBackoffExponencial() throws Exception {
+        OutboxPedido primerFallo = crearPendiente(1L, 0);
+        OutboxPedido tercerFallo = crearPendiente(2L, 2);
+        when(amazonCoreClient.enviarCompra(any(PedidoDTO.class), anyString()))
+                .thenThrow(new AmazonCoreIntegrationException("503", null, true));
+
+        LocalDateTime antes = LocalDateTime.now();
+        dispatcher.despachar();
+        LocalDateTime despues = LocalDateTime.now();
+
+        // Backoff inicial de 2 s que se duplica en cada intento, con jitter
+        // entre la mitad y el total de la espera
+        assertEquals(OutboxPedido.ESTADO_PENDIENTE, primerFallo.getEstado());
+        assertEquals(1, primerFallo.getIntentos());
+        assertEntre(antes.plusSeconds(1), despues.plusSeconds(2), primerFallo.getProximoIntento());
+        assertEquals(OutboxPedido.ESTADO_PENDIENTE, tercerFallo.getEstado());
+        assertEquals(3, tercerFallo.getIntentos());
+        assertEntre(antes.plusSeconds(4), despues.plusSeconds(8), tercerFallo.getProximoIntento());
+        assertEquals("503", primerFallo.getUltimoError());
+        assertNull(primerFallo.getBloqueadoHasta());
+    }
+
+    @Test
+    public void testAlAgotarLosIntentosQuedaFallido() throws Exception {
+        int maxIntentos = properties.getOutbox().getMaxIntentos();
+        OutboxPedido ultimoIntento = crearPendiente(1L, maxIntentos - 1);
+        OutboxPedido noReintentable = crearPendiente(2L, 0);
+        when(amazonCoreClient.enviarCompra(any(PedidoDTO.class), eq("motoshop-outbox-1")))
+                .thenThrow(new AmazonCoreIntegrationException("503", null, true));
+        when(amazonCoreClient.enviarCompra(any(PedidoDTO.class), eq("motoshop-outbox-2")))
+                .thenThrow(new AmazonCoreIntegrationException("400", null, false));
+        LocalDateTime proximoIntentoAnterior = ultimoIntento.getProximoIntento();
+
+        dispatcher.despachar();
+
+        assertEquals(OutboxPedido.ESTADO_FALLIDO, ultimoIntento.getEstado());
+        assertEquals(maxIntentos, ultimoIntento.getIntentos());
+        assertEquals(proximoIntentoAnterior, ultimoIntento.getProximoIntento());
+        assertEquals(OutboxPedido.ESTADO_FALLIDO, noReintentable.getEstado());
+        assertEquals(1, noReintentable.getIntentos());
+    }
+
+    @Test
+    public void testReservaVencidaDetieneElLote() throws Exception {
+        properties.getOutbox().setArrendamiento(50);
+        OutboxPedido enviado = crearPendiente(1L, 0);
+        OutboxPedido sinEnviar = crearPendiente(2L, 0);
+        when(amazonCoreClient.enviarCompra(any(PedidoDTO.class), eq("motoshop-outbox-1"))).thenAnswer(invocacion -> {
+            Thread.sleep(100);
+            return PedidoDTO.builder().idPedido(501L).build();
+        });
+
+        dispatcher.despachar();
+
+        assertEquals(OutboxPedido.ESTADO_SINCRONIZADO, enviado.getEstado());
+        verify(amazonCoreClient, times(1)).enviarCompra(any(PedidoDTO.class), anyString());
+        // Otra instancia puede tomarlo al vencer la reserva, sin haber gastado
+        // un intento
+        assertEquals(OutboxPedido.ESTADO_PENDIENTE, sinEnviar.getEstado());
+        assertEquals(0, sinEnviar.getIntentos());
+        assertTrue(sinEnviar.getBloqueadoHasta().isBefore(LocalDateTime.now()));
+    }
+
+    @Test
+    public void testDeshabilitadoNoReclamaPedidos() {
+        properties.getOutbox().setHabilitado(false);
+        crearPendiente(1L, 0);
+
+        dispatcher.despachar();
+
+        assertFalse(pendientes.isEmpty());
+    }
+
+    private OutboxPedido crearPendiente(Long id, int intentos) {
+        OutboxPedido outbox = new OutboxPedido();
+        outbox.setId(id);
+        outbox.setEstado(OutboxPedido.ESTADO_PENDIENTE);
+        outbox.setIntentos(intentos);
+        outbox.setProximoIntento(LocalDateTime.now().minus(Duration.ofSeconds(1)));
+        outbox.setFechaCreacion(LocalDateTime.now());
+        try {
+            outbox.setPayload(objectMapper.writeValueAsString(PedidoDTO.builder()
+                    .cliente(ClienteDTO.builder().cedula("1700000001").nombre("Cliente").build())
+                    .carrito(new CarritoDTO())
+                    .build()));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        pendientes.add(outbox);
+        when(outboxPedidoRepository.findById(id)).thenReturn(Optional.of(outbox));
+        return outbox;
+    }
+
+    private static void assertEntre(LocalDateTime desde, LocalDateTime hasta, LocalDateTime valor) {
+        assertFalse(valor.isBefore(desde), valor + " es anterior a " + desde);
+        assertFalse(valor.isAfter(hasta), valor + " es posterior a " + hasta);
+    }
+}
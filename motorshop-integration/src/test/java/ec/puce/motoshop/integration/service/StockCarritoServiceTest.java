@@ -0,0 +1,68 @@
+package ec.puce.motoshop.integration.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.web.client.ResourceAccessException;
+
+import ec.puce.motoshop.dto.LineaReservaDTO;
+import ec.puce.motoshop.integration.client.AmazonCoreClient;
+import ec.puce.motoshop.integration.config.AmazonCoreProperties;
+import ec.puce.motoshop.integration.dto.CarritoDTO;
+import ec.puce.motoshop.integration.dto.StockCarritoDTO;
+import ec.puce.motoshop.integration.dto.StockLineaDTO;
+
+public class StockCarritoServiceTest {
+
+    private IntegracionService integracionService;
+    private AmazonCoreClient amazonCoreClient;
+    private StockCarritoService stockCarritoService;
+
+    @BeforeEach
+    public void setUp() {
+        integracionService = mock(IntegracionService.class);
+        amazonCoreClient = mock(AmazonCoreClient.class);
+        stockCarritoService = new StockCarritoService(integracionService, amazonCoreClient,
+                new SyncTaskExecutor(), new AmazonCoreProperties());
+        when(integracionService.verificarDisponibilidadLocal(any(CarritoDTO.class))).thenReturn(List.of(
+                new LineaReservaDTO(1, 2, 5, true),
+                new LineaReservaDTO(900001, 1, null, false)));
+    }
+
+    @Test
+    public void testSinStockEnAmazonCoreNoEsParcial() {
+        when(amazonCoreClient.consultarDisponibilidad(900001L, 1)).thenReturn(false);
+
+        StockCarritoDTO stock = stockCarritoService.verificarCarrito(new CarritoDTO());
+
+        assertFalse(stock.isDisponible());
+        assertFalse(stock.isParcial());
+        StockLineaDTO linea = stock.getLineas().get(1);
+        assertEquals(StockLineaDTO.Origen.NINGUNO, linea.getOrigen());
+        assertEquals("Stock no disponible", linea.getMensaje());
+    }
+
+    @Test
+    public void testFalloDeAmazonCoreEsParcial() {
+        when(amazonCoreClient.consultarDisponibilidad(900001L, 1))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        StockCarritoDTO stock = stockCarritoService.verificarCarrito(new CarritoDTO());
+
+        assertFalse(stock.isDisponible());
+        assertTrue(stock.isParcial());
+        assertTrue(stock.getLineas().get(0).isDisponible());
+        StockLineaDTO linea = stock.getLineas().get(1);
+        assertFalse(linea.isDisponible());
+        assertEquals("No se pudo verificar en Amazon Core", linea.getMensaje());
+    }
+}
@@ -0,0 +1,154 @@
+package ec.puce.motoshop.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Parámetros de la prueba de carga, leídos de las propiedades del sistema
+ * (-Dcarga.*). El perfil carga del pom los completa con sus valores por
+ * defecto.
+ */
+public final class ConfiguracionCarga {
+
+    private final int usuarios;
+    private final Duration calentamiento;
+    private final Duration duracion;
+    private final Map<Escenario, Integer> mezcla;
+    private final int latenciaAmazon;
+    private final int productos;
+    private final int clientes;
+    private final double fraccionRemota;
+    private final Path resultados;
+    private final String bdUrl;
+    private final String bdUsuario;
+    private final String bdClave;
+
+    private ConfiguracionCarga() {
+        this.usuarios = Integer.getInteger("carga.usuarios", 32);
+        this.calentamiento = duracion("carga.calentamiento", "10s");
+        this.duracion = duracion("carga.duracion", "60s");
+        this.mezcla = mezcla(System.getProperty("carga.mezcla", "catalogo=35,pagina=15,stock=30,compra=20"));
+        this.latenciaAmazon = Integer.getInteger("carga.latencia-amazon", 50);
+        this.productos = Integer.getInteger("carga.productos", 500);
+        this.clientes = Integer.getInteger("carga.clientes", 200);
+        this.fraccionRemota = Double.parseDouble(System.getProperty("carga.fraccion-remota", "0.1"));
+        this.resultados = Path.of(System.getProperty("carga.resultados", "target/carga-resultados.json"));
+        this.bdUrl = System.getProperty("carga.bd.url", "");
+        this.bdUsuario = System.getProperty("carga.bd.usuario", "postgres");
+        this.bdClave = System.getProperty("carga.bd.clave", "postgres");
+
+        if (usuarios < 1) {
+            throw new IllegalArgumentException("carga.usuarios debe ser al menos 1");
+        }
+        if (duracion.isZero() || duracion.isNegative()) {
+            throw new IllegalArgumentException("carga.duracion debe ser positiva");
+        }
+        if (fraccionRemota < 0 || fraccionRemota > 1) {
+            throw new IllegalArgumentException("carga.fraccion-remota debe estar entre 0 y 1");
+        }
+    }
+
+    /**
+     * Lee la configuración de las propiedades del sistema.
+     *
+     * @return La configuración de la prueba.
+     * @throws IllegalArgumentException si algún parámetro es inválido.
+     */
+    public static ConfiguracionCarga desdePropiedades() {
+        return new ConfiguracionCarga();
+    }
+
+    private static Duration duracion(String propiedad, String porDefecto) {
+        return DurationStyle.detectAndParse(System.getProperty(propiedad, porDefecto));
+    }
+
+    /**
+     * Interpreta una mezcla con el formato "catalogo=35,stock=30,...". Los
+     * escenarios que no aparecen no se ejecutan.
+     */
+    private static Map<Escenario, Integer> mezcla(String texto) {
+        Map<Escenario, Integer> pesos = new EnumMap<>(Escenario.class);
+        for (String parte : texto.split(",")) {
+            if (parte.isBlank()) {
+                continue;
+            }
+            String[] claveValor = parte.split("=");
+            if (claveValor.length != 2) {
+                throw new IllegalArgumentException("Entrada inválida en carga.mezcla: " + parte);
+            }
+            int peso = Integer.parseInt(claveValor[1].trim());
+            if (peso < 0) {
+                throw new IllegalArgumentException("Los pesos de carga.mezcla no pueden ser negativos");
+            }
+            if (peso > 0) {
+                pesos.put(Escenario.porNombre(claveValor[0]), peso);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("carga.mezcla debe incluir al menos un escenario");
+        }
+        return Collections.unmodifiableMap(pesos);
+    }
+
+    /**
+     * Indica si la prueba usa un PostgreSQL externo en lugar de H2.
+     *
+     * @return true si se indicó carga.bd.url.
+     */
+    public boolean usaPostgres() {
+        return !bdUrl.isBlank();
+    }
+
+    public int getUsuarios() {
+        return usuarios;
+    }
+
+    public Duration getCalentamiento() {
+        return calentamiento;
+    }
+
+    public Duration getDuracion() {
+        return duracion;
+    }
+
+    public Map<Escenario, Integer> getMezcla() {
+        return mezcla;
+    }
+
+    public int getLatenciaAmazon() {
+        return latenciaAmazon;
+    }
+
+    public int getProductos() {
+        return productos;
+    }
+
+    public int getClientes() {
+        return clientes;
+    }
+
+    public double getFraccionRemota() {
+        return fraccionRemota;
+    }
+
+    public Path getResultados() {
+        return resultados;
+    }
+
+    public String getBdUrl() {
+        return bdUrl;
+    }
+
+    public String getBdUsuario() {
+        return bdUsuario;
+    }
+
+    public String getBdClave() {
+        return bdClave;
+    }
+}
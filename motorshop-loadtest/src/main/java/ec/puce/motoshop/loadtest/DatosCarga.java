@@ -0,0 +1,101 @@
+package ec.puce.motoshop.loadtest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.ApplicationContext;
+
+import ec.puce.motoshop.domain.Categoria;
+import ec.puce.motoshop.domain.Cliente;
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.domain.Usuario;
+import ec.puce.motoshop.repository.CategoriaRepository;
+import ec.puce.motoshop.repository.ClienteRepository;
+import ec.puce.motoshop.repository.ProductoRepository;
+import ec.puce.motoshop.repository.UsuarioRepository;
+
+/**
+ * Catálogo y clientes con los que se llena la base antes de la prueba. El
+ * stock de cada producto alcanza para toda la prueba, de modo que los
+ * rechazos por stock solo aparecen si la reserva concurrente falla.
+ */
+public class DatosCarga {
+
+    static final int CATEGORIAS = 10;
+    static final int STOCK_INICIAL = 1_000_000;
+
+    private final List<Integer> categorias = new ArrayList<>();
+    private final List<Integer> productos = new ArrayList<>();
+    private final List<String> cedulas = new ArrayList<>();
+
+    private DatosCarga() {
+    }
+
+    /**
+     * Inserta las categorías, los productos y los clientes con sus usuarios.
+     *
+     * @param contexto Contexto de la aplicación en marcha.
+     * @param config   Configuración con el número de productos y clientes.
+     * @return Los IDs y cédulas creados, para construir las peticiones.
+     */
+    public static DatosCarga poblar(ApplicationContext contexto, ConfiguracionCarga config) {
+        DatosCarga datos = new DatosCarga();
+
+        List<Categoria> nuevasCategorias = new ArrayList<>();
+        for (int i = 0; i < CATEGORIAS; i++) {
+            Categoria categoria = new Categoria();
+            categoria.setNombre("Categoría " + i);
+            nuevasCategorias.add(categoria);
+        }
+        nuevasCategorias = contexto.getBean(CategoriaRepository.class).saveAll(nuevasCategorias);
+        nuevasCategorias.forEach(c -> datos.categorias.add(c.getId()));
+
+        List<Producto> nuevosProductos = new ArrayList<>();
+        for (int i = 0; i < config.getProductos(); i++) {
+            Producto producto = new Producto();
+            producto.setNombre("Repuesto " + i);
+            producto.setDescripcion("Repuesto de prueba " + i);
+            producto.setPrecio(new BigDecimal("5.00").add(BigDecimal.valueOf(i % 200)));
+            producto.setStock(STOCK_INICIAL);
+            producto.setImagenPrincipal("repuesto" + i + ".jpg");
+            producto.setCategoria(nuevasCategorias.get(i % CATEGORIAS));
+            nuevosProductos.add(producto);
+        }
+        contexto.getBean(ProductoRepository.class).saveAll(nuevosProductos)
+                .forEach(p -> datos.productos.add(p.getId()));
+
+        UsuarioRepository usuarioRepository = contexto.getBean(UsuarioRepository.class);
+        ClienteRepository clienteRepository = contexto.getBean(ClienteRepository.class);
+        for (int i = 0; i < config.getClientes(); i++) {
+            Usuario usuario = new Usuario();
+            usuario.setCedula(String.format("17%08d", i));
+            usuario.setNombreUsuario("cliente" + i);
+            usuario.setEmail("cliente" + i + "@ejemplo.com");
+            usuario.setRol("ROLE_CLIENTE");
+            usuario.setFechaCreacion(LocalDateTime.now());
+            usuarioRepository.save(usuario);
+
+            Cliente cliente = new Cliente();
+            cliente.setNombre("Cliente " + i);
+            cliente.setTelefono("0987654321");
+            cliente.setUsuario(usuario);
+            clienteRepository.save(cliente);
+            datos.cedulas.add(usuario.getCedula());
+        }
+        return datos;
+    }
+
+    public List<Integer> getCategorias() {
+        return categorias;
+    }
+
+    public List<Integer> getProductos() {
+        return productos;
+    }
+
+    public List<String> getCedulas() {
+        return cedulas;
+    }
+}
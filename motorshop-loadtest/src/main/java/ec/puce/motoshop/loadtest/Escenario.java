@@ -0,0 +1,56 @@
+package ec.puce.motoshop.loadtest;
+
+import java.util.Locale;
+
+/**
+ * Escenarios de la prueba de carga. Cada usuario virtual elige uno en cada
+ * iteración según los pesos de la mezcla configurada.
+ */
+public enum Escenario {
+
+    /**
+     * Catálogo completo: GET /api/productos.
+     */
+    CATALOGO,
+
+    /**
+     * Página del catálogo filtrada por categoría: GET /api/productos/pagina.
+     */
+    PAGINA,
+
+    /**
+     * Verificación de stock de un producto local o de Amazon Core:
+     * GET /integracion/stock.
+     */
+    STOCK,
+
+    /**
+     * Compra con el formato de pedido.json: POST /integracion/compra.
+     */
+    COMPRA;
+
+    /**
+     * Nombre del escenario en la mezcla y en el informe.
+     *
+     * @return El nombre en minúsculas.
+     */
+    public String nombre() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Busca un escenario por su nombre en la mezcla.
+     *
+     * @param nombre Nombre del escenario, sin distinguir mayúsculas.
+     * @return El escenario.
+     * @throws IllegalArgumentException si no existe un escenario con ese nombre.
+     */
+    public static Escenario porNombre(String nombre) {
+        for (Escenario escenario : values()) {
+            if (escenario.nombre().equalsIgnoreCase(nombre.trim())) {
+                return escenario;
+            }
+        }
+        throw new IllegalArgumentException("Escenario desconocido en la mezcla: " + nombre);
+    }
+}
@@ -0,0 +1,128 @@
+package ec.puce.motoshop.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Construye las peticiones HTTP de cada escenario con datos aleatorios del
+ * catálogo sembrado. Las compras siguen el formato de pedido.json; una parte
+ * de ellas y de las consultas de stock usa productos que solo existen en
+ * Amazon Core, para ejercitar también el camino remoto.
+ */
+public class GeneradorPeticiones {
+
+    private static final Duration PLAZO = Duration.ofSeconds(30);
+
+    // Fracción de compras hechas por un cliente que aún no existe
+    private static final double FRACCION_CLIENTES_NUEVOS = 0.1;
+
+    private final String urlBase;
+    private final DatosCarga datos;
+    private final double fraccionRemota;
+    private final ObjectMapper json;
+    private final AtomicLong siguienteCedulaNueva = new AtomicLong();
+
+    /**
+     * Crea el generador.
+     *
+     * @param urlBase        URL de la aplicación, sin barra final.
+     * @param datos          Catálogo y clientes sembrados.
+     * @param fraccionRemota Fracción de peticiones de stock y compra con un
+     *                       producto de Amazon Core.
+     * @param json           ObjectMapper para los cuerpos de las compras.
+     */
+    public GeneradorPeticiones(String urlBase, DatosCarga datos, double fraccionRemota, ObjectMapper json) {
+        this.urlBase = urlBase;
+        this.datos = datos;
+        this.fraccionRemota = fraccionRemota;
+        this.json = json;
+    }
+
+    /**
+     * Crea una petición del escenario indicado.
+     *
+     * @param escenario Escenario a ejecutar.
+     * @return La petición lista para enviar.
+     */
+    public HttpRequest crear(Escenario escenario) {
+        ThreadLocalRandom azar = ThreadLocalRandom.current();
+        return switch (escenario) {
+            case CATALOGO -> get("/api/productos");
+            case PAGINA -> get("/api/productos/pagina?tamanio=20&categoriaId="
+                    + elegir(datos.getCategorias(), azar));
+            case STOCK -> get("/integracion/stock?idProducto=" + idProducto(azar)
+                    + "&cantidad=" + (1 + azar.nextInt(3)));
+            case COMPRA -> HttpRequest.newBuilder(URI.create(urlBase + "/integracion/compra"))
+                    .timeout(PLAZO)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(pedido(azar)))
+                    .build();
+        };
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(URI.create(urlBase + ruta))
+                .timeout(PLAZO)
+                .GET()
+                .build();
+    }
+
+    private long idProducto(ThreadLocalRandom azar) {
+        if (azar.nextDouble() < fraccionRemota) {
+            return SimuladorAmazonCore.PRIMER_ID_REMOTO + azar.nextInt(SimuladorAmazonCore.PRODUCTOS_REMOTOS);
+        }
+        return elegir(datos.getProductos(), azar);
+    }
+
+    /**
+     * Pedido de una a tres líneas. Solo la primera línea puede ser remota, de
+     * modo que la fracción de pedidos que pasan por Amazon Core es
+     * fraccionRemota.
+     */
+    private String pedido(ThreadLocalRandom azar) {
+        List<Map<String, Object>> lineas = new ArrayList<>();
+        int numeroLineas = 1 + azar.nextInt(3);
+        for (int i = 0; i < numeroLineas; i++) {
+            Map<String, Object> linea = new LinkedHashMap<>();
+            linea.put("idProducto", i == 0 ? idProducto(azar) : elegir(datos.getProductos(), azar));
+            linea.put("cantidad", 1 + azar.nextInt(2));
+            lineas.add(linea);
+        }
+
+        String cedula;
+        if (azar.nextDouble() < FRACCION_CLIENTES_NUEVOS) {
+            cedula = String.format("19%08d", siguienteCedulaNueva.getAndIncrement());
+        } else {
+            cedula = elegir(datos.getCedulas(), azar);
+        }
+        Map<String, Object> cliente = new LinkedHashMap<>();
+        cliente.put("nombre", "Cliente " + cedula);
+        cliente.put("cedula", cedula);
+        cliente.put("email", "cliente" + cedula + "@ejemplo.com");
+        cliente.put("direccion", "Direccion de prueba " + cedula);
+        cliente.put("telefono", "0987654321");
+
+        Map<String, Object> pedido = new LinkedHashMap<>();
+        pedido.put("carrito", Map.of("productos", lineas));
+        pedido.put("cliente", cliente);
+        try {
+            return json.writeValueAsString(pedido);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo generar el pedido", e);
+        }
+    }
+
+    private static <T> T elegir(List<T> valores, ThreadLocalRandom azar) {
+        return valores.get(azar.nextInt(valores.size()));
+    }
+}
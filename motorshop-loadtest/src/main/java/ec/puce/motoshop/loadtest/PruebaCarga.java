@@ -0,0 +1,223 @@
+package ec.puce.motoshop.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import ec.puce.motoshop.MotoShopUnifiedApplication;
+
+/**
+ * Prueba de carga de extremo a extremo de MotoShop. Arranca
+ * MotoShopUnifiedApplication en un puerto libre, sobre H2 en modo PostgreSQL
+ * (o un PostgreSQL vacío indicado en carga.bd.url) y con Amazon Core
+ * sustituido por WireMock; siembra un catálogo y clientes, y lanza usuarios
+ * virtuales que repiten peticiones de la mezcla de escenarios sin pausa entre
+ * ellas. Las peticiones del calentamiento no se cuentan.
+ *
+ * Al terminar imprime, por escenario, el rendimiento, los percentiles de
+ * latencia, la tasa de error y los códigos de estado, y los guarda en JSON en
+ * carga.resultados. Los argumentos de línea de comandos se pasan a la
+ * aplicación y tienen prioridad sobre los de la prueba (por ejemplo
+ * --spring.datasource.hikari.maximum-pool-size=20).
+ */
+public final class PruebaCarga {
+
+    private PruebaCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfiguracionCarga config = ConfiguracionCarga.desdePropiedades();
+        ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        try (SimuladorAmazonCore amazonCore = new SimuladorAmazonCore(config.getLatenciaAmazon(), json);
+                ConfigurableApplicationContext contexto = new SpringApplicationBuilder(MotoShopUnifiedApplication.class)
+                        .bannerMode(Banner.Mode.OFF)
+                        .logStartupInfo(false)
+                        .run(argumentos(args, config, amazonCore.urlBase()))) {
+
+            int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            DatosCarga datos = DatosCarga.poblar(contexto, config);
+            GeneradorPeticiones generador = new GeneradorPeticiones("http://localhost:" + puerto, datos,
+                    config.getFraccionRemota(), json);
+
+            System.out.printf(Locale.ROOT, "Prueba de carga: %d usuarios, %s de calentamiento, %s de medición, "
+                    + "mezcla %s, base de datos %s%n", config.getUsuarios(), config.getCalentamiento(),
+                    config.getDuracion(), config.getMezcla(), config.usaPostgres() ? config.getBdUrl() : "H2");
+
+            Map<Escenario, RegistroEscenario> registros = ejecutar(config, generador);
+
+            double segundos = config.getDuracion().toMillis() / 1000.0;
+            List<RegistroEscenario.Resumen> resumenes = new ArrayList<>();
+            registros.values().forEach(r -> resumenes.add(r.resumir(segundos)));
+            imprimir(resumenes);
+            guardar(json, config, resumenes);
+        }
+        // Los hilos programados de la aplicación no son demonios
+        System.exit(0);
+    }
+
+    /**
+     * Propiedades con las que arranca la aplicación: servidor en un puerto
+     * libre, esquema creado por Hibernate en una base vacía (las migraciones
+     * Flyway usan extensiones de PostgreSQL que H2 no tiene), Amazon Core en
+     * el simulador y registro reducido a advertencias para que la escritura
+     * en consola no domine la medición.
+     */
+    private static String[] argumentos(String[] args, ConfiguracionCarga config, String urlAmazonCore) {
+        Map<String, String> propiedades = new LinkedHashMap<>();
+        propiedades.put("server.port", "0");
+        if (config.usaPostgres()) {
+            propiedades.put("spring.datasource.url", config.getBdUrl());
+            propiedades.put("spring.datasource.username", config.getBdUsuario());
+            propiedades.put("spring.datasource.password", config.getBdClave());
+        } else {
+            propiedades.put("spring.datasource.url", "jdbc:h2:mem:carga;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                    + "DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+            propiedades.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            propiedades.put("spring.datasource.username", "sa");
+            propiedades.put("spring.datasource.password", "");
+            propiedades.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        }
+        propiedades.put("spring.flyway.enabled", "false");
+        propiedades.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        propiedades.put("spring.jpa.show-sql", "false");
+        propiedades.put("spring.jpa.properties.hibernate.format_sql", "false");
+        propiedades.put("motoshop.indices.verificar", "false");
+        // Sin Flyway no existe la tabla shedlock de la que depende el proceso
+        propiedades.put("motoshop.saldos.corte.habilitado", "false");
+        propiedades.put("amazon-core.base-url", urlAmazonCore);
+        propiedades.put("logging.level.root", "WARN");
+        propiedades.put("logging.level.ec.puce.motoshop", "WARN");
+        propiedades.put("logging.level.ec.puce.motoshop.integration", "WARN");
+        propiedades.put("logging.level.org.springframework.web", "WARN");
+        propiedades.put("logging.level.org.springdoc", "WARN");
+
+        List<String> resultado = new ArrayList<>(List.of(args));
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                propiedades.remove(arg.substring(2, arg.indexOf('=')));
+            }
+        }
+        propiedades.forEach((clave, valor) -> resultado.add("--" + clave + "=" + valor));
+        return resultado.toArray(String[]::new);
+    }
+
+    /**
+     * Lanza un hilo virtual por usuario; al cerrar el ejecutor se espera a
+     * que todos terminen el tiempo de calentamiento y de medición.
+     */
+    private static Map<Escenario, RegistroEscenario> ejecutar(ConfiguracionCarga config,
+            GeneradorPeticiones generador) {
+        Map<Escenario, RegistroEscenario> registros = new EnumMap<>(Escenario.class);
+        Escenario[] escenarios = config.getMezcla().keySet().toArray(Escenario[]::new);
+        int[] pesosAcumulados = new int[escenarios.length];
+        int suma = 0;
+        for (int i = 0; i < escenarios.length; i++) {
+            suma += config.getMezcla().get(escenarios[i]);
+            pesosAcumulados[i] = suma;
+            registros.put(escenarios[i], new RegistroEscenario(escenarios[i]));
+        }
+        int pesoTotal = suma;
+
+        long inicioMedicion = System.nanoTime() + config.getCalentamiento().toNanos();
+        long fin = inicioMedicion + config.getDuracion().toNanos();
+
+        try (ExecutorService usuarios = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient cliente = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            for (int u = 0; u < config.getUsuarios(); u++) {
+                usuarios.submit(() -> {
+                    while (System.nanoTime() < fin) {
+                        int sorteo = ThreadLocalRandom.current().nextInt(pesoTotal);
+                        int i = 0;
+                        while (sorteo >= pesosAcumulados[i]) {
+                            i++;
+                        }
+                        enviar(cliente, generador.crear(escenarios[i]), registros.get(escenarios[i]),
+                                inicioMedicion, fin);
+                    }
+                });
+            }
+        }
+        return registros;
+    }
+
+    /**
+     * Envía una petición y la registra si empezó dentro de la medición y
+     * terminó antes del final.
+     */
+    private static void enviar(HttpClient cliente, HttpRequest peticion, RegistroEscenario registro,
+            long inicioMedicion, long fin) {
+        long inicio = System.nanoTime();
+        try {
+            HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+            long termino = System.nanoTime();
+            if (inicio >= inicioMedicion && termino <= fin) {
+                registro.registrar(respuesta.statusCode(), termino - inicio);
+            }
+        } catch (IOException e) {
+            long termino = System.nanoTime();
+            if (inicio >= inicioMedicion && termino <= fin) {
+                registro.registrarExcepcion(termino - inicio);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void imprimir(List<RegistroEscenario.Resumen> resumenes) {
+        System.out.printf(Locale.ROOT, "%n%-10s %10s %9s %8s %9s %9s %9s %9s %9s  %s%n", "Escenario",
+                "Peticiones", "Pet/s", "Error %", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "Máx ms", "Estados");
+        for (RegistroEscenario.Resumen r : resumenes) {
+            System.out.printf(Locale.ROOT, "%-10s %10d %9.1f %8.2f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    r.escenario(), r.peticiones(), r.peticionesPorSegundo(), r.porcentajeErrores(), r.p50Ms(),
+                    r.p90Ms(), r.p95Ms(), r.p99Ms(), r.maximoMs(), r.estados());
+        }
+    }
+
+    private static void guardar(ObjectMapper json, ConfiguracionCarga config,
+            List<RegistroEscenario.Resumen> resumenes) throws IOException {
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("usuarios", config.getUsuarios());
+        parametros.put("calentamiento", config.getCalentamiento().toString());
+        parametros.put("duracion", config.getDuracion().toString());
+        parametros.put("mezcla", config.getMezcla());
+        parametros.put("latenciaAmazonMs", config.getLatenciaAmazon());
+        parametros.put("productos", config.getProductos());
+        parametros.put("clientes", config.getClientes());
+        parametros.put("fraccionRemota", config.getFraccionRemota());
+        parametros.put("baseDatos", config.usaPostgres() ? "postgresql" : "h2");
+
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("configuracion", parametros);
+        resultado.put("escenarios", resumenes);
+
+        if (config.getResultados().getParent() != null) {
+            Files.createDirectories(config.getResultados().getParent());
+        }
+        json.writeValue(config.getResultados().toFile(), resultado);
+        System.out.println("Resultados guardados en " + config.getResultados());
+    }
+}
@@ -0,0 +1,127 @@
+package ec.puce.motoshop.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y códigos de estado de las peticiones de un escenario. Las
+ * latencias se guardan todas, en microsegundos, para calcular percentiles
+ * exactos al final de la prueba.
+ */
+public class RegistroEscenario {
+
+    private final Escenario escenario;
+    private final Map<Integer, LongAdder> estados = new ConcurrentHashMap<>();
+    private final LongAdder excepciones = new LongAdder();
+
+    private long[] latencias = new long[1024];
+    private int total;
+
+    /**
+     * Crea un registro vacío.
+     *
+     * @param escenario Escenario al que pertenecen las peticiones.
+     */
+    public RegistroEscenario(Escenario escenario) {
+        this.escenario = escenario;
+    }
+
+    /**
+     * Registra una petición con respuesta.
+     *
+     * @param estado       Código de estado HTTP recibido.
+     * @param latenciaNano Tiempo hasta recibir la respuesta completa, en
+     *                     nanosegundos.
+     */
+    public void registrar(int estado, long latenciaNano) {
+        estados.computeIfAbsent(estado, e -> new LongAdder()).increment();
+        agregarLatencia(latenciaNano);
+    }
+
+    /**
+     * Registra una petición que terminó sin respuesta (conexión rechazada,
+     * plazo agotado). Cuenta como error.
+     *
+     * @param latenciaNano Tiempo hasta el fallo, en nanosegundos.
+     */
+    public void registrarExcepcion(long latenciaNano) {
+        excepciones.increment();
+        agregarLatencia(latenciaNano);
+    }
+
+    private synchronized void agregarLatencia(long latenciaNano) {
+        if (total == latencias.length) {
+            latencias = Arrays.copyOf(latencias, total * 2);
+        }
+        latencias[total++] = latenciaNano / 1_000;
+    }
+
+    /**
+     * Calcula el resumen del escenario.
+     *
+     * @param segundos Duración de la medición, para el rendimiento.
+     * @return El resumen con percentiles, tasa de error y estados.
+     */
+    public synchronized Resumen resumir(double segundos) {
+        long[] ordenadas = Arrays.copyOf(latencias, total);
+        Arrays.sort(ordenadas);
+
+        Map<String, Long> porEstado = new TreeMap<>();
+        long exitosas = 0;
+        for (Map.Entry<Integer, LongAdder> entrada : estados.entrySet()) {
+            long cantidad = entrada.getValue().sum();
+            porEstado.put(String.valueOf(entrada.getKey()), cantidad);
+            if (entrada.getKey() >= 200 && entrada.getKey() < 300) {
+                exitosas += cantidad;
+            }
+        }
+        if (excepciones.sum() > 0) {
+            porEstado.put("sin-respuesta", excepciones.sum());
+        }
+
+        long errores = total - exitosas;
+        return new Resumen(
+                escenario.nombre(),
+                total,
+                errores,
+                total == 0 ? 0 : errores * 100.0 / total,
+                total / segundos,
+                percentil(ordenadas, 50),
+                percentil(ordenadas, 90),
+                percentil(ordenadas, 95),
+                percentil(ordenadas, 99),
+                ordenadas.length == 0 ? 0 : ordenadas[ordenadas.length - 1] / 1000.0,
+                porEstado);
+    }
+
+    /**
+     * Percentil por rango más cercano, en milisegundos.
+     */
+    private static double percentil(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int rango = (int) Math.ceil(percentil / 100 * ordenadas.length);
+        return ordenadas[Math.max(rango, 1) - 1] / 1000.0;
+    }
+
+    /**
+     * Resultado de un escenario, con las latencias en milisegundos.
+     */
+    public record Resumen(
+            String escenario,
+            long peticiones,
+            long errores,
+            double porcentajeErrores,
+            double peticionesPorSegundo,
+            double p50Ms,
+            double p90Ms,
+            double p95Ms,
+            double p99Ms,
+            double maximoMs,
+            Map<String, Long> estados) {
+    }
+}
@@ -0,0 +1,122 @@
+package ec.puce.motoshop.loadtest;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+
+/**
+ * Sustituto HTTP de Amazon Core basado en WireMock. Responde a las mismas
+ * rutas que usa AmazonCoreClient (productos, producto por ID, stock y compra)
+ * con una latencia fija, para que la prueba mida el comportamiento de MotoShop
+ * frente a un proveedor remoto sin depender de él.
+ */
+public class SimuladorAmazonCore implements AutoCloseable {
+
+    /**
+     * Primer ID de los productos que solo existen en Amazon Core; los IDs
+     * locales nunca llegan a este valor en la prueba.
+     */
+    public static final long PRIMER_ID_REMOTO = 900_001L;
+
+    /**
+     * Número de productos del catálogo remoto.
+     */
+    public static final int PRODUCTOS_REMOTOS = 50;
+
+    private final WireMockServer servidor;
+
+    /**
+     * Arranca el simulador en un puerto libre.
+     *
+     * @param latenciaMs Latencia fija de cada respuesta, en milisegundos.
+     * @param json       ObjectMapper para generar los cuerpos de respuesta.
+     */
+    public SimuladorAmazonCore(int latenciaMs, ObjectMapper json) {
+        // Sin diario de peticiones: bajo carga crecería sin límite
+        servidor = new WireMockServer(options()
+                .dynamicPort()
+                .disableRequestJournal()
+                .containerThreads(200)
+                .jettyAcceptors(2));
+        servidor.start();
+        registrarRespuestas(latenciaMs, json);
+    }
+
+    /**
+     * URL base para la propiedad amazon-core.base-url.
+     *
+     * @return La URL base del simulador.
+     */
+    public String urlBase() {
+        return "http://localhost:" + servidor.port() + "/api";
+    }
+
+    private void registrarRespuestas(int latenciaMs, ObjectMapper json) {
+        List<Map<String, Object>> productos = new ArrayList<>();
+        for (int i = 0; i < PRODUCTOS_REMOTOS; i++) {
+            productos.add(producto(PRIMER_ID_REMOTO + i));
+        }
+
+        servidor.stubFor(get(urlPathEqualTo("/api/productos"))
+                .willReturn(respuesta(latenciaMs, json, productos)));
+        servidor.stubFor(get(urlPathMatching("/api/productos/\\d+"))
+                .willReturn(respuesta(latenciaMs, json, producto(PRIMER_ID_REMOTO))));
+
+        Map<String, Object> stock = new LinkedHashMap<>();
+        stock.put("disponible", true);
+        stock.put("mensaje", "Stock disponible");
+        servidor.stubFor(get(urlPathEqualTo("/api/stock"))
+                .willReturn(respuesta(latenciaMs, json, stock)));
+
+        Map<String, Object> pedido = new LinkedHashMap<>();
+        pedido.put("idPedido", 1);
+        pedido.put("estado", "CONFIRMADO");
+        servidor.stubFor(post(urlPathEqualTo("/api/compra"))
+                .willReturn(respuesta(latenciaMs, json, pedido)));
+    }
+
+    private static Map<String, Object> producto(long id) {
+        Map<String, Object> producto = new LinkedHashMap<>();
+        producto.put("idProducto", id);
+        producto.put("nombre", "Repuesto Amazon " + id);
+        producto.put("descripcion", "Producto del catálogo de Amazon Core");
+        producto.put("precio", 49.90);
+        producto.put("stock", 100);
+        producto.put("imagen", "amazon-" + id + ".jpg");
+        producto.put("prodProveedor", "AmazonCore");
+        return producto;
+    }
+
+    private static ResponseDefinitionBuilder respuesta(int latenciaMs, ObjectMapper json, Object cuerpo) {
+        try {
+            return aResponse()
+                    .withStatus(200)
+                    .withHeader("Content-Type", "application/json")
+                    .withFixedDelay(latenciaMs)
+                    .withBody(json.writeValueAsString(cuerpo));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo generar la respuesta del simulador", e);
+        }
+    }
+
+    /**
+     * Detiene el simulador.
+     */
+    @Override
+    public void close() {
+        servidor.stop();
+    }
+}
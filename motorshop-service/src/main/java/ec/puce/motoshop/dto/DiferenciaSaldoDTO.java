@@ -0,0 +1,63 @@
+package ec.puce.motoshop.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Descuadre encontrado al conciliar una cuenta. El origen indica qué saldo no
+ * coincide con el libro de transacciones: CORTE si es el último corte de la
+ * cuenta, CUENTA si es la columna saldo de la cuenta bancaria.
+ */
+public class DiferenciaSaldoDTO {
+
+    public static final String ORIGEN_CORTE = "CORTE";
+    public static final String ORIGEN_CUENTA = "CUENTA";
+
+    private Integer cuentaId;
+    private String origen;
+    private BigDecimal saldoRegistrado;
+    private BigDecimal saldoLibro;
+
+    // Constructor por defecto
+    public DiferenciaSaldoDTO() {
+    }
+
+    public DiferenciaSaldoDTO(Integer cuentaId, String origen, BigDecimal saldoRegistrado, BigDecimal saldoLibro) {
+        this.cuentaId = cuentaId;
+        this.origen = origen;
+        this.saldoRegistrado = saldoRegistrado;
+        this.saldoLibro = saldoLibro;
+    }
+
+    // Getters y setters
+    public Integer getCuentaId() {
+        return cuentaId;
+    }
+
+    public void setCuentaId(Integer cuentaId) {
+        this.cuentaId = cuentaId;
+    }
+
+    public String getOrigen() {
+        return origen;
+    }
+
+    public void setOrigen(String origen) {
+        this.origen = origen;
+    }
+
+    public BigDecimal getSaldoRegistrado() {
+        return saldoRegistrado;
+    }
+
+    public void setSaldoRegistrado(BigDecimal saldoRegistrado) {
+        this.saldoRegistrado = saldoRegistrado;
+    }
+
+    public BigDecimal getSaldoLibro() {
+        return saldoLibro;
+    }
+
+    public void setSaldoLibro(BigDecimal saldoLibro) {
+        this.saldoLibro = saldoLibro;
+    }
+}
@@ -0,0 +1,90 @@
+package ec.puce.motoshop.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Criterios de filtrado y paginación por cursor para el catálogo de
+ * productos.
+ * Todos los filtros son opcionales; un valor null significa "sin filtro".
+ */
+public class FiltroProductoDTO {
+
+    /**
+     * Criterio de ordenamiento de las páginas del catálogo.
+     */
+    public enum Orden {
+        /** Orden ascendente por ID del producto. */
+        ID,
+        /** Orden ascendente por precio y, a igual precio, por ID. */
+        PRECIO
+    }
+
+    private Integer categoriaId;
+    private BigDecimal precioMin;
+    private BigDecimal precioMax;
+    private boolean soloDisponibles;
+    private Orden orden = Orden.ID;
+    private String cursor;
+    private int tamanio = 20;
+
+    // Constructor por defecto
+    public FiltroProductoDTO() {
+    }
+
+    // Getters y setters
+    public Integer getCategoriaId() {
+        return categoriaId;
+    }
+
+    public void setCategoriaId(Integer categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    public BigDecimal getPrecioMin() {
+        return precioMin;
+    }
+
+    public void setPrecioMin(BigDecimal precioMin) {
+        this.precioMin = precioMin;
+    }
+
+    public BigDecimal getPrecioMax() {
+        return precioMax;
+    }
+
+    public void setPrecioMax(BigDecimal precioMax) {
+        this.precioMax = precioMax;
+    }
+
+    public boolean isSoloDisponibles() {
+        return soloDisponibles;
+    }
+
+    public void setSoloDisponibles(boolean soloDisponibles) {
+        this.soloDisponibles = soloDisponibles;
+    }
+
+    public Orden getOrden() {
+        return orden;
+    }
+
+    public void setOrden(Orden orden) {
+        this.orden = orden;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    public void setTamanio(int tamanio) {
+        this.tamanio = tamanio;
+    }
+}
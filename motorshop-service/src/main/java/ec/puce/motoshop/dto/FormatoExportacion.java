@@ -0,0 +1,44 @@
+package ec.puce.motoshop.dto;
+
+/**
+ * Formatos disponibles para la exportación de tablas completas.
+ */
+public enum FormatoExportacion {
+
+    /** Un objeto JSON por línea (newline-delimited JSON). */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** Valores separados por comas, con una fila de encabezados. */
+    CSV("text/csv", "csv");
+
+    private final String tipoContenido;
+    private final String extension;
+
+    FormatoExportacion(String tipoContenido, String extension) {
+        this.tipoContenido = tipoContenido;
+        this.extension = extension;
+    }
+
+    /**
+     * Obtiene el formato a partir de su nombre, sin distinguir mayúsculas.
+     * 
+     * @param nombre Nombre del formato ("ndjson" o "csv").
+     * @return El formato correspondiente.
+     * @throws IllegalArgumentException si el formato no existe.
+     */
+    public static FormatoExportacion desde(String nombre) {
+        for (FormatoExportacion formato : values()) {
+            if (formato.name().equalsIgnoreCase(nombre == null ? "" : nombre.trim())) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("El formato debe ser 'ndjson' o 'csv'");
+    }
+
+    public String getTipoContenido() {
+        return tipoContenido;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,78 @@
+package ec.puce.motoshop.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Línea de un pedido con los datos del producto necesarios para mostrarla.
+ */
+public class LineaPedidoDTO {
+
+    private Integer detalleId;
+    private Integer productoId;
+    private String productoNombre;
+    private String imagenPrincipal;
+    private int cantidad;
+    private BigDecimal precioUnitario;
+    private BigDecimal subtotal;
+
+    // Constructor por defecto
+    public LineaPedidoDTO() {
+    }
+
+    // Getters y setters
+    public Integer getDetalleId() {
+        return detalleId;
+    }
+
+    public void setDetalleId(Integer detalleId) {
+        this.detalleId = detalleId;
+    }
+
+    public Integer getProductoId() {
+        return productoId;
+    }
+
+    public void setProductoId(Integer productoId) {
+        this.productoId = productoId;
+    }
+
+    public String getProductoNombre() {
+        return productoNombre;
+    }
+
+    public void setProductoNombre(String productoNombre) {
+        this.productoNombre = productoNombre;
+    }
+
+    public String getImagenPrincipal() {
+        return imagenPrincipal;
+    }
+
+    public void setImagenPrincipal(String imagenPrincipal) {
+        this.imagenPrincipal = imagenPrincipal;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public void setCantidad(int cantidad) {
+        this.cantidad = cantidad;
+    }
+
+    public BigDecimal getPrecioUnitario() {
+        return precioUnitario;
+    }
+
+    public void setPrecioUnitario(BigDecimal precioUnitario) {
+        this.precioUnitario = precioUnitario;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+    }
+}
@@ -0,0 +1,67 @@
+package ec.puce.motoshop.dto;
+
+/**
+ * Resultado de la reserva de stock para una línea (producto) de un pedido.
+ * Si el producto aparece varias veces en el pedido, cantidadSolicitada es la
+ * suma de todas sus líneas.
+ */
+public class LineaReservaDTO {
+
+    private Integer productoId;
+    private int cantidadSolicitada;
+    private Integer stockDisponible;
+    private boolean reservado;
+
+    // Constructor por defecto
+    public LineaReservaDTO() {
+    }
+
+    public LineaReservaDTO(Integer productoId, int cantidadSolicitada, Integer stockDisponible, boolean reservado) {
+        this.productoId = productoId;
+        this.cantidadSolicitada = cantidadSolicitada;
+        this.stockDisponible = stockDisponible;
+        this.reservado = reservado;
+    }
+
+    /**
+     * Indica si el producto existe en el inventario local.
+     * 
+     * @return true si el producto fue encontrado.
+     */
+    public boolean isEncontrado() {
+        return stockDisponible != null;
+    }
+
+    // Getters y setters
+    public Integer getProductoId() {
+        return productoId;
+    }
+
+    public void setProductoId(Integer productoId) {
+        this.productoId = productoId;
+    }
+
+    public int getCantidadSolicitada() {
+        return cantidadSolicitada;
+    }
+
+    public void setCantidadSolicitada(int cantidadSolicitada) {
+        this.cantidadSolicitada = cantidadSolicitada;
+    }
+
+    public Integer getStockDisponible() {
+        return stockDisponible;
+    }
+
+    public void setStockDisponible(Integer stockDisponible) {
+        this.stockDisponible = stockDisponible;
+    }
+
+    public boolean isReservado() {
+        return reservado;
+    }
+
+    public void setReservado(boolean reservado) {
+        this.reservado = reservado;
+    }
+}
@@ -0,0 +1,51 @@
+package ec.puce.motoshop.dto;
+
+import ec.puce.motoshop.domain.Producto;
+import java.util.List;
+
+/**
+ * Página del catálogo de productos obtenida mediante paginación por cursor.
+ * El campo siguienteCursor es opaco para el cliente: basta con reenviarlo en
+ * la siguiente petición para obtener la página que sigue.
+ */
+public class PaginaProductoDTO {
+
+    private List<Producto> productos;
+    private String siguienteCursor;
+    private boolean hayMas;
+
+    // Constructor por defecto
+    public PaginaProductoDTO() {
+    }
+
+    public PaginaProductoDTO(List<Producto> productos, String siguienteCursor, boolean hayMas) {
+        this.productos = productos;
+        this.siguienteCursor = siguienteCursor;
+        this.hayMas = hayMas;
+    }
+
+    // Getters y setters
+    public List<Producto> getProductos() {
+        return productos;
+    }
+
+    public void setProductos(List<Producto> productos) {
+        this.productos = productos;
+    }
+
+    public String getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public void setSiguienteCursor(String siguienteCursor) {
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    public boolean isHayMas() {
+        return hayMas;
+    }
+
+    public void setHayMas(boolean hayMas) {
+        this.hayMas = hayMas;
+    }
+}
@@ -0,0 +1,144 @@
+package ec.puce.motoshop.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Vista de lectura de un pedido con su cliente, dirección de entrega y líneas,
+ * obtenida con una sola consulta.
+ */
+public class PedidoCompletoDTO {
+
+    private Integer id;
+    private LocalDateTime fechaPedido;
+    private String estado;
+    private BigDecimal total;
+    private Integer transaccionId;
+    private Long clienteId;
+    private String clienteNombre;
+    private String clienteTelefono;
+    private Integer direccionId;
+    private String calle;
+    private String ciudad;
+    private String provincia;
+    private String codigoPostal;
+    private List<LineaPedidoDTO> lineas;
+
+    // Constructor por defecto
+    public PedidoCompletoDTO() {
+    }
+
+    // Getters y setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getFechaPedido() {
+        return fechaPedido;
+    }
+
+    public void setFechaPedido(LocalDateTime fechaPedido) {
+        this.fechaPedido = fechaPedido;
+    }
+
+    public String getEstado() {
+        return estado;
+    }
+
+    public void setEstado(String estado) {
+        this.estado = estado;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public Integer getTransaccionId() {
+        return transaccionId;
+    }
+
+    public void setTransaccionId(Integer transaccionId) {
+        this.transaccionId = transaccionId;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    public String getClienteNombre() {
+        return clienteNombre;
+    }
+
+    public void setClienteNombre(String clienteNombre) {
+        this.clienteNombre = clienteNombre;
+    }
+
+    public String getClienteTelefono() {
+        return clienteTelefono;
+    }
+
+    public void setClienteTelefono(String clienteTelefono) {
+        this.clienteTelefono = clienteTelefono;
+    }
+
+    public Integer getDireccionId() {
+        return direccionId;
+    }
+
+    public void setDireccionId(Integer direccionId) {
+        this.direccionId = direccionId;
+    }
+
+    public String getCalle() {
+        return calle;
+    }
+
+    public void setCalle(String calle) {
+        this.calle = calle;
+    }
+
+    public String getCiudad() {
+        return ciudad;
+    }
+
+    public void setCiudad(String ciudad) {
+        this.ciudad = ciudad;
+    }
+
+    public String getProvincia() {
+        return provincia;
+    }
+
+    public void setProvincia(String provincia) {
+        this.provincia = provincia;
+    }
+
+    public String getCodigoPostal() {
+        return codigoPostal;
+    }
+
+    public void setCodigoPostal(String codigoPostal) {
+        this.codigoPostal = codigoPostal;
+    }
+
+    public List<LineaPedidoDTO> getLineas() {
+        return lineas;
+    }
+
+    public void setLineas(List<LineaPedidoDTO> lineas) {
+        this.lineas = lineas;
+    }
+}
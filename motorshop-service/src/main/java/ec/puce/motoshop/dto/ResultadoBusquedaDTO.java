@@ -0,0 +1,61 @@
+package ec.puce.motoshop.dto;
+
+import ec.puce.motoshop.domain.Producto;
+import java.util.List;
+
+/**
+ * Página de resultados de la búsqueda de productos por texto, ordenada por
+ * relevancia. El campo aproximada indica que no hubo coincidencias de texto
+ * completo y los resultados provienen de la búsqueda por similitud.
+ */
+public class ResultadoBusquedaDTO {
+
+    private List<Producto> productos;
+    private int pagina;
+    private boolean hayMas;
+    private boolean aproximada;
+
+    // Constructor por defecto
+    public ResultadoBusquedaDTO() {
+    }
+
+    public ResultadoBusquedaDTO(List<Producto> productos, int pagina, boolean hayMas, boolean aproximada) {
+        this.productos = productos;
+        this.pagina = pagina;
+        this.hayMas = hayMas;
+        this.aproximada = aproximada;
+    }
+
+    // Getters y setters
+    public List<Producto> getProductos() {
+        return productos;
+    }
+
+    public void setProductos(List<Producto> productos) {
+        this.productos = productos;
+    }
+
+    public int getPagina() {
+        return pagina;
+    }
+
+    public void setPagina(int pagina) {
+        this.pagina = pagina;
+    }
+
+    public boolean isHayMas() {
+        return hayMas;
+    }
+
+    public void setHayMas(boolean hayMas) {
+        this.hayMas = hayMas;
+    }
+
+    public boolean isAproximada() {
+        return aproximada;
+    }
+
+    public void setAproximada(boolean aproximada) {
+        this.aproximada = aproximada;
+    }
+}
@@ -0,0 +1,40 @@
+package ec.puce.motoshop.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de conciliar los cortes de saldo con el libro de transacciones.
+ * Una conciliación sin diferencias demuestra que cada último corte es igual al
+ * saldo de apertura de la cuenta más todos sus movimientos hasta ese corte.
+ */
+public class ResultadoConciliacionDTO {
+
+    private int cuentasRevisadas;
+    private List<DiferenciaSaldoDTO> diferencias;
+
+    // Constructor por defecto
+    public ResultadoConciliacionDTO() {
+    }
+
+    public ResultadoConciliacionDTO(int cuentasRevisadas, List<DiferenciaSaldoDTO> diferencias) {
+        this.cuentasRevisadas = cuentasRevisadas;
+        this.diferencias = diferencias;
+    }
+
+    // Getters y setters
+    public int getCuentasRevisadas() {
+        return cuentasRevisadas;
+    }
+
+    public void setCuentasRevisadas(int cuentasRevisadas) {
+        this.cuentasRevisadas = cuentasRevisadas;
+    }
+
+    public List<DiferenciaSaldoDTO> getDiferencias() {
+        return diferencias;
+    }
+
+    public void setDiferencias(List<DiferenciaSaldoDTO> diferencias) {
+        this.diferencias = diferencias;
+    }
+}
@@ -0,0 +1,82 @@
+package ec.puce.motoshop.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Resultado de una transferencia. El campo repetida indica que la clave de
+ * idempotencia ya se había usado y se devuelve la transferencia original sin
+ * mover dinero otra vez.
+ */
+public class ResultadoTransferenciaDTO {
+
+    private Integer transaccionId;
+    private Integer cuentaOrigenId;
+    private Integer cuentaDestinoId;
+    private BigDecimal monto;
+    private LocalDateTime fechaTransaccion;
+    private boolean repetida;
+
+    // Constructor por defecto
+    public ResultadoTransferenciaDTO() {
+    }
+
+    public ResultadoTransferenciaDTO(Integer transaccionId, Integer cuentaOrigenId, Integer cuentaDestinoId,
+            BigDecimal monto, LocalDateTime fechaTransaccion, boolean repetida) {
+        this.transaccionId = transaccionId;
+        this.cuentaOrigenId = cuentaOrigenId;
+        this.cuentaDestinoId = cuentaDestinoId;
+        this.monto = monto;
+        this.fechaTransaccion = fechaTransaccion;
+        this.repetida = repetida;
+    }
+
+    // Getters y setters
+    public Integer getTransaccionId() {
+        return transaccionId;
+    }
+
+    public void setTransaccionId(Integer transaccionId) {
+        this.transaccionId = transaccionId;
+    }
+
+    public Integer getCuentaOrigenId() {
+        return cuentaOrigenId;
+    }
+
+    public void setCuentaOrigenId(Integer cuentaOrigenId) {
+        this.cuentaOrigenId = cuentaOrigenId;
+    }
+
+    public Integer getCuentaDestinoId() {
+        return cuentaDestinoId;
+    }
+
+    public void setCuentaDestinoId(Integer cuentaDestinoId) {
+        this.cuentaDestinoId = cuentaDestinoId;
+    }
+
+    public BigDecimal getMonto() {
+        return monto;
+    }
+
+    public void setMonto(BigDecimal monto) {
+        this.monto = monto;
+    }
+
+    public LocalDateTime getFechaTransaccion() {
+        return fechaTransaccion;
+    }
+
+    public void setFechaTransaccion(LocalDateTime fechaTransaccion) {
+        this.fechaTransaccion = fechaTransaccion;
+    }
+
+    public boolean isRepetida() {
+        return repetida;
+    }
+
+    public void setRepetida(boolean repetida) {
+        this.repetida = repetida;
+    }
+}
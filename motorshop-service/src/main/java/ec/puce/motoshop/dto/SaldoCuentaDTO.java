@@ -0,0 +1,50 @@
+package ec.puce.motoshop.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Saldo actual de una cuenta bancaria. El campo desdeLibro indica que se
+ * calculó con el último corte más los movimientos posteriores del libro de
+ * transacciones, en lugar de leerse de la columna saldo de la cuenta.
+ */
+public class SaldoCuentaDTO {
+
+    private Integer cuentaId;
+    private BigDecimal saldo;
+    private boolean desdeLibro;
+
+    // Constructor por defecto
+    public SaldoCuentaDTO() {
+    }
+
+    public SaldoCuentaDTO(Integer cuentaId, BigDecimal saldo, boolean desdeLibro) {
+        this.cuentaId = cuentaId;
+        this.saldo = saldo;
+        this.desdeLibro = desdeLibro;
+    }
+
+    // Getters y setters
+    public Integer getCuentaId() {
+        return cuentaId;
+    }
+
+    public void setCuentaId(Integer cuentaId) {
+        this.cuentaId = cuentaId;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public void setSaldo(BigDecimal saldo) {
+        this.saldo = saldo;
+    }
+
+    public boolean isDesdeLibro() {
+        return desdeLibro;
+    }
+
+    public void setDesdeLibro(boolean desdeLibro) {
+        this.desdeLibro = desdeLibro;
+    }
+}
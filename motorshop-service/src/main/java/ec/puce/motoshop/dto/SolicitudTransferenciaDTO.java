@@ -0,0 +1,59 @@
+package ec.puce.motoshop.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Datos de una transferencia de dinero entre dos cuentas bancarias.
+ */
+public class SolicitudTransferenciaDTO {
+
+    private Integer cuentaOrigenId;
+    private Integer cuentaDestinoId;
+    private BigDecimal monto;
+    private String descripcion;
+
+    // Constructor por defecto
+    public SolicitudTransferenciaDTO() {
+    }
+
+    public SolicitudTransferenciaDTO(Integer cuentaOrigenId, Integer cuentaDestinoId, BigDecimal monto,
+            String descripcion) {
+        this.cuentaOrigenId = cuentaOrigenId;
+        this.cuentaDestinoId = cuentaDestinoId;
+        this.monto = monto;
+        this.descripcion = descripcion;
+    }
+
+    // Getters y setters
+    public Integer getCuentaOrigenId() {
+        return cuentaOrigenId;
+    }
+
+    public void setCuentaOrigenId(Integer cuentaOrigenId) {
+        this.cuentaOrigenId = cuentaOrigenId;
+    }
+
+    public Integer getCuentaDestinoId() {
+        return cuentaDestinoId;
+    }
+
+    public void setCuentaDestinoId(Integer cuentaDestinoId) {
+        this.cuentaDestinoId = cuentaDestinoId;
+    }
+
+    public BigDecimal getMonto() {
+        return monto;
+    }
+
+    public void setMonto(BigDecimal monto) {
+        this.monto = monto;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    public void setDescripcion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+}
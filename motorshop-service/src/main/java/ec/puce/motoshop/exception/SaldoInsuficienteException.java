@@ -0,0 +1,43 @@
+package ec.puce.motoshop.exception;
+
+import java.math.BigDecimal;
+
+/**
+ * Excepción lanzada cuando la cuenta de origen de una transferencia no tiene
+ * saldo suficiente. Al lanzarse dentro de la transacción, ninguna de las dos
+ * cuentas queda modificada.
+ */
+public class SaldoInsuficienteException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Integer cuentaId;
+    private final BigDecimal saldo;
+    private final BigDecimal monto;
+
+    /**
+     * Constructor con el estado de la cuenta al momento de la transferencia.
+     *
+     * @param cuentaId ID de la cuenta de origen.
+     * @param saldo    Saldo disponible.
+     * @param monto    Monto que se intentó transferir.
+     */
+    public SaldoInsuficienteException(Integer cuentaId, BigDecimal saldo, BigDecimal monto) {
+        super("La cuenta " + cuentaId + " no tiene saldo suficiente para transferir " + monto);
+        this.cuentaId = cuentaId;
+        this.saldo = saldo;
+        this.monto = monto;
+    }
+
+    public Integer getCuentaId() {
+        return cuentaId;
+    }
+
+    public BigDecimal getSaldo() {
+        return saldo;
+    }
+
+    public BigDecimal getMonto() {
+        return monto;
+    }
+}
@@ -0,0 +1,46 @@
+package ec.puce.motoshop.exception;
+
+import ec.puce.motoshop.dto.LineaReservaDTO;
+import java.util.List;
+
+/**
+ * Excepción lanzada cuando una reserva de stock no puede completarse porque
+ * uno o más productos no existen o no tienen stock suficiente.
+ * Al lanzarse dentro de la transacción, ninguna línea del pedido queda
+ * reservada.
+ */
+public class StockInsuficienteException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<LineaReservaDTO> lineas;
+
+    /**
+     * Constructor con el detalle de todas las líneas evaluadas.
+     *
+     * @param lineas Resultado por producto, incluidas las que sí tenían stock.
+     */
+    public StockInsuficienteException(List<LineaReservaDTO> lineas) {
+        super("No hay suficiente stock para " + lineas.stream().filter(l -> !l.isReservado()).count()
+                + " producto(s) del pedido");
+        this.lineas = lineas;
+    }
+
+    /**
+     * Obtiene el resultado de cada línea del pedido.
+     *
+     * @return Lista de líneas evaluadas.
+     */
+    public List<LineaReservaDTO> getLineas() {
+        return lineas;
+    }
+
+    /**
+     * Obtiene solo las líneas que no pudieron reservarse.
+     *
+     * @return Lista de líneas rechazadas.
+     */
+    public List<LineaReservaDTO> getLineasRechazadas() {
+        return lineas.stream().filter(l -> !l.isReservado()).toList();
+    }
+}
@@ -0,0 +1,199 @@
+package ec.puce.motoshop.service;
+
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.dto.ResultadoBusquedaDTO;
+import ec.puce.motoshop.repository.ProductoRepository;
+import ec.puce.motoshop.repository.projection.ProductoNombre;
+import ec.puce.motoshop.repository.support.LimiteDesplazamiento;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementación de la interfaz IBusquedaProductoService.
+ * La búsqueda se resuelve en PostgreSQL con texto completo y, como respaldo,
+ * con similitud por trigramas. El autocompletado usa un índice de prefijos en
+ * memoria (palabra normalizada -> productos) que se reconstruye a partir de
+ * los nombres de productos cuando el catálogo cambia.
+ */
+@Service
+public class BusquedaProductoServiceImpl implements IBusquedaProductoService {
+
+    /**
+     * Número máximo de sugerencias por petición de autocompletado.
+     */
+    public static final int LIMITE_MAXIMO_SUGERENCIAS = 20;
+
+    private final ProductoRepository productoRepository;
+
+    // Índice inmutable: se reemplaza entero en cada reconstrucción, así las
+    // lecturas concurrentes no necesitan bloqueo
+    private volatile NavigableMap<String, List<ProductoNombre>> indicePrefijos;
+    private final AtomicBoolean desactualizado = new AtomicBoolean(true);
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param productoRepository Repositorio para operaciones de persistencia de
+     *                           Producto.
+     */
+    @Autowired
+    public BusquedaProductoServiceImpl(ProductoRepository productoRepository) {
+        this.productoRepository = productoRepository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ResultadoBusquedaDTO buscar(String texto, int pagina, int tamanio) {
+        if (texto == null || texto.isBlank()) {
+            throw new IllegalArgumentException("El texto de búsqueda no puede estar vacío");
+        }
+        if (pagina < 0) {
+            throw new IllegalArgumentException("La página no puede ser negativa");
+        }
+        if (tamanio < 1 || tamanio > ProductoServiceImpl.TAMANIO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException(
+                    "El tamaño de página debe estar entre 1 y " + ProductoServiceImpl.TAMANIO_MAXIMO_PAGINA);
+        }
+
+        String consulta = texto.trim();
+        // Se pide un elemento extra para saber si existe una página siguiente
+        // sin necesidad de una consulta COUNT; el desplazamiento se calcula con
+        // el tamaño de página, no con el límite que incluye ese extra
+        Pageable limite = LimiteDesplazamiento.de((long) pagina * tamanio, tamanio + 1);
+        List<Producto> productos = productoRepository.buscarPorTexto(consulta, limite);
+
+        // El respaldo por similitud se decide en la primera página, y las
+        // siguientes lo mantienen porque la primera ya vino vacía
+        boolean aproximada = false;
+        if (productos.isEmpty() && (pagina == 0 || productoRepository.buscarPorTexto(consulta,
+                PageRequest.of(0, 1)).isEmpty())) {
+            productos = productoRepository.buscarPorSimilitud(consulta, limite);
+            aproximada = true;
+        }
+
+        boolean hayMas = productos.size() > tamanio;
+        if (hayMas) {
+            productos = productos.subList(0, tamanio);
+        }
+        return new ResultadoBusquedaDTO(productos, pagina, hayMas, aproximada);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductoNombre> autocompletar(String prefijo, int limite) {
+        if (prefijo == null || prefijo.isBlank()) {
+            throw new IllegalArgumentException("El prefijo no puede estar vacío");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO_SUGERENCIAS) {
+            throw new IllegalArgumentException(
+                    "El límite debe estar entre 1 y " + LIMITE_MAXIMO_SUGERENCIAS);
+        }
+
+        String clave = normalizar(prefijo);
+        // Todas las claves que empiezan con el prefijo están entre el prefijo
+        // y el prefijo seguido del mayor carácter posible
+        NavigableMap<String, List<ProductoNombre>> coincidencias = indiceActual()
+                .subMap(clave, true, clave + Character.MAX_VALUE, false);
+
+        Map<Integer, ProductoNombre> sugerencias = new LinkedHashMap<>();
+        for (List<ProductoNombre> productos : coincidencias.values()) {
+            for (ProductoNombre producto : productos) {
+                sugerencias.putIfAbsent(producto.id(), producto);
+                if (sugerencias.size() == limite) {
+                    return new ArrayList<>(sugerencias.values());
+                }
+            }
+        }
+        return new ArrayList<>(sugerencias.values());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invalidarSugerencias() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Reconstruir antes del commit volvería a leer el catálogo anterior
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    desactualizado.set(true);
+                }
+            });
+        } else {
+            desactualizado.set(true);
+        }
+    }
+
+    /**
+     * Devuelve el índice de prefijos, reconstruyéndolo si el catálogo cambió
+     * desde la última vez.
+     */
+    private NavigableMap<String, List<ProductoNombre>> indiceActual() {
+        if (desactualizado.get()) {
+            synchronized (this) {
+                if (desactualizado.getAndSet(false)) {
+                    try {
+                        indicePrefijos = construirIndice(productoRepository.listarNombres());
+                    } catch (RuntimeException e) {
+                        desactualizado.set(true);
+                        throw e;
+                    }
+                }
+            }
+        }
+        return indicePrefijos;
+    }
+
+    /**
+     * Construye el índice con el nombre completo de cada producto y cada una
+     * de sus palabras, para que "casco" y "integral" sugieran "Casco Integral".
+     */
+    private NavigableMap<String, List<ProductoNombre>> construirIndice(List<ProductoNombre> productos) {
+        NavigableMap<String, List<ProductoNombre>> indice = new TreeMap<>();
+        for (ProductoNombre producto : productos) {
+            if (producto.nombre() == null) {
+                continue;
+            }
+            String nombre = normalizar(producto.nombre());
+            indice.computeIfAbsent(nombre, k -> new ArrayList<>()).add(producto);
+            for (String palabra : nombre.split("[^\\p{Alnum}]+")) {
+                if (!palabra.isEmpty() && !palabra.equals(nombre)) {
+                    indice.computeIfAbsent(palabra, k -> new ArrayList<>()).add(producto);
+                }
+            }
+        }
+        return indice;
+    }
+
+    /**
+     * Pasa el texto a minúsculas y quita las tildes, para que "termico" sugiera
+     * "Casco Térmico".
+     */
+    private String normalizar(String texto) {
+        return Normalizer.normalize(texto.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,6 +2,7 @@ package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Cliente;
 import ec.puce.motoshop.repository.ClienteRepository;
+import ec.puce.motoshop.repository.projection.ClienteResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -83,4 +84,22 @@ public class ClienteServiceImpl implements IClienteService {
     public Optional<Cliente> findByUsuarioId(String usuarioId) {
         return clienteRepository.findByUsuarioCedula(usuarioId);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClienteResumen> listarResumen() {
+        return clienteRepository.listarResumen();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ClienteResumen> obtenerResumenPorId(Long id) {
+        return clienteRepository.buscarResumenPorId(id);
+    }
 }
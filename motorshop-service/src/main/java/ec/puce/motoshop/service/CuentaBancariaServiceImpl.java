@@ -2,6 +2,7 @@ package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.CuentaBancaria;
 import ec.puce.motoshop.repository.CuentaBancariaRepository;
+import ec.puce.motoshop.repository.projection.CuentaBancariaResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +20,7 @@ import java.util.Optional;
 public class CuentaBancariaServiceImpl implements ICuentaBancariaService {
 
     private final CuentaBancariaRepository cuentaBancariaRepository;
+    private final ISaldoCuentaService saldoCuentaService;
 
     /**
      * Constructor con inyección de dependencias.
@@ -26,10 +28,13 @@ public class CuentaBancariaServiceImpl implements ICuentaBancariaService {
      * @param cuentaBancariaRepository Repositorio para operaciones de persistencia
      *                                 de
      *                                 CuentaBancaria.
+     * @param saldoCuentaService       Servicio para los cortes de saldo.
      */
     @Autowired
-    public CuentaBancariaServiceImpl(CuentaBancariaRepository cuentaBancariaRepository) {
+    public CuentaBancariaServiceImpl(CuentaBancariaRepository cuentaBancariaRepository,
+            ISaldoCuentaService saldoCuentaService) {
         this.cuentaBancariaRepository = cuentaBancariaRepository;
+        this.saldoCuentaService = saldoCuentaService;
     }
 
     /**
@@ -56,7 +61,12 @@ public class CuentaBancariaServiceImpl implements ICuentaBancariaService {
     @Override
     @Transactional
     public CuentaBancaria guardar(CuentaBancaria cuenta) {
-        return cuentaBancariaRepository.save(cuenta);
+        boolean nueva = cuenta.getId() == null;
+        CuentaBancaria guardada = cuentaBancariaRepository.save(cuenta);
+        if (nueva) {
+            saldoCuentaService.registrarSaldoInicial(guardada);
+        }
+        return guardada;
     }
 
     /**
@@ -67,4 +77,22 @@ public class CuentaBancariaServiceImpl implements ICuentaBancariaService {
     public void eliminar(Integer id) {
         cuentaBancariaRepository.deleteById(id);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CuentaBancariaResumen> listarResumen() {
+        return cuentaBancariaRepository.listarResumen();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CuentaBancariaResumen> obtenerResumenPorId(Integer id) {
+        return cuentaBancariaRepository.buscarResumenPorId(id);
+    }
 }
@@ -2,6 +2,7 @@ package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.DetallePedido;
 import ec.puce.motoshop.repository.DetallePedidoRepository;
+import ec.puce.motoshop.repository.projection.DetallePedidoResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -67,4 +68,22 @@ public class DetallePedidoServiceImpl implements IDetallePedidoService {
     public void eliminar(Integer id) {
         detallePedidoRepository.deleteById(id);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<DetallePedidoResumen> listarResumen() {
+        return detallePedidoRepository.listarResumen();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DetallePedidoResumen> obtenerResumenPorId(Integer id) {
+        return detallePedidoRepository.buscarResumenPorId(id);
+    }
 }
@@ -2,6 +2,7 @@ package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Direccion;
 import ec.puce.motoshop.repository.DireccionRepository;
+import ec.puce.motoshop.repository.projection.DireccionResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -65,4 +66,22 @@ public class DireccionServiceImpl implements IDireccionService {
     public void eliminar(Integer id) {
         direccionRepository.deleteById(id);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<DireccionResumen> listarResumen() {
+        return direccionRepository.listarResumen();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<DireccionResumen> obtenerResumenPorId(Integer id) {
+        return direccionRepository.buscarResumenPorId(id);
+    }
 }
@@ -0,0 +1,251 @@
+package ec.puce.motoshop.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import ec.puce.motoshop.domain.Factura;
+import ec.puce.motoshop.domain.Pedido;
+import ec.puce.motoshop.domain.Transaccion;
+import ec.puce.motoshop.dto.FormatoExportacion;
+import ec.puce.motoshop.repository.FacturaRepository;
+import ec.puce.motoshop.repository.PedidoRepository;
+import ec.puce.motoshop.repository.TransaccionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Implementación de la interfaz IExportacionService.
+ * Cada exportación recorre un Stream del repositorio dentro de una transacción
+ * de solo lectura, de modo que PostgreSQL entrega las filas con un cursor en
+ * bloques, y vacía el contexto de persistencia cada TAMANIO_LOTE filas para
+ * que las entidades ya escritas puedan liberarse.
+ */
+@Service
+public class ExportacionServiceImpl implements IExportacionService {
+
+    /**
+     * Filas entre cada limpieza del contexto de persistencia; coincide con el
+     * fetch size de las consultas de exportación.
+     */
+    private static final int TAMANIO_LOTE = 500;
+
+    private static final String[] COLUMNAS_PEDIDO = { "id", "fechaPedido", "estado", "total", "transaccionId",
+            "clienteId", "clienteNombre", "direccionId", "ciudad" };
+
+    private static final String[] COLUMNAS_TRANSACCION = { "id", "fechaTransaccion", "tipo", "monto",
+            "descripcion", "cuentaOrigenId", "cuentaOrigenNumero", "cuentaDestinoId", "cuentaDestinoNumero" };
+
+    private static final String[] COLUMNAS_FACTURA = { "id", "fechaEmision", "totalFactura", "estado",
+            "metodoPago", "pedidoId" };
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final PedidoRepository pedidoRepository;
+    private final TransaccionRepository transaccionRepository;
+    private final FacturaRepository facturaRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * 
+     * @param pedidoRepository      Repositorio de pedidos.
+     * @param transaccionRepository Repositorio de transacciones.
+     * @param facturaRepository     Repositorio de facturas.
+     */
+    @Autowired
+    public ExportacionServiceImpl(PedidoRepository pedidoRepository, TransaccionRepository transaccionRepository,
+            FacturaRepository facturaRepository) {
+        this.pedidoRepository = pedidoRepository;
+        this.transaccionRepository = transaccionRepository;
+        this.facturaRepository = facturaRepository;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarPedidos(OutputStream salida, FormatoExportacion formato) throws IOException {
+        try (Stream<Pedido> pedidos = pedidoRepository.recorrerTodos()) {
+            return exportar(pedidos, salida, formato, COLUMNAS_PEDIDO, pedido -> new Object[] {
+                    pedido.getId(),
+                    pedido.getFechaPedido(),
+                    pedido.getEstado(),
+                    pedido.getTotal(),
+                    pedido.getTransaccionId(),
+                    pedido.getCliente().getId(),
+                    pedido.getCliente().getNombre(),
+                    pedido.getDireccion().getId(),
+                    pedido.getDireccion().getCiudad() });
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarTransacciones(OutputStream salida, FormatoExportacion formato) throws IOException {
+        try (Stream<Transaccion> transacciones = transaccionRepository.recorrerTodas()) {
+            return exportar(transacciones, salida, formato, COLUMNAS_TRANSACCION, transaccion -> new Object[] {
+                    transaccion.getId(),
+                    transaccion.getFechaTransaccion(),
+                    transaccion.getTipo(),
+                    transaccion.getMonto(),
+                    transaccion.getDescripcion(),
+                    transaccion.getCuentaOrigen().getId(),
+                    transaccion.getCuentaOrigen().getNumeroCuenta(),
+                    transaccion.getCuentaDestino().getId(),
+                    transaccion.getCuentaDestino().getNumeroCuenta() });
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarFacturas(OutputStream salida, FormatoExportacion formato) throws IOException {
+        try (Stream<Factura> facturas = facturaRepository.recorrerTodas()) {
+            return exportar(facturas, salida, formato, COLUMNAS_FACTURA, factura -> new Object[] {
+                    factura.getId(),
+                    factura.getFechaEmision(),
+                    factura.getTotalFactura(),
+                    factura.getEstado(),
+                    factura.getMetodoPago(),
+                    factura.getPedido().getId() });
+        }
+    }
+
+    /**
+     * Escribe cada fila del Stream en el formato indicado y libera las
+     * entidades del contexto de persistencia cada TAMANIO_LOTE filas.
+     */
+    private <T> long exportar(Stream<T> filas, OutputStream salida, FormatoExportacion formato, String[] columnas,
+            Function<T, Object[]> valores) throws IOException {
+        EscritorFilas escritor = formato == FormatoExportacion.CSV
+                ? new EscritorCsv(salida, columnas)
+                : new EscritorNdjson(salida, columnas);
+
+        long total = 0;
+        Iterator<T> iterador = filas.iterator();
+        while (iterador.hasNext()) {
+            escritor.escribir(valores.apply(iterador.next()));
+            if (++total % TAMANIO_LOTE == 0) {
+                entityManager.clear();
+                escritor.vaciar();
+            }
+        }
+        escritor.vaciar();
+        return total;
+    }
+
+    /**
+     * Escritor de filas en un formato de exportación.
+     */
+    private interface EscritorFilas {
+
+        void escribir(Object[] valores) throws IOException;
+
+        void vaciar() throws IOException;
+    }
+
+    /**
+     * Escribe un objeto JSON por línea con las columnas como propiedades.
+     */
+    private static final class EscritorNdjson implements EscritorFilas {
+
+        private final JsonGenerator generador;
+        private final String[] columnas;
+
+        EscritorNdjson(OutputStream salida, String[] columnas) throws IOException {
+            this.generador = JSON.createGenerator(salida, JsonEncoding.UTF8)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+            this.columnas = columnas;
+        }
+
+        @Override
+        public void escribir(Object[] valores) throws IOException {
+            generador.writeStartObject();
+            for (int i = 0; i < columnas.length; i++) {
+                generador.writeFieldName(columnas[i]);
+                Object valor = valores[i];
+                if (valor == null) {
+                    generador.writeNull();
+                } else if (valor instanceof BigDecimal decimal) {
+                    generador.writeNumber(decimal);
+                } else if (valor instanceof Integer entero) {
+                    generador.writeNumber(entero);
+                } else if (valor instanceof Long largo) {
+                    generador.writeNumber(largo);
+                } else {
+                    generador.writeString(valor.toString());
+                }
+            }
+            generador.writeEndObject();
+            generador.writeRaw('\n');
+        }
+
+        @Override
+        public void vaciar() throws IOException {
+            generador.flush();
+        }
+    }
+
+    /**
+     * Escribe una fila de encabezados y luego una línea por fila, citando los
+     * valores que contienen comas, comillas o saltos de línea.
+     */
+    private static final class EscritorCsv implements EscritorFilas {
+
+        private final Writer escritor;
+
+        EscritorCsv(OutputStream salida, String[] columnas) throws IOException {
+            this.escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+            escribir(columnas);
+        }
+
+        @Override
+        public void escribir(Object[] valores) throws IOException {
+            for (int i = 0; i < valores.length; i++) {
+                if (i > 0) {
+                    escritor.write(',');
+                }
+                if (valores[i] != null) {
+                    escritor.write(citar(valores[i].toString()));
+                }
+            }
+            escritor.write('\n');
+        }
+
+        @Override
+        public void vaciar() throws IOException {
+            escritor.flush();
+        }
+
+        private static String citar(String valor) {
+            if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0
+                    && valor.indexOf('\r') < 0) {
+                return valor;
+            }
+            return '"' + valor.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Factura;
 import ec.puce.motoshop.repository.FacturaRepository;
+import ec.puce.motoshop.repository.projection.FacturaResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -65,4 +66,22 @@ public class FacturaServiceImpl implements IFacturaService {
     public void eliminar(Integer id) {
         facturaRepository.deleteById(id);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<FacturaResumen> listarResumen() {
+        return facturaRepository.listarResumen();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<FacturaResumen> obtenerResumenPorId(Integer id) {
+        return facturaRepository.buscarResumenPorId(id);
+    }
 }
@@ -0,0 +1,46 @@
+package ec.puce.motoshop.service;
+
+import ec.puce.motoshop.dto.ResultadoBusquedaDTO;
+import ec.puce.motoshop.repository.projection.ProductoNombre;
+import java.util.List;
+
+/**
+ * Interfaz que define la búsqueda de productos por texto y el autocompletado
+ * de nombres de productos.
+ */
+public interface IBusquedaProductoService {
+
+    /**
+     * Busca productos por nombre y descripción, ordenados por relevancia.
+     * Si la búsqueda de texto completo no encuentra nada en la primera página,
+     * se repite por similitud del nombre.
+     *
+     * @param texto   Texto a buscar.
+     * @param pagina  Número de página, empezando en 0.
+     * @param tamanio Número de productos por página.
+     * @return La página de resultados.
+     * @throws IllegalArgumentException si el texto está vacío o la página es
+     *                                  inválida.
+     */
+    ResultadoBusquedaDTO buscar(String texto, int pagina, int tamanio);
+
+    /**
+     * Sugiere productos cuyo nombre, o alguna palabra del nombre, empieza con
+     * el prefijo indicado. Se resuelve en memoria, sin consultar la base de
+     * datos salvo para reconstruir el índice tras un cambio en el catálogo.
+     *
+     * @param prefijo Texto escrito por el usuario.
+     * @param limite  Número máximo de sugerencias.
+     * @return Productos sugeridos, en orden alfabético de la palabra que
+     *         coincide.
+     * @throws IllegalArgumentException si el prefijo está vacío o el límite es
+     *                                  inválido.
+     */
+    List<ProductoNombre> autocompletar(String prefijo, int limite);
+
+    /**
+     * Marca el índice de autocompletado como desactualizado. Si hay una
+     * transacción activa, la marca se aplica después del commit.
+     */
+    void invalidarSugerencias();
+}
@@ -1,6 +1,7 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Cliente;
+import ec.puce.motoshop.repository.projection.ClienteResumen;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,4 +58,20 @@ public interface IClienteService {
      * @return Un Optional que puede contener el cliente si es encontrado.
      */
     Optional<Cliente> findByUsuarioId(String usuarioId);
+
+    /**
+     * Obtiene todos los clientes con la cédula y el email de su usuario,
+     * leyendo solo las columnas necesarias para la respuesta.
+     * 
+     * @return Lista de clientes.
+     */
+    List<ClienteResumen> listarResumen();
+
+    /**
+     * Busca un cliente por su identificador con la cédula y el email de su usuario.
+     * 
+     * @param id Identificador del cliente.
+     * @return Un Optional que puede contener el cliente si es encontrado.
+     */
+    Optional<ClienteResumen> obtenerResumenPorId(Long id);
 }
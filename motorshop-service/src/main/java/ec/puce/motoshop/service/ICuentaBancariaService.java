@@ -1,6 +1,7 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.CuentaBancaria;
+import ec.puce.motoshop.repository.projection.CuentaBancariaResumen;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +30,7 @@ public interface ICuentaBancariaService {
 
     /**
      * Guarda o actualiza una cuenta bancaria en el sistema.
+     * Al crear una cuenta se registra su corte de saldo de apertura.
      * 
      * @param cuenta Entidad cuenta bancaria a guardar o actualizar.
      * @return La cuenta bancaria guardada con cualquier modificación realizada
@@ -43,4 +45,20 @@ public interface ICuentaBancariaService {
      * @param id Identificador de la cuenta bancaria a eliminar.
      */
     void eliminar(Integer id);
+
+    /**
+     * Obtiene todas las cuentas bancarias con el nombre de su cliente, leyendo
+     * solo las columnas necesarias para la respuesta.
+     * 
+     * @return Lista de cuentas bancarias.
+     */
+    List<CuentaBancariaResumen> listarResumen();
+
+    /**
+     * Busca una cuenta bancaria por su identificador con el nombre de su cliente.
+     * 
+     * @param id Identificador de la cuenta bancaria.
+     * @return Un Optional que puede contener la cuenta bancaria si es encontrada.
+     */
+    Optional<CuentaBancariaResumen> obtenerResumenPorId(Integer id);
 }
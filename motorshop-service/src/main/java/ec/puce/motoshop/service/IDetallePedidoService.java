@@ -1,6 +1,7 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.DetallePedido;
+import ec.puce.motoshop.repository.projection.DetallePedidoResumen;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,4 +44,20 @@ public interface IDetallePedidoService {
      * @param id Identificador del detalle de pedido a eliminar.
      */
     void eliminar(Integer id);
+
+    /**
+     * Obtiene todos los detalles de pedidos con el nombre de su producto, leyendo
+     * solo las columnas necesarias para la respuesta.
+     * 
+     * @return Lista de detalles de pedidos.
+     */
+    List<DetallePedidoResumen> listarResumen();
+
+    /**
+     * Busca un detalle de pedido por su identificador con el nombre de su producto.
+     * 
+     * @param id Identificador del detalle de pedido.
+     * @return Un Optional que puede contener el detalle de pedido si es encontrado.
+     */
+    Optional<DetallePedidoResumen> obtenerResumenPorId(Integer id);
 }
@@ -1,6 +1,7 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Direccion;
+import ec.puce.motoshop.repository.projection.DireccionResumen;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,4 +42,20 @@ public interface IDireccionService {
      * @param id Identificador de la dirección a eliminar.
      */
     void eliminar(Integer id);
+
+    /**
+     * Obtiene todas las direcciones con el nombre de su cliente, leyendo solo las
+     * columnas necesarias para la respuesta.
+     * 
+     * @return Lista de direcciones.
+     */
+    List<DireccionResumen> listarResumen();
+
+    /**
+     * Busca una dirección por su identificador con el nombre de su cliente.
+     * 
+     * @param id Identificador de la dirección.
+     * @return Un Optional que puede contener la dirección si es encontrada.
+     */
+    Optional<DireccionResumen> obtenerResumenPorId(Integer id);
 }
@@ -0,0 +1,44 @@
+package ec.puce.motoshop.service;
+
+import ec.puce.motoshop.dto.FormatoExportacion;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Interfaz que define la exportación de tablas completas (pedidos,
+ * transacciones y facturas).
+ * Las filas se escriben en la salida a medida que se leen de la base de datos,
+ * por lo que la memoria usada no depende del número de filas.
+ */
+public interface IExportacionService {
+
+    /**
+     * Escribe todos los pedidos en la salida indicada.
+     * 
+     * @param salida  Flujo donde se escriben las filas; no se cierra.
+     * @param formato Formato de la exportación.
+     * @return Número de filas exportadas.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    long exportarPedidos(OutputStream salida, FormatoExportacion formato) throws IOException;
+
+    /**
+     * Escribe todas las transacciones en la salida indicada.
+     * 
+     * @param salida  Flujo donde se escriben las filas; no se cierra.
+     * @param formato Formato de la exportación.
+     * @return Número de filas exportadas.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    long exportarTransacciones(OutputStream salida, FormatoExportacion formato) throws IOException;
+
+    /**
+     * Escribe todas las facturas en la salida indicada.
+     * 
+     * @param salida  Flujo donde se escriben las filas; no se cierra.
+     * @param formato Formato de la exportación.
+     * @return Número de filas exportadas.
+     * @throws IOException si ocurre un error al escribir en la salida.
+     */
+    long exportarFacturas(OutputStream salida, FormatoExportacion formato) throws IOException;
+}
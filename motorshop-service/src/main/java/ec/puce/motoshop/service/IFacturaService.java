@@ -1,6 +1,7 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Factura;
+import ec.puce.motoshop.repository.projection.FacturaResumen;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,4 +42,20 @@ public interface IFacturaService {
      * @param id Identificador de la factura a eliminar.
      */
     void eliminar(Integer id);
+
+    /**
+     * Obtiene todas las facturas con su pedido y el nombre del cliente, leyendo
+     * solo las columnas necesarias para la respuesta.
+     * 
+     * @return Lista de facturas.
+     */
+    List<FacturaResumen> listarResumen();
+
+    /**
+     * Busca una factura por su identificador con su pedido y el nombre del cliente.
+     * 
+     * @param id Identificador de la factura.
+     * @return Un Optional que puede contener la factura si es encontrada.
+     */
+    Optional<FacturaResumen> obtenerResumenPorId(Integer id);
 }
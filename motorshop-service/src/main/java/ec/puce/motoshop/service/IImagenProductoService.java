@@ -1,6 +1,7 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.ImagenProducto;
+import ec.puce.motoshop.repository.projection.ImagenProductoResumen;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,4 +53,27 @@ public interface IImagenProductoService {
      * @param id Identificador de la imagen de producto a eliminar.
      */
     void eliminar(Integer id);
+
+    /**
+     * Obtiene todas las imágenes de productos sin cargar los productos.
+     * 
+     * @return Lista de imágenes de productos.
+     */
+    List<ImagenProductoResumen> listarResumen();
+
+    /**
+     * Obtiene las imágenes de un producto sin cargar el producto.
+     * 
+     * @param productoId Identificador del producto.
+     * @return Lista de imágenes asociadas al producto.
+     */
+    List<ImagenProductoResumen> obtenerResumenPorProductoId(Integer productoId);
+
+    /**
+     * Busca una imagen de producto por su identificador sin cargar el producto.
+     * 
+     * @param id Identificador de la imagen de producto.
+     * @return Un Optional que puede contener la imagen de producto si es encontrada.
+     */
+    Optional<ImagenProductoResumen> obtenerResumenPorId(Integer id);
 }
@@ -1,6 +1,8 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Pedido;
+import ec.puce.motoshop.dto.PedidoCompletoDTO;
+import ec.puce.motoshop.repository.projection.PedidoResumen;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +28,15 @@ public interface IPedidoService {
      */
     Optional<Pedido> obtenerPorId(Integer id);
 
+    /**
+     * Obtiene un pedido con su cliente, dirección y líneas con productos
+     * mediante una sola consulta.
+     * 
+     * @param id Identificador del pedido.
+     * @return Un Optional con la vista completa del pedido si es encontrado.
+     */
+    Optional<PedidoCompletoDTO> obtenerCompleto(Integer id);
+
     /**
      * Guarda o actualiza un pedido en el sistema.
      * 
@@ -41,4 +52,21 @@ public interface IPedidoService {
      * @param id Identificador del pedido a eliminar.
      */
     void eliminar(Integer id);
+
+    /**
+     * Obtiene todos los pedidos con el nombre del cliente y la dirección de
+     * entrega, leyendo solo las columnas necesarias para la respuesta.
+     * 
+     * @return Lista de pedidos.
+     */
+    List<PedidoResumen> listarResumen();
+
+    /**
+     * Busca un pedido por su identificador con el nombre del cliente y la
+     * dirección de entrega.
+     * 
+     * @param id Identificador del pedido.
+     * @return Un Optional que puede contener el pedido si es encontrado.
+     */
+    Optional<PedidoResumen> obtenerResumenPorId(Integer id);
 }
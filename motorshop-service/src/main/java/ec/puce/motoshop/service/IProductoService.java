@@ -1,6 +1,8 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.dto.FiltroProductoDTO;
+import ec.puce.motoshop.dto.PaginaProductoDTO;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,6 +13,16 @@ import java.util.Optional;
  */
 public interface IProductoService {
 
+    /**
+     * Nombre de la caché de productos individuales, indexada por ID.
+     */
+    String CACHE_PRODUCTOS = "productos";
+
+    /**
+     * Nombre de la caché que guarda la lista completa de productos.
+     */
+    String CACHE_CATALOGO = "catalogoProductos";
+
     /**
      * Obtiene todos los productos registrados en el sistema.
      * 
@@ -18,14 +30,47 @@ public interface IProductoService {
      */
     List<Producto> listarTodos();
 
+    /**
+     * Obtiene una página del catálogo aplicando los filtros indicados.
+     * Usa paginación por cursor, por lo que el costo de cada página es
+     * constante sin importar el tamaño del catálogo.
+     * 
+     * @param filtro Filtros, orden, cursor y tamaño de la página.
+     * @return La página solicitada junto con el cursor de la siguiente.
+     * @throws IllegalArgumentException si el cursor o los filtros son
+     *                                  inválidos.
+     */
+    PaginaProductoDTO listarPagina(FiltroProductoDTO filtro);
+
     /**
      * Busca un producto por su identificador.
+     * El producto puede venir de la caché y ser la misma instancia que
+     * reciben otras peticiones, así que no debe modificarse.
      * 
      * @param id Identificador del producto.
      * @return Un Optional que puede contener el producto si es encontrado.
      */
     Optional<Producto> obtenerPorId(Integer id);
 
+    /**
+     * Obtiene la versión actual de un producto leyendo la base de datos, sin
+     * pasar por la caché, para validar precondiciones de concurrencia.
+     * 
+     * @param id Identificador del producto.
+     * @return Un Optional con la versión, vacío si el producto no existe.
+     */
+    Optional<Long> obtenerVersion(Integer id);
+
+    /**
+     * Lee un producto de la base de datos y reemplaza su copia en la caché.
+     * Se usa cuando la copia en caché tiene una versión anterior a la de la
+     * base de datos, porque otra instancia lo actualizó.
+     * 
+     * @param id Identificador del producto.
+     * @return Un Optional que puede contener el producto si es encontrado.
+     */
+    Optional<Producto> recargar(Integer id);
+
     /**
      * Guarda o actualiza un producto en el sistema.
      * 
@@ -0,0 +1,41 @@
+package ec.puce.motoshop.service;
+
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.dto.LineaReservaDTO;
+import ec.puce.motoshop.exception.StockInsuficienteException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interfaz que define las operaciones de reserva de stock de productos.
+ * Todas las líneas de un pedido se verifican y descuentan en conjunto, con un
+ * número de consultas que no depende de la cantidad de líneas.
+ */
+public interface IReservaStockService {
+
+    /**
+     * Verifica, sin reservar, si hay stock suficiente para cada producto.
+     * 
+     * @param cantidadesPorProducto Cantidad solicitada por ID de producto.
+     * @return Resultado por producto; reservado indica si había stock
+     *         suficiente al momento de la consulta.
+     */
+    List<LineaReservaDTO> verificar(Map<Integer, Integer> cantidadesPorProducto);
+
+    /**
+     * Reserva el stock de todos los productos indicados, descontándolo de forma
+     * atómica: o se reservan todas las líneas o ninguna.
+     * Debe invocarse dentro de la transacción que registra el pedido. Los
+     * productos no se bloquean al leerlos: si otra transacción cambia alguno
+     * antes del commit, la transacción falla con
+     * ObjectOptimisticLockingFailureException y el llamador debe repetirla.
+     * 
+     * @param cantidadesPorProducto Cantidad solicitada por ID de producto.
+     * @return Los productos reservados con el stock ya descontado.
+     * @throws StockInsuficienteException si algún producto no existe o no tiene
+     *                                    stock suficiente.
+     * @throws IllegalArgumentException   si no se indican productos o alguna
+     *                                    cantidad no es positiva.
+     */
+    List<Producto> reservar(Map<Integer, Integer> cantidadesPorProducto);
+}
@@ -0,0 +1,74 @@
+package ec.puce.motoshop.service;
+
+import ec.puce.motoshop.domain.CuentaBancaria;
+import ec.puce.motoshop.dto.ResultadoConciliacionDTO;
+import java.math.BigDecimal;
+import java.util.NoSuchElementException;
+
+/**
+ * Interfaz que define el cálculo de saldos a partir del libro de
+ * transacciones y de los cortes de saldo periódicos.
+ * Con motoshop.saldos.libro=true el libro es la fuente de verdad: las
+ * transferencias solo insertan transacciones y el saldo de una cuenta es su
+ * último corte más los movimientos posteriores. Con el valor por defecto
+ * (false) el saldo es la columna saldo de la cuenta, y los cortes sirven para
+ * verificarla.
+ */
+public interface ISaldoCuentaService {
+
+    /**
+     * Indica si los saldos se calculan desde el libro de transacciones.
+     *
+     * @return true si el libro es la fuente de verdad de los saldos.
+     */
+    boolean isLibroActivo();
+
+    /**
+     * Obtiene el saldo actual de una cuenta según el modo configurado.
+     *
+     * @param cuentaId ID de la cuenta bancaria.
+     * @return El saldo de la cuenta.
+     * @throws NoSuchElementException si la cuenta no existe.
+     */
+    BigDecimal obtenerSaldo(Integer cuentaId);
+
+    /**
+     * Calcula el saldo de una cuenta desde el libro: su último corte más los
+     * movimientos registrados después de él.
+     *
+     * @param cuentaId ID de la cuenta bancaria.
+     * @return El saldo según el libro.
+     * @throws NoSuchElementException si la cuenta no existe.
+     */
+    BigDecimal calcularSaldoLibro(Integer cuentaId);
+
+    /**
+     * Registra el corte de apertura de una cuenta recién creada, con su saldo
+     * inicial antes de cualquier transacción.
+     *
+     * @param cuenta Cuenta bancaria ya guardada.
+     */
+    void registrarSaldoInicial(CuentaBancaria cuenta);
+
+    /**
+     * Crea un corte para cada cuenta con movimientos desde su último corte.
+     * Los cortes llegan hasta la última posición del libro, leída después de
+     * esperar a que se confirmen las transacciones que se están registrando,
+     * de modo que ninguna transacción anterior a esa posición puede aparecer
+     * más tarde. Solo funciona sobre PostgreSQL.
+     *
+     * @return Número de cortes creados.
+     */
+    int generarCortes();
+
+    /**
+     * Comprueba, para cada cuenta, que su último corte coincide con el corte
+     * de apertura más los movimientos del libro hasta ese punto. Las
+     * diferencias solo se informan; no se modifica ningún corte.
+     * Si el libro no está activo, también compara la columna saldo de la
+     * cuenta con el saldo según el libro.
+     *
+     * @return Cuentas revisadas y diferencias encontradas.
+     */
+    ResultadoConciliacionDTO conciliar();
+}
@@ -1,6 +1,7 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Transaccion;
+import ec.puce.motoshop.repository.projection.TransaccionResumen;
 import java.util.List;
 import java.util.Optional;
 
@@ -42,4 +43,20 @@ public interface ITransaccionService {
      * @param id Identificador de la transacción a eliminar.
      */
     void eliminar(Integer id);
+
+    /**
+     * Obtiene todas las transacciones con el número de sus cuentas, leyendo solo
+     * las columnas necesarias para la respuesta.
+     * 
+     * @return Lista de transacciones.
+     */
+    List<TransaccionResumen> listarResumen();
+
+    /**
+     * Busca una transacción por su identificador con el número de sus cuentas.
+     * 
+     * @param id Identificador de la transacción.
+     * @return Un Optional que puede contener la transacción si es encontrada.
+     */
+    Optional<TransaccionResumen> obtenerResumenPorId(Integer id);
 }
@@ -0,0 +1,29 @@
+package ec.puce.motoshop.service;
+
+import ec.puce.motoshop.dto.ResultadoTransferenciaDTO;
+import ec.puce.motoshop.dto.SolicitudTransferenciaDTO;
+import ec.puce.motoshop.exception.SaldoInsuficienteException;
+import java.util.NoSuchElementException;
+
+/**
+ * Interfaz que define las transferencias de dinero entre cuentas bancarias.
+ */
+public interface ITransferenciaService {
+
+    /**
+     * Transfiere dinero entre dos cuentas. El débito, el crédito y el registro
+     * de la Transaccion se confirman juntos o no se aplica ninguno.
+     * Si se indica una clave de idempotencia que ya se usó con los mismos
+     * datos, devuelve la transferencia original sin repetirla.
+     *
+     * @param solicitud         Cuentas, monto y descripción de la transferencia.
+     * @param claveIdempotencia Clave única elegida por el cliente, o null.
+     * @return El resultado de la transferencia.
+     * @throws IllegalArgumentException si los datos son inválidos.
+     * @throws NoSuchElementException   si alguna de las cuentas no existe.
+     * @throws IllegalStateException    si la clave ya se usó con otros datos.
+     * @throws SaldoInsuficienteException si la cuenta de origen no tiene saldo
+     *                                    suficiente.
+     */
+    ResultadoTransferenciaDTO transferir(SolicitudTransferenciaDTO solicitud, String claveIdempotencia);
+}
@@ -1,6 +1,7 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Usuario;
+import ec.puce.motoshop.repository.projection.UsuarioResumen;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,4 +50,20 @@ public interface IUsuarioService {
      * @return true si el usuario existe, false en caso contrario.
      */
     boolean existsById(String cedula);
+
+    /**
+     * Obtiene todos los usuarios sin el hash de la contraseña, leyendo solo
+     * las columnas necesarias para la respuesta.
+     * 
+     * @return Lista de usuarios.
+     */
+    List<UsuarioResumen> listarResumen();
+
+    /**
+     * Busca un usuario por su identificador sin el hash de la contraseña.
+     * 
+     * @param cedula Identificador del usuario.
+     * @return Un Optional que puede contener el usuario si es encontrado.
+     */
+    Optional<UsuarioResumen> obtenerResumenPorId(String cedula);
 }
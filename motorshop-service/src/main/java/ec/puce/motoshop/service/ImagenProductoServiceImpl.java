@@ -2,6 +2,7 @@ package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.ImagenProducto;
 import ec.puce.motoshop.repository.ImagenProductoRepository;
+import ec.puce.motoshop.repository.projection.ImagenProductoResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -76,4 +77,31 @@ public class ImagenProductoServiceImpl implements IImagenProductoService {
     public void eliminar(Integer id) {
         imagenProductoRepository.deleteById(id);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ImagenProductoResumen> listarResumen() {
+        return imagenProductoRepository.listarResumen();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ImagenProductoResumen> obtenerResumenPorProductoId(Integer productoId) {
+        return imagenProductoRepository.listarResumenPorProducto(productoId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ImagenProductoResumen> obtenerResumenPorId(Integer id) {
+        return imagenProductoRepository.buscarResumenPorId(id);
+    }
 }
@@ -1,11 +1,17 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Pedido;
+import ec.puce.motoshop.dto.LineaPedidoDTO;
+import ec.puce.motoshop.dto.PedidoCompletoDTO;
 import ec.puce.motoshop.repository.PedidoRepository;
+import ec.puce.motoshop.repository.projection.PedidoCompletoFila;
+import ec.puce.motoshop.repository.projection.PedidoResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -48,6 +54,53 @@ public class PedidoServiceImpl implements IPedidoService {
         return pedidoRepository.findById(id);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PedidoCompletoDTO> obtenerCompleto(Integer id) {
+        List<PedidoCompletoFila> filas = pedidoRepository.buscarCompletoPorId(id);
+        if (filas.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Los datos del pedido se repiten en cada fila; se toman de la primera
+        PedidoCompletoFila cabecera = filas.get(0);
+        PedidoCompletoDTO pedido = new PedidoCompletoDTO();
+        pedido.setId(cabecera.pedidoId());
+        pedido.setFechaPedido(cabecera.fechaPedido());
+        pedido.setEstado(cabecera.estado());
+        pedido.setTotal(cabecera.total());
+        pedido.setTransaccionId(cabecera.transaccionId());
+        pedido.setClienteId(cabecera.clienteId());
+        pedido.setClienteNombre(cabecera.clienteNombre());
+        pedido.setClienteTelefono(cabecera.clienteTelefono());
+        pedido.setDireccionId(cabecera.direccionId());
+        pedido.setCalle(cabecera.calle());
+        pedido.setCiudad(cabecera.ciudad());
+        pedido.setProvincia(cabecera.provincia());
+        pedido.setCodigoPostal(cabecera.codigoPostal());
+
+        List<LineaPedidoDTO> lineas = new ArrayList<>(filas.size());
+        for (PedidoCompletoFila fila : filas) {
+            if (fila.detalleId() == null) {
+                continue; // Pedido sin líneas
+            }
+            LineaPedidoDTO linea = new LineaPedidoDTO();
+            linea.setDetalleId(fila.detalleId());
+            linea.setProductoId(fila.productoId());
+            linea.setProductoNombre(fila.productoNombre());
+            linea.setImagenPrincipal(fila.imagenPrincipal());
+            linea.setCantidad(fila.cantidad());
+            linea.setPrecioUnitario(fila.precioUnitario());
+            linea.setSubtotal(fila.precioUnitario().multiply(BigDecimal.valueOf(fila.cantidad())));
+            lineas.add(linea);
+        }
+        pedido.setLineas(lineas);
+        return Optional.of(pedido);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -65,4 +118,22 @@ public class PedidoServiceImpl implements IPedidoService {
     public void eliminar(Integer id) {
         pedidoRepository.deleteById(id);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PedidoResumen> listarResumen() {
+        return pedidoRepository.listarResumen();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<PedidoResumen> obtenerResumenPorId(Integer id) {
+        return pedidoRepository.buscarResumenPorId(id);
+    }
 }
@@ -1,11 +1,22 @@
 package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.dto.FiltroProductoDTO;
+import ec.puce.motoshop.dto.PaginaProductoDTO;
 import ec.puce.motoshop.repository.ProductoRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,27 +24,47 @@ import java.util.Optional;
  * Implementación de la interfaz IProductoService que provee la lógica
  * de negocio para las operaciones relacionadas con productos.
  * Utiliza el repositorio de Producto para acceder a la capa de persistencia.
+ * Las lecturas por ID y la lista completa se sirven desde caché; guardar y
+ * eliminar la invalidan para que las lecturas posteriores vean el cambio,
+ * junto con el índice de autocompletado de IBusquedaProductoService.
+ * Las claves de caché usan la posición del parámetro (#p0) y no su nombre,
+ * que solo existe en el bytecode si se compila con -parameters.
  */
 @Service
 public class ProductoServiceImpl implements IProductoService {
 
+    /**
+     * Tamaño máximo de página permitido en el catálogo paginado.
+     */
+    public static final int TAMANIO_MAXIMO_PAGINA = 100;
+
+    private static final String PREFIJO_CURSOR_ID = "i";
+    private static final String PREFIJO_CURSOR_PRECIO = "p";
+
     private final ProductoRepository productoRepository;
+    private final IBusquedaProductoService busquedaProductoService;
 
     /**
      * Constructor con inyección de dependencias.
      * 
-     * @param productoRepository Repositorio para operaciones de persistencia de
-     *                           Producto.
+     * @param productoRepository      Repositorio para operaciones de
+     *                                persistencia de Producto.
+     * @param busquedaProductoService Servicio de búsqueda, cuyo índice de
+     *                                autocompletado se invalida al modificar
+     *                                el catálogo.
      */
     @Autowired
-    public ProductoServiceImpl(ProductoRepository productoRepository) {
+    public ProductoServiceImpl(ProductoRepository productoRepository,
+            IBusquedaProductoService busquedaProductoService) {
         this.productoRepository = productoRepository;
+        this.busquedaProductoService = busquedaProductoService;
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
+    @Cacheable(cacheNames = CACHE_CATALOGO, key = "'todos'")
     @Transactional(readOnly = true)
     public List<Producto> listarTodos() {
         return productoRepository.findAll();
@@ -44,6 +75,57 @@ public class ProductoServiceImpl implements IProductoService {
      */
     @Override
     @Transactional(readOnly = true)
+    public PaginaProductoDTO listarPagina(FiltroProductoDTO filtro) {
+        if (filtro.getTamanio() < 1 || filtro.getTamanio() > TAMANIO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException(
+                    "El tamaño de página debe estar entre 1 y " + TAMANIO_MAXIMO_PAGINA);
+        }
+        if (filtro.getPrecioMin() != null && filtro.getPrecioMax() != null
+                && filtro.getPrecioMin().compareTo(filtro.getPrecioMax()) > 0) {
+            throw new IllegalArgumentException("El precio mínimo no puede ser mayor al precio máximo");
+        }
+
+        FiltroProductoDTO.Orden orden = filtro.getOrden() != null ? filtro.getOrden() : FiltroProductoDTO.Orden.ID;
+        // Se pide un elemento extra para saber si existe una página siguiente
+        // sin necesidad de una consulta COUNT
+        Pageable limite = PageRequest.of(0, filtro.getTamanio() + 1);
+        String[] cursor = decodificarCursor(filtro.getCursor(), orden);
+
+        List<Producto> productos;
+        if (orden == FiltroProductoDTO.Orden.PRECIO) {
+            productos = productoRepository.buscarPaginaPorPrecio(
+                    filtro.getCategoriaId(),
+                    filtro.getPrecioMin(),
+                    filtro.getPrecioMax(),
+                    filtro.isSoloDisponibles(),
+                    cursor != null ? new BigDecimal(cursor[1]) : null,
+                    cursor != null ? Integer.valueOf(cursor[2]) : null,
+                    limite);
+        } else {
+            productos = productoRepository.buscarPaginaPorId(
+                    filtro.getCategoriaId(),
+                    filtro.getPrecioMin(),
+                    filtro.getPrecioMax(),
+                    filtro.isSoloDisponibles(),
+                    cursor != null ? Integer.valueOf(cursor[1]) : null,
+                    limite);
+        }
+
+        boolean hayMas = productos.size() > filtro.getTamanio();
+        if (hayMas) {
+            productos = productos.subList(0, filtro.getTamanio());
+        }
+
+        String siguienteCursor = hayMas ? codificarCursor(productos.get(productos.size() - 1), orden) : null;
+        return new PaginaProductoDTO(productos, siguienteCursor, hayMas);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Cacheable(cacheNames = CACHE_PRODUCTOS, key = "#p0")
+    @Transactional(readOnly = true)
     public Optional<Producto> obtenerPorId(Integer id) {
         return productoRepository.findById(id);
     }
@@ -52,8 +134,29 @@ public class ProductoServiceImpl implements IProductoService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> obtenerVersion(Integer id) {
+        return productoRepository.buscarVersion(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @CachePut(cacheNames = CACHE_PRODUCTOS, key = "#p0")
+    @Transactional(readOnly = true)
+    public Optional<Producto> recargar(Integer id) {
+        return productoRepository.findById(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Caching(put = @CachePut(cacheNames = CACHE_PRODUCTOS, key = "#result.id"), evict = @CacheEvict(cacheNames = CACHE_CATALOGO, allEntries = true))
     @Transactional
     public Producto guardar(Producto producto) {
+        busquedaProductoService.invalidarSugerencias();
         return productoRepository.save(producto);
     }
 
@@ -61,8 +164,62 @@ public class ProductoServiceImpl implements IProductoService {
      * {@inheritDoc}
      */
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CACHE_PRODUCTOS, key = "#p0"),
+            @CacheEvict(cacheNames = CACHE_CATALOGO, allEntries = true)
+    })
     @Transactional
     public void eliminar(Integer id) {
+        busquedaProductoService.invalidarSugerencias();
         productoRepository.deleteById(id);
     }
+
+    /**
+     * Genera el cursor opaco que apunta al último producto de una página.
+     * 
+     * @param ultimo Último producto entregado.
+     * @param orden  Orden de la paginación.
+     * @return Cursor codificado en Base64 URL-safe.
+     */
+    private String codificarCursor(Producto ultimo, FiltroProductoDTO.Orden orden) {
+        String valor = orden == FiltroProductoDTO.Orden.PRECIO
+                ? PREFIJO_CURSOR_PRECIO + ":" + ultimo.getPrecio().toPlainString() + ":" + ultimo.getId()
+                : PREFIJO_CURSOR_ID + ":" + ultimo.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica y valida un cursor recibido del cliente.
+     * 
+     * @param cursor Cursor opaco, o null para la primera página.
+     * @param orden  Orden con el que debe haber sido generado el cursor.
+     * @return Las partes del cursor, o null si no se envió ninguno.
+     * @throws IllegalArgumentException si el cursor es inválido o no
+     *                                  corresponde al orden solicitado.
+     */
+    private String[] decodificarCursor(String cursor, FiltroProductoDTO.Orden orden) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split(":");
+            boolean valido = orden == FiltroProductoDTO.Orden.PRECIO
+                    ? partes.length == 3 && PREFIJO_CURSOR_PRECIO.equals(partes[0])
+                    : partes.length == 2 && PREFIJO_CURSOR_ID.equals(partes[0]);
+            if (!valido) {
+                throw new IllegalArgumentException("El cursor no corresponde al orden solicitado");
+            }
+            // Validar que los valores sean numéricos antes de usarlos en la consulta
+            Integer.parseInt(partes[partes.length - 1]);
+            if (orden == FiltroProductoDTO.Orden.PRECIO) {
+                new BigDecimal(partes[1]);
+            }
+            return partes;
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException también es una IllegalArgumentException
+            throw new IllegalArgumentException("Cursor de paginación inválido", e);
+        }
+    }
 }
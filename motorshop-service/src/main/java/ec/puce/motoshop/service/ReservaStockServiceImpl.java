@@ -0,0 +1,139 @@
+package ec.puce.motoshop.service;
+
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.dto.LineaReservaDTO;
+import ec.puce.motoshop.exception.StockInsuficienteException;
+import ec.puce.motoshop.repository.ProductoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de la interfaz IReservaStockService.
+ * La reserva lee todos los productos del pedido con una sola consulta, valida
+ * las cantidades y descuenta el stock sin bloquear las filas. La versión de
+ * Producto (@Version) impide que dos pedidos concurrentes vendan el mismo
+ * stock: el UPDATE del segundo no encuentra la versión que leyó y su
+ * transacción falla con un conflicto de bloqueo optimista.
+ */
+@Service
+public class ReservaStockServiceImpl implements IReservaStockService {
+
+    private final ProductoRepository productoRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Constructor con inyección de dependencias.
+     * 
+     * @param productoRepository Repositorio para operaciones de persistencia de
+     *                           Producto.
+     * @param cacheManager       Administrador de cachés, usado para invalidar
+     *                           los productos cuyo stock cambia.
+     */
+    @Autowired
+    public ReservaStockServiceImpl(ProductoRepository productoRepository, CacheManager cacheManager) {
+        this.productoRepository = productoRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<LineaReservaDTO> verificar(Map<Integer, Integer> cantidadesPorProducto) {
+        validarCantidades(cantidadesPorProducto);
+        List<Producto> productos = productoRepository.findAllById(cantidadesPorProducto.keySet());
+        return evaluarLineas(cantidadesPorProducto, productos);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public List<Producto> reservar(Map<Integer, Integer> cantidadesPorProducto) {
+        validarCantidades(cantidadesPorProducto);
+        List<Producto> productos = productoRepository.findAllById(cantidadesPorProducto.keySet());
+
+        List<LineaReservaDTO> lineas = evaluarLineas(cantidadesPorProducto, productos);
+        if (lineas.stream().anyMatch(linea -> !linea.isReservado())) {
+            throw new StockInsuficienteException(lineas);
+        }
+
+        // El descuento se escribe al hacer flush, en un solo lote de UPDATE
+        // que verifica la versión de cada producto
+        for (Producto producto : productos) {
+            producto.setStock(producto.getStock() - cantidadesPorProducto.get(producto.getId()));
+        }
+
+        invalidarCache(cantidadesPorProducto.keySet());
+        return productos;
+    }
+
+    /**
+     * Compara la cantidad solicitada de cada producto con su stock actual.
+     * 
+     * @param cantidadesPorProducto Cantidad solicitada por ID de producto.
+     * @param productos             Productos encontrados en la base de datos.
+     * @return Resultado por producto, en el orden de la solicitud.
+     */
+    private List<LineaReservaDTO> evaluarLineas(Map<Integer, Integer> cantidadesPorProducto,
+            List<Producto> productos) {
+        Map<Integer, Producto> productosPorId = productos.stream()
+                .collect(Collectors.toMap(Producto::getId, Function.identity()));
+
+        List<LineaReservaDTO> lineas = new ArrayList<>(cantidadesPorProducto.size());
+        for (Map.Entry<Integer, Integer> entrada : cantidadesPorProducto.entrySet()) {
+            Producto producto = productosPorId.get(entrada.getKey());
+            Integer stock = producto != null ? producto.getStock() : null;
+            boolean reservado = stock != null && stock >= entrada.getValue();
+            lineas.add(new LineaReservaDTO(entrada.getKey(), entrada.getValue(), stock, reservado));
+        }
+        return lineas;
+    }
+
+    /**
+     * Valida que la solicitud tenga productos y que las cantidades sean
+     * positivas.
+     * 
+     * @param cantidadesPorProducto Cantidad solicitada por ID de producto.
+     * @throws IllegalArgumentException si la solicitud es inválida.
+     */
+    private void validarCantidades(Map<Integer, Integer> cantidadesPorProducto) {
+        if (cantidadesPorProducto == null || cantidadesPorProducto.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un producto");
+        }
+        for (Map.Entry<Integer, Integer> entrada : cantidadesPorProducto.entrySet()) {
+            if (entrada.getKey() == null || entrada.getValue() == null || entrada.getValue() <= 0) {
+                throw new IllegalArgumentException(
+                        "Cantidad inválida para el producto con ID: " + entrada.getKey());
+            }
+        }
+    }
+
+    /**
+     * Invalida las entradas de caché de los productos cuyo stock cambió.
+     * Con una caché transaccional, la invalidación se aplica tras el commit.
+     * 
+     * @param ids IDs de los productos modificados.
+     */
+    private void invalidarCache(Iterable<Integer> ids) {
+        Cache productos = cacheManager.getCache(IProductoService.CACHE_PRODUCTOS);
+        if (productos != null) {
+            ids.forEach(productos::evict);
+        }
+        Cache catalogo = cacheManager.getCache(IProductoService.CACHE_CATALOGO);
+        if (catalogo != null) {
+            catalogo.clear();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package ec.puce.motoshop.service;
+
+import ec.puce.motoshop.domain.CorteSaldo;
+import ec.puce.motoshop.domain.CuentaBancaria;
+import ec.puce.motoshop.dto.DiferenciaSaldoDTO;
+import ec.puce.motoshop.dto.ResultadoConciliacionDTO;
+import ec.puce.motoshop.repository.CorteSaldoRepository;
+import ec.puce.motoshop.repository.CuentaBancariaRepository;
+import ec.puce.motoshop.repository.TransaccionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Implementación de la interfaz ISaldoCuentaService.
+ * Los cortes se guardan por posición del libro (columna posicion de la
+ * transacción), de modo que el cálculo de un saldo solo suma las transacciones
+ * posteriores al último corte de la cuenta. La posición se asigna al insertar
+ * desde una secuencia única de incremento 1; el ID no sirve porque cada
+ * instancia lo reserva en bloques y una transacción con un ID menor puede
+ * registrarse después de un corte.
+ * La posición de cada corte se fija con la tabla de transacciones bloqueada en
+ * modo compartido, que espera a las inserciones en curso: las posiciones se
+ * asignan al insertar y no al confirmar, así que sin el bloqueo una
+ * transacción abierta con una posición menor quedaría fuera del corte.
+ */
+@Service
+public class SaldoCuentaServiceImpl implements ISaldoCuentaService {
+
+    private final CuentaBancariaRepository cuentaBancariaRepository;
+    private final TransaccionRepository transaccionRepository;
+    private final CorteSaldoRepository corteSaldoRepository;
+    private final boolean libroActivo;
+
+    // El cierre del libro se confirma aparte para no bloquear las
+    // transferencias mientras se calculan los cortes
+    private final TransactionTemplate cierreLibro;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param cuentaBancariaRepository Repositorio para operaciones de persistencia
+     *                                 de CuentaBancaria.
+     * @param transaccionRepository    Repositorio para operaciones de persistencia
+     *                                 de Transaccion.
+     * @param corteSaldoRepository     Repositorio para operaciones de persistencia
+     *                                 de CorteSaldo.
+     * @param libroActivo              Si los saldos se calculan desde el libro.
+     * @param transactionManager       Gestor de transacciones para el cierre
+     *                                 del libro.
+     */
+    @Autowired
+    public SaldoCuentaServiceImpl(CuentaBancariaRepository cuentaBancariaRepository,
+            TransaccionRepository transaccionRepository, CorteSaldoRepository corteSaldoRepository,
+            @Value("${motoshop.saldos.libro:false}") boolean libroActivo,
+            PlatformTransactionManager transactionManager) {
+        this.cuentaBancariaRepository = cuentaBancariaRepository;
+        this.transaccionRepository = transaccionRepository;
+        this.corteSaldoRepository = corteSaldoRepository;
+        this.libroActivo = libroActivo;
+        this.cierreLibro = new TransactionTemplate(transactionManager);
+        this.cierreLibro.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isLibroActivo() {
+        return libroActivo;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal obtenerSaldo(Integer cuentaId) {
+        if (libroActivo) {
+            return calcularSaldoLibro(cuentaId);
+        }
+        return cuentaBancariaRepository.findById(cuentaId)
+                .map(CuentaBancaria::getSaldo)
+                .orElseThrow(() -> new NoSuchElementException("No existe la cuenta bancaria con ID: " + cuentaId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal calcularSaldoLibro(Integer cuentaId) {
+        Optional<CorteSaldo> corte = corteSaldoRepository
+                .findFirstByCuentaIdOrderByPosicionDescIdDesc(cuentaId);
+        if (corte.isPresent()) {
+            return corte.get().getSaldo().add(transaccionRepository.sumarMovimientos(cuentaId,
+                    corte.get().getPosicion(), Long.MAX_VALUE));
+        }
+        // Cuenta creada fuera de la aplicación: su saldo se toma como apertura
+        CuentaBancaria cuenta = cuentaBancariaRepository.findById(cuentaId)
+                .orElseThrow(() -> new NoSuchElementException("No existe la cuenta bancaria con ID: " + cuentaId));
+        return cuenta.getSaldo().add(transaccionRepository.sumarMovimientos(cuentaId, 0L, Long.MAX_VALUE));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void registrarSaldoInicial(CuentaBancaria cuenta) {
+        // Ninguna transacción puede referirse a una cuenta antes de que exista,
+        // así que la apertura está en la posición 0 del libro
+        corteSaldoRepository.save(new CorteSaldo(cuenta, 0L, cuenta.getSaldo()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public int generarCortes() {
+        // Con la tabla bloqueada todas las inserciones anteriores ya terminaron
+        // y las siguientes reciben posiciones mayores que la leída
+        Long posicion = cierreLibro.execute(estado -> {
+            transaccionRepository.bloquearLibro();
+            return transaccionRepository.buscarUltimaPosicion();
+        });
+        if (posicion == null) {
+            return 0;
+        }
+
+        int creados = 0;
+        for (Integer cuentaId : cuentaBancariaRepository.listarIds()) {
+            Optional<CorteSaldo> ultimo = corteSaldoRepository
+                    .findFirstByCuentaIdOrderByPosicionDescIdDesc(cuentaId);
+            BigDecimal saldo;
+            if (ultimo.isEmpty()) {
+                saldo = cuentaBancariaRepository.getReferenceById(cuentaId).getSaldo()
+                        .add(transaccionRepository.sumarMovimientos(cuentaId, 0L, posicion));
+            } else if (ultimo.get().getPosicion() >= posicion) {
+                continue;
+            } else {
+                BigDecimal movimientos = transaccionRepository.sumarMovimientos(cuentaId,
+                        ultimo.get().getPosicion(), posicion);
+                if (movimientos.signum() == 0) {
+                    continue;
+                }
+                saldo = ultimo.get().getSaldo().add(movimientos);
+            }
+            corteSaldoRepository.save(new CorteSaldo(cuentaBancariaRepository.getReferenceById(cuentaId),
+                    posicion, saldo));
+            creados++;
+        }
+        return creados;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public ResultadoConciliacionDTO conciliar() {
+        // Lectura repetible: cortes, libro y columnas se comparan sobre la
+        // misma foto de la base aunque haya transferencias en curso
+        List<Integer> cuentas = cuentaBancariaRepository.listarIds();
+        List<DiferenciaSaldoDTO> diferencias = new ArrayList<>();
+        for (Integer cuentaId : cuentas) {
+            Optional<CorteSaldo> apertura = corteSaldoRepository
+                    .findFirstByCuentaIdOrderByPosicionAscIdAsc(cuentaId);
+            Optional<CorteSaldo> ultimo = corteSaldoRepository
+                    .findFirstByCuentaIdOrderByPosicionDescIdDesc(cuentaId);
+            if (apertura.isEmpty() || ultimo.isEmpty()) {
+                continue;
+            }
+
+            CorteSaldo corte = ultimo.get();
+            BigDecimal saldoCorte = corte.getSaldo();
+            if (!corte.getId().equals(apertura.get().getId())) {
+                BigDecimal esperado = apertura.get().getSaldo().add(transaccionRepository.sumarMovimientos(cuentaId,
+                        apertura.get().getPosicion(), corte.getPosicion()));
+                if (esperado.compareTo(saldoCorte) != 0) {
+                    diferencias.add(new DiferenciaSaldoDTO(cuentaId, DiferenciaSaldoDTO.ORIGEN_CORTE, saldoCorte,
+                            esperado));
+                    // Solo se informa: la causa puede estar en el libro y no en
+                    // el corte. La columna se compara con el saldo recalculado
+                    saldoCorte = esperado;
+                }
+            }
+
+            if (!libroActivo) {
+                BigDecimal saldoLibro = saldoCorte.add(transaccionRepository.sumarMovimientos(cuentaId,
+                        corte.getPosicion(), Long.MAX_VALUE));
+                BigDecimal saldoColumna = cuentaBancariaRepository.getReferenceById(cuentaId).getSaldo();
+                if (saldoLibro.compareTo(saldoColumna) != 0) {
+                    diferencias.add(new DiferenciaSaldoDTO(cuentaId, DiferenciaSaldoDTO.ORIGEN_CUENTA,
+                            saldoColumna, saldoLibro));
+                }
+            }
+        }
+        return new ResultadoConciliacionDTO(cuentas.size(), diferencias);
+    }
+}
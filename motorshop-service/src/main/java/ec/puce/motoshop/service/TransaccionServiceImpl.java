@@ -2,6 +2,7 @@ package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Transaccion;
 import ec.puce.motoshop.repository.TransaccionRepository;
+import ec.puce.motoshop.repository.projection.TransaccionResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -65,4 +66,22 @@ public class TransaccionServiceImpl implements ITransaccionService {
     public void eliminar(Integer id) {
         transaccionRepository.deleteById(id);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransaccionResumen> listarResumen() {
+        return transaccionRepository.listarResumen();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<TransaccionResumen> obtenerResumenPorId(Integer id) {
+        return transaccionRepository.buscarResumenPorId(id);
+    }
 }
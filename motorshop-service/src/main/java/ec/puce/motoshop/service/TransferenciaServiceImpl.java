@@ -0,0 +1,166 @@
+package ec.puce.motoshop.service;
+
+import ec.puce.motoshop.domain.CuentaBancaria;
+import ec.puce.motoshop.domain.Transaccion;
+import ec.puce.motoshop.dto.ResultadoTransferenciaDTO;
+import ec.puce.motoshop.dto.SolicitudTransferenciaDTO;
+import ec.puce.motoshop.exception.SaldoInsuficienteException;
+import ec.puce.motoshop.repository.CuentaBancariaRepository;
+import ec.puce.motoshop.repository.TransaccionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Implementación de la interfaz ITransferenciaService.
+ * Las dos cuentas se bloquean en orden de ID antes de leer su saldo, de modo
+ * que las transferencias que comparten una cuenta se ejecutan una tras otra
+ * sin interbloqueos, y las que usan cuentas distintas no se esperan entre sí.
+ * Si los saldos se calculan desde el libro de transacciones, solo se bloquea
+ * la cuenta de origen (para no gastar dos veces el mismo saldo) y la
+ * transferencia se limita a insertar la transacción, sin actualizar ninguna
+ * cuenta; así los abonos a una cuenta muy concurrida no compiten entre sí.
+ */
+@Service
+public class TransferenciaServiceImpl implements ITransferenciaService {
+
+    /**
+     * Tipo con el que se registran las transferencias en la tabla transaccion.
+     */
+    public static final String TIPO_TRANSFERENCIA = "TRANSFERENCIA";
+
+    /**
+     * Longitud máxima de la clave de idempotencia (columna clave_idempotencia).
+     */
+    public static final int LONGITUD_MAXIMA_CLAVE = 100;
+
+    private final CuentaBancariaRepository cuentaBancariaRepository;
+    private final TransaccionRepository transaccionRepository;
+    private final ISaldoCuentaService saldoCuentaService;
+
+    /**
+     * Constructor con inyección de dependencias.
+     *
+     * @param cuentaBancariaRepository Repositorio para operaciones de persistencia
+     *                                 de CuentaBancaria.
+     * @param transaccionRepository    Repositorio para operaciones de persistencia
+     *                                 de Transaccion.
+     * @param saldoCuentaService       Servicio para el cálculo de saldos desde el
+     *                                 libro de transacciones.
+     */
+    @Autowired
+    public TransferenciaServiceImpl(CuentaBancariaRepository cuentaBancariaRepository,
+            TransaccionRepository transaccionRepository, ISaldoCuentaService saldoCuentaService) {
+        this.cuentaBancariaRepository = cuentaBancariaRepository;
+        this.transaccionRepository = transaccionRepository;
+        this.saldoCuentaService = saldoCuentaService;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public ResultadoTransferenciaDTO transferir(SolicitudTransferenciaDTO solicitud, String claveIdempotencia) {
+        validar(solicitud, claveIdempotencia);
+        Integer origenId = solicitud.getCuentaOrigenId();
+        Integer destinoId = solicitud.getCuentaDestinoId();
+
+        boolean libro = saldoCuentaService.isLibroActivo();
+        List<CuentaBancaria> cuentas = cuentaBancariaRepository
+                .bloquearPorIds(libro ? List.of(origenId) : List.of(origenId, destinoId));
+
+        // La clave se consulta con las cuentas ya bloqueadas: un reintento
+        // concurrente de la misma transferencia espera aquí a que el primero
+        // termine y entonces encuentra su transacción
+        if (claveIdempotencia != null) {
+            Optional<Transaccion> previa = transaccionRepository.findByClaveIdempotencia(claveIdempotencia);
+            if (previa.isPresent()) {
+                return repetir(previa.get(), solicitud);
+            }
+        }
+
+        CuentaBancaria origen = buscar(cuentas, origenId);
+        CuentaBancaria destino;
+        if (libro) {
+            if (!cuentaBancariaRepository.existsById(destinoId)) {
+                throw new NoSuchElementException("No existe la cuenta bancaria con ID: " + destinoId);
+            }
+            destino = cuentaBancariaRepository.getReferenceById(destinoId);
+        } else {
+            destino = buscar(cuentas, destinoId);
+        }
+
+        BigDecimal monto = solicitud.getMonto();
+        BigDecimal saldoOrigen = libro ? saldoCuentaService.calcularSaldoLibro(origenId) : origen.getSaldo();
+        if (saldoOrigen.compareTo(monto) < 0) {
+            throw new SaldoInsuficienteException(origenId, saldoOrigen, monto);
+        }
+
+        if (!libro) {
+            origen.setSaldo(origen.getSaldo().subtract(monto));
+            destino.setSaldo(destino.getSaldo().add(monto));
+        }
+
+        Transaccion transaccion = new Transaccion();
+        transaccion.setCuentaOrigen(origen);
+        transaccion.setCuentaDestino(destino);
+        transaccion.setMonto(monto);
+        transaccion.setFechaTransaccion(LocalDateTime.now());
+        transaccion.setTipo(TIPO_TRANSFERENCIA);
+        transaccion.setDescripcion(solicitud.getDescripcion());
+        transaccion.setClaveIdempotencia(claveIdempotencia);
+        transaccion = transaccionRepository.save(transaccion);
+
+        return new ResultadoTransferenciaDTO(transaccion.getId(), origenId, destinoId, monto,
+                transaccion.getFechaTransaccion(), false);
+    }
+
+    /**
+     * Valida los datos de la transferencia antes de tomar ningún bloqueo.
+     */
+    private void validar(SolicitudTransferenciaDTO solicitud, String claveIdempotencia) {
+        if (solicitud == null || solicitud.getCuentaOrigenId() == null || solicitud.getCuentaDestinoId() == null) {
+            throw new IllegalArgumentException("Las cuentas de origen y destino son obligatorias");
+        }
+        if (solicitud.getCuentaOrigenId().equals(solicitud.getCuentaDestinoId())) {
+            throw new IllegalArgumentException("La cuenta de origen y la de destino deben ser distintas");
+        }
+        if (solicitud.getMonto() == null || solicitud.getMonto().compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("El monto debe ser mayor que cero");
+        }
+        if (claveIdempotencia != null
+                && (claveIdempotencia.isBlank() || claveIdempotencia.length() > LONGITUD_MAXIMA_CLAVE)) {
+            throw new IllegalArgumentException(
+                    "La clave de idempotencia debe tener entre 1 y " + LONGITUD_MAXIMA_CLAVE + " caracteres");
+        }
+    }
+
+    /**
+     * Devuelve la transferencia ya registrada con la clave, siempre que el
+     * reintento sea la misma operación.
+     */
+    private ResultadoTransferenciaDTO repetir(Transaccion previa, SolicitudTransferenciaDTO solicitud) {
+        boolean mismaOperacion = previa.getCuentaOrigen().getId().equals(solicitud.getCuentaOrigenId())
+                && previa.getCuentaDestino().getId().equals(solicitud.getCuentaDestinoId())
+                && previa.getMonto().compareTo(solicitud.getMonto()) == 0;
+        if (!mismaOperacion) {
+            throw new IllegalStateException("La clave de idempotencia ya se usó con otra transferencia");
+        }
+        return new ResultadoTransferenciaDTO(previa.getId(), solicitud.getCuentaOrigenId(),
+                solicitud.getCuentaDestinoId(), previa.getMonto(), previa.getFechaTransaccion(), true);
+    }
+
+    private CuentaBancaria buscar(List<CuentaBancaria> cuentas, Integer id) {
+        return cuentas.stream()
+                .filter(c -> c.getId().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("No existe la cuenta bancaria con ID: " + id));
+    }
+}
@@ -2,6 +2,7 @@ package ec.puce.motoshop.service;
 
 import ec.puce.motoshop.domain.Usuario;
 import ec.puce.motoshop.repository.UsuarioRepository;
+import ec.puce.motoshop.repository.projection.UsuarioResumen;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -74,4 +75,22 @@ public class UsuarioServiceImpl implements IUsuarioService {
     public boolean existsById(String cedula) {
         return usuarioRepository.existsById(cedula);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<UsuarioResumen> listarResumen() {
+        return usuarioRepository.listarResumen();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<UsuarioResumen> obtenerResumenPorId(String cedula) {
+        return usuarioRepository.buscarResumenPorId(cedula);
+    }
 }
@@ -0,0 +1,92 @@
+package ec.puce.motoshop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.data.domain.Pageable;
+
+import ec.puce.motoshop.domain.Producto;
+import ec.puce.motoshop.dto.ResultadoBusquedaDTO;
+import ec.puce.motoshop.repository.ProductoRepository;
+
+/**
+ * Prueba la paginación de la búsqueda. Las consultas de texto completo y
+ * similitud solo existen en PostgreSQL, así que el repositorio se simula
+ * aplicando el desplazamiento y el límite del Pageable recibido.
+ */
+public class BusquedaProductoServiceImplTest {
+
+    private static final int TOTAL = 5;
+
+    private ProductoRepository productoRepository;
+    private BusquedaProductoServiceImpl busquedaService;
+    private List<Producto> resultados;
+
+    @BeforeEach
+    public void setUp() {
+        productoRepository = mock(ProductoRepository.class);
+        busquedaService = new BusquedaProductoServiceImpl(productoRepository);
+        resultados = new ArrayList<>();
+        for (int id = 1; id <= TOTAL; id++) {
+            Producto producto = new Producto();
+            producto.setId(id);
+            resultados.add(producto);
+        }
+    }
+
+    @Test
+    public void testRecorrerPaginasDeTextoCompleto() {
+        when(productoRepository.buscarPorTexto(anyString(), any(Pageable.class))).thenAnswer(this::pagina);
+
+        List<Integer> ids = recorrer();
+
+        assertEquals(List.of(1, 2, 3, 4, 5), ids);
+    }
+
+    @Test
+    public void testRecorrerPaginasDeSimilitud() {
+        when(productoRepository.buscarPorTexto(anyString(), any(Pageable.class))).thenReturn(List.of());
+        when(productoRepository.buscarPorSimilitud(anyString(), any(Pageable.class))).thenAnswer(this::pagina);
+
+        List<Integer> ids = recorrer();
+
+        assertEquals(List.of(1, 2, 3, 4, 5), ids);
+    }
+
+    /**
+     * Pide páginas de 2 hasta que no haya más y devuelve los IDs en orden.
+     */
+    private List<Integer> recorrer() {
+        List<Integer> ids = new ArrayList<>();
+        int pagina = 0;
+        ResultadoBusquedaDTO resultado;
+        do {
+            resultado = busquedaService.buscar("casco", pagina, 2);
+            assertEquals(pagina, resultado.getPagina());
+            assertTrue(resultado.getProductos().size() <= 2);
+            resultado.getProductos().forEach(producto -> ids.add(producto.getId()));
+            pagina++;
+        } while (resultado.isHayMas());
+        assertFalse(resultado.isHayMas());
+        assertEquals(3, pagina);
+        return ids;
+    }
+
+    private List<Producto> pagina(InvocationOnMock invocacion) {
+        Pageable pageable = invocacion.getArgument(1);
+        int desde = (int) Math.min(pageable.getOffset(), TOTAL);
+        int hasta = Math.min(desde + pageable.getPageSize(), TOTAL);
+        return resultados.subList(desde, hasta);
+    }
+}
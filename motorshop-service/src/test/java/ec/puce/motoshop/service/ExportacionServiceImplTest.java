@@ -0,0 +1,147 @@
+package ec.puce.motoshop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ec.puce.motoshop.domain.CuentaBancaria;
+import ec.puce.motoshop.domain.Factura;
+import ec.puce.motoshop.domain.Pedido;
+import ec.puce.motoshop.domain.Transaccion;
+import ec.puce.motoshop.dto.FormatoExportacion;
+import ec.puce.motoshop.repository.FacturaRepository;
+import ec.puce.motoshop.repository.PedidoRepository;
+import ec.puce.motoshop.repository.TransaccionRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Pruebas de los formatos de exportación con los repositorios simulados.
+ */
+public class ExportacionServiceImplTest {
+
+    private static final LocalDateTime FECHA = LocalDateTime.of(2024, 5, 10, 14, 30);
+
+    private TransaccionRepository transaccionRepository;
+    private FacturaRepository facturaRepository;
+    private EntityManager entityManager;
+    private ExportacionServiceImpl exportacionService;
+
+    @BeforeEach
+    public void setUp() {
+        transaccionRepository = mock(TransaccionRepository.class);
+        facturaRepository = mock(FacturaRepository.class);
+        entityManager = mock(EntityManager.class);
+        exportacionService = new ExportacionServiceImpl(mock(PedidoRepository.class), transaccionRepository,
+                facturaRepository);
+        ReflectionTestUtils.setField(exportacionService, "entityManager", entityManager);
+    }
+
+    @Test
+    public void testCsvCitaComasComillasYSaltosDeLinea() throws Exception {
+        when(transaccionRepository.recorrerTodas()).thenReturn(Stream.of(
+                transaccion(1, "Pago, cuota 1"),
+                transaccion(2, "Cliente \"VIP\""),
+                transaccion(3, "Primera línea\nsegunda línea"),
+                transaccion(4, null)));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        assertEquals(4, exportacionService.exportarTransacciones(salida, FormatoExportacion.CSV));
+
+        assertEquals("id,fechaTransaccion,tipo,monto,descripcion,cuentaOrigenId,cuentaOrigenNumero,"
+                + "cuentaDestinoId,cuentaDestinoNumero\n"
+                + "1,2024-05-10T14:30,TRANSFERENCIA,25.50,\"Pago, cuota 1\",10,001,20,002\n"
+                + "2,2024-05-10T14:30,TRANSFERENCIA,25.50,\"Cliente \"\"VIP\"\"\",10,001,20,002\n"
+                + "3,2024-05-10T14:30,TRANSFERENCIA,25.50,\"Primera línea\nsegunda línea\",10,001,20,002\n"
+                // Un valor nulo queda como campo vacío
+                + "4,2024-05-10T14:30,TRANSFERENCIA,25.50,,10,001,20,002\n",
+                salida.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testNdjsonEscribeUnObjetoPorLinea() throws Exception {
+        when(transaccionRepository.recorrerTodas()).thenReturn(Stream.of(
+                transaccion(1, "Primera línea\nsegunda línea"),
+                transaccion(2, null)));
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        assertEquals(2, exportacionService.exportarTransacciones(salida, FormatoExportacion.NDJSON));
+
+        // El salto de línea de un valor va escapado: cada línea es un objeto
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lineas.length);
+        assertEquals("", lineas[2]);
+        JSONAssert.assertEquals("{\"id\":1,\"fechaTransaccion\":\"2024-05-10T14:30\",\"tipo\":\"TRANSFERENCIA\","
+                + "\"monto\":25.50,\"descripcion\":\"Primera línea\\nsegunda línea\",\"cuentaOrigenId\":10,"
+                + "\"cuentaOrigenNumero\":\"001\",\"cuentaDestinoId\":20,\"cuentaDestinoNumero\":\"002\"}",
+                lineas[0], true);
+        JSONAssert.assertEquals("{\"id\":2,\"fechaTransaccion\":\"2024-05-10T14:30\",\"tipo\":\"TRANSFERENCIA\","
+                + "\"monto\":25.50,\"descripcion\":null,\"cuentaOrigenId\":10,"
+                + "\"cuentaOrigenNumero\":\"001\",\"cuentaDestinoId\":20,\"cuentaDestinoNumero\":\"002\"}",
+                lineas[1], true);
+    }
+
+    @Test
+    public void testContextoSeLimpiaCadaQuinientasFilas() throws Exception {
+        int filas = 1201;
+        List<Factura> facturas = new ArrayList<>();
+        IntStream.rangeClosed(1, filas).forEach(id -> facturas.add(factura(id)));
+        when(facturaRepository.recorrerTodas()).thenReturn(facturas.stream());
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        assertEquals(filas, exportacionService.exportarFacturas(salida, FormatoExportacion.CSV));
+
+        // Tras las filas 500 y 1000; las 201 restantes solo se vacían al final
+        verify(entityManager, times(2)).clear();
+        String[] lineas = salida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(filas + 1, lineas.length);
+        assertEquals("1201,2024-05-10T14:30,10.00,PAGADA,TARJETA,1201", lineas[filas]);
+    }
+
+    private static Transaccion transaccion(Integer id, String descripcion) {
+        Transaccion transaccion = new Transaccion();
+        transaccion.setId(id);
+        transaccion.setFechaTransaccion(FECHA);
+        transaccion.setTipo("TRANSFERENCIA");
+        transaccion.setMonto(new BigDecimal("25.50"));
+        transaccion.setDescripcion(descripcion);
+        transaccion.setCuentaOrigen(cuenta(10, "001"));
+        transaccion.setCuentaDestino(cuenta(20, "002"));
+        return transaccion;
+    }
+
+    private static CuentaBancaria cuenta(Integer id, String numero) {
+        CuentaBancaria cuenta = new CuentaBancaria();
+        cuenta.setId(id);
+        cuenta.setNumeroCuenta(numero);
+        return cuenta;
+    }
+
+    private static Factura factura(Integer id) {
+        Pedido pedido = new Pedido();
+        pedido.setId(id);
+        Factura factura = new Factura();
+        factura.setId(id);
+        factura.setFechaEmision(FECHA);
+        factura.setTotalFactura(new BigDecimal("10.00"));
+        factura.setEstado("PAGADA");
+        factura.setMetodoPago("TARJETA");
+        factura.setPedido(pedido);
+        return factura;
+    }
+}
@@ -0,0 +1,134 @@
+package ec.puce.motoshop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import ec.puce.motoshop.domain.Categoria;
+import ec.puce.motoshop.domain.Producto;
+
+/**
+ * Prueba la caché de productos a través del proxy del servicio, como la usan
+ * los controladores.
+ */
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({ ProductoServiceImpl.class, BusquedaProductoServiceImpl.class,
+        ProductoServiceImplTest.ConfiguracionCache.class })
+public class ProductoServiceImplTest {
+
+    @TestConfiguration
+    @EnableCaching
+    static class ConfiguracionCache {
+
+        @Bean
+        public CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(IProductoService.CACHE_PRODUCTOS, IProductoService.CACHE_CATALOGO);
+        }
+    }
+
+    @Autowired
+    private IProductoService productoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Integer id;
+
+    @BeforeEach
+    public void setUp() {
+        Categoria categoria = new Categoria();
+        categoria.setNombre("Cascos");
+        entityManager.persist(categoria);
+
+        Producto producto = new Producto();
+        producto.setNombre("Casco integral");
+        producto.setDescripcion("Casco integral con visor");
+        producto.setImagenPrincipal("casco.jpg");
+        producto.setPrecio(new BigDecimal("120.00"));
+        producto.setStock(4);
+        producto.setCategoria(categoria);
+        id = entityManager.persistAndFlush(producto).getId();
+        entityManager.clear();
+    }
+
+    @Test
+    public void testObtenerPorIdSeGuardaEnCachePorId() {
+        assertTrue(AopUtils.isAopProxy(productoService));
+
+        Optional<Producto> primera = productoService.obtenerPorId(id);
+        Optional<Producto> segunda = productoService.obtenerPorId(id);
+
+        assertTrue(primera.isPresent());
+        assertSame(primera.get(), segunda.get());
+        Cache.ValueWrapper enCache = productos().get(id);
+        assertNotNull(enCache);
+        assertEquals(id, ((Producto) enCache.get()).getId());
+    }
+
+    @Test
+    public void testEliminarInvalidaLaEntrada() {
+        productoService.obtenerPorId(id);
+
+        productoService.eliminar(id);
+
+        assertNull(productos().get(id));
+    }
+
+    @Test
+    public void testObtenerVersionNoUsaLaCache() {
+        Long versionEnCache = productoService.obtenerPorId(id).get().getVersion();
+        // Actualización hecha por otra instancia, que no invalida esta caché
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Producto p SET p.version = p.version + 1 WHERE p.id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+
+        assertEquals(versionEnCache, productoService.obtenerPorId(id).get().getVersion());
+        assertEquals(versionEnCache + 1, productoService.obtenerVersion(id).get());
+    }
+
+    @Test
+    public void testRecargarReemplazaLaCopiaEnCache() {
+        Long versionEnCache = productoService.obtenerPorId(id).get().getVersion();
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Producto p SET p.version = p.version + 1 WHERE p.id = :id")
+                .setParameter("id", id)
+                .executeUpdate();
+        entityManager.clear();
+
+        productoService.recargar(id);
+
+        assertEquals(versionEnCache + 1, productoService.obtenerPorId(id).get().getVersion());
+    }
+
+    @Test
+    public void testObtenerVersionDeProductoInexistente() {
+        assertTrue(productoService.obtenerVersion(-1).isEmpty());
+    }
+
+    private Cache productos() {
+        return cacheManager.getCache(IProductoService.CACHE_PRODUCTOS);
+    }
+}
@@ -0,0 +1,251 @@
+package ec.puce.motoshop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doNothing;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import ec.puce.motoshop.domain.Cliente;
+import ec.puce.motoshop.domain.CorteSaldo;
+import ec.puce.motoshop.domain.CuentaBancaria;
+import ec.puce.motoshop.domain.Transaccion;
+import ec.puce.motoshop.domain.Usuario;
+import ec.puce.motoshop.dto.DiferenciaSaldoDTO;
+import ec.puce.motoshop.dto.ResultadoConciliacionDTO;
+import ec.puce.motoshop.dto.SolicitudTransferenciaDTO;
+import ec.puce.motoshop.exception.SaldoInsuficienteException;
+import ec.puce.motoshop.repository.ClienteRepository;
+import ec.puce.motoshop.repository.CorteSaldoRepository;
+import ec.puce.motoshop.repository.CuentaBancariaRepository;
+import ec.puce.motoshop.repository.TransaccionRepository;
+import ec.puce.motoshop.repository.UsuarioRepository;
+
+/**
+ * Pruebas con los saldos llevados en el libro de transacciones. Como en
+ * TransferenciaServiceImplTest, los datos se confirman y se borran al terminar.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:libro;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "motoshop.saldos.libro=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ SaldoCuentaServiceImpl.class, TransferenciaServiceImpl.class, CuentaBancariaServiceImpl.class })
+public class SaldoCuentaServiceImplTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SaldoCuentaServiceImplTest.class);
+
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000.00");
+    private static final int CUENTAS = 17;
+
+    @Autowired
+    private ISaldoCuentaService saldoCuentaService;
+
+    @Autowired
+    private ITransferenciaService transferenciaService;
+
+    @Autowired
+    private ICuentaBancariaService cuentaBancariaService;
+
+    @Autowired
+    private CuentaBancariaRepository cuentaBancariaRepository;
+
+    @Autowired
+    private CorteSaldoRepository corteSaldoRepository;
+
+    @SpyBean
+    private TransaccionRepository transaccionRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Integer> cuentas;
+
+    @BeforeEach
+    public void setUp() {
+        // H2 no tiene LOCK TABLE; el bloqueo del libro se prueba sobre
+        // PostgreSQL en MigracionesPostgresTest
+        doNothing().when(transaccionRepository).bloquearLibro();
+
+        Usuario usuario = new Usuario();
+        usuario.setCedula("1700000002");
+        usuario.setNombreUsuario("tienda");
+        usuario.setEmail("tienda@example.com");
+        usuario.setRol("CLIENTE");
+        usuario.setFechaCreacion(LocalDateTime.now());
+        usuarioRepository.save(usuario);
+
+        Cliente cliente = new Cliente();
+        cliente.setNombre("Tienda");
+        cliente.setTelefono("0990000002");
+        cliente.setUsuario(usuario);
+        clienteRepository.save(cliente);
+
+        cuentas = new ArrayList<>();
+        for (int i = 0; i < CUENTAS; i++) {
+            CuentaBancaria cuenta = new CuentaBancaria();
+            cuenta.setNumeroCuenta(String.format("33%08d", i));
+            cuenta.setTipoCuenta("CORRIENTE");
+            cuenta.setEntidadFinanciera("Banco Guayaquil");
+            cuenta.setSaldo(SALDO_INICIAL);
+            cuenta.setCliente(cliente);
+            cuentas.add(cuentaBancariaService.guardar(cuenta).getId());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        corteSaldoRepository.deleteAllInBatch();
+        transaccionRepository.deleteAllInBatch();
+        cuentaBancariaRepository.deleteAllInBatch();
+        clienteRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testTransferenciaSoloInsertaEnElLibro() {
+        transferenciaService.transferir(solicitud(cuentas.get(0), cuentas.get(1), "300.00"), null);
+
+        assertEquals(0, new BigDecimal("700.00").compareTo(saldoCuentaService.obtenerSaldo(cuentas.get(0))));
+        assertEquals(0, new BigDecimal("1300.00").compareTo(saldoCuentaService.obtenerSaldo(cuentas.get(1))));
+        // La columna de la cuenta conserva el saldo de apertura
+        assertEquals(0, SALDO_INICIAL.compareTo(cuentaBancariaRepository.findById(cuentas.get(0))
+                .orElseThrow().getSaldo()));
+
+        // El saldo disponible es el del libro, no el de la columna
+        assertThrows(SaldoInsuficienteException.class, () -> transferenciaService.transferir(
+                solicitud(cuentas.get(0), cuentas.get(1), "700.01"), null));
+    }
+
+    @Test
+    public void testCorteConservaElSaldoYConciliaSinDiferencias() {
+        transferenciaService.transferir(solicitud(cuentas.get(0), cuentas.get(1), "250.00"), null);
+        transferenciaService.transferir(solicitud(cuentas.get(1), cuentas.get(2), "100.00"), null);
+
+        assertEquals(3, saldoCuentaService.generarCortes());
+        transferenciaService.transferir(solicitud(cuentas.get(2), cuentas.get(0), "40.00"), null);
+
+        assertEquals(0, new BigDecimal("790.00").compareTo(saldoCuentaService.obtenerSaldo(cuentas.get(0))));
+        assertEquals(0, new BigDecimal("1150.00").compareTo(saldoCuentaService.obtenerSaldo(cuentas.get(1))));
+        assertEquals(0, new BigDecimal("1060.00").compareTo(saldoCuentaService.obtenerSaldo(cuentas.get(2))));
+
+        ResultadoConciliacionDTO resultado = saldoCuentaService.conciliar();
+        assertEquals(CUENTAS, resultado.getCuentasRevisadas());
+        assertTrue(resultado.getDiferencias().isEmpty());
+    }
+
+    @Test
+    public void testConciliacionInformaUnCorteDescuadradoSinModificarlo() {
+        transferenciaService.transferir(solicitud(cuentas.get(0), cuentas.get(1), "250.00"), null);
+        saldoCuentaService.generarCortes();
+
+        CorteSaldo corte = corteSaldoRepository
+                .findFirstByCuentaIdOrderByPosicionDescIdDesc(cuentas.get(1)).orElseThrow();
+        corte.setSaldo(new BigDecimal("9999.00"));
+        corteSaldoRepository.save(corte);
+        long cortes = corteSaldoRepository.count();
+
+        ResultadoConciliacionDTO resultado = saldoCuentaService.conciliar();
+
+        assertEquals(1, resultado.getDiferencias().size());
+        DiferenciaSaldoDTO diferencia = resultado.getDiferencias().get(0);
+        assertEquals(cuentas.get(1), diferencia.getCuentaId());
+        assertEquals(DiferenciaSaldoDTO.ORIGEN_CORTE, diferencia.getOrigen());
+        assertEquals(0, new BigDecimal("9999.00").compareTo(diferencia.getSaldoRegistrado()));
+        assertEquals(0, new BigDecimal("1250.00").compareTo(diferencia.getSaldoLibro()));
+        // La conciliación no registra cortes: el descuadre sigue hasta revisarlo
+        assertEquals(cortes, corteSaldoRepository.count());
+        assertEquals(1, saldoCuentaService.conciliar().getDiferencias().size());
+    }
+
+    @Test
+    public void testTransaccionConIdMenorRegistradaDespuesDelCorte() {
+        transferenciaService.transferir(solicitud(cuentas.get(0), cuentas.get(1), "250.00"), null);
+        assertEquals(2, saldoCuentaService.generarCortes());
+
+        // Otra instancia registra una transacción con un ID de un bloque
+        // reservado antes, menor que los ya incluidos en el corte
+        int idMenor = transaccionRepository.findAll().stream().mapToInt(Transaccion::getId).min().orElseThrow() - 1;
+        jdbcTemplate.update("INSERT INTO transaccion (id, id_cuenta_origen, id_cuenta_destino, monto, "
+                + "fecha_transaccion, tipo) VALUES (?, ?, ?, ?, ?, ?)", idMenor, cuentas.get(1), cuentas.get(2),
+                new BigDecimal("50.00"), LocalDateTime.now(), "TRANSFERENCIA");
+
+        assertEquals(0, new BigDecimal("1200.00").compareTo(saldoCuentaService.obtenerSaldo(cuentas.get(1))));
+        assertEquals(0, new BigDecimal("1050.00").compareTo(saldoCuentaService.obtenerSaldo(cuentas.get(2))));
+
+        assertEquals(2, saldoCuentaService.generarCortes());
+        assertEquals(0, new BigDecimal("1200.00").compareTo(saldoCuentaService.obtenerSaldo(cuentas.get(1))));
+        assertEquals(0, new BigDecimal("1050.00").compareTo(saldoCuentaService.obtenerSaldo(cuentas.get(2))));
+        assertTrue(saldoCuentaService.conciliar().getDiferencias().isEmpty());
+    }
+
+    @Test
+    public void testAbonosConcurrentesAUnaCuentaNoCompitenEntreSi() throws Exception {
+        // Todas las cuentas pagan a la primera, como los clientes a la tienda
+        Integer tienda = cuentas.get(0);
+        int pagosPorCliente = 40;
+
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> pagos = new ArrayList<>();
+            long inicio = System.nanoTime();
+            for (int i = 0; i < pagosPorCliente; i++) {
+                for (Integer cliente : cuentas.subList(1, CUENTAS)) {
+                    pagos.add(hilos.submit(() -> transferenciaService.transferir(
+                            solicitud(cliente, tienda, "2.50"), null)));
+                }
+                if (i == pagosPorCliente / 2) {
+                    pagos.add(hilos.submit(() -> saldoCuentaService.generarCortes()));
+                }
+            }
+            for (Future<?> pago : pagos) {
+                pago.get(60, TimeUnit.SECONDS);
+            }
+            double segundos = (System.nanoTime() - inicio) / 1_000_000_000.0;
+            log.info("Abonos por segundo a una sola cuenta con 8 hilos: {}",
+                    Math.round(pagosPorCliente * (CUENTAS - 1) / segundos));
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        BigDecimal recibido = new BigDecimal("2.50").multiply(BigDecimal.valueOf((long) pagosPorCliente * (CUENTAS - 1)));
+        assertEquals(0, SALDO_INICIAL.add(recibido).compareTo(saldoCuentaService.obtenerSaldo(tienda)));
+
+        saldoCuentaService.generarCortes();
+        assertTrue(saldoCuentaService.conciliar().getDiferencias().isEmpty());
+        assertEquals(0, SALDO_INICIAL.add(recibido).compareTo(saldoCuentaService.obtenerSaldo(tienda)));
+    }
+
+    private SolicitudTransferenciaDTO solicitud(Integer origen, Integer destino, String monto) {
+        return new SolicitudTransferenciaDTO(origen, destino, new BigDecimal(monto), "Prueba");
+    }
+}
@@ -0,0 +1,211 @@
+package ec.puce.motoshop.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import ec.puce.motoshop.domain.Cliente;
+import ec.puce.motoshop.domain.CuentaBancaria;
+import ec.puce.motoshop.domain.Usuario;
+import ec.puce.motoshop.dto.ResultadoTransferenciaDTO;
+import ec.puce.motoshop.dto.SolicitudTransferenciaDTO;
+import ec.puce.motoshop.exception.SaldoInsuficienteException;
+import ec.puce.motoshop.repository.ClienteRepository;
+import ec.puce.motoshop.repository.CuentaBancariaRepository;
+import ec.puce.motoshop.repository.TransaccionRepository;
+import ec.puce.motoshop.repository.UsuarioRepository;
+
+/**
+ * Las transferencias se ejecutan en hilos con sus propias transacciones, por
+ * lo que la prueba no envuelve cada método en una transacción revertida y los
+ * datos se borran al terminar.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:transferencias;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ TransferenciaServiceImpl.class, SaldoCuentaServiceImpl.class })
+public class TransferenciaServiceImplTest {
+
+    private static final BigDecimal SALDO_INICIAL = new BigDecimal("1000.00");
+    private static final int CUENTAS = 32;
+    private static final int TRANSFERENCIAS_POR_PAR = 50;
+
+    @Autowired
+    private ITransferenciaService transferenciaService;
+
+    @Autowired
+    private CuentaBancariaRepository cuentaBancariaRepository;
+
+    @Autowired
+    private TransaccionRepository transaccionRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private List<Integer> cuentas;
+
+    @BeforeEach
+    public void setUp() {
+        Usuario usuario = new Usuario();
+        usuario.setCedula("1700000001");
+        usuario.setNombreUsuario("titular");
+        usuario.setEmail("titular@example.com");
+        usuario.setRol("CLIENTE");
+        usuario.setFechaCreacion(LocalDateTime.now());
+        usuarioRepository.save(usuario);
+
+        Cliente cliente = new Cliente();
+        cliente.setNombre("Titular");
+        cliente.setTelefono("0990000001");
+        cliente.setUsuario(usuario);
+        clienteRepository.save(cliente);
+
+        cuentas = new ArrayList<>();
+        for (int i = 0; i < CUENTAS; i++) {
+            CuentaBancaria cuenta = new CuentaBancaria();
+            cuenta.setNumeroCuenta(String.format("22%08d", i));
+            cuenta.setTipoCuenta("AHORROS");
+            cuenta.setEntidadFinanciera("Banco Pichincha");
+            cuenta.setSaldo(SALDO_INICIAL);
+            cuenta.setCliente(cliente);
+            cuentas.add(cuentaBancariaRepository.save(cuenta).getId());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transaccionRepository.deleteAllInBatch();
+        cuentaBancariaRepository.deleteAllInBatch();
+        clienteRepository.deleteAllInBatch();
+        usuarioRepository.deleteAllInBatch();
+    }
+
+    @Test
+    public void testTransferenciaMueveSaldoYRegistraTransaccion() {
+        ResultadoTransferenciaDTO resultado = transferenciaService.transferir(
+                solicitud(cuentas.get(0), cuentas.get(1), "150.00"), null);
+
+        assertFalse(resultado.isRepetida());
+        assertTrue(transaccionRepository.findById(resultado.getTransaccionId()).isPresent());
+        assertEquals(0, new BigDecimal("850.00").compareTo(saldo(cuentas.get(0))));
+        assertEquals(0, new BigDecimal("1150.00").compareTo(saldo(cuentas.get(1))));
+    }
+
+    @Test
+    public void testSaldoInsuficienteNoModificaNingunaCuenta() {
+        assertThrows(SaldoInsuficienteException.class, () -> transferenciaService.transferir(
+                solicitud(cuentas.get(0), cuentas.get(1), "1000.01"), null));
+
+        assertEquals(0, SALDO_INICIAL.compareTo(saldo(cuentas.get(0))));
+        assertEquals(0, SALDO_INICIAL.compareTo(saldo(cuentas.get(1))));
+        assertEquals(0, transaccionRepository.count());
+    }
+
+    @Test
+    public void testReintentoConLaMismaClaveNoRepiteLaTransferencia() {
+        SolicitudTransferenciaDTO solicitud = solicitud(cuentas.get(0), cuentas.get(1), "100.00");
+
+        ResultadoTransferenciaDTO primera = transferenciaService.transferir(solicitud, "pago-42");
+        ResultadoTransferenciaDTO reintento = transferenciaService.transferir(solicitud, "pago-42");
+
+        assertTrue(reintento.isRepetida());
+        assertEquals(primera.getTransaccionId(), reintento.getTransaccionId());
+        assertEquals(1, transaccionRepository.count());
+        assertEquals(0, new BigDecimal("900.00").compareTo(saldo(cuentas.get(0))));
+
+        // La misma clave con otro monto es un error del cliente, no un reintento
+        assertThrows(IllegalStateException.class, () -> transferenciaService.transferir(
+                solicitud(cuentas.get(0), cuentas.get(1), "200.00"), "pago-42"));
+    }
+
+    @Test
+    public void testTransferenciasCruzadasConcurrentesNoSeInterbloquean() throws Exception {
+        Integer a = cuentas.get(0);
+        Integer b = cuentas.get(1);
+        int transferencias = 200;
+
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResultadoTransferenciaDTO>> resultados = new ArrayList<>();
+            for (int i = 0; i < transferencias; i++) {
+                // La mitad va de A a B y la otra mitad de B a A
+                SolicitudTransferenciaDTO solicitud = i % 2 == 0
+                        ? solicitud(a, b, "1.00")
+                        : solicitud(b, a, "1.00");
+                resultados.add(hilos.submit(() -> transferenciaService.transferir(solicitud, null)));
+            }
+            for (Future<ResultadoTransferenciaDTO> resultado : resultados) {
+                resultado.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        assertEquals(transferencias, transaccionRepository.count());
+        assertEquals(0, SALDO_INICIAL.compareTo(saldo(a)));
+        assertEquals(0, SALDO_INICIAL.compareTo(saldo(b)));
+    }
+
+    @Test
+    public void testTransferenciasConcurrentesEnParesDisjuntosConservanLosSaldos() throws Exception {
+        // El rendimiento de este mismo escenario se mide con JMH en
+        // ServiciosBenchmark.transferirEntreCuentasDisjuntas
+        ExecutorService hilos = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResultadoTransferenciaDTO>> resultados = new ArrayList<>();
+            for (int i = 0; i < TRANSFERENCIAS_POR_PAR; i++) {
+                for (int par = 0; par < CUENTAS; par += 2) {
+                    Integer origen = cuentas.get(par + i % 2);
+                    Integer destino = cuentas.get(par + 1 - i % 2);
+                    SolicitudTransferenciaDTO solicitud = solicitud(origen, destino, "5.00");
+                    resultados.add(hilos.submit(() -> transferenciaService.transferir(solicitud, null)));
+                }
+            }
+            for (Future<ResultadoTransferenciaDTO> resultado : resultados) {
+                resultado.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+
+        // Cada par recibe tantas transferencias de ida como de vuelta, de modo
+        // que el dinero total y cada saldo individual vuelven al inicial
+        assertEquals((long) CUENTAS / 2 * TRANSFERENCIAS_POR_PAR, transaccionRepository.count());
+        for (Integer cuenta : cuentas) {
+            assertEquals(0, SALDO_INICIAL.compareTo(saldo(cuenta)));
+        }
+    }
+
+    private SolicitudTransferenciaDTO solicitud(Integer origen, Integer destino, String monto) {
+        return new SolicitudTransferenciaDTO(origen, destino, new BigDecimal(monto), "Prueba");
+    }
+
+    private BigDecimal saldo(Integer cuentaId) {
+        return cuentaBancariaRepository.findById(cuentaId).orElseThrow().getSaldo();
+    }
+}